@@ -0,0 +1,45 @@
+package net.tvburger.jdl.common.numbers;
+
+import net.tvburger.jdl.common.patterns.Strategy;
+
+/**
+ * Sums a stream of values of a number type. Obtain one from {@link JavaNumberTypeSupport#accumulator()}: the single
+ * and double precision accumulators compensate for rounding errors, so the sum of many values stays accurate where
+ * adding them one by one loses the low order bits of every small value added to a large sum.
+ *
+ * @param <N> the number type
+ */
+@Strategy(Strategy.Role.INTERFACE)
+public interface Accumulator<N> {
+
+    /**
+     * Adds the given value to the sum.
+     *
+     * @param value the value to add
+     */
+    void add(N value);
+
+    /**
+     * Adds all given values to the sum.
+     *
+     * @param values the values to add
+     */
+    default void addAll(Iterable<N> values) {
+        for (N value : values) {
+            add(value);
+        }
+    }
+
+    /**
+     * Returns the sum of the values added so far.
+     *
+     * @return the sum
+     */
+    N sum();
+
+    /**
+     * Resets the sum to zero, so the accumulator can be reused.
+     */
+    void reset();
+
+}
@@ -0,0 +1,286 @@
+package net.tvburger.jdl.common.numbers;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.Arrays;
+import java.util.Comparator;
+
+/**
+ * Exact rationals that store their numerator and denominator as {@link Long} while they fit, and as
+ * {@link BigInteger} only when they do not. Operations on longs detect overflow with {@link Math#multiplyExact} and
+ * {@link Math#addExact}, in which case they are redone on {@code BigInteger}s. Every result is reduced and demoted
+ * to longs again when it fits, so only the values that need it pay for big integers.
+ * <p>
+ * Results are always in canonical form: reduced, with a positive denominator and the components as {@code Long}
+ * whenever they fit.
+ */
+public final class AdaptiveRationalSupport implements JavaNumberTypeSupport<Rational<Number>> {
+
+    private static final Rational<Number> ONE = new Rational<>(1L, 1L);
+    private static final Rational<Number> MINUS_ONE = new Rational<>(-1L, 1L);
+    private static final Rational<Number> ZERO = new Rational<>(0L, 1L);
+    private static final Rational<Number> EPSILON = new Rational<>(1L, 1_000_000_000L);
+
+    private final ArrayKernels<Rational<Number>> arrayKernels = new GenericArrayKernels<>(this);
+
+    protected AdaptiveRationalSupport() {
+    }
+
+    @Override
+    public String name() {
+        return "Rational with Long or BigInteger";
+    }
+
+    @SuppressWarnings("unchecked")
+    @Override
+    public Rational<Number>[] createArray(int length) {
+        Rational<Number>[] array = (Rational<Number>[]) new Rational<?>[length];
+        Arrays.fill(array, ZERO);
+        return array;
+    }
+
+    @SuppressWarnings("unchecked")
+    @Override
+    public Rational<Number>[][] createArrayOfArrays(int rows, int columns) {
+        Rational<Number>[][] rationals = (Rational<Number>[][]) new Rational<?>[rows][columns];
+        for (Rational<Number>[] array : rationals) {
+            Arrays.fill(array, ZERO);
+        }
+        return rationals;
+    }
+
+    @Override
+    public Rational<Number> multiply(Rational<Number> first, Rational<Number> second) {
+        if (isSmall(first) && isSmall(second)) {
+            long n1 = first.numerator().longValue();
+            long d1 = first.denominator().longValue();
+            long n2 = second.numerator().longValue();
+            long d2 = second.denominator().longValue();
+            // cross reduce first, so the products are as small as possible
+            long g1 = gcd(n1, d2);
+            long g2 = gcd(n2, d1);
+            if (g1 != 0 && g2 != 0) {
+                try {
+                    return rational(Math.multiplyExact(n1 / g1, n2 / g2), Math.multiplyExact(d1 / g2, d2 / g1));
+                } catch (ArithmeticException overflow) {
+                    // continue with big integers
+                }
+            }
+        }
+        return rational(big(first.numerator()).multiply(big(second.numerator())),
+                big(first.denominator()).multiply(big(second.denominator())));
+    }
+
+    @Override
+    public Rational<Number> multiply(Rational<Number> first, int second) {
+        return multiply(first, new Rational<>((long) second, 1L));
+    }
+
+    @Override
+    public Rational<Number> divide(Rational<Number> first, Rational<Number> second) {
+        return multiply(first, new Rational<>(second.denominator(), second.numerator()));
+    }
+
+    @Override
+    public Rational<Number> divide(Rational<Number> first, int second) {
+        return multiply(first, new Rational<>(1L, (long) second));
+    }
+
+    @Override
+    public Rational<Number> add(Rational<Number> first, Rational<Number> second) {
+        if (isSmall(first) && isSmall(second)) {
+            long n1 = first.numerator().longValue();
+            long d1 = first.denominator().longValue();
+            long n2 = second.numerator().longValue();
+            long d2 = second.denominator().longValue();
+            try {
+                if (d1 == d2) {
+                    return rational(Math.addExact(n1, n2), d1);
+                }
+                long g = gcd(d1, d2);
+                if (g != 0) {
+                    return rational(Math.addExact(Math.multiplyExact(n1, d2 / g), Math.multiplyExact(n2, d1 / g)),
+                            Math.multiplyExact(d1, d2 / g));
+                }
+            } catch (ArithmeticException overflow) {
+                // continue with big integers
+            }
+        }
+        BigInteger d1 = big(first.denominator());
+        BigInteger d2 = big(second.denominator());
+        return rational(big(first.numerator()).multiply(d2).add(big(second.numerator()).multiply(d1)), d1.multiply(d2));
+    }
+
+    @Override
+    public Rational<Number> add(Rational<Number> first, int second) {
+        return add(first, new Rational<>((long) second, 1L));
+    }
+
+    // both components are longs whose absolute value fits in a long
+    private static boolean isSmall(Rational<Number> value) {
+        return value.numerator() instanceof Long numerator && numerator != Long.MIN_VALUE
+                && value.denominator() instanceof Long denominator && denominator != Long.MIN_VALUE;
+    }
+
+    private static BigInteger big(Number number) {
+        return number instanceof BigInteger integer ? integer : BigInteger.valueOf(number.longValue());
+    }
+
+    private static Rational<Number> rational(long numerator, long denominator) {
+        if (denominator == 0) {
+            throw new ArithmeticException("Division by zero!");
+        }
+        if (numerator == 0) {
+            return ZERO;
+        }
+        if (numerator == denominator) {
+            return ONE;
+        }
+        if (denominator == Long.MIN_VALUE || numerator == Long.MIN_VALUE) {
+            return rational(BigInteger.valueOf(numerator), BigInteger.valueOf(denominator));
+        }
+        long gcd = gcd(numerator, denominator);
+        if (denominator < 0) {
+            gcd = -gcd;
+        }
+        return new Rational<>(numerator / gcd, denominator / gcd);
+    }
+
+    private static Rational<Number> rational(BigInteger numerator, BigInteger denominator) {
+        if (denominator.signum() == 0) {
+            throw new ArithmeticException("Division by zero!");
+        }
+        if (numerator.signum() == 0) {
+            return ZERO;
+        }
+        BigInteger gcd = numerator.gcd(denominator);
+        if (denominator.signum() < 0) {
+            gcd = gcd.negate();
+        }
+        numerator = numerator.divide(gcd);
+        denominator = denominator.divide(gcd);
+        return new Rational<>(demote(numerator), demote(denominator));
+    }
+
+    private static Number demote(BigInteger value) {
+        return value.bitLength() < Long.SIZE ? (Number) value.longValue() : value;
+    }
+
+    // the gcd of the absolute values, which must not be Long.MIN_VALUE
+    private static long gcd(long a, long b) {
+        a = Math.abs(a);
+        b = Math.abs(b);
+        while (b != 0) {
+            long temp = b;
+            b = a % b;
+            a = temp;
+        }
+        return a;
+    }
+
+    @Override
+    public Rational<Number> minusOne() {
+        return MINUS_ONE;
+    }
+
+    @Override
+    public Rational<Number> one() {
+        return ONE;
+    }
+
+    @Override
+    public Rational<Number> zero() {
+        return ZERO;
+    }
+
+    @Override
+    public boolean equals(Rational<Number> first, Rational<Number> second) {
+        return compare(first, second) == 0;
+    }
+
+    @Override
+    public boolean isGreaterThan(Rational<Number> first, Rational<Number> second) {
+        return compare(first, second) > 0;
+    }
+
+    private static int compare(Rational<Number> first, Rational<Number> second) {
+        int sign = signum(first.denominator()) * signum(second.denominator());
+        if (isSmall(first) && isSmall(second)) {
+            try {
+                long left = Math.multiplyExact(first.numerator().longValue(), second.denominator().longValue());
+                long right = Math.multiplyExact(second.numerator().longValue(), first.denominator().longValue());
+                return sign * Long.compare(left, right);
+            } catch (ArithmeticException overflow) {
+                // continue with big integers
+            }
+        }
+        BigInteger left = big(first.numerator()).multiply(big(second.denominator()));
+        BigInteger right = big(second.numerator()).multiply(big(first.denominator()));
+        return sign * left.compareTo(right);
+    }
+
+    private static int signum(Number number) {
+        return number instanceof BigInteger integer ? integer.signum() : Long.signum(number.longValue());
+    }
+
+    @Override
+    public Rational<Number> squareRoot(Rational<Number> value) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public Rational<Number> valueOf(double value) {
+        if (!Double.isFinite(value)) {
+            throw new IllegalArgumentException("NaN/Infinity not supported");
+        }
+        if (value == 0.0) return ZERO;
+        value = Math.round(value * 1000) / 1000.0;
+        BigDecimal decimal = new BigDecimal(Double.toString(value));
+        return decimal.scale() <= 0
+                ? rational(decimal.toBigIntegerExact(), BigInteger.ONE)
+                : rational(decimal.unscaledValue(), BigInteger.TEN.pow(decimal.scale()));
+    }
+
+    @Override
+    public Comparator<Rational<Number>> comparator() {
+        return AdaptiveRationalSupport::compare;
+    }
+
+    @Override
+    public Rational<Number> clamp01(Rational<Number> value) {
+        if (compare(value, ZERO) <= 0) {
+            return ZERO;
+        }
+        if (compare(value, ONE) >= 0) {
+            return ONE;
+        }
+        return value;
+    }
+
+    @Override
+    public Rational<Number> epsilon() {
+        return EPSILON;
+    }
+
+    @Override
+    public Rational<Number> log(Rational<Number> value) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public boolean isExact() {
+        return true;
+    }
+
+    @Override
+    public ArrayKernels<Rational<Number>> arrayKernels() {
+        return arrayKernels;
+    }
+
+    @Override
+    public boolean isInstance(Object value) {
+        return value instanceof Rational<?> r
+                && (r.numerator() instanceof Long || r.numerator() instanceof BigInteger)
+                && (r.denominator() instanceof Long || r.denominator() instanceof BigInteger);
+    }
+}
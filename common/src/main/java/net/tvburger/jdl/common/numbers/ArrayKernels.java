@@ -0,0 +1,90 @@
+package net.tvburger.jdl.common.numbers;
+
+import net.tvburger.jdl.common.patterns.Strategy;
+
+import java.util.function.BinaryOperator;
+import java.util.function.UnaryOperator;
+
+/**
+ * Whole-array operations of a number type, as a companion of the {@link JavaNumberTypeSupport} that provides them
+ * through {@link JavaNumberTypeSupport#arrayKernels()}.
+ * <p>
+ * Where the type support makes one (boxing) call per element, hot code makes one call per array, so the
+ * implementations can work on primitive values: the single and double precision kernels accumulate unboxed, the
+ * rational kernels only normalize the result once instead of after every operation.
+ *
+ * @param <N> the number type
+ */
+@Strategy(Strategy.Role.INTERFACE)
+public interface ArrayKernels<N> {
+
+    /**
+     * Returns Σ x[i] * y[i].
+     *
+     * @param x the first operand
+     * @param y the second operand, of the same length
+     * @return the dot product
+     * @throws IllegalArgumentException if the lengths differ
+     */
+    N dot(N[] x, N[] y);
+
+    /**
+     * Returns Σ x[i].
+     *
+     * @param x the values to sum
+     * @return the sum
+     */
+    N sum(N[] x);
+
+    /**
+     * y[i] += a * x[i]
+     *
+     * @param a the value to multiply x with
+     * @param x the values to add
+     * @param y the values to add to, of the same length
+     * @throws IllegalArgumentException if the lengths differ
+     */
+    void axpy(N a, N[] x, N[] y);
+
+    /**
+     * destination[i] = a * x[i]
+     *
+     * @param a           the value to multiply with
+     * @param x           the values to multiply
+     * @param destination the array to write the result to, may be x
+     * @throws IllegalArgumentException if the lengths differ
+     */
+    void scale(N a, N[] x, N[] destination);
+
+    /**
+     * destination[i] = function(x[i])
+     *
+     * @param x           the values to map
+     * @param function    the function to apply
+     * @param destination the array to write the result to, may be x
+     * @throws IllegalArgumentException if the lengths differ
+     */
+    default void map(N[] x, UnaryOperator<N> function, N[] destination) {
+        GenericArrayKernels.checkLengths(x, destination);
+        for (int i = 0; i < x.length; i++) {
+            destination[i] = function.apply(x[i]);
+        }
+    }
+
+    /**
+     * Folds the values from left to right, starting with the identity.
+     *
+     * @param x           the values to reduce
+     * @param identity    the initial value
+     * @param accumulator the function that combines the result so far with the next value
+     * @return the result
+     */
+    default N reduce(N[] x, N identity, BinaryOperator<N> accumulator) {
+        N result = identity;
+        for (N value : x) {
+            result = accumulator.apply(result, value);
+        }
+        return result;
+    }
+
+}
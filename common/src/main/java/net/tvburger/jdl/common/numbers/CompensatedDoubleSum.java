@@ -0,0 +1,69 @@
+package net.tvburger.jdl.common.numbers;
+
+import net.tvburger.jdl.common.patterns.Strategy;
+
+/**
+ * Sums double precision values with the second order Kahan-Babuška (Klein) algorithm: the rounding error of every
+ * addition is kept in a compensation, whose own rounding errors are kept in a second compensation, and both are added
+ * to the sum at the end. The error of the sum does not grow with the number of values, like it does when adding them
+ * one by one, at the cost of a few more additions per value. A single compensation, as in Neumaier's variant of Kahan
+ * summation, is not enough for millions of values, as it then accumulates rounding errors itself.
+ */
+@Strategy(Strategy.Role.CONCRETE)
+public final class CompensatedDoubleSum implements Accumulator<Double> {
+
+    private double sum;
+    private double compensation;
+    private double secondOrderCompensation;
+
+    /**
+     * Adds the given value to the sum.
+     *
+     * @param value the value to add
+     */
+    public void add(double value) {
+        double t = sum + value;
+        double error = Math.abs(sum) >= Math.abs(value) ? (sum - t) + value : (value - t) + sum;
+        sum = t;
+        t = compensation + error;
+        secondOrderCompensation += Math.abs(compensation) >= Math.abs(error) ? (compensation - t) + error : (error - t) + compensation;
+        compensation = t;
+    }
+
+    /**
+     * Adds the product of the given values to the sum.
+     *
+     * @param first  the first factor
+     * @param second the second factor
+     */
+    public void addProduct(double first, double second) {
+        add(first * second);
+    }
+
+    @Override
+    public void add(Double value) {
+        add(value.doubleValue());
+    }
+
+    /**
+     * Returns the sum of the values added so far.
+     *
+     * @return the sum
+     */
+    public double doubleValue() {
+        return sum + (compensation + secondOrderCompensation);
+    }
+
+    @Override
+    public Double sum() {
+        return doubleValue();
+    }
+
+    @Override
+    public void reset() {
+        sum = 0.0;
+        compensation = 0.0;
+        secondOrderCompensation = 0.0;
+    }
+
+}
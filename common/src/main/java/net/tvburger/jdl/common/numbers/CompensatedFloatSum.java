@@ -0,0 +1,69 @@
+package net.tvburger.jdl.common.numbers;
+
+import net.tvburger.jdl.common.patterns.Strategy;
+
+/**
+ * Sums single precision values with the second order Kahan-Babuška (Klein) algorithm: the rounding error of every
+ * addition is kept in a compensation, whose own rounding errors are kept in a second compensation, and both are added
+ * to the sum at the end. The error of the sum does not grow with the number of values, like it does when adding them
+ * one by one, at the cost of a few more additions per value. A single compensation, as in Neumaier's variant of Kahan
+ * summation, is not enough for millions of values, as it then accumulates rounding errors itself.
+ */
+@Strategy(Strategy.Role.CONCRETE)
+public final class CompensatedFloatSum implements Accumulator<Float> {
+
+    private float sum;
+    private float compensation;
+    private float secondOrderCompensation;
+
+    /**
+     * Adds the given value to the sum.
+     *
+     * @param value the value to add
+     */
+    public void add(float value) {
+        float t = sum + value;
+        float error = Math.abs(sum) >= Math.abs(value) ? (sum - t) + value : (value - t) + sum;
+        sum = t;
+        t = compensation + error;
+        secondOrderCompensation += Math.abs(compensation) >= Math.abs(error) ? (compensation - t) + error : (error - t) + compensation;
+        compensation = t;
+    }
+
+    /**
+     * Adds the product of the given values to the sum.
+     *
+     * @param first  the first factor
+     * @param second the second factor
+     */
+    public void addProduct(float first, float second) {
+        add(first * second);
+    }
+
+    @Override
+    public void add(Float value) {
+        add(value.floatValue());
+    }
+
+    /**
+     * Returns the sum of the values added so far.
+     *
+     * @return the sum
+     */
+    public float floatValue() {
+        return sum + (compensation + secondOrderCompensation);
+    }
+
+    @Override
+    public Float sum() {
+        return floatValue();
+    }
+
+    @Override
+    public void reset() {
+        sum = 0.0f;
+        compensation = 0.0f;
+        secondOrderCompensation = 0.0f;
+    }
+
+}
@@ -0,0 +1,54 @@
+package net.tvburger.jdl.common.numbers;
+
+import net.tvburger.jdl.common.patterns.Strategy;
+
+/**
+ * The {@link ArrayKernels} of {@link JavaNumberTypeSupport#DOUBLE}, which unbox each value once and accumulate in a
+ * primitive, compensated for rounding errors.
+ */
+@Strategy(Strategy.Role.CONCRETE)
+final class DoubleArrayKernels implements ArrayKernels<Double> {
+
+    static final DoubleArrayKernels INSTANCE = new DoubleArrayKernels();
+
+    private DoubleArrayKernels() {
+    }
+
+    @Override
+    public Double dot(Double[] x, Double[] y) {
+        GenericArrayKernels.checkLengths(x, y);
+        CompensatedDoubleSum sum = new CompensatedDoubleSum();
+        for (int i = 0; i < x.length; i++) {
+            sum.addProduct(x[i], y[i]);
+        }
+        return sum.doubleValue();
+    }
+
+    @Override
+    public Double sum(Double[] x) {
+        CompensatedDoubleSum sum = new CompensatedDoubleSum();
+        for (Double value : x) {
+            sum.add(value.doubleValue());
+        }
+        return sum.doubleValue();
+    }
+
+    @Override
+    public void axpy(Double a, Double[] x, Double[] y) {
+        GenericArrayKernels.checkLengths(x, y);
+        double factor = a;
+        for (int i = 0; i < x.length; i++) {
+            y[i] = y[i] + factor * x[i];
+        }
+    }
+
+    @Override
+    public void scale(Double a, Double[] x, Double[] destination) {
+        GenericArrayKernels.checkLengths(x, destination);
+        double factor = a;
+        for (int i = 0; i < x.length; i++) {
+            destination[i] = factor * x[i];
+        }
+    }
+
+}
@@ -131,6 +131,16 @@ public final class DoubleSupport implements JavaNumberTypeSupport<Double> {
         return Math.pow(base, times);
     }
 
+    @Override
+    public ArrayKernels<Double> arrayKernels() {
+        return DoubleArrayKernels.INSTANCE;
+    }
+
+    @Override
+    public Accumulator<Double> accumulator() {
+        return new CompensatedDoubleSum();
+    }
+
     @Override
     public boolean isInstance(Object value) {
         return value instanceof Double;
@@ -0,0 +1,129 @@
+package net.tvburger.jdl.common.numbers;
+
+/**
+ * The 16 bit floating point formats to store numbers in half the memory of a {@code float}. Values are stored as
+ * {@code short}s and are widened to {@code float} to compute with them; the formats only reduce the storage, not the
+ * precision of the arithmetic.
+ * <ul>
+ *     <li>{@link #HALF}: IEEE 754 binary16, with 11 bits of precision but a range up to 65504, which suits values of
+ *     a known, small range like normalized features.</li>
+ *     <li>{@link #BFLOAT16}: the upper half of a {@code float}, with only 8 bits of precision but the full range of a
+ *     {@code float}, which suits weights and activations.</li>
+ * </ul>
+ * Both round to the nearest representable value, ties to even.
+ */
+public enum Float16Format {
+
+    HALF {
+        @Override
+        public short encode(float value) {
+            return Float.floatToFloat16(value);
+        }
+
+        @Override
+        public float decode(short bits) {
+            return Float.float16ToFloat(bits);
+        }
+    },
+
+    BFLOAT16 {
+        @Override
+        public short encode(float value) {
+            int bits = Float.floatToRawIntBits(value);
+            if (Float.isNaN(value)) {
+                // keep it a (quiet) NaN, the payload could be in the lower bits only
+                return (short) ((bits >>> 16) | 0x0040);
+            }
+            bits += 0x7FFF + ((bits >>> 16) & 1);
+            return (short) (bits >>> 16);
+        }
+
+        @Override
+        public float decode(short bits) {
+            return Float.intBitsToFloat((bits & 0xFFFF) << 16);
+        }
+    };
+
+    /**
+     * Returns the 16 bits representing the value nearest to the given value.
+     *
+     * @param value the value to encode
+     * @return the encoded value
+     */
+    public abstract short encode(float value);
+
+    /**
+     * Returns the value represented by the given 16 bits.
+     *
+     * @param bits the encoded value
+     * @return the decoded value
+     */
+    public abstract float decode(short bits);
+
+    /**
+     * Encodes a value of any number type, by its {@link Number#floatValue()}.
+     *
+     * @param value the value to encode
+     * @return the encoded value
+     */
+    public short encode(Number value) {
+        return encode(value.floatValue());
+    }
+
+    /**
+     * Decodes the given bits into the given number type.
+     *
+     * @param bits        the encoded value
+     * @param typeSupport the number type to decode into
+     * @param <N>         the number type
+     * @return the decoded value
+     */
+    public <N> N decode(short bits, JavaNumberTypeSupport<N> typeSupport) {
+        return typeSupport.valueOf(decode(bits));
+    }
+
+    /**
+     * Encodes the given values.
+     *
+     * @param values the values to encode
+     * @return the encoded values
+     */
+    public short[] encode(Number[] values) {
+        short[] encoded = new short[values.length];
+        for (int i = 0; i < values.length; i++) {
+            encoded[i] = encode(values[i].floatValue());
+        }
+        return encoded;
+    }
+
+    /**
+     * Encodes values[offset..offset + length) into destination[destinationOffset..].
+     *
+     * @param values            the values to encode
+     * @param offset            the index of the first value to encode
+     * @param destination       the array to write the encoded values to
+     * @param destinationOffset the index in the destination to write the first value to
+     * @param length            the number of values to encode
+     */
+    public void encode(float[] values, int offset, short[] destination, int destinationOffset, int length) {
+        for (int i = 0; i < length; i++) {
+            destination[destinationOffset + i] = encode(values[offset + i]);
+        }
+    }
+
+    /**
+     * Decodes bits[offset..offset + length) into destination[destinationOffset..].
+     *
+     * @param bits              the encoded values
+     * @param offset            the index of the first value to decode
+     * @param destination       the array to write the decoded values to
+     * @param destinationOffset the index in the destination to write the first value to
+     * @param length            the number of values to decode
+     */
+    public void decode(short[] bits, int offset, float[] destination, int destinationOffset, int length) {
+        for (int i = 0; i < length; i++) {
+            destination[destinationOffset + i] = decode(bits[offset + i]);
+        }
+    }
+
+}
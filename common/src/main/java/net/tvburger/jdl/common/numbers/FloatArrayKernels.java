@@ -0,0 +1,54 @@
+package net.tvburger.jdl.common.numbers;
+
+import net.tvburger.jdl.common.patterns.Strategy;
+
+/**
+ * The {@link ArrayKernels} of {@link JavaNumberTypeSupport#FLOAT}, which unbox each value once and accumulate in a
+ * primitive, compensated for rounding errors.
+ */
+@Strategy(Strategy.Role.CONCRETE)
+final class FloatArrayKernels implements ArrayKernels<Float> {
+
+    static final FloatArrayKernels INSTANCE = new FloatArrayKernels();
+
+    private FloatArrayKernels() {
+    }
+
+    @Override
+    public Float dot(Float[] x, Float[] y) {
+        GenericArrayKernels.checkLengths(x, y);
+        CompensatedFloatSum sum = new CompensatedFloatSum();
+        for (int i = 0; i < x.length; i++) {
+            sum.addProduct(x[i], y[i]);
+        }
+        return sum.floatValue();
+    }
+
+    @Override
+    public Float sum(Float[] x) {
+        CompensatedFloatSum sum = new CompensatedFloatSum();
+        for (Float value : x) {
+            sum.add(value.floatValue());
+        }
+        return sum.floatValue();
+    }
+
+    @Override
+    public void axpy(Float a, Float[] x, Float[] y) {
+        GenericArrayKernels.checkLengths(x, y);
+        float factor = a;
+        for (int i = 0; i < x.length; i++) {
+            y[i] = y[i] + factor * x[i];
+        }
+    }
+
+    @Override
+    public void scale(Float a, Float[] x, Float[] destination) {
+        GenericArrayKernels.checkLengths(x, destination);
+        float factor = a;
+        for (int i = 0; i < x.length; i++) {
+            destination[i] = factor * x[i];
+        }
+    }
+
+}
@@ -132,6 +132,16 @@ public final class FloatSupport implements JavaNumberTypeSupport<Float> {
         return (float) Math.pow(base, times);
     }
 
+    @Override
+    public ArrayKernels<Float> arrayKernels() {
+        return FloatArrayKernels.INSTANCE;
+    }
+
+    @Override
+    public Accumulator<Float> accumulator() {
+        return new CompensatedFloatSum();
+    }
+
     @Override
     public boolean isInstance(Object value) {
         return value instanceof Float;
@@ -0,0 +1,36 @@
+package net.tvburger.jdl.common.numbers;
+
+import net.tvburger.jdl.common.patterns.Strategy;
+
+/**
+ * The {@link Accumulator} of any number type, which adds each value through the type support.
+ *
+ * @param <N> the number type
+ */
+@Strategy(Strategy.Role.CONCRETE)
+final class GenericAccumulator<N> implements Accumulator<N> {
+
+    private final JavaNumberTypeSupport<N> typeSupport;
+    private N sum;
+
+    GenericAccumulator(JavaNumberTypeSupport<N> typeSupport) {
+        this.typeSupport = typeSupport;
+        this.sum = typeSupport.zero();
+    }
+
+    @Override
+    public void add(N value) {
+        sum = typeSupport.add(sum, value);
+    }
+
+    @Override
+    public N sum() {
+        return sum;
+    }
+
+    @Override
+    public void reset() {
+        sum = typeSupport.zero();
+    }
+
+}
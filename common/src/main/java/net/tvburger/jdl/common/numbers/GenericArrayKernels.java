@@ -0,0 +1,66 @@
+package net.tvburger.jdl.common.numbers;
+
+import net.tvburger.jdl.common.patterns.Strategy;
+
+/**
+ * The {@link ArrayKernels} that loop over the operations of a {@link JavaNumberTypeSupport}, for number types
+ * without kernels of their own. For exact number types, zero terms of a dot product are skipped, as the test is
+ * exact and their multiplications are not free.
+ *
+ * @param <N> the number type
+ */
+@Strategy(Strategy.Role.CONCRETE)
+class GenericArrayKernels<N> implements ArrayKernels<N> {
+
+    protected final JavaNumberTypeSupport<N> typeSupport;
+
+    GenericArrayKernels(JavaNumberTypeSupport<N> typeSupport) {
+        this.typeSupport = typeSupport;
+    }
+
+    @Override
+    public N dot(N[] x, N[] y) {
+        checkLengths(x, y);
+        boolean exact = typeSupport.isExact();
+        N sum = typeSupport.zero();
+        for (int i = 0; i < x.length; i++) {
+            if (!exact || !typeSupport.isZero(x[i])) {
+                sum = typeSupport.add(sum, typeSupport.multiply(x[i], y[i]));
+            }
+        }
+        return sum;
+    }
+
+    @Override
+    public N sum(N[] x) {
+        N sum = typeSupport.zero();
+        for (N value : x) {
+            sum = typeSupport.add(sum, value);
+        }
+        return sum;
+    }
+
+    @Override
+    public void axpy(N a, N[] x, N[] y) {
+        checkLengths(x, y);
+        for (int i = 0; i < x.length; i++) {
+            y[i] = typeSupport.add(y[i], typeSupport.multiply(a, x[i]));
+        }
+    }
+
+    @Override
+    public void scale(N a, N[] x, N[] destination) {
+        checkLengths(x, destination);
+        for (int i = 0; i < x.length; i++) {
+            destination[i] = typeSupport.multiply(a, x[i]);
+        }
+    }
+
+    // also checks the lengths for the default methods of ArrayKernels
+    static void checkLengths(Object[] x, Object[] y) {
+        if (x.length != y.length) {
+            throw new IllegalArgumentException("invalid length: " + y.length + "; must be " + x.length + "!");
+        }
+    }
+
+}
@@ -8,6 +8,7 @@ public interface JavaNumberTypeSupport<N> {
     JavaNumberTypeSupport<Rational<BigInteger>> RATIONAL_BIGINT = new RationalBigIntegerSupport();
     JavaNumberTypeSupport<Rational<Long>> RATIONAL_LONG = new RationalLongSupport();
     JavaNumberTypeSupport<Rational<Integer>> RATIONAL_INT = new RationalIntegerSupport();
+    JavaNumberTypeSupport<Rational<Number>> RATIONAL_ADAPTIVE = new AdaptiveRationalSupport();
     JavaNumberTypeSupport<Double> DOUBLE = new DoubleSupport();
     JavaNumberTypeSupport<Float> FLOAT = new FloatSupport();
 
@@ -29,6 +30,18 @@ public interface JavaNumberTypeSupport<N> {
 
     N add(N first, int second);
 
+    /**
+     * Returns a * b + c, which number types may compute cheaper than a separate multiplication and addition.
+     *
+     * @param a the first factor
+     * @param b the second factor
+     * @param c the value to add to the product
+     * @return a * b + c
+     */
+    default N fma(N a, N b, N c) {
+        return add(multiply(a, b), c);
+    }
+
     default N subtract(N first, N second) {
         return add(first, multiply(minusOne(), second));
     }
@@ -110,6 +123,47 @@ public interface JavaNumberTypeSupport<N> {
 
     boolean isInstance(Object value);
 
+    /**
+     * Returns the canonical representation of the given value. Number types that defer work, like reducing
+     * rationals, do it here, so use it before output or structural equality.
+     *
+     * @param value the value to normalize
+     * @return the canonical representation of the value
+     */
+    default N normalize(N value) {
+        return value;
+    }
+
+    /**
+     * Returns whether the arithmetic of this number type is exact, like for rationals, so results do not suffer from
+     * rounding but the size of the numbers may grow with every operation.
+     *
+     * @return true if the arithmetic is exact
+     */
+    default boolean isExact() {
+        return false;
+    }
+
+    /**
+     * Returns the operations on whole arrays of this number type, for hot code that should not make a call per
+     * element.
+     *
+     * @return the array kernels
+     */
+    default ArrayKernels<N> arrayKernels() {
+        return new GenericArrayKernels<>(this);
+    }
+
+    /**
+     * Returns a new accumulator to sum a stream of values, which compensates for rounding errors where the number
+     * type rounds.
+     *
+     * @return a new accumulator, starting at zero
+     */
+    default Accumulator<N> accumulator() {
+        return new GenericAccumulator<>(this);
+    }
+
     @SuppressWarnings("unchecked")
     default N cast(Object value) {
         if (isInstance(value)) {
@@ -0,0 +1,82 @@
+package net.tvburger.jdl.common.numbers;
+
+import net.tvburger.jdl.common.patterns.StaticUtility;
+
+/**
+ * Sums arrays of primitive values pairwise: the array is split in halves that are summed recursively, so the rounding
+ * error grows with the logarithm of the length instead of with the length itself. Blocks of at most
+ * {@value #BLOCK_SIZE} values are summed directly, which keeps the recursion shallow and the inner loop as fast as a
+ * plain sum.
+ */
+@StaticUtility
+public final class PairwiseSummation {
+
+    /**
+     * The number of values below which a block is summed directly.
+     */
+    public static final int BLOCK_SIZE = 128;
+
+    private PairwiseSummation() {
+    }
+
+    /**
+     * Returns the sum of the given values.
+     *
+     * @param values the values to sum
+     * @return the sum
+     */
+    public static float sum(float[] values) {
+        return sum(values, 0, values.length);
+    }
+
+    /**
+     * Returns the sum of values[offset..offset + length).
+     *
+     * @param values the values to sum
+     * @param offset the index of the first value to sum
+     * @param length the number of values to sum
+     * @return the sum
+     */
+    public static float sum(float[] values, int offset, int length) {
+        if (length <= BLOCK_SIZE) {
+            float sum = 0.0f;
+            for (int i = offset; i < offset + length; i++) {
+                sum += values[i];
+            }
+            return sum;
+        }
+        int half = length / 2;
+        return sum(values, offset, half) + sum(values, offset + half, length - half);
+    }
+
+    /**
+     * Returns the sum of the given values.
+     *
+     * @param values the values to sum
+     * @return the sum
+     */
+    public static double sum(double[] values) {
+        return sum(values, 0, values.length);
+    }
+
+    /**
+     * Returns the sum of values[offset..offset + length).
+     *
+     * @param values the values to sum
+     * @param offset the index of the first value to sum
+     * @param length the number of values to sum
+     * @return the sum
+     */
+    public static double sum(double[] values, int offset, int length) {
+        if (length <= BLOCK_SIZE) {
+            double sum = 0.0;
+            for (int i = offset; i < offset + length; i++) {
+                sum += values[i];
+            }
+            return sum;
+        }
+        int half = length / 2;
+        return sum(values, offset, half) + sum(values, offset + half, length - half);
+    }
+
+}
@@ -1,7 +1,13 @@
 package net.tvburger.jdl.common.numbers;
 
+import java.math.BigInteger;
 import java.util.Objects;
 
+/**
+ * A fraction of two numbers. The {@link RationalBigIntegerSupport} defers reducing its results, so rationals of
+ * {@link BigInteger}s are compared, hashed and printed in their reduced form: {@code 2/4} equals {@code 1/2}. Other
+ * rationals are kept reduced by their type support and are compared by their components.
+ */
 public class Rational<N extends Number> extends Number {
 
     private final N numerator;
@@ -49,16 +55,42 @@ public class Rational<N extends Number> extends Number {
         if (this == o) return true;
         if (o == null || getClass() != o.getClass()) return false;
         Rational<?> rational = (Rational<?>) o;
+        if (numerator instanceof BigInteger n && denominator instanceof BigInteger d
+                && rational.numerator instanceof BigInteger otherN && rational.denominator instanceof BigInteger otherD) {
+            // cross multiplied, as either may not be reduced
+            return n.multiply(otherD).equals(otherN.multiply(d));
+        }
         return Objects.equals(numerator, rational.numerator) && Objects.equals(denominator, rational.denominator);
     }
 
     @Override
     public int hashCode() {
+        if (numerator instanceof BigInteger n && denominator instanceof BigInteger d) {
+            BigInteger[] reduced = reduce(n, d);
+            return Objects.hash(reduced[0], reduced[1]);
+        }
         return Objects.hash(numerator, denominator);
     }
 
     @Override
     public String toString() {
+        if (numerator instanceof BigInteger n && denominator instanceof BigInteger d) {
+            BigInteger[] reduced = reduce(n, d);
+            return reduced[0] + "/" + reduced[1];
+        }
         return numerator + "/" + denominator;
     }
+
+    // the numerator and denominator divided by their gcd, with a positive denominator
+    private static BigInteger[] reduce(BigInteger numerator, BigInteger denominator) {
+        if (denominator.signum() < 0) {
+            numerator = numerator.negate();
+            denominator = denominator.negate();
+        }
+        BigInteger gcd = numerator.gcd(denominator);
+        if (gcd.signum() == 0 || gcd.equals(BigInteger.ONE)) {
+            return new BigInteger[]{numerator, denominator};
+        }
+        return new BigInteger[]{numerator.divide(gcd), denominator.divide(gcd)};
+    }
 }
@@ -0,0 +1,70 @@
+package net.tvburger.jdl.common.numbers;
+
+import net.tvburger.jdl.common.patterns.Strategy;
+
+import java.math.BigInteger;
+
+/**
+ * The {@link ArrayKernels} of {@link JavaNumberTypeSupport#RATIONAL_BIGINT}. Sums and dot products accumulate a
+ * numerator and a denominator without reducing them, and only divide out their greatest common divisor once at the
+ * end, where adding through the type support reduces after every term.
+ */
+@Strategy(Strategy.Role.CONCRETE)
+final class RationalBigIntegerArrayKernels extends GenericArrayKernels<Rational<BigInteger>> {
+
+    RationalBigIntegerArrayKernels(JavaNumberTypeSupport<Rational<BigInteger>> typeSupport) {
+        super(typeSupport);
+    }
+
+    @Override
+    public Rational<BigInteger> dot(Rational<BigInteger>[] x, Rational<BigInteger>[] y) {
+        checkLengths(x, y);
+        BigInteger numerator = BigInteger.ZERO;
+        BigInteger denominator = BigInteger.ONE;
+        for (int i = 0; i < x.length; i++) {
+            BigInteger termNumerator = x[i].numerator().multiply(y[i].numerator());
+            if (termNumerator.signum() == 0) {
+                continue;
+            }
+            BigInteger termDenominator = x[i].denominator().multiply(y[i].denominator());
+            if (termDenominator.equals(denominator)) {
+                numerator = numerator.add(termNumerator);
+            } else {
+                numerator = numerator.multiply(termDenominator).add(termNumerator.multiply(denominator));
+                denominator = denominator.multiply(termDenominator);
+            }
+        }
+        return reduce(numerator, denominator);
+    }
+
+    @Override
+    public Rational<BigInteger> sum(Rational<BigInteger>[] x) {
+        BigInteger numerator = BigInteger.ZERO;
+        BigInteger denominator = BigInteger.ONE;
+        for (Rational<BigInteger> value : x) {
+            if (value.numerator().signum() == 0) {
+                continue;
+            }
+            if (value.denominator().equals(denominator)) {
+                numerator = numerator.add(value.numerator());
+            } else {
+                numerator = numerator.multiply(value.denominator()).add(value.numerator().multiply(denominator));
+                denominator = denominator.multiply(value.denominator());
+            }
+        }
+        return reduce(numerator, denominator);
+    }
+
+    private Rational<BigInteger> reduce(BigInteger numerator, BigInteger denominator) {
+        if (numerator.signum() == 0) {
+            return typeSupport.zero();
+        }
+        if (denominator.signum() < 0) {
+            numerator = numerator.negate();
+            denominator = denominator.negate();
+        }
+        BigInteger gcd = numerator.gcd(denominator);
+        return new Rational<>(numerator.divide(gcd), denominator.divide(gcd));
+    }
+
+}
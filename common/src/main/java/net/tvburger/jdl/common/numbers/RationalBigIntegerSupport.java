@@ -4,13 +4,29 @@ import java.math.BigInteger;
 import java.util.Arrays;
 import java.util.Comparator;
 
+/**
+ * Exact rationals with {@link BigInteger} components.
+ * <p>
+ * Results are not reduced after every operation, as computing the greatest common divisor dominates the cost of
+ * rational arithmetic. Only when the numerator and denominator together exceed {@value #NORMALIZATION_THRESHOLD}
+ * bits the result is reduced, so the values stay bounded. Denominators are always positive, so comparisons work on
+ * unreduced values. {@link Rational#equals(Object)}, {@link Rational#hashCode()} and {@link Rational#toString()}
+ * work on the reduced form as well; use {@link #normalize(Rational)} to obtain the reduced components.
+ */
 public final class RationalBigIntegerSupport implements JavaNumberTypeSupport<Rational<BigInteger>> {
 
+    /**
+     * The number of bits of the numerator and denominator together above which a result is reduced.
+     */
+    public static final int NORMALIZATION_THRESHOLD = 256;
+
     private static final Rational<BigInteger> ONE = new Rational<>(BigInteger.ONE, BigInteger.ONE);
     private static final Rational<BigInteger> MINUS_ONE = new Rational<>(BigInteger.valueOf(-1), BigInteger.ONE);
     private static final Rational<BigInteger> ZERO = new Rational<>(BigInteger.ZERO, BigInteger.ONE);
     private static final Rational<BigInteger> EPSILON = new Rational<>(BigInteger.ONE, BigInteger.valueOf(1_000_000_000));
 
+    private final ArrayKernels<Rational<BigInteger>> arrayKernels = new RationalBigIntegerArrayKernels(this);
+
     protected RationalBigIntegerSupport() {
     }
 
@@ -64,14 +80,6 @@ public final class RationalBigIntegerSupport implements JavaNumberTypeSupport<Ra
         if (first.denominator().equals(second.denominator())) {
             return rational(first.numerator().add(second.numerator()), first.denominator());
         }
-        if (first.denominator().mod(second.denominator()).equals(BigInteger.ZERO)) {
-            BigInteger factor = first.denominator().divide(second.denominator());
-            return rational(first.numerator().add(second.numerator().multiply(factor)), first.denominator());
-        }
-        if (second.denominator().mod(first.denominator()).equals(BigInteger.ZERO)) {
-            BigInteger factor = second.denominator().divide(first.denominator());
-            return rational(first.numerator().multiply(factor).add(second.numerator()), second.denominator());
-        }
         return rational(first.numerator().multiply(second.denominator()).add(second.numerator().multiply(first.denominator())), first.denominator().multiply(second.denominator()));
     }
 
@@ -80,27 +88,68 @@ public final class RationalBigIntegerSupport implements JavaNumberTypeSupport<Ra
         return rational(first.numerator().add(first.denominator().multiply(BigInteger.valueOf(second))), first.denominator());
     }
 
+    /**
+     * Returns a * b + c with a single normalisation, instead of one for the product and one for the sum.
+     */
+    @Override
+    public Rational<BigInteger> fma(Rational<BigInteger> a, Rational<BigInteger> b, Rational<BigInteger> c) {
+        BigInteger numerator = a.numerator().multiply(b.numerator());
+        if (numerator.signum() == 0) {
+            return c;
+        }
+        BigInteger denominator = a.denominator().multiply(b.denominator());
+        if (denominator.equals(c.denominator())) {
+            return rational(numerator.add(c.numerator()), denominator);
+        }
+        return rational(numerator.multiply(c.denominator()).add(c.numerator().multiply(denominator)), denominator.multiply(c.denominator()));
+    }
+
+    /**
+     * Returns the given value reduced, with a positive denominator.
+     */
+    @Override
+    public Rational<BigInteger> normalize(Rational<BigInteger> value) {
+        return reduce(value.numerator(), value.denominator());
+    }
+
+    // the denominator is made positive, but the gcd is only divided out once the components have grown large
     private Rational<BigInteger> rational(BigInteger numerator, BigInteger denominator) {
+        if (denominator.signum() == 0) {
+            throw new ArithmeticException("Division by zero!");
+        }
+        if (denominator.signum() < 0) {
+            numerator = numerator.negate();
+            denominator = denominator.negate();
+        }
+        if (numerator.signum() == 0) {
+            return ZERO;
+        }
         if (numerator.equals(denominator)) {
             return ONE;
         }
-        BigInteger gcd = gcd(numerator, denominator);
-        if (gcd.compareTo(BigInteger.ONE) > 0) {
-            numerator = numerator.divide(gcd);
-            denominator = denominator.divide(gcd);
+        if (numerator.bitLength() + denominator.bitLength() > NORMALIZATION_THRESHOLD) {
+            return reduce(numerator, denominator);
         }
         return new Rational<>(numerator, denominator);
     }
 
-    private static BigInteger gcd(BigInteger a, BigInteger b) {
-        a = a.abs();
-        b = b.abs();
-        while (b.compareTo(BigInteger.ZERO) != 0) {
-            BigInteger temp = b;
-            b = a.mod(b);
-            a = temp;
+    private Rational<BigInteger> reduce(BigInteger numerator, BigInteger denominator) {
+        if (denominator.signum() == 0) {
+            throw new ArithmeticException("Division by zero!");
+        }
+        if (numerator.signum() == 0) {
+            return ZERO;
+        }
+        if (denominator.signum() < 0) {
+            numerator = numerator.negate();
+            denominator = denominator.negate();
+        }
+        BigInteger gcd = numerator.gcd(denominator);
+        if (!gcd.equals(BigInteger.ONE)) {
+            numerator = numerator.divide(gcd);
+            denominator = denominator.divide(gcd);
         }
-        return a;
+        return new Rational<>(numerator, denominator);
     }
 
     @Override
@@ -192,6 +241,16 @@ public final class RationalBigIntegerSupport implements JavaNumberTypeSupport<Ra
         throw new UnsupportedOperationException();
     }
 
+    @Override
+    public boolean isExact() {
+        return true;
+    }
+
+    @Override
+    public ArrayKernels<Rational<BigInteger>> arrayKernels() {
+        return arrayKernels;
+    }
+
     @Override
     public boolean isInstance(Object value) {
         return value instanceof Rational<?> r && r.numerator() instanceof BigInteger && r.denominator() instanceof BigInteger;
@@ -10,6 +10,8 @@ public final class RationalIntegerSupport implements JavaNumberTypeSupport<Ratio
     private static final Rational<Integer> ZERO = new Rational<>(0, 1);
     private static final Rational<Integer> EPSILON = new Rational<>(1, 1_000_000);
 
+    private final ArrayKernels<Rational<Integer>> arrayKernels = new GenericArrayKernels<>(this);
+
     protected RationalIntegerSupport() {
     }
 
@@ -195,6 +197,16 @@ public final class RationalIntegerSupport implements JavaNumberTypeSupport<Ratio
         throw new UnsupportedOperationException();
     }
 
+    @Override
+    public boolean isExact() {
+        return true;
+    }
+
+    @Override
+    public ArrayKernels<Rational<Integer>> arrayKernels() {
+        return arrayKernels;
+    }
+
     @Override
     public boolean isInstance(Object value) {
         return value instanceof Rational<?> r && r.numerator() instanceof Integer && r.denominator() instanceof Integer;
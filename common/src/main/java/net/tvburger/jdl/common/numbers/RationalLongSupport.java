@@ -10,6 +10,8 @@ public final class RationalLongSupport implements JavaNumberTypeSupport<Rational
     private static final Rational<Long> ZERO = new Rational<>(0L, 1L);
     private static final Rational<Long> EPSILON = new Rational<>(1L, 10_000_000L);
 
+    private final ArrayKernels<Rational<Long>> arrayKernels = new GenericArrayKernels<>(this);
+
     protected RationalLongSupport() {
     }
 
@@ -195,6 +197,16 @@ public final class RationalLongSupport implements JavaNumberTypeSupport<Rational
         throw new UnsupportedOperationException();
     }
 
+    @Override
+    public boolean isExact() {
+        return true;
+    }
+
+    @Override
+    public ArrayKernels<Rational<Long>> arrayKernels() {
+        return arrayKernels;
+    }
+
     @Override
     public boolean isInstance(Object value) {
         return value instanceof Rational<?> r && r.numerator() instanceof Long && r.denominator() instanceof Long;
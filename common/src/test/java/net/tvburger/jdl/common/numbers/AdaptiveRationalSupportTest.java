@@ -0,0 +1,59 @@
+package net.tvburger.jdl.common.numbers;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigInteger;
+import java.util.Random;
+
+public class AdaptiveRationalSupportTest {
+
+    @Test
+    public void testPromotionAndDemotion() {
+        // Given
+        JavaNumberTypeSupport<Rational<Number>> typeSupport = JavaNumberTypeSupport.RATIONAL_ADAPTIVE;
+        Rational<Number> large = new Rational<>(Long.MAX_VALUE, 3L);
+
+        // When
+        Rational<Number> squared = typeSupport.multiply(large, large);
+        Rational<Number> back = typeSupport.divide(squared, large);
+
+        // Then
+        Assertions.assertInstanceOf(BigInteger.class, squared.numerator());
+        Assertions.assertEquals(BigInteger.valueOf(Long.MAX_VALUE).pow(2), squared.numerator());
+        Assertions.assertEquals(9L, squared.denominator());
+        Assertions.assertEquals(large, back);
+        Assertions.assertInstanceOf(Long.class, back.numerator());
+        Assertions.assertTrue(typeSupport.isGreaterThan(squared, large));
+    }
+
+    @Test
+    public void testMatchesBigInteger() {
+        // Given
+        JavaNumberTypeSupport<Rational<Number>> adaptive = JavaNumberTypeSupport.RATIONAL_ADAPTIVE;
+        JavaNumberTypeSupport<Rational<BigInteger>> exact = JavaNumberTypeSupport.RATIONAL_BIGINT;
+        Random random = new Random(42);
+        Rational<Number> value = adaptive.one();
+        Rational<BigInteger> expected = exact.one();
+
+        // When
+        for (int i = 0; i < 200; i++) {
+            int numerator = random.nextInt(-1000, 1000);
+            int denominator = random.nextInt(1, 1000);
+            Rational<Number> operand = adaptive.divide(adaptive.add(adaptive.zero(), numerator), adaptive.add(adaptive.zero(), denominator));
+            Rational<BigInteger> exactOperand = exact.divide(exact.add(exact.zero(), numerator), exact.add(exact.zero(), denominator));
+            if (i % 2 == 0) {
+                value = adaptive.add(adaptive.multiply(value, operand), operand);
+                expected = exact.add(exact.multiply(expected, exactOperand), exactOperand);
+            } else {
+                value = adaptive.subtract(value, operand);
+                expected = exact.subtract(expected, exactOperand);
+            }
+        }
+
+        // Then
+        BigInteger numerator = value.numerator() instanceof BigInteger big ? big : BigInteger.valueOf(value.numerator().longValue());
+        BigInteger denominator = value.denominator() instanceof BigInteger big ? big : BigInteger.valueOf(value.denominator().longValue());
+        Assertions.assertTrue(exact.equals(expected, new Rational<>(numerator, denominator)));
+    }
+}
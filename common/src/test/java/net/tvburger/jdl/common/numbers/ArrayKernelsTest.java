@@ -0,0 +1,61 @@
+package net.tvburger.jdl.common.numbers;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigInteger;
+
+public class ArrayKernelsTest {
+
+    @Test
+    public void testFloat() {
+        // Given
+        ArrayKernels<Float> kernels = JavaNumberTypeSupport.FLOAT.arrayKernels();
+        Float[] x = {1.0f, 2.0f, 3.0f};
+        Float[] y = {4.0f, 5.0f, 6.0f};
+
+        // When
+        Float dot = kernels.dot(x, y);
+        kernels.axpy(2.0f, x, y);
+
+        // Then
+        Assertions.assertEquals(32.0f, dot);
+        Assertions.assertEquals(6.0f, kernels.sum(x));
+        Assertions.assertArrayEquals(new Float[]{6.0f, 9.0f, 12.0f}, y);
+        Assertions.assertThrows(IllegalArgumentException.class, () -> kernels.dot(x, new Float[2]));
+    }
+
+    @Test
+    public void testRational() {
+        // Given
+        JavaNumberTypeSupport<Rational<BigInteger>> typeSupport = JavaNumberTypeSupport.RATIONAL_BIGINT;
+        ArrayKernels<Rational<BigInteger>> kernels = typeSupport.arrayKernels();
+        Rational<BigInteger>[] x = typeSupport.createArray(4);
+        Rational<BigInteger>[] y = typeSupport.createArray(4);
+        for (int i = 0; i < 4; i++) {
+            x[i] = rational(1, i + 2);
+            y[i] = rational(-i, 3);
+        }
+        x[2] = typeSupport.zero();
+
+        // When
+        Rational<BigInteger> dot = kernels.dot(x, y);
+        Rational<BigInteger> sum = kernels.sum(x);
+
+        // Then
+        Rational<BigInteger> expectedDot = typeSupport.zero();
+        Rational<BigInteger> expectedSum = typeSupport.zero();
+        for (int i = 0; i < 4; i++) {
+            expectedDot = typeSupport.add(expectedDot, typeSupport.multiply(x[i], y[i]));
+            expectedSum = typeSupport.add(expectedSum, x[i]);
+        }
+        Assertions.assertTrue(typeSupport.equals(expectedDot, dot));
+        Assertions.assertTrue(typeSupport.equals(expectedSum, sum));
+        Assertions.assertEquals(rational(-14, 45), dot);
+        Assertions.assertEquals(rational(31, 30), sum);
+    }
+
+    private static Rational<BigInteger> rational(long numerator, long denominator) {
+        return new Rational<>(BigInteger.valueOf(numerator), BigInteger.valueOf(denominator));
+    }
+}
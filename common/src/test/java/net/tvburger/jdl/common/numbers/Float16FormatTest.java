@@ -0,0 +1,54 @@
+package net.tvburger.jdl.common.numbers;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+public class Float16FormatTest {
+
+    @Test
+    public void testHalf() {
+        // Given
+        Float16Format format = Float16Format.HALF;
+
+        // When
+        float pixel = format.decode(format.encode(128 / 255.0f));
+
+        // Then
+        Assertions.assertEquals(1.0f, format.decode(format.encode(1.0f)));
+        Assertions.assertEquals(128 / 255.0f, pixel, 1e-3f);
+        Assertions.assertEquals(65504.0f, format.decode(format.encode(65504.0f)));
+        Assertions.assertEquals(Float.POSITIVE_INFINITY, format.decode(format.encode(1e6f)));
+    }
+
+    @Test
+    public void testBFloat16() {
+        // Given
+        Float16Format format = Float16Format.BFLOAT16;
+
+        // When
+        short rounded = format.encode(1.0f + 0x1.8p-8f);
+
+        // Then
+        Assertions.assertEquals(-2.5f, format.decode(format.encode(-2.5f)));
+        Assertions.assertEquals(1.0f + 0x1p-7f, format.decode(rounded));
+        Assertions.assertEquals(1e30f, format.decode(format.encode(1e30f)), 1e28f);
+        Assertions.assertTrue(Float.isNaN(format.decode(format.encode(Float.NaN))));
+    }
+
+    @Test
+    public void testArrays() {
+        // Given
+        float[] values = {0.5f, -0.25f, 3.0f};
+        short[] encoded = new short[5];
+        float[] decoded = new float[3];
+
+        // When
+        Float16Format.BFLOAT16.encode(values, 0, encoded, 2, 3);
+        Float16Format.BFLOAT16.decode(encoded, 2, decoded, 0, 3);
+
+        // Then
+        Assertions.assertArrayEquals(values, decoded);
+        Assertions.assertTrue(JavaNumberTypeSupport.RATIONAL_BIGINT.equals(
+                JavaNumberTypeSupport.RATIONAL_BIGINT.valueOf(-0.25), Float16Format.HALF.decode(Float16Format.HALF.encode(-0.25f), JavaNumberTypeSupport.RATIONAL_BIGINT)));
+    }
+}
@@ -0,0 +1,60 @@
+package net.tvburger.jdl.common.numbers;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigInteger;
+
+public class RationalBigIntegerSupportTest {
+
+    @Test
+    public void testDeferredNormalization() {
+        // Given
+        JavaNumberTypeSupport<Rational<BigInteger>> typeSupport = JavaNumberTypeSupport.RATIONAL_BIGINT;
+        Rational<BigInteger> sixth = rational(1, 6);
+        Rational<BigInteger> third = rational(1, -3);
+
+        // When
+        Rational<BigInteger> difference = typeSupport.add(sixth, third);
+        Rational<BigInteger> normalized = typeSupport.normalize(difference);
+
+        // Then
+        Assertions.assertEquals(rational(-3, 18), difference);
+        Assertions.assertEquals(rational(-1, 6), normalized);
+        Assertions.assertTrue(typeSupport.equals(difference, normalized));
+        Assertions.assertTrue(typeSupport.isNegative(difference));
+    }
+
+    @Test
+    public void testReducesAboveThreshold() {
+        // Given
+        JavaNumberTypeSupport<Rational<BigInteger>> typeSupport = JavaNumberTypeSupport.RATIONAL_BIGINT;
+        Rational<BigInteger> value = rational(1, 2);
+
+        // When
+        for (int i = 0; i < 200; i++) {
+            value = typeSupport.add(value, rational(i % 2 == 0 ? 1 : -1, 3));
+        }
+
+        // Then
+        Assertions.assertTrue(value.numerator().bitLength() + value.denominator().bitLength() <= RationalBigIntegerSupport.NORMALIZATION_THRESHOLD);
+        Assertions.assertTrue(typeSupport.equals(rational(1, 2), value));
+    }
+
+    @Test
+    public void testFma() {
+        // Given
+        JavaNumberTypeSupport<Rational<BigInteger>> typeSupport = JavaNumberTypeSupport.RATIONAL_BIGINT;
+
+        // When
+        Rational<BigInteger> result = typeSupport.fma(rational(2, 3), rational(-3, 4), rational(5, 6));
+
+        // Then
+        Assertions.assertEquals(rational(1, 3), typeSupport.normalize(result));
+        Assertions.assertEquals(typeSupport.normalize(typeSupport.add(typeSupport.multiply(rational(2, 3), rational(-3, 4)), rational(5, 6))), typeSupport.normalize(result));
+    }
+
+    private static Rational<BigInteger> rational(long numerator, long denominator) {
+        return new Rational<>(BigInteger.valueOf(numerator), BigInteger.valueOf(denominator));
+    }
+}
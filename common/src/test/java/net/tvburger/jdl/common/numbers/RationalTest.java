@@ -23,4 +23,21 @@ public class RationalTest {
         Assertions.assertEquals(Double.POSITIVE_INFINITY, result.numerator().doubleValue());
         Assertions.assertEquals(Double.NaN, result.doubleValue());
     }
+
+    @Test
+    public void testEquals_unreducedBigInteger() {
+        // Given
+        Rational<BigInteger> unreduced = new Rational<>(BigInteger.TWO, BigInteger.valueOf(4));
+        Rational<BigInteger> reduced = new Rational<>(BigInteger.ONE, BigInteger.TWO);
+
+        // When
+        boolean equal = unreduced.equals(reduced);
+
+        // Then
+        Assertions.assertTrue(equal);
+        Assertions.assertTrue(reduced.equals(unreduced));
+        Assertions.assertEquals(reduced.hashCode(), unreduced.hashCode());
+        Assertions.assertEquals("1/2", unreduced.toString());
+        Assertions.assertNotEquals(new Rational<>(BigInteger.ONE, BigInteger.valueOf(3)), unreduced);
+    }
 }
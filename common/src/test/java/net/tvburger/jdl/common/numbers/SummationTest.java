@@ -0,0 +1,60 @@
+package net.tvburger.jdl.common.numbers;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+
+public class SummationTest {
+
+    private static final int COUNT = 1_000_000;
+    // the exact sum of COUNT times 0.1f
+    private static final double EXPECTED = COUNT * (double) 0.1f;
+
+    @Test
+    public void testCompensatedFloatSum() {
+        // Given
+        CompensatedFloatSum sum = new CompensatedFloatSum();
+        float naive = 0.0f;
+
+        // When
+        for (int i = 0; i < COUNT; i++) {
+            sum.add(0.1f);
+            naive += 0.1f;
+        }
+
+        // Then
+        Assertions.assertEquals(EXPECTED, sum.floatValue(), 0.01);
+        Assertions.assertTrue(Math.abs(naive - EXPECTED) > 100.0);
+    }
+
+    @Test
+    public void testCompensatedSum_cancellation() {
+        // Given
+        Accumulator<Double> sum = JavaNumberTypeSupport.DOUBLE.accumulator();
+
+        // When
+        sum.add(1.0);
+        sum.add(1e100);
+        sum.add(1.0);
+        sum.add(-1e100);
+
+        // Then
+        Assertions.assertEquals(2.0, sum.sum());
+    }
+
+    @Test
+    public void testPairwiseSummation() {
+        // Given
+        float[] values = new float[COUNT];
+        Arrays.fill(values, 0.1f);
+
+        // When
+        float sum = PairwiseSummation.sum(values);
+        float partial = PairwiseSummation.sum(values, 10, 1000);
+
+        // Then
+        Assertions.assertEquals(EXPECTED, sum, 0.1);
+        Assertions.assertEquals(100.0f, partial, 1e-3f);
+    }
+}
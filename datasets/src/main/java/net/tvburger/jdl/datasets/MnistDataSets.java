@@ -1,42 +1,54 @@
 package net.tvburger.jdl.datasets;
 
+import net.tvburger.jdl.common.numbers.Float16Format;
 import net.tvburger.jdl.model.DataSet;
+import net.tvburger.jdl.model.Float16Samples;
 
 import java.io.IOException;
-import java.util.Arrays;
 
 public final class MnistDataSets {
 
     private MnistDataSets() {
     }
 
-    @SuppressWarnings("unchecked")
+    /**
+     * Loads the MNIST training digits, stored as {@link Float16Format#HALF}, which represents the pixel values in
+     * [0, 1] with sufficient precision at an eighth of the memory of boxed floats.
+     *
+     * @return the digits, with the pixels as features and the one-hot encoded label as target outputs
+     * @throws IOException if the data cannot be read
+     */
     public static DataSet<Float> loadDigits() throws IOException {
+        return loadDigits(Float16Format.HALF);
+    }
+
+    /**
+     * Loads the MNIST training digits, stored in the given format.
+     *
+     * @param format the format to store the values in
+     * @return the digits, with the pixels as features and the one-hot encoded label as target outputs
+     * @throws IOException if the data cannot be read
+     */
+    public static DataSet<Float> loadDigits(Float16Format format) throws IOException {
         MnistReader.MnistData mnistData = MnistReader.readImagesLabels(
                 "mnist/train-images.idx3-ubyte",
                 "mnist/train-labels.idx1-ubyte");
-        DataSet.Sample<Float>[] samples = new DataSet.Sample[mnistData.images.size()];
-        for (int i = 0; i < samples.length; i++) {
-            samples[i] = DataSet.Sample.of(
-                    imageToFloatFeatures(mnistData.images.get(i)),
-                    labelToFloatOutputs(mnistData.labels[i]));
+        int size = mnistData.images.size();
+        int pixels = mnistData.rows * mnistData.cols;
+        short[] features = new short[size * pixels];
+        short[] targetOutputs = new short[size * 10];
+        short zero = format.encode(0.0f);
+        short one = format.encode(1.0f);
+        for (int i = 0; i < size; i++) {
+            int[] imagePixels = mnistData.images.get(i);
+            for (int j = 0; j < pixels; j++) {
+                features[i * pixels + j] = format.encode(imagePixels[j] / 255.0f);
+            }
+            for (int j = 0; j < 10; j++) {
+                targetOutputs[i * 10 + j] = mnistData.labels[i] == j ? one : zero;
+            }
         }
-        return DataSet.of(samples);
-    }
-
-    private static Float[] imageToFloatFeatures(int[] imagePixels) {
-        Float[] features = new Float[imagePixels.length];
-        for (int i = 0; i < imagePixels.length; i++) {
-            features[i] = imagePixels[i] / 255.0f;
-        }
-        return features;
-    }
-
-    private static Float[] labelToFloatOutputs(byte label) {
-        Float[] outputs = new Float[10];
-        Arrays.fill(outputs, 0.0f);
-        outputs[label] = 1.0f;
-        return outputs;
+        return new DataSet<>(new Float16Samples(format, pixels, 10, features, targetOutputs));
     }
 
 }
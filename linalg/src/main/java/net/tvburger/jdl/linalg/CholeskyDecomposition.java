@@ -0,0 +1,56 @@
+package net.tvburger.jdl.linalg;
+
+import net.tvburger.jdl.common.numbers.NumberTypeAgnostic;
+
+/**
+ * The Cholesky decomposition A = LLᵀ (or A = LDLᵀ) of a symmetric positive definite matrix A. Only the lower
+ * triangle of A is read.
+ * <p>
+ * It takes about half the operations of the {@link LUDecomposition} and needs no pivoting. A matrix that is not
+ * (numerically) positive definite does not throw on decomposition, but is reported by
+ * {@link #isPositiveDefinite()}, so callers can pick another solver. {@link #conditionEstimate()} gives a cheap
+ * estimate of how ill-conditioned the matrix is.
+ *
+ * @param <N> the number type
+ */
+public interface CholeskyDecomposition<N extends Number> extends NumberTypeAgnostic<N> {
+
+    int size();
+
+    /**
+     * Returns whether all pivots were positive. If not, the decomposition stopped and cannot be used to solve.
+     *
+     * @return true if the matrix is positive definite
+     */
+    boolean isPositiveDefinite();
+
+    /**
+     * Returns the ratio of the largest to the smallest pivot (the squared diagonal of L). This is a lower bound of
+     * the 2-norm condition number of A that is available without extra work; when it approaches the reciprocal of
+     * the machine precision of the number type, the solution can not be trusted.
+     *
+     * @return the condition estimate, or {@link Double#POSITIVE_INFINITY} if not positive definite
+     */
+    double conditionEstimate();
+
+    N determinant();
+
+    /**
+     * Solves Ax = b.
+     *
+     * @param b the right hand side
+     * @return x as column vector
+     * @throws ArithmeticException if the matrix is not positive definite
+     */
+    Vector<N> solve(Vector<N> b);
+
+    /**
+     * Solves AX = B for all columns of B.
+     *
+     * @param b the right hand sides
+     * @return X
+     * @throws ArithmeticException if the matrix is not positive definite
+     */
+    Matrix<N> solve(Matrix<N> b);
+
+}
@@ -0,0 +1,127 @@
+package net.tvburger.jdl.linalg;
+
+import net.tvburger.jdl.common.numbers.JavaNumberTypeSupport;
+
+/**
+ * The {@link CholeskyDecomposition} A = LLᵀ of a {@link DoubleMatrix}, with L stored row-major.
+ */
+final class DoubleCholeskyDecomposition implements CholeskyDecomposition<Double> {
+
+    private final double[] l;
+    private final int n;
+    private final boolean positiveDefinite;
+
+    DoubleCholeskyDecomposition(double[] values, int n) {
+        this.n = n;
+        this.l = new double[n * n];
+        boolean positive = true;
+        for (int i = 0; i < n && positive; i++) {
+            for (int j = 0; j <= i; j++) {
+                double sum = values[i * n + j];
+                for (int k = 0; k < j; k++) {
+                    sum -= l[i * n + k] * l[j * n + k];
+                }
+                if (i == j) {
+                    if (sum <= 0.0 || Double.isNaN(sum)) {
+                        positive = false;
+                        break;
+                    }
+                    l[i * n + i] = Math.sqrt(sum);
+                } else {
+                    l[i * n + j] = sum / l[j * n + j];
+                }
+            }
+        }
+        this.positiveDefinite = positive;
+    }
+
+    @Override
+    public JavaNumberTypeSupport<Double> getCurrentNumberType() {
+        return JavaNumberTypeSupport.DOUBLE;
+    }
+
+    @Override
+    public int size() {
+        return n;
+    }
+
+    @Override
+    public boolean isPositiveDefinite() {
+        return positiveDefinite;
+    }
+
+    @Override
+    public double conditionEstimate() {
+        if (!positiveDefinite) {
+            return Double.POSITIVE_INFINITY;
+        }
+        double min = Double.POSITIVE_INFINITY;
+        double max = 0.0;
+        for (int i = 0; i < n; i++) {
+            double pivot = l[i * n + i] * l[i * n + i];
+            min = Math.min(min, pivot);
+            max = Math.max(max, pivot);
+        }
+        return n == 0 ? 1.0 : max / min;
+    }
+
+    @Override
+    public Double determinant() {
+        if (!positiveDefinite) {
+            throw new ArithmeticException("Matrix is not positive definite.");
+        }
+        double determinant = 1.0;
+        for (int i = 0; i < n; i++) {
+            determinant *= l[i * n + i] * l[i * n + i];
+        }
+        return determinant;
+    }
+
+    @Override
+    public DoubleVector solve(Vector<Double> b) {
+        if (b.getDimensions() != n) {
+            throw new IllegalArgumentException("invalid dimensions of right hand side: " + b.getDimensions() + "; must be " + n + "!");
+        }
+        double[] x = new double[n];
+        for (int i = 0; i < n; i++) {
+            x[i] = b.get(i + 1);
+        }
+        substitute(x, 0, 1);
+        return new DoubleVector(x, true);
+    }
+
+    @Override
+    public DoubleMatrix solve(Matrix<Double> b) {
+        if (b.m() != n) {
+            throw new IllegalArgumentException("invalid dimensions of right hand side: " + b.m() + "x" + b.n() + "; must have " + n + " rows!");
+        }
+        int columns = b.n();
+        double[] x = Matrices.toDoubleArray(b);
+        for (int j = 0; j < columns; j++) {
+            substitute(x, j, columns);
+        }
+        return new DoubleMatrix(x, n, columns);
+    }
+
+    // solves LLᵀx = y in place for y stored at offset, offset + stride, ...
+    private void substitute(double[] y, int offset, int stride) {
+        if (!positiveDefinite) {
+            throw new ArithmeticException("Matrix is not positive definite.");
+        }
+        for (int i = 0; i < n; i++) {
+            double sum = y[offset + i * stride];
+            for (int k = 0; k < i; k++) {
+                sum -= l[i * n + k] * y[offset + k * stride];
+            }
+            y[offset + i * stride] = sum / l[i * n + i];
+        }
+        for (int i = n - 1; i >= 0; i--) {
+            double sum = y[offset + i * stride];
+            for (int k = i + 1; k < n; k++) {
+                sum -= l[k * n + i] * y[offset + k * stride];
+            }
+            y[offset + i * stride] = sum / l[i * n + i];
+        }
+    }
+
+}
@@ -0,0 +1,150 @@
+package net.tvburger.jdl.linalg;
+
+import net.tvburger.jdl.common.numbers.JavaNumberTypeSupport;
+
+/**
+ * The {@link LUDecomposition} of a {@link DoubleMatrix}, with L and U stored together row-major in one array.
+ */
+final class DoubleLUDecomposition implements LUDecomposition<Double> {
+
+    // L below the diagonal (unit diagonal implied), U on and above the diagonal
+    private final double[] lu;
+    private final int[] permutation;
+    private final int n;
+    private final boolean evenPermutation;
+    private final boolean singular;
+
+    DoubleLUDecomposition(double[] values, int n) {
+        this.n = n;
+        this.lu = values.clone();
+        this.permutation = new int[n];
+        for (int i = 0; i < n; i++) {
+            permutation[i] = i;
+        }
+        boolean even = true;
+        boolean zeroPivot = false;
+        for (int k = 0; k < n; k++) {
+            // Find pivot
+            int pivot = k;
+            for (int i = k + 1; i < n; i++) {
+                if (Math.abs(lu[i * n + k]) > Math.abs(lu[pivot * n + k])) {
+                    pivot = i;
+                }
+            }
+            if (lu[pivot * n + k] == 0.0) {
+                zeroPivot = true;
+                continue;
+            }
+            if (pivot != k) {
+                for (int j = 0; j < n; j++) {
+                    double temp = lu[k * n + j];
+                    lu[k * n + j] = lu[pivot * n + j];
+                    lu[pivot * n + j] = temp;
+                }
+                int temp = permutation[k];
+                permutation[k] = permutation[pivot];
+                permutation[pivot] = temp;
+                even = !even;
+            }
+
+            // Eliminate below pivot, storing the factors in L
+            double diagonal = lu[k * n + k];
+            for (int i = k + 1; i < n; i++) {
+                double factor = lu[i * n + k] / diagonal;
+                lu[i * n + k] = factor;
+                if (factor != 0.0) {
+                    for (int j = k + 1; j < n; j++) {
+                        lu[i * n + j] -= factor * lu[k * n + j];
+                    }
+                }
+            }
+        }
+        this.evenPermutation = even;
+        this.singular = zeroPivot;
+    }
+
+    @Override
+    public JavaNumberTypeSupport<Double> getCurrentNumberType() {
+        return JavaNumberTypeSupport.DOUBLE;
+    }
+
+    @Override
+    public int size() {
+        return n;
+    }
+
+    @Override
+    public boolean isSingular() {
+        return singular;
+    }
+
+    @Override
+    public Double determinant() {
+        if (singular) {
+            return 0.0;
+        }
+        double determinant = evenPermutation ? 1.0 : -1.0;
+        for (int i = 0; i < n; i++) {
+            determinant *= lu[i * n + i];
+        }
+        return determinant;
+    }
+
+    @Override
+    public DoubleVector solve(Vector<Double> b) {
+        if (b.getDimensions() != n) {
+            throw new IllegalArgumentException("invalid dimensions of right hand side: " + b.getDimensions() + "; must be " + n + "!");
+        }
+        double[] x = new double[n];
+        for (int i = 0; i < n; i++) {
+            x[i] = b.get(permutation[i] + 1);
+        }
+        substitute(x, 0, 1);
+        return new DoubleVector(x, true);
+    }
+
+    @Override
+    public DoubleMatrix solve(Matrix<Double> b) {
+        if (b.m() != n) {
+            throw new IllegalArgumentException("invalid dimensions of right hand side: " + b.m() + "x" + b.n() + "; must have " + n + " rows!");
+        }
+        int columns = b.n();
+        double[] x = new double[n * columns];
+        for (int i = 0; i < n; i++) {
+            for (int j = 0; j < columns; j++) {
+                x[i * columns + j] = b.get(permutation[i] + 1, j + 1);
+            }
+        }
+        for (int j = 0; j < columns; j++) {
+            substitute(x, j, columns);
+        }
+        return new DoubleMatrix(x, n, columns);
+    }
+
+    @Override
+    public DoubleMatrix inverse() {
+        return solve(Matrices.identity(n, JavaNumberTypeSupport.DOUBLE));
+    }
+
+    // solves LUx = y in place for the permuted y stored at offset, offset + stride, ...
+    private void substitute(double[] y, int offset, int stride) {
+        if (singular) {
+            throw new ArithmeticException("Matrix is singular and cannot be inverted.");
+        }
+        for (int i = 1; i < n; i++) {
+            double sum = y[offset + i * stride];
+            for (int k = 0; k < i; k++) {
+                sum -= lu[i * n + k] * y[offset + k * stride];
+            }
+            y[offset + i * stride] = sum;
+        }
+        for (int i = n - 1; i >= 0; i--) {
+            double sum = y[offset + i * stride];
+            for (int k = i + 1; k < n; k++) {
+                sum -= lu[i * n + k] * y[offset + k * stride];
+            }
+            y[offset + i * stride] = sum / lu[i * n + i];
+        }
+    }
+
+}
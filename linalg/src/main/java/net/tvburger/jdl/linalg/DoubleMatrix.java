@@ -0,0 +1,398 @@
+package net.tvburger.jdl.linalg;
+
+import net.tvburger.jdl.common.numbers.JavaNumberTypeSupport;
+
+import java.util.Arrays;
+
+/**
+ * A dense {@link Matrix} of double precision numbers.
+ * <p>
+ * All cells are stored row-major in one contiguous {@code double[]}, so no scalar operation boxes and rows are
+ * laid out next to each other in memory. Use {@link Matrices#of(double[]...)} or {@link Matrices#create} with
+ * {@link JavaNumberTypeSupport#DOUBLE} to obtain instances.
+ * <p>
+ * {@link #transpose()} and {@link #subMatrix(int, int, int, int)} return views that reinterpret the strides of the
+ * same array instead of copying it. The multiplication kernel reads views directly, other operations work on a
+ * row-major copy of a view.
+ */
+public class DoubleMatrix implements Matrix<Double> {
+
+    // cell (i, j) is stored at offset + i * rowStride + j * columnStride, which is row-major unless this is a view
+    private final double[] values;
+    private final int offset;
+    private final int rows;
+    private final int columns;
+    private final int rowStride;
+    private final int columnStride;
+    // the matrix that created the values, which holds the cached decomposition
+    private final DoubleMatrix owner;
+    private LUDecomposition<Double> luDecomposition;
+
+    protected DoubleMatrix(double[] values, int rows, int columns) {
+        if (values.length != rows * columns) {
+            throw new IllegalArgumentException("invalid number of values: " + values.length + "; must be " + rows + "x" + columns + "!");
+        }
+        this.values = values;
+        this.offset = 0;
+        this.rows = rows;
+        this.columns = columns;
+        this.rowStride = columns;
+        this.columnStride = 1;
+        this.owner = this;
+    }
+
+    private DoubleMatrix(DoubleMatrix owner, int offset, int rows, int columns, int rowStride, int columnStride) {
+        this.values = owner.values;
+        this.offset = offset;
+        this.rows = rows;
+        this.columns = columns;
+        this.rowStride = rowStride;
+        this.columnStride = columnStride;
+        this.owner = owner;
+    }
+
+    /**
+     * Returns the cells in row-major order: the backing array itself, or a copy if this is a view.
+     *
+     * @return the row-major values
+     */
+    double[] values() {
+        if (isContiguous()) {
+            return values;
+        }
+        double[] copy = new double[rows * columns];
+        for (int i = 0; i < rows; i++) {
+            for (int j = 0; j < columns; j++) {
+                copy[i * columns + j] = values[index(i, j)];
+            }
+        }
+        return copy;
+    }
+
+    double[] storage() {
+        return values;
+    }
+
+    int offset() {
+        return offset;
+    }
+
+    int rowStride() {
+        return rowStride;
+    }
+
+    int columnStride() {
+        return columnStride;
+    }
+
+    private boolean isContiguous() {
+        return offset == 0 && columnStride == 1 && rowStride == columns && values.length == rows * columns;
+    }
+
+    private int index(int i, int j) {
+        return offset + i * rowStride + j * columnStride;
+    }
+
+    private void modified() {
+        owner.luDecomposition = null;
+    }
+
+    @Override
+    public JavaNumberTypeSupport<Double> getCurrentNumberType() {
+        return JavaNumberTypeSupport.DOUBLE;
+    }
+
+    @Override
+    public DoubleMatrix add(Double value) {
+        double[] addedValues = new double[rows * columns];
+        PrimitiveKernels.get().add(value, values(), addedValues);
+        return new DoubleMatrix(addedValues, rows, columns);
+    }
+
+    @Override
+    public DoubleMatrix add(Matrix<Double> matrix) {
+        double[] addedValues = new double[rows * columns];
+        if (matrix instanceof DoubleMatrix other && other.rows == rows && other.columns == columns) {
+            PrimitiveKernels.get().add(values(), other.values(), addedValues);
+        } else {
+            for (int i = 0; i < rows; i++) {
+                for (int j = 0; j < columns; j++) {
+                    addedValues[i * columns + j] = values[index(i, j)] + matrix.get(i + 1, j + 1);
+                }
+            }
+        }
+        return new DoubleMatrix(addedValues, rows, columns);
+    }
+
+    @Override
+    public DoubleMatrix substract(Double value) {
+        return add(-value);
+    }
+
+    @Override
+    public DoubleMatrix substract(Matrix<Double> matrix) {
+        return add(matrix.multiply(-1.0));
+    }
+
+    @Override
+    public DoubleMatrix multiply(Double value) {
+        double[] multipliedValues = new double[rows * columns];
+        PrimitiveKernels.get().scale(value, values(), multipliedValues);
+        return new DoubleMatrix(multipliedValues, rows, columns);
+    }
+
+    @Override
+    public DoubleMatrix multiply(Matrix<Double> matrix) {
+        if (matrix.m() != columns) {
+            throw new IllegalArgumentException("invalid dimensions of operand: " + matrix.m() + "x" + matrix.n() + "; must have " + columns + " rows!");
+        }
+        return new DoubleMatrix(MatrixMultiplication.multiply(this, asDoubleMatrix(matrix)), rows, matrix.n());
+    }
+
+    @Override
+    public DoubleVector multiply(Vector<Double> vector) {
+        DoubleMatrix multiplied = multiply(vector.asMatrix());
+        if (multiplied.rows == 1) {
+            return new DoubleVector(multiplied.values, false);
+        }
+        double[] vectorValues = new double[multiplied.rows];
+        for (int i = 0; i < vectorValues.length; i++) {
+            vectorValues[i] = multiplied.values[i * multiplied.columns];
+        }
+        return new DoubleVector(vectorValues, true);
+    }
+
+    @Override
+    public int numberOfRows() {
+        return rows;
+    }
+
+    @Override
+    public int numberOfColumns() {
+        return columns;
+    }
+
+    @Override
+    public Double get(int row, int column) {
+        return values[index(row - 1, column - 1)];
+    }
+
+    @Override
+    public void set(int row, int column, Double value) {
+        values[index(row - 1, column - 1)] = value;
+        modified();
+    }
+
+    @Override
+    public DoubleMatrix subMatrix(int row, int column, int rows, int columns) {
+        if (row < 1 || column < 1 || rows < 0 || columns < 0 || row - 1 + rows > this.rows || column - 1 + columns > this.columns) {
+            throw new IllegalArgumentException("invalid block: " + rows + "x" + columns + " at (" + row + ", " + column + ") of " + this.rows + "x" + this.columns + "!");
+        }
+        return new DoubleMatrix(owner, index(row - 1, column - 1), rows, columns, rowStride, columnStride);
+    }
+
+    @Override
+    public Matrix<Double> multiply(Matrix<Double> matrix, Matrix<Double> destination) {
+        if (matrix.m() != columns) {
+            throw new IllegalArgumentException("invalid dimensions of operand: " + matrix.m() + "x" + matrix.n() + "; must have " + columns + " rows!");
+        }
+        if (destination instanceof DoubleMatrix other && other.isContiguous() && other.rows == rows && other.columns == matrix.n()) {
+            MatrixMultiplication.multiply(this, asDoubleMatrix(matrix), other.values);
+            other.modified();
+            return destination;
+        }
+        return Matrix.super.multiply(matrix, destination);
+    }
+
+    @Override
+    public Matrix<Double> add(Matrix<Double> matrix, Matrix<Double> destination) {
+        if (matrix instanceof DoubleMatrix operand && destination instanceof DoubleMatrix other && isContiguous()
+                && operand.isContiguous() && other.isContiguous()
+                && operand.values.length == values.length && other.values.length == values.length) {
+            PrimitiveKernels.get().add(values, operand.values, other.values);
+            other.modified();
+            return destination;
+        }
+        return Matrix.super.add(matrix, destination);
+    }
+
+    @Override
+    public Matrix<Double> multiply(Double value, Matrix<Double> destination) {
+        if (destination instanceof DoubleMatrix other && isContiguous() && other.isContiguous() && other.values.length == values.length) {
+            PrimitiveKernels.get().scale(value, values, other.values);
+            other.modified();
+            return destination;
+        }
+        return Matrix.super.multiply(value, destination);
+    }
+
+    @Override
+    public Double determinant() {
+        if (rows != columns) {
+            throw new IllegalStateException("Must be square matrix!");
+        }
+        int n = rows;
+        double[] a = isContiguous() ? values.clone() : values();
+        double det = 1.0;
+        for (int i = 0; i < n; i++) {
+            // Find pivot
+            int pivot = i;
+            for (int j = i + 1; j < n; j++) {
+                if (Math.abs(a[j * n + i]) > Math.abs(a[pivot * n + i])) {
+                    pivot = j;
+                }
+            }
+            if (a[pivot * n + i] == 0.0) {
+                return 0.0;
+            }
+            if (pivot != i) {
+                swapRows(a, n, i, pivot);
+                det = -det;
+            }
+
+            // Eliminate below pivot
+            for (int j = i + 1; j < n; j++) {
+                double factor = a[j * n + i] / a[i * n + i];
+                for (int k = i; k < n; k++) {
+                    a[j * n + k] -= factor * a[i * n + k];
+                }
+            }
+            det *= a[i * n + i];
+        }
+        return det;
+    }
+
+    @Override
+    public DoubleMatrix transpose() {
+        return new DoubleMatrix(owner, offset, columns, rows, columnStride, rowStride);
+    }
+
+    @Override
+    public DoubleMatrix pseudoInvert() {
+        DoubleMatrix transposed = transpose();
+        if (rows > columns) {
+            return transposed.multiply(this).invert().multiply(transposed);
+        } else if (columns > rows) {
+            return transposed.multiply(this.multiply(transposed).invert());
+        } else {
+            return invert();
+        }
+    }
+
+    @Override
+    public CholeskyDecomposition<Double> decomposeCholesky() {
+        if (rows != columns) {
+            throw new IllegalStateException("Must be square matrix!");
+        }
+        return new DoubleCholeskyDecomposition(values(), rows);
+    }
+
+    @Override
+    public QRDecomposition<Double> decomposeQR() {
+        return new DoubleQRDecomposition(values(), rows, columns);
+    }
+
+    @Override
+    public LUDecomposition<Double> decomposeLU() {
+        if (rows != columns) {
+            throw new IllegalStateException("Must be square matrix!");
+        }
+        if (owner != this) {
+            return new DoubleLUDecomposition(values(), rows);
+        }
+        LUDecomposition<Double> decomposition = luDecomposition;
+        if (decomposition == null) {
+            decomposition = new DoubleLUDecomposition(values, rows);
+            luDecomposition = decomposition;
+        }
+        return decomposition;
+    }
+
+    @Override
+    public DoubleMatrix invert() {
+        if (rows != columns) {
+            throw new IllegalStateException("Must be square matrix!");
+        }
+        int n = rows;
+        int width = 2 * n;
+        double[] a = values();
+
+        // Create augmented matrix [A | I]
+        double[] augmented = new double[n * width];
+        for (int i = 0; i < n; i++) {
+            System.arraycopy(a, i * n, augmented, i * width, n);
+            augmented[i * width + n + i] = 1.0;
+        }
+
+        // Perform Gaussian elimination
+        for (int i = 0; i < n; i++) {
+            // Find pivot
+            double pivot = augmented[i * width + i];
+            if (pivot == 0.0) {
+                // Find a row to swap
+                int swapRow = i + 1;
+                while (swapRow < n && augmented[swapRow * width + i] == 0.0) {
+                    swapRow++;
+                }
+                if (swapRow == n) {
+                    throw new ArithmeticException("Matrix is singular and cannot be inverted.");
+                }
+                swapRows(augmented, width, i, swapRow);
+                pivot = augmented[i * width + i];
+            }
+
+            // Normalize pivot row
+            for (int j = 0; j < width; j++) {
+                augmented[i * width + j] /= pivot;
+            }
+
+            // Eliminate other rows
+            for (int k = 0; k < n; k++) {
+                double factor = augmented[k * width + i];
+                if (k != i && factor != 0.0) {
+                    for (int j = 0; j < width; j++) {
+                        augmented[k * width + j] -= factor * augmented[i * width + j];
+                    }
+                }
+            }
+        }
+
+        // Extract inverse from augmented matrix
+        double[] inverse = new double[n * n];
+        for (int i = 0; i < n; i++) {
+            System.arraycopy(augmented, i * width + n, inverse, i * n, n);
+        }
+        return new DoubleMatrix(inverse, n, n);
+    }
+
+    private static DoubleMatrix asDoubleMatrix(Matrix<Double> matrix) {
+        return matrix instanceof DoubleMatrix other ? other : new DoubleMatrix(Matrices.toDoubleArray(matrix), matrix.m(), matrix.n());
+    }
+
+    private static void swapRows(double[] a, int width, int first, int second) {
+        for (int k = 0; k < width; k++) {
+            double temp = a[first * width + k];
+            a[first * width + k] = a[second * width + k];
+            a[second * width + k] = temp;
+        }
+    }
+
+    @Override
+    public void print(String name) {
+        Matrices.print(this, name);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        DoubleMatrix matrix = (DoubleMatrix) o;
+        return rows == matrix.rows && columns == matrix.columns && Arrays.equals(values(), matrix.values());
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 * rows + Arrays.hashCode(values());
+    }
+
+}
@@ -0,0 +1,159 @@
+package net.tvburger.jdl.linalg;
+
+import net.tvburger.jdl.common.numbers.JavaNumberTypeSupport;
+
+import java.util.Arrays;
+
+/**
+ * The Householder {@link QRDecomposition} of a {@link DoubleMatrix}. The Householder vectors are stored below and on
+ * the diagonal, R above the diagonal with its diagonal kept separately.
+ */
+final class DoubleQRDecomposition implements QRDecomposition<Double> {
+
+    private final double[] qr;
+    private final double[] rDiagonal;
+    // dimensions of the decomposed matrix, which is the transpose of A if A has more columns than rows
+    private final int p;
+    private final int q;
+    private final boolean transposed;
+    private final boolean fullRank;
+
+    DoubleQRDecomposition(double[] values, int rows, int columns) {
+        this.transposed = rows < columns;
+        this.p = transposed ? columns : rows;
+        this.q = transposed ? rows : columns;
+        this.qr = new double[p * q];
+        if (transposed) {
+            for (int i = 0; i < rows; i++) {
+                for (int j = 0; j < columns; j++) {
+                    qr[j * q + i] = values[i * columns + j];
+                }
+            }
+        } else {
+            System.arraycopy(values, 0, qr, 0, p * q);
+        }
+        this.rDiagonal = new double[q];
+        boolean rankDeficient = false;
+        for (int k = 0; k < q; k++) {
+            double norm = 0.0;
+            for (int i = k; i < p; i++) {
+                norm = Math.hypot(norm, qr[i * q + k]);
+            }
+            if (norm == 0.0) {
+                rankDeficient = true;
+                continue;
+            }
+            if (qr[k * q + k] < 0) {
+                norm = -norm;
+            }
+            for (int i = k; i < p; i++) {
+                qr[i * q + k] /= norm;
+            }
+            qr[k * q + k] += 1.0;
+            for (int j = k + 1; j < q; j++) {
+                double s = 0.0;
+                for (int i = k; i < p; i++) {
+                    s += qr[i * q + k] * qr[i * q + j];
+                }
+                s = -s / qr[k * q + k];
+                for (int i = k; i < p; i++) {
+                    qr[i * q + j] += s * qr[i * q + k];
+                }
+            }
+            rDiagonal[k] = -norm;
+        }
+        this.fullRank = !rankDeficient;
+    }
+
+    @Override
+    public JavaNumberTypeSupport<Double> getCurrentNumberType() {
+        return JavaNumberTypeSupport.DOUBLE;
+    }
+
+    @Override
+    public int m() {
+        return transposed ? q : p;
+    }
+
+    @Override
+    public int n() {
+        return transposed ? p : q;
+    }
+
+    @Override
+    public boolean isFullRank() {
+        return fullRank;
+    }
+
+    @Override
+    public DoubleVector solve(Vector<Double> b) {
+        if (b.getDimensions() != m()) {
+            throw new IllegalArgumentException("invalid dimensions of right hand side: " + b.getDimensions() + "; must be " + m() + "!");
+        }
+        double[] y = new double[p];
+        for (int i = 0; i < m(); i++) {
+            y[i] = b.get(i + 1);
+        }
+        substitute(y, 0, 1);
+        return new DoubleVector(n() == p ? y : Arrays.copyOf(y, n()), true);
+    }
+
+    @Override
+    public DoubleMatrix solve(Matrix<Double> b) {
+        if (b.m() != m()) {
+            throw new IllegalArgumentException("invalid dimensions of right hand side: " + b.m() + "x" + b.n() + "; must have " + m() + " rows!");
+        }
+        int columns = b.n();
+        double[] x = new double[p * columns];
+        System.arraycopy(Matrices.toDoubleArray(b), 0, x, 0, m() * columns);
+        for (int j = 0; j < columns; j++) {
+            substitute(x, j, columns);
+        }
+        return new DoubleMatrix(n() == p ? x : Arrays.copyOf(x, n() * columns), n(), columns);
+    }
+
+    // solves for y stored at offset, offset + stride, ... with p entries, of which the first n() hold x afterwards
+    private void substitute(double[] y, int offset, int stride) {
+        if (!fullRank) {
+            throw new ArithmeticException("Matrix is rank deficient.");
+        }
+        if (transposed) {
+            // A = RᵀQᵀ: solve Rᵀz = b, then x = Qz
+            for (int k = 0; k < q; k++) {
+                double sum = y[offset + k * stride];
+                for (int i = 0; i < k; i++) {
+                    sum -= qr[i * q + k] * y[offset + i * stride];
+                }
+                y[offset + k * stride] = sum / rDiagonal[k];
+            }
+            for (int k = q - 1; k >= 0; k--) {
+                reflect(y, offset, stride, k);
+            }
+        } else {
+            // A = QR: compute Qᵀb, then solve Rx = Qᵀb
+            for (int k = 0; k < q; k++) {
+                reflect(y, offset, stride, k);
+            }
+            for (int k = q - 1; k >= 0; k--) {
+                double sum = y[offset + k * stride];
+                for (int j = k + 1; j < q; j++) {
+                    sum -= qr[k * q + j] * y[offset + j * stride];
+                }
+                y[offset + k * stride] = sum / rDiagonal[k];
+            }
+        }
+    }
+
+    // applies the k-th Householder reflection, which is its own inverse
+    private void reflect(double[] y, int offset, int stride, int k) {
+        double s = 0.0;
+        for (int i = k; i < p; i++) {
+            s += qr[i * q + k] * y[offset + i * stride];
+        }
+        s = -s / qr[k * q + k];
+        for (int i = k; i < p; i++) {
+            y[offset + i * stride] += s * qr[i * q + k];
+        }
+    }
+
+}
@@ -0,0 +1,221 @@
+package net.tvburger.jdl.linalg;
+
+import net.tvburger.jdl.common.numbers.JavaNumberTypeSupport;
+
+import java.util.Arrays;
+
+/**
+ * A dense {@link Vector} of double precision numbers, backed by a primitive {@code double[]}.
+ */
+public class DoubleVector implements Vector<Double> {
+
+    private final double[] values;
+    private final boolean columnVector;
+
+    public DoubleVector(double[] values, boolean columnVector) {
+        this.values = values;
+        this.columnVector = columnVector;
+    }
+
+    double[] values() {
+        return values;
+    }
+
+    @Override
+    public int getDimensions() {
+        return values.length;
+    }
+
+    @Override
+    public boolean isColumnVector() {
+        return columnVector;
+    }
+
+    @Override
+    public DoubleVector transpose() {
+        return new DoubleVector(values, !columnVector);
+    }
+
+    /**
+     * Returns this vector as a 1xn or nx1 matrix, backed by the same array.
+     *
+     * @return the matrix representation of this vector
+     */
+    @Override
+    public DoubleMatrix asMatrix() {
+        return columnVector ? new DoubleMatrix(values, values.length, 1) : new DoubleMatrix(values, 1, values.length);
+    }
+
+    /**
+     * Returns a boxed copy of the values of this vector.
+     *
+     * @return the values of this vector
+     */
+    @Override
+    public Double[] asArray() {
+        Double[] doubles = new Double[values.length];
+        for (int i = 0; i < doubles.length; i++) {
+            doubles[i] = values[i];
+        }
+        return doubles;
+    }
+
+    @Override
+    public Double get(int i) {
+        return values[i - 1];
+    }
+
+    @Override
+    public void set(int i, Double value) {
+        values[i - 1] = value;
+    }
+
+    @Override
+    public DoubleVector multiply(Double value) {
+        double[] multipliedValues = new double[values.length];
+        PrimitiveKernels.get().scale(value, values, multipliedValues);
+        return new DoubleVector(multipliedValues, columnVector);
+    }
+
+    @Override
+    public DoubleVector divide(Double value) {
+        double v = value;
+        double[] dividedValues = new double[values.length];
+        for (int i = 0; i < values.length; i++) {
+            dividedValues[i] = values[i] / v;
+        }
+        return new DoubleVector(dividedValues, columnVector);
+    }
+
+    @Override
+    public DoubleVector add(Double value) {
+        double[] addedValues = new double[values.length];
+        PrimitiveKernels.get().add(value, values, addedValues);
+        return new DoubleVector(addedValues, columnVector);
+    }
+
+    @Override
+    public DoubleVector subtract(Double value) {
+        return add(-value);
+    }
+
+    @Override
+    public DoubleVector add(Vector<Double> vector) {
+        double[] addedValues = new double[values.length];
+        if (vector instanceof DoubleVector other) {
+            PrimitiveKernels.get().add(values, other.values, addedValues);
+        } else {
+            for (int i = 0; i < values.length; i++) {
+                addedValues[i] = values[i] + vector.get(i + 1);
+            }
+        }
+        return new DoubleVector(addedValues, columnVector);
+    }
+
+    @Override
+    public DoubleVector subtract(Vector<Double> vector) {
+        double[] subtractedValues = new double[values.length];
+        if (vector instanceof DoubleVector other) {
+            PrimitiveKernels.get().subtract(values, other.values, subtractedValues);
+        } else {
+            for (int i = 0; i < values.length; i++) {
+                subtractedValues[i] = values[i] - vector.get(i + 1);
+            }
+        }
+        return new DoubleVector(subtractedValues, columnVector);
+    }
+
+    @Override
+    public Vector<Double> multiply(Double value, Vector<Double> destination) {
+        if (destination instanceof DoubleVector other) {
+            PrimitiveKernels.get().scale(value, values, other.values);
+            return destination;
+        }
+        return Vector.super.multiply(value, destination);
+    }
+
+    @Override
+    public Vector<Double> add(Vector<Double> vector, Vector<Double> destination) {
+        if (vector instanceof DoubleVector operand && destination instanceof DoubleVector other) {
+            PrimitiveKernels.get().add(values, operand.values, other.values);
+            return destination;
+        }
+        return Vector.super.add(vector, destination);
+    }
+
+    @Override
+    public Vector<Double> subtract(Vector<Double> vector, Vector<Double> destination) {
+        if (vector instanceof DoubleVector operand && destination instanceof DoubleVector other) {
+            PrimitiveKernels.get().subtract(values, operand.values, other.values);
+            return destination;
+        }
+        return Vector.super.subtract(vector, destination);
+    }
+
+    @Override
+    public DoubleVector addInPlace(Double value) {
+        PrimitiveKernels.get().add(value, values, values);
+        return this;
+    }
+
+    @Override
+    public DoubleVector divideInPlace(Double value) {
+        double v = value;
+        for (int i = 0; i < values.length; i++) {
+            values[i] /= v;
+        }
+        return this;
+    }
+
+    @Override
+    public Vector<Double> fma(Double a, Vector<Double> x) {
+        if (x instanceof DoubleVector other) {
+            PrimitiveKernels.get().axpy(a, other.values, 0, values, 0, values.length);
+            return this;
+        }
+        return Vector.super.fma(a, x);
+    }
+
+    @Override
+    public Double dotProduct(Vector<Double> vector) {
+        if (vector.getDimensions() != getDimensions()) {
+            throw new IllegalArgumentException();
+        }
+        if (vector instanceof DoubleVector other) {
+            return PrimitiveKernels.get().dot(values, 0, other.values, 0, values.length);
+        }
+        double result = 0.0;
+        for (int i = 0; i < values.length; i++) {
+            result += values[i] * vector.get(i + 1);
+        }
+        return result;
+    }
+
+    @Override
+    public Double norm() {
+        double result = PrimitiveKernels.get().dot(values, 0, values, 0, values.length);
+        return Math.sqrt(result);
+    }
+
+    @Override
+    public int hashCode() {
+        return Arrays.hashCode(values) * (columnVector ? -1 : 1);
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (obj == this) {
+            return true;
+        }
+        if (obj instanceof DoubleVector v) {
+            return columnVector == v.columnVector && Arrays.equals(values, v.values);
+        } else {
+            return false;
+        }
+    }
+
+    @Override
+    public JavaNumberTypeSupport<Double> getCurrentNumberType() {
+        return JavaNumberTypeSupport.DOUBLE;
+    }
+}
@@ -0,0 +1,127 @@
+package net.tvburger.jdl.linalg;
+
+import net.tvburger.jdl.common.numbers.JavaNumberTypeSupport;
+
+/**
+ * The {@link CholeskyDecomposition} A = LLᵀ of a {@link FloatMatrix}, with L stored row-major.
+ */
+final class FloatCholeskyDecomposition implements CholeskyDecomposition<Float> {
+
+    private final float[] l;
+    private final int n;
+    private final boolean positiveDefinite;
+
+    FloatCholeskyDecomposition(float[] values, int n) {
+        this.n = n;
+        this.l = new float[n * n];
+        boolean positive = true;
+        for (int i = 0; i < n && positive; i++) {
+            for (int j = 0; j <= i; j++) {
+                float sum = values[i * n + j];
+                for (int k = 0; k < j; k++) {
+                    sum -= l[i * n + k] * l[j * n + k];
+                }
+                if (i == j) {
+                    if (sum <= 0.0f || Float.isNaN(sum)) {
+                        positive = false;
+                        break;
+                    }
+                    l[i * n + i] = (float) Math.sqrt(sum);
+                } else {
+                    l[i * n + j] = sum / l[j * n + j];
+                }
+            }
+        }
+        this.positiveDefinite = positive;
+    }
+
+    @Override
+    public JavaNumberTypeSupport<Float> getCurrentNumberType() {
+        return JavaNumberTypeSupport.FLOAT;
+    }
+
+    @Override
+    public int size() {
+        return n;
+    }
+
+    @Override
+    public boolean isPositiveDefinite() {
+        return positiveDefinite;
+    }
+
+    @Override
+    public double conditionEstimate() {
+        if (!positiveDefinite) {
+            return Double.POSITIVE_INFINITY;
+        }
+        double min = Double.POSITIVE_INFINITY;
+        double max = 0.0;
+        for (int i = 0; i < n; i++) {
+            double pivot = l[i * n + i] * l[i * n + i];
+            min = Math.min(min, pivot);
+            max = Math.max(max, pivot);
+        }
+        return n == 0 ? 1.0 : max / min;
+    }
+
+    @Override
+    public Float determinant() {
+        if (!positiveDefinite) {
+            throw new ArithmeticException("Matrix is not positive definite.");
+        }
+        float determinant = 1.0f;
+        for (int i = 0; i < n; i++) {
+            determinant *= l[i * n + i] * l[i * n + i];
+        }
+        return determinant;
+    }
+
+    @Override
+    public FloatVector solve(Vector<Float> b) {
+        if (b.getDimensions() != n) {
+            throw new IllegalArgumentException("invalid dimensions of right hand side: " + b.getDimensions() + "; must be " + n + "!");
+        }
+        float[] x = new float[n];
+        for (int i = 0; i < n; i++) {
+            x[i] = b.get(i + 1);
+        }
+        substitute(x, 0, 1);
+        return new FloatVector(x, true);
+    }
+
+    @Override
+    public FloatMatrix solve(Matrix<Float> b) {
+        if (b.m() != n) {
+            throw new IllegalArgumentException("invalid dimensions of right hand side: " + b.m() + "x" + b.n() + "; must have " + n + " rows!");
+        }
+        int columns = b.n();
+        float[] x = Matrices.toFloatArray(b);
+        for (int j = 0; j < columns; j++) {
+            substitute(x, j, columns);
+        }
+        return new FloatMatrix(x, n, columns);
+    }
+
+    // solves LLᵀx = y in place for y stored at offset, offset + stride, ...
+    private void substitute(float[] y, int offset, int stride) {
+        if (!positiveDefinite) {
+            throw new ArithmeticException("Matrix is not positive definite.");
+        }
+        for (int i = 0; i < n; i++) {
+            float sum = y[offset + i * stride];
+            for (int k = 0; k < i; k++) {
+                sum -= l[i * n + k] * y[offset + k * stride];
+            }
+            y[offset + i * stride] = sum / l[i * n + i];
+        }
+        for (int i = n - 1; i >= 0; i--) {
+            float sum = y[offset + i * stride];
+            for (int k = i + 1; k < n; k++) {
+                sum -= l[k * n + i] * y[offset + k * stride];
+            }
+            y[offset + i * stride] = sum / l[i * n + i];
+        }
+    }
+
+}
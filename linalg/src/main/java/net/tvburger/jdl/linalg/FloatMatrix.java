@@ -0,0 +1,405 @@
+package net.tvburger.jdl.linalg;
+
+import net.tvburger.jdl.common.numbers.JavaNumberTypeSupport;
+
+import java.util.Arrays;
+
+/**
+ * A dense {@link Matrix} of single precision numbers.
+ * <p>
+ * All cells are stored row-major in one contiguous {@code float[]}, so no scalar operation boxes and rows are
+ * laid out next to each other in memory. Use {@link Matrices#of(float[]...)} or {@link Matrices#create} with
+ * {@link JavaNumberTypeSupport#FLOAT} to obtain instances.
+ * <p>
+ * {@link #transpose()} and {@link #subMatrix(int, int, int, int)} return views that reinterpret the strides of the
+ * same array instead of copying it. The multiplication kernel reads views directly, other operations work on a
+ * row-major copy of a view.
+ */
+public class FloatMatrix implements Matrix<Float> {
+
+    // cell (i, j) is stored at offset + i * rowStride + j * columnStride, which is row-major unless this is a view
+    private final float[] values;
+    private final int offset;
+    private final int rows;
+    private final int columns;
+    private final int rowStride;
+    private final int columnStride;
+    // the matrix that created the values, which holds the cached decomposition
+    private final FloatMatrix owner;
+    private LUDecomposition<Float> luDecomposition;
+
+    protected FloatMatrix(float[] values, int rows, int columns) {
+        if (values.length != rows * columns) {
+            throw new IllegalArgumentException("invalid number of values: " + values.length + "; must be " + rows + "x" + columns + "!");
+        }
+        this.values = values;
+        this.offset = 0;
+        this.rows = rows;
+        this.columns = columns;
+        this.rowStride = columns;
+        this.columnStride = 1;
+        this.owner = this;
+    }
+
+    private FloatMatrix(FloatMatrix owner, int offset, int rows, int columns, int rowStride, int columnStride) {
+        this.values = owner.values;
+        this.offset = offset;
+        this.rows = rows;
+        this.columns = columns;
+        this.rowStride = rowStride;
+        this.columnStride = columnStride;
+        this.owner = owner;
+    }
+
+    /**
+     * Returns the cells in row-major order: the backing array itself, or a copy if this is a view.
+     *
+     * @return the row-major values
+     */
+    float[] values() {
+        if (isContiguous()) {
+            return values;
+        }
+        float[] copy = new float[rows * columns];
+        for (int i = 0; i < rows; i++) {
+            for (int j = 0; j < columns; j++) {
+                copy[i * columns + j] = values[index(i, j)];
+            }
+        }
+        return copy;
+    }
+
+    float[] storage() {
+        return values;
+    }
+
+    int offset() {
+        return offset;
+    }
+
+    int rowStride() {
+        return rowStride;
+    }
+
+    int columnStride() {
+        return columnStride;
+    }
+
+    private boolean isContiguous() {
+        return offset == 0 && columnStride == 1 && rowStride == columns && values.length == rows * columns;
+    }
+
+    private int index(int i, int j) {
+        return offset + i * rowStride + j * columnStride;
+    }
+
+    private void modified() {
+        owner.luDecomposition = null;
+    }
+
+    @Override
+    public JavaNumberTypeSupport<Float> getCurrentNumberType() {
+        return JavaNumberTypeSupport.FLOAT;
+    }
+
+    @Override
+    public FloatMatrix add(Float value) {
+        float[] addedValues = new float[rows * columns];
+        PrimitiveKernels.get().add(value, values(), addedValues);
+        return new FloatMatrix(addedValues, rows, columns);
+    }
+
+    @Override
+    public FloatMatrix add(Matrix<Float> matrix) {
+        float[] addedValues = new float[rows * columns];
+        if (matrix instanceof FloatMatrix other && other.rows == rows && other.columns == columns) {
+            PrimitiveKernels.get().add(values(), other.values(), addedValues);
+        } else {
+            for (int i = 0; i < rows; i++) {
+                for (int j = 0; j < columns; j++) {
+                    addedValues[i * columns + j] = values[index(i, j)] + matrix.get(i + 1, j + 1);
+                }
+            }
+        }
+        return new FloatMatrix(addedValues, rows, columns);
+    }
+
+    @Override
+    public FloatMatrix substract(Float value) {
+        return add(-value);
+    }
+
+    @Override
+    public FloatMatrix substract(Matrix<Float> matrix) {
+        return add(matrix.multiply(-1.0f));
+    }
+
+    @Override
+    public FloatMatrix multiply(Float value) {
+        float[] multipliedValues = new float[rows * columns];
+        PrimitiveKernels.get().scale(value, values(), multipliedValues);
+        return new FloatMatrix(multipliedValues, rows, columns);
+    }
+
+    @Override
+    public FloatMatrix multiply(Matrix<Float> matrix) {
+        if (matrix.m() != columns) {
+            throw new IllegalArgumentException("invalid dimensions of operand: " + matrix.m() + "x" + matrix.n() + "; must have " + columns + " rows!");
+        }
+        if (matrix instanceof SparseFloatMatrix sparse) {
+            // AB = (BᵀAᵀ)ᵀ, which only visits the stored cells of B
+            return sparse.transpose().multiply(transpose()).transpose();
+        }
+        return new FloatMatrix(MatrixMultiplication.multiply(this, asFloatMatrix(matrix)), rows, matrix.n());
+    }
+
+    @Override
+    public FloatVector multiply(Vector<Float> vector) {
+        FloatMatrix multiplied = multiply(vector.asMatrix());
+        if (multiplied.rows == 1) {
+            return new FloatVector(multiplied.values, false);
+        }
+        float[] vectorValues = new float[multiplied.rows];
+        for (int i = 0; i < vectorValues.length; i++) {
+            vectorValues[i] = multiplied.values[i * multiplied.columns];
+        }
+        return new FloatVector(vectorValues, true);
+    }
+
+    @Override
+    public int numberOfRows() {
+        return rows;
+    }
+
+    @Override
+    public int numberOfColumns() {
+        return columns;
+    }
+
+    @Override
+    public Float get(int row, int column) {
+        return values[index(row - 1, column - 1)];
+    }
+
+    @Override
+    public void set(int row, int column, Float value) {
+        values[index(row - 1, column - 1)] = value;
+        modified();
+    }
+
+    @Override
+    public FloatMatrix subMatrix(int row, int column, int rows, int columns) {
+        if (row < 1 || column < 1 || rows < 0 || columns < 0 || row - 1 + rows > this.rows || column - 1 + columns > this.columns) {
+            throw new IllegalArgumentException("invalid block: " + rows + "x" + columns + " at (" + row + ", " + column + ") of " + this.rows + "x" + this.columns + "!");
+        }
+        return new FloatMatrix(owner, index(row - 1, column - 1), rows, columns, rowStride, columnStride);
+    }
+
+    @Override
+    public Matrix<Float> multiply(Matrix<Float> matrix, Matrix<Float> destination) {
+        if (matrix.m() != columns) {
+            throw new IllegalArgumentException("invalid dimensions of operand: " + matrix.m() + "x" + matrix.n() + "; must have " + columns + " rows!");
+        }
+        if (destination instanceof FloatMatrix other && other.isContiguous() && other.rows == rows && other.columns == matrix.n()) {
+            MatrixMultiplication.multiply(this, asFloatMatrix(matrix), other.values);
+            other.modified();
+            return destination;
+        }
+        return Matrix.super.multiply(matrix, destination);
+    }
+
+    @Override
+    public Matrix<Float> add(Matrix<Float> matrix, Matrix<Float> destination) {
+        if (matrix instanceof FloatMatrix operand && destination instanceof FloatMatrix other && isContiguous()
+                && operand.isContiguous() && other.isContiguous()
+                && operand.values.length == values.length && other.values.length == values.length) {
+            PrimitiveKernels.get().add(values, operand.values, other.values);
+            other.modified();
+            return destination;
+        }
+        return Matrix.super.add(matrix, destination);
+    }
+
+    @Override
+    public Matrix<Float> multiply(Float value, Matrix<Float> destination) {
+        if (destination instanceof FloatMatrix other && isContiguous() && other.isContiguous() && other.values.length == values.length) {
+            PrimitiveKernels.get().scale(value, values, other.values);
+            other.modified();
+            return destination;
+        }
+        return Matrix.super.multiply(value, destination);
+    }
+
+    @Override
+    public Float determinant() {
+        if (rows != columns) {
+            throw new IllegalStateException("Must be square matrix!");
+        }
+        int n = rows;
+        float[] a = isContiguous() ? values.clone() : values();
+        float det = 1.0f;
+        for (int i = 0; i < n; i++) {
+            // Find pivot
+            int pivot = i;
+            for (int j = i + 1; j < n; j++) {
+                if (Math.abs(a[j * n + i]) > Math.abs(a[pivot * n + i])) {
+                    pivot = j;
+                }
+            }
+            if (a[pivot * n + i] == 0.0f) {
+                return 0.0f;
+            }
+            if (pivot != i) {
+                swapRows(a, n, i, pivot);
+                det = -det;
+            }
+
+            // Eliminate below pivot
+            for (int j = i + 1; j < n; j++) {
+                float factor = a[j * n + i] / a[i * n + i];
+                for (int k = i; k < n; k++) {
+                    a[j * n + k] -= factor * a[i * n + k];
+                }
+            }
+            det *= a[i * n + i];
+        }
+        return det;
+    }
+
+    @Override
+    public FloatMatrix transpose() {
+        return new FloatMatrix(owner, offset, columns, rows, columnStride, rowStride);
+    }
+
+    @Override
+    public FloatMatrix pseudoInvert() {
+        FloatMatrix transposed = transpose();
+        if (rows > columns) {
+            return transposed.multiply(this).invert().multiply(transposed);
+        } else if (columns > rows) {
+            return transposed.multiply(this.multiply(transposed).invert());
+        } else {
+            return invert();
+        }
+    }
+
+    @Override
+    public CholeskyDecomposition<Float> decomposeCholesky() {
+        if (rows != columns) {
+            throw new IllegalStateException("Must be square matrix!");
+        }
+        return new FloatCholeskyDecomposition(values(), rows);
+    }
+
+    @Override
+    public QRDecomposition<Float> decomposeQR() {
+        return new FloatQRDecomposition(values(), rows, columns);
+    }
+
+    @Override
+    public LUDecomposition<Float> decomposeLU() {
+        if (rows != columns) {
+            throw new IllegalStateException("Must be square matrix!");
+        }
+        if (owner != this) {
+            return new FloatLUDecomposition(values(), rows);
+        }
+        LUDecomposition<Float> decomposition = luDecomposition;
+        if (decomposition == null) {
+            decomposition = new FloatLUDecomposition(values, rows);
+            luDecomposition = decomposition;
+        }
+        return decomposition;
+    }
+
+    @Override
+    public FloatMatrix invert() {
+        if (rows != columns) {
+            throw new IllegalStateException("Must be square matrix!");
+        }
+        int n = rows;
+        int width = 2 * n;
+        float[] a = values();
+
+        // Create augmented matrix [A | I]
+        float[] augmented = new float[n * width];
+        for (int i = 0; i < n; i++) {
+            System.arraycopy(a, i * n, augmented, i * width, n);
+            augmented[i * width + n + i] = 1.0f;
+        }
+
+        // Perform Gaussian elimination
+        for (int i = 0; i < n; i++) {
+            // Find pivot
+            float pivot = augmented[i * width + i];
+            if (pivot == 0.0f) {
+                // Find a row to swap
+                int swapRow = i + 1;
+                while (swapRow < n && augmented[swapRow * width + i] == 0.0f) {
+                    swapRow++;
+                }
+                if (swapRow == n) {
+                    throw new ArithmeticException("Matrix is singular and cannot be inverted.");
+                }
+                swapRows(augmented, width, i, swapRow);
+                pivot = augmented[i * width + i];
+            }
+
+            // Normalize pivot row
+            for (int j = 0; j < width; j++) {
+                augmented[i * width + j] /= pivot;
+            }
+
+            // Eliminate other rows
+            for (int k = 0; k < n; k++) {
+                float factor = augmented[k * width + i];
+                if (k != i && factor != 0.0f) {
+                    for (int j = 0; j < width; j++) {
+                        augmented[k * width + j] -= factor * augmented[i * width + j];
+                    }
+                }
+            }
+        }
+
+        // Extract inverse from augmented matrix
+        float[] inverse = new float[n * n];
+        for (int i = 0; i < n; i++) {
+            System.arraycopy(augmented, i * width + n, inverse, i * n, n);
+        }
+        return new FloatMatrix(inverse, n, n);
+    }
+
+    private static FloatMatrix asFloatMatrix(Matrix<Float> matrix) {
+        if (matrix instanceof SparseFloatMatrix sparse) {
+            return sparse.toDense();
+        }
+        return matrix instanceof FloatMatrix other ? other : new FloatMatrix(Matrices.toFloatArray(matrix), matrix.m(), matrix.n());
+    }
+
+    private static void swapRows(float[] a, int width, int first, int second) {
+        for (int k = 0; k < width; k++) {
+            float temp = a[first * width + k];
+            a[first * width + k] = a[second * width + k];
+            a[second * width + k] = temp;
+        }
+    }
+
+    @Override
+    public void print(String name) {
+        Matrices.print(this, name);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        FloatMatrix matrix = (FloatMatrix) o;
+        return rows == matrix.rows && columns == matrix.columns && Arrays.equals(values(), matrix.values());
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 * rows + Arrays.hashCode(values());
+    }
+
+}
@@ -0,0 +1,228 @@
+package net.tvburger.jdl.linalg;
+
+import net.tvburger.jdl.common.numbers.JavaNumberTypeSupport;
+
+import java.util.Arrays;
+
+/**
+ * A dense {@link Vector} of single precision numbers, backed by a primitive {@code float[]}.
+ */
+public class FloatVector implements Vector<Float> {
+
+    private final float[] values;
+    private final boolean columnVector;
+
+    public FloatVector(float[] values, boolean columnVector) {
+        this.values = values;
+        this.columnVector = columnVector;
+    }
+
+    float[] values() {
+        return values;
+    }
+
+    @Override
+    public int getDimensions() {
+        return values.length;
+    }
+
+    @Override
+    public boolean isColumnVector() {
+        return columnVector;
+    }
+
+    @Override
+    public FloatVector transpose() {
+        return new FloatVector(values, !columnVector);
+    }
+
+    /**
+     * Returns this vector as a 1xn or nx1 matrix, backed by the same array.
+     *
+     * @return the matrix representation of this vector
+     */
+    @Override
+    public FloatMatrix asMatrix() {
+        return columnVector ? new FloatMatrix(values, values.length, 1) : new FloatMatrix(values, 1, values.length);
+    }
+
+    /**
+     * Returns a boxed copy of the values of this vector.
+     *
+     * @return the values of this vector
+     */
+    @Override
+    public Float[] asArray() {
+        Float[] floats = new Float[values.length];
+        for (int i = 0; i < floats.length; i++) {
+            floats[i] = values[i];
+        }
+        return floats;
+    }
+
+    @Override
+    public Float get(int i) {
+        return values[i - 1];
+    }
+
+    @Override
+    public void set(int i, Float value) {
+        values[i - 1] = value;
+    }
+
+    @Override
+    public FloatVector multiply(Float value) {
+        float[] multipliedValues = new float[values.length];
+        PrimitiveKernels.get().scale(value, values, multipliedValues);
+        return new FloatVector(multipliedValues, columnVector);
+    }
+
+    @Override
+    public FloatVector divide(Float value) {
+        float v = value;
+        float[] dividedValues = new float[values.length];
+        for (int i = 0; i < values.length; i++) {
+            dividedValues[i] = values[i] / v;
+        }
+        return new FloatVector(dividedValues, columnVector);
+    }
+
+    @Override
+    public FloatVector add(Float value) {
+        float[] addedValues = new float[values.length];
+        PrimitiveKernels.get().add(value, values, addedValues);
+        return new FloatVector(addedValues, columnVector);
+    }
+
+    @Override
+    public FloatVector subtract(Float value) {
+        return add(-value);
+    }
+
+    @Override
+    public FloatVector add(Vector<Float> vector) {
+        float[] addedValues = new float[values.length];
+        if (vector instanceof FloatVector other) {
+            PrimitiveKernels.get().add(values, other.values, addedValues);
+        } else {
+            for (int i = 0; i < values.length; i++) {
+                addedValues[i] = values[i] + vector.get(i + 1);
+            }
+        }
+        return new FloatVector(addedValues, columnVector);
+    }
+
+    @Override
+    public FloatVector subtract(Vector<Float> vector) {
+        float[] subtractedValues = new float[values.length];
+        if (vector instanceof FloatVector other) {
+            PrimitiveKernels.get().subtract(values, other.values, subtractedValues);
+        } else {
+            for (int i = 0; i < values.length; i++) {
+                subtractedValues[i] = values[i] - vector.get(i + 1);
+            }
+        }
+        return new FloatVector(subtractedValues, columnVector);
+    }
+
+    @Override
+    public Vector<Float> multiply(Float value, Vector<Float> destination) {
+        if (destination instanceof FloatVector other) {
+            PrimitiveKernels.get().scale(value, values, other.values);
+            return destination;
+        }
+        return Vector.super.multiply(value, destination);
+    }
+
+    @Override
+    public Vector<Float> add(Vector<Float> vector, Vector<Float> destination) {
+        if (vector instanceof FloatVector operand && destination instanceof FloatVector other) {
+            PrimitiveKernels.get().add(values, operand.values, other.values);
+            return destination;
+        }
+        return Vector.super.add(vector, destination);
+    }
+
+    @Override
+    public Vector<Float> subtract(Vector<Float> vector, Vector<Float> destination) {
+        if (vector instanceof FloatVector operand && destination instanceof FloatVector other) {
+            PrimitiveKernels.get().subtract(values, operand.values, other.values);
+            return destination;
+        }
+        return Vector.super.subtract(vector, destination);
+    }
+
+    @Override
+    public FloatVector addInPlace(Float value) {
+        PrimitiveKernels.get().add(value, values, values);
+        return this;
+    }
+
+    @Override
+    public FloatVector divideInPlace(Float value) {
+        float v = value;
+        for (int i = 0; i < values.length; i++) {
+            values[i] /= v;
+        }
+        return this;
+    }
+
+    @Override
+    public Vector<Float> fma(Float a, Vector<Float> x) {
+        if (x instanceof FloatVector other) {
+            PrimitiveKernels.get().axpy(a, other.values, 0, values, 0, values.length);
+            return this;
+        }
+        if (x instanceof SparseFloatVector sparse) {
+            PrimitiveKernels.get().axpy(a, sparse.values(), sparse.indices(), 0, sparse.size(), values);
+            return this;
+        }
+        return Vector.super.fma(a, x);
+    }
+
+    @Override
+    public Float dotProduct(Vector<Float> vector) {
+        if (vector.getDimensions() != getDimensions()) {
+            throw new IllegalArgumentException();
+        }
+        if (vector instanceof FloatVector other) {
+            return PrimitiveKernels.get().dot(values, 0, other.values, 0, values.length);
+        }
+        if (vector instanceof SparseFloatVector sparse) {
+            return sparse.dotProduct(this);
+        }
+        float result = 0.0f;
+        for (int i = 0; i < values.length; i++) {
+            result += values[i] * vector.get(i + 1);
+        }
+        return result;
+    }
+
+    @Override
+    public Float norm() {
+        float result = PrimitiveKernels.get().dot(values, 0, values, 0, values.length);
+        return (float) Math.sqrt(result);
+    }
+
+    @Override
+    public int hashCode() {
+        return Arrays.hashCode(values) * (columnVector ? -1 : 1);
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (obj == this) {
+            return true;
+        }
+        if (obj instanceof FloatVector v) {
+            return columnVector == v.columnVector && Arrays.equals(values, v.values);
+        } else {
+            return false;
+        }
+    }
+
+    @Override
+    public JavaNumberTypeSupport<Float> getCurrentNumberType() {
+        return JavaNumberTypeSupport.FLOAT;
+    }
+}
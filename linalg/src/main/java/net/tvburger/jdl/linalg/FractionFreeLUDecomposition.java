@@ -0,0 +1,253 @@
+package net.tvburger.jdl.linalg;
+
+import net.tvburger.jdl.common.numbers.JavaNumberTypeSupport;
+import net.tvburger.jdl.common.numbers.Rational;
+
+import java.math.BigInteger;
+
+/**
+ * The {@link LUDecomposition} for rational number types by fraction-free (Bareiss) elimination. Each row is scaled
+ * to integers once, after which every elimination step divides exactly by the previous pivot, so all intermediates
+ * stay integral and no greatest common divisors are computed. The entries stay bounded by the minors of the matrix,
+ * where ordinary Gaussian elimination on rationals lets numerators and denominators grow with every step.
+ * <p>
+ * Solutions are computed fraction-free as well, as det(A)x is integral, and only turned into rationals at the end.
+ *
+ * @param <N> the rational number type
+ */
+final class FractionFreeLUDecomposition<N extends Number> implements LUDecomposition<N> {
+
+    // U on and above the diagonal, below the diagonal the entries each step eliminated
+    private final BigInteger[][] lu;
+    private final int[] permutation;
+    // the factor each (permuted) row was scaled with to make it integral
+    private final BigInteger[] scales;
+    private final boolean evenPermutation;
+    private final boolean singular;
+    private final JavaNumberTypeSupport<N> typeSupport;
+
+    static boolean supports(JavaNumberTypeSupport<?> typeSupport) {
+        return typeSupport == JavaNumberTypeSupport.RATIONAL_BIGINT
+                || typeSupport == JavaNumberTypeSupport.RATIONAL_LONG
+                || typeSupport == JavaNumberTypeSupport.RATIONAL_INT
+                || typeSupport == JavaNumberTypeSupport.RATIONAL_ADAPTIVE;
+    }
+
+    FractionFreeLUDecomposition(Matrix<N> matrix, JavaNumberTypeSupport<N> typeSupport) {
+        if (matrix.m() != matrix.n()) {
+            throw new IllegalStateException("Must be square matrix!");
+        }
+        this.typeSupport = typeSupport;
+        int n = matrix.m();
+        this.lu = new BigInteger[n][n];
+        this.scales = new BigInteger[n];
+        this.permutation = new int[n];
+        for (int i = 0; i < n; i++) {
+            BigInteger scale = BigInteger.ONE;
+            for (int j = 0; j < n; j++) {
+                scale = lcm(scale, denominator(matrix.get(i + 1, j + 1)));
+            }
+            for (int j = 0; j < n; j++) {
+                N value = matrix.get(i + 1, j + 1);
+                lu[i][j] = numerator(value).multiply(scale.divide(denominator(value)));
+            }
+            scales[i] = scale;
+            permutation[i] = i;
+        }
+        boolean even = true;
+        boolean zeroPivot = false;
+        BigInteger previous = BigInteger.ONE;
+        for (int k = 0; k < n; k++) {
+            // the smallest non-zero pivot keeps the integers small, the choice does not affect exactness
+            int pivot = -1;
+            for (int i = k; i < n; i++) {
+                if (lu[i][k].signum() != 0 && (pivot == -1 || lu[i][k].bitLength() < lu[pivot][k].bitLength())) {
+                    pivot = i;
+                }
+            }
+            if (pivot == -1) {
+                zeroPivot = true;
+                break;
+            }
+            if (pivot != k) {
+                swap(lu, k, pivot);
+                swap(scales, k, pivot);
+                int index = permutation[k];
+                permutation[k] = permutation[pivot];
+                permutation[pivot] = index;
+                even = !even;
+            }
+            for (int i = k + 1; i < n; i++) {
+                for (int j = k + 1; j < n; j++) {
+                    lu[i][j] = lu[k][k].multiply(lu[i][j]).subtract(lu[i][k].multiply(lu[k][j])).divide(previous);
+                }
+            }
+            previous = lu[k][k];
+        }
+        this.evenPermutation = even;
+        this.singular = zeroPivot;
+    }
+
+    @Override
+    public JavaNumberTypeSupport<N> getCurrentNumberType() {
+        return typeSupport;
+    }
+
+    @Override
+    public int size() {
+        return lu.length;
+    }
+
+    @Override
+    public boolean isSingular() {
+        return singular;
+    }
+
+    @Override
+    public N determinant() {
+        int n = lu.length;
+        if (singular) {
+            return typeSupport.zero();
+        }
+        if (n == 0) {
+            return typeSupport.one();
+        }
+        // the last pivot is the determinant of the scaled and permuted matrix
+        BigInteger scale = BigInteger.ONE;
+        for (BigInteger rowScale : scales) {
+            scale = scale.multiply(rowScale);
+        }
+        BigInteger determinant = lu[n - 1][n - 1];
+        return rational(evenPermutation ? determinant : determinant.negate(), scale);
+    }
+
+    @Override
+    public TypedVector<N> solve(Vector<N> b) {
+        int n = lu.length;
+        if (b.getDimensions() != n) {
+            throw new IllegalArgumentException("invalid dimensions of right hand side: " + b.getDimensions() + "; must be " + n + "!");
+        }
+        N[] column = typeSupport.createArray(n);
+        for (int i = 0; i < n; i++) {
+            column[i] = b.get(permutation[i] + 1);
+        }
+        return new TypedVector<>(substitute(column), true, typeSupport);
+    }
+
+    @Override
+    public TypedMatrix<N> solve(Matrix<N> b) {
+        int n = lu.length;
+        if (b.m() != n) {
+            throw new IllegalArgumentException("invalid dimensions of right hand side: " + b.m() + "x" + b.n() + "; must have " + n + " rows!");
+        }
+        N[][] x = typeSupport.createArrayOfArrays(n, b.n());
+        N[] column = typeSupport.createArray(n);
+        for (int j = 0; j < b.n(); j++) {
+            for (int i = 0; i < n; i++) {
+                column[i] = b.get(permutation[i] + 1, j + 1);
+            }
+            N[] solution = substitute(column);
+            for (int i = 0; i < n; i++) {
+                x[i][j] = solution[i];
+            }
+        }
+        return new TypedMatrix<>(x, typeSupport);
+    }
+
+    @Override
+    public TypedMatrix<N> inverse() {
+        return solve(Matrices.identity(lu.length, typeSupport));
+    }
+
+    // solves Ax = b for the permuted b
+    private N[] substitute(N[] b) {
+        if (singular) {
+            throw new ArithmeticException("Matrix is singular and cannot be inverted.");
+        }
+        int n = lu.length;
+        // scale the right hand side like the rows, then to integers by the common denominator
+        BigInteger denominator = BigInteger.ONE;
+        for (int i = 0; i < n; i++) {
+            denominator = lcm(denominator, denominator(b[i]).divide(denominator(b[i]).gcd(scales[i])));
+        }
+        BigInteger[] y = new BigInteger[n];
+        for (int i = 0; i < n; i++) {
+            y[i] = numerator(b[i]).multiply(scales[i]).multiply(denominator).divide(denominator(b[i]));
+        }
+        BigInteger previous = BigInteger.ONE;
+        for (int k = 0; k < n - 1; k++) {
+            for (int i = k + 1; i < n; i++) {
+                y[i] = lu[k][k].multiply(y[i]).subtract(lu[i][k].multiply(y[k])).divide(previous);
+            }
+            previous = lu[k][k];
+        }
+        // back substitution for det(A)x, with det(A) the last pivot
+        BigInteger determinant = n == 0 ? BigInteger.ONE : lu[n - 1][n - 1];
+        for (int i = n - 1; i >= 0; i--) {
+            BigInteger sum = determinant.multiply(y[i]);
+            for (int j = i + 1; j < n; j++) {
+                sum = sum.subtract(lu[i][j].multiply(y[j]));
+            }
+            y[i] = sum.divide(lu[i][i]);
+        }
+        N[] x = typeSupport.createArray(n);
+        BigInteger scale = determinant.multiply(denominator);
+        for (int i = 0; i < n; i++) {
+            x[i] = rational(y[i], scale);
+        }
+        return x;
+    }
+
+    private static BigInteger numerator(Number value) {
+        Rational<?> rational = (Rational<?>) value;
+        BigInteger numerator = integer(rational.numerator());
+        return integer(rational.denominator()).signum() < 0 ? numerator.negate() : numerator;
+    }
+
+    private static BigInteger denominator(Number value) {
+        return integer(((Rational<?>) value).denominator()).abs();
+    }
+
+    private static BigInteger integer(Number number) {
+        return number instanceof BigInteger integer ? integer : BigInteger.valueOf(number.longValue());
+    }
+
+    private static BigInteger lcm(BigInteger a, BigInteger b) {
+        return a.divide(a.gcd(b)).multiply(b);
+    }
+
+    // a long when it fits, as the adaptive rationals store their components
+    private static Number demote(BigInteger value) {
+        return value.bitLength() < Long.SIZE ? (Number) value.longValue() : value;
+    }
+
+    private static <T> void swap(T[] array, int first, int second) {
+        T temp = array[first];
+        array[first] = array[second];
+        array[second] = temp;
+    }
+
+    // the reduced rational of the number type, failing if it does not fit
+    @SuppressWarnings("unchecked")
+    private N rational(BigInteger numerator, BigInteger denominator) {
+        if (denominator.signum() < 0) {
+            numerator = numerator.negate();
+            denominator = denominator.negate();
+        }
+        BigInteger gcd = numerator.gcd(denominator);
+        if (gcd.compareTo(BigInteger.ONE) > 0) {
+            numerator = numerator.divide(gcd);
+            denominator = denominator.divide(gcd);
+        }
+        if (typeSupport == JavaNumberTypeSupport.RATIONAL_BIGINT) {
+            return (N) new Rational<>(numerator, denominator);
+        } else if (typeSupport == JavaNumberTypeSupport.RATIONAL_ADAPTIVE) {
+            return (N) new Rational<>(demote(numerator), demote(denominator));
+        } else if (typeSupport == JavaNumberTypeSupport.RATIONAL_LONG) {
+            return (N) new Rational<>(numerator.longValueExact(), denominator.longValueExact());
+        } else {
+            return (N) new Rational<>(numerator.intValueExact(), denominator.intValueExact());
+        }
+    }
+
+}
@@ -0,0 +1,29 @@
+package net.tvburger.jdl.linalg;
+
+/**
+ * Selects the {@link PrimitiveKernels} once. The SIMD kernels are only loaded reflectively, so the linalg module
+ * keeps working on a JVM that does not resolve {@code jdk.incubator.vector}.
+ */
+final class KernelsHolder {
+
+    static final String SIMD_PROPERTY = "jdl.linalg.simd";
+    static final String SIMD_KERNELS = "net.tvburger.jdl.linalg.SimdKernels";
+
+    static final PrimitiveKernels KERNELS = load();
+
+    private KernelsHolder() {
+    }
+
+    private static PrimitiveKernels load() {
+        if (!Boolean.parseBoolean(System.getProperty(SIMD_PROPERTY, "true"))
+                || ModuleLayer.boot().findModule("jdk.incubator.vector").isEmpty()) {
+            return ScalarKernels.INSTANCE;
+        }
+        try {
+            return (PrimitiveKernels) Class.forName(SIMD_KERNELS).getDeclaredConstructor().newInstance();
+        } catch (ReflectiveOperationException | LinkageError cause) {
+            return ScalarKernels.INSTANCE;
+        }
+    }
+
+}
@@ -0,0 +1,60 @@
+package net.tvburger.jdl.linalg;
+
+import net.tvburger.jdl.common.numbers.NumberTypeAgnostic;
+
+/**
+ * The LU decomposition with partial pivoting of a square matrix A, such that PA = LU, with P a permutation, L a
+ * unit lower triangular and U an upper triangular matrix.
+ * <p>
+ * The elimination is done once, when the decomposition is created. Solving a system, taking the determinant or the
+ * inverse afterwards only costs forward and back substitution. Obtain it with {@link Matrix#decomposeLU()}, which
+ * caches the decomposition on the matrix.
+ *
+ * @param <N> the number type
+ */
+public interface LUDecomposition<N extends Number> extends NumberTypeAgnostic<N> {
+
+    /**
+     * Returns the dimension n of the decomposed n x n matrix.
+     *
+     * @return the dimension
+     */
+    int size();
+
+    /**
+     * Returns whether a zero pivot was encountered, in which case the matrix cannot be inverted and systems cannot
+     * be solved.
+     *
+     * @return true if the decomposed matrix is singular
+     */
+    boolean isSingular();
+
+    N determinant();
+
+    /**
+     * Solves Ax = b.
+     *
+     * @param b the right hand side
+     * @return x as column vector
+     * @throws ArithmeticException if the matrix is singular
+     */
+    Vector<N> solve(Vector<N> b);
+
+    /**
+     * Solves AX = B for all columns of B at once.
+     *
+     * @param b the right hand sides
+     * @return X
+     * @throws ArithmeticException if the matrix is singular
+     */
+    Matrix<N> solve(Matrix<N> b);
+
+    /**
+     * Returns the inverse of A, by solving AX = I.
+     *
+     * @return the inverse
+     * @throws ArithmeticException if the matrix is singular
+     */
+    Matrix<N> inverse();
+
+}
@@ -2,52 +2,124 @@ package net.tvburger.jdl.linalg;
 
 import net.tvburger.jdl.common.numbers.JavaNumberTypeSupport;
 
+import java.io.IOException;
+import java.nio.file.Path;
+
 public final class Matrices {
 
     private Matrices() {
     }
 
-    public static <N extends Number> TypedMatrix<N> create(N[][] values, JavaNumberTypeSupport<N> typeSupport) {
+    /**
+     * Creates a matrix for the given values. For {@link JavaNumberTypeSupport#FLOAT} and
+     * {@link JavaNumberTypeSupport#DOUBLE} a primitive backed {@link FloatMatrix} or {@link DoubleMatrix} is
+     * created, all other number types are stored in a {@link TypedMatrix}.
+     *
+     * @param values      the values (rows -> columns)
+     * @param typeSupport the number type of the values
+     * @return the matrix
+     */
+    @SuppressWarnings("unchecked")
+    public static <N extends Number> Matrix<N> create(N[][] values, JavaNumberTypeSupport<N> typeSupport) {
+        if (typeSupport == JavaNumberTypeSupport.FLOAT) {
+            return (Matrix<N>) toFloatMatrix((Float[][]) values);
+        }
+        if (typeSupport == JavaNumberTypeSupport.DOUBLE) {
+            return (Matrix<N>) toDoubleMatrix((Double[][]) values);
+        }
         return new TypedMatrix<>(values, typeSupport);
     }
 
-    public static TypedMatrix<Double> of(double[]... rows) {
-        Double[][] values = new Double[rows.length][];
-        int length = -1;
+    public static DoubleMatrix of(double[]... rows) {
+        int length = rows.length == 0 ? 0 : rows[0].length;
+        double[] values = new double[rows.length * length];
         for (int i = 0; i < rows.length; i++) {
             double[] row = rows[i];
-            if (length < 0) {
-                length = row.length;
-            } else if (length != row.length) {
+            if (length != row.length) {
                 throw new IllegalArgumentException();
             }
-            values[i] = new Double[length];
-            for (int j = 0; j < length; j++) {
-                values[i][j] = row[j];
-            }
+            System.arraycopy(row, 0, values, i * length, length);
         }
-        return new TypedMatrix<>(values, JavaNumberTypeSupport.DOUBLE);
+        return new DoubleMatrix(values, rows.length, length);
     }
 
-    public static TypedMatrix<Float> of(float[]... rows) {
-        Float[][] values = new Float[rows.length][];
-        int length = -1;
+    public static FloatMatrix of(float[]... rows) {
+        int length = rows.length == 0 ? 0 : rows[0].length;
+        float[] values = new float[rows.length * length];
         for (int i = 0; i < rows.length; i++) {
             float[] row = rows[i];
-            if (length < 0) {
-                length = row.length;
-            } else if (length != row.length) {
+            if (length != row.length) {
                 throw new IllegalArgumentException();
             }
-            values[i] = new Float[length];
-            for (int j = 0; j < length; j++) {
-                values[i][j] = row[j];
-            }
+            System.arraycopy(row, 0, values, i * length, length);
         }
-        return new TypedMatrix<>(values, JavaNumberTypeSupport.FLOAT);
+        return new FloatMatrix(values, rows.length, length);
     }
 
-    public static <N extends Number> TypedMatrix<N> identity(int n, JavaNumberTypeSupport<N> support) {
+    /**
+     * Creates a matrix backed by the given row-major values without copying them, so changes to the array are seen
+     * by the matrix and the other way around. Use {@link FloatMatrix#subMatrix(int, int, int, int)} for a view of
+     * part of it.
+     *
+     * @param values  the row-major values
+     * @param rows    the number of rows
+     * @param columns the number of columns
+     * @return the matrix
+     * @throws IllegalArgumentException if the number of values is not {@code rows * columns}
+     */
+    public static FloatMatrix wrap(float[] values, int rows, int columns) {
+        return new FloatMatrix(values, rows, columns);
+    }
+
+    /**
+     * Adds the product of the matrices a and b to the row-major matrix stored in the array c from the given offset,
+     * with the cache-blocked, parallel kernel of {@link Matrix#multiply(Matrix)}. Views, such as a transpose, are
+     * read without being copied.
+     *
+     * @param a      the left operand (m x k)
+     * @param b      the right operand (k x n)
+     * @param c      the array holding the row-major result (m x n)
+     * @param offset the offset of the result in c
+     * @throws IllegalArgumentException if the dimensions do not match or the result does not fit in c
+     */
+    public static void multiplyAdd(FloatMatrix a, FloatMatrix b, float[] c, int offset) {
+        if (a.n() != b.m()) {
+            throw new IllegalArgumentException("invalid dimensions of operand: " + b.m() + "x" + b.n() + "; must have " + a.n() + " rows!");
+        }
+        if (offset < 0 || offset + a.m() * b.n() > c.length) {
+            throw new IllegalArgumentException("invalid offset: " + offset + "; the " + a.m() + "x" + b.n() + " result does not fit!");
+        }
+        MatrixMultiplication.multiplyAdd(a, b, c, offset);
+    }
+
+    /**
+     * Runs the given task with all matrix products it computes on the calling thread, instead of divided over the
+     * common {@link java.util.concurrent.ForkJoinPool}. Threads that are workers of a parallel computation of their
+     * own, such as one per shard of a batch, compute their products serially, so they do not oversubscribe the
+     * processors with the threads of the common pool.
+     *
+     * @param task the task to run
+     */
+    public static void serially(Runnable task) {
+        MatrixMultiplication.serially(task);
+    }
+
+    @SuppressWarnings("unchecked")
+    public static <N extends Number> Matrix<N> identity(int n, JavaNumberTypeSupport<N> support) {
+        if (support == JavaNumberTypeSupport.FLOAT) {
+            float[] values = new float[n * n];
+            for (int i = 0; i < n; i++) {
+                values[i * n + i] = 1.0f;
+            }
+            return (Matrix<N>) new FloatMatrix(values, n, n);
+        }
+        if (support == JavaNumberTypeSupport.DOUBLE) {
+            double[] values = new double[n * n];
+            for (int i = 0; i < n; i++) {
+                values[i * n + i] = 1.0;
+            }
+            return (Matrix<N>) new DoubleMatrix(values, n, n);
+        }
         N[][] values = support.createArrayOfArrays(n, n);
         for (int i = 0; i < n; i++) {
             values[i][i] = support.one();
@@ -55,7 +127,7 @@ public final class Matrices {
         return new TypedMatrix<>(values, support);
     }
 
-    public static <N extends Number> boolean isIdentity(TypedMatrix<N> matrix) {
+    public static <N extends Number> boolean isIdentity(Matrix<N> matrix) {
         return isIdentity(matrix, matrix.getCurrentNumberType());
     }
 
@@ -80,26 +152,139 @@ public final class Matrices {
                 numbers[i][j] = typeSupport.valueOf(matrix.get(i + 1, j + 1).doubleValue());
             }
         }
-        return new TypedMatrix<>(numbers, typeSupport);
+        return create(numbers, typeSupport);
+    }
+
+    /**
+     * Allocates a zero filled matrix outside the Java heap.
+     *
+     * @param rows    the number of rows
+     * @param columns the number of columns
+     * @return the matrix, to be closed when no longer needed
+     */
+    public static OffHeapMatrix allocateOffHeap(int rows, int columns) {
+        return OffHeapMatrix.allocate(rows, columns);
+    }
+
+    /**
+     * Maps a matrix onto a file, which holds the cells row-major in native byte order. The file is created or
+     * extended when needed, and changes to the matrix are written to it.
+     *
+     * @param file    the file to map
+     * @param rows    the number of rows
+     * @param columns the number of columns
+     * @return the matrix, to be closed when no longer needed
+     * @throws IOException if the file cannot be opened or mapped
+     */
+    public static OffHeapMatrix mapOffHeap(Path file, int rows, int columns) throws IOException {
+        return OffHeapMatrix.map(file, rows, columns);
+    }
+
+    /**
+     * Creates a sparse copy of the given matrix in compressed sparse row form, storing only its non-zero cells.
+     *
+     * @param matrix the matrix to copy
+     * @return the sparse matrix
+     */
+    public static SparseFloatMatrix sparse(Matrix<Float> matrix) {
+        float[] values = matrix instanceof FloatMatrix dense ? dense.values() : toFloatArray(matrix);
+        return SparseFloatMatrix.of(values, matrix.m(), matrix.n());
+    }
+
+    /**
+     * Creates an empty sparse matrix in compressed sparse row form, to be filled row by row.
+     *
+     * @param rows    the number of rows
+     * @param columns the number of columns
+     * @return the sparse matrix
+     */
+    public static SparseFloatMatrix sparse(int rows, int columns) {
+        return new SparseFloatMatrix(rows, columns, false, new int[rows + 1], new int[0], new float[0]);
     }
 
-    public static Matrix<Double> withDoublePrecision(Matrix<Float> matrix) {
-        Double[][] doubles = JavaNumberTypeSupport.DOUBLE.createArrayOfArrays(matrix.m(), matrix.n());
+    public static DoubleMatrix withDoublePrecision(Matrix<Float> matrix) {
+        return new DoubleMatrix(toDoubleArray(matrix), matrix.m(), matrix.n());
+    }
+
+    public static FloatMatrix withSinglePrecision(Matrix<Double> matrix) {
+        return new FloatMatrix(toFloatArray(matrix), matrix.m(), matrix.n());
+    }
+
+    static float[] toFloatArray(Matrix<? extends Number> matrix) {
+        int columns = matrix.n();
+        float[] values = new float[matrix.m() * columns];
         for (int i = 0; i < matrix.m(); i++) {
-            for (int j = 0; j < matrix.n(); j++) {
-                doubles[i][j] = (double) matrix.get(i + 1, j + 1);
+            for (int j = 0; j < columns; j++) {
+                values[i * columns + j] = matrix.get(i + 1, j + 1).floatValue();
             }
         }
-        return new TypedMatrix<>(doubles, JavaNumberTypeSupport.DOUBLE);
+        return values;
     }
 
-    public static Matrix<Float> withSinglePrecision(Matrix<Double> matrix) {
-        Float[][] floats = JavaNumberTypeSupport.FLOAT.createArrayOfArrays(matrix.m(), matrix.n());
+    static double[] toDoubleArray(Matrix<? extends Number> matrix) {
+        int columns = matrix.n();
+        double[] values = new double[matrix.m() * columns];
         for (int i = 0; i < matrix.m(); i++) {
+            for (int j = 0; j < columns; j++) {
+                values[i * columns + j] = matrix.get(i + 1, j + 1).doubleValue();
+            }
+        }
+        return values;
+    }
+
+    private static FloatMatrix toFloatMatrix(Float[][] rows) {
+        int length = rows.length == 0 ? 0 : rows[0].length;
+        float[] values = new float[rows.length * length];
+        for (int i = 0; i < rows.length; i++) {
+            for (int j = 0; j < length; j++) {
+                values[i * length + j] = rows[i][j];
+            }
+        }
+        return new FloatMatrix(values, rows.length, length);
+    }
+
+    private static DoubleMatrix toDoubleMatrix(Double[][] rows) {
+        int length = rows.length == 0 ? 0 : rows[0].length;
+        double[] values = new double[rows.length * length];
+        for (int i = 0; i < rows.length; i++) {
+            for (int j = 0; j < length; j++) {
+                values[i * length + j] = rows[i][j];
+            }
+        }
+        return new DoubleMatrix(values, rows.length, length);
+    }
+
+    static void print(Matrix<?> matrix, String name) {
+        String prefix;
+        int length;
+        if (name == null) {
+            prefix = "";
+            length = 0;
+        } else {
+            prefix = name + " = ";
+            length = prefix.length();
+        }
+        int m = matrix.m();
+        for (int i = 0; i < m; i++) {
+            if (i == (m % 2 == 1 ? m : m - 1) / 2) {
+                System.out.print(prefix);
+            } else {
+                for (int n = 0; n < length; n++) {
+                    System.out.print(" ");
+                }
+            }
+            String symbol = m == 1 ? "[" : i == 0 ? "┌" : i == m - 1 ? "└" : "│";
+            System.out.print(symbol + " ");
             for (int j = 0; j < matrix.n(); j++) {
-                floats[i][j] = (float) (double) matrix.get(i + 1, j + 1);
+//                System.out.printf(" %8.2g", matrix.get(i + 1, j + 1).doubleValue());
+                System.out.printf(" %s", normalized(matrix, i + 1, j + 1));
             }
+            symbol = m == 1 ? "]" : i == 0 ? "┐" : i == m - 1 ? "┘" : "│";
+            System.out.println(" " + symbol);
         }
-        return new TypedMatrix<>(floats, JavaNumberTypeSupport.FLOAT);
+    }
+
+    private static <N extends Number> N normalized(Matrix<N> matrix, int i, int j) {
+        return matrix.getCurrentNumberType().normalize(matrix.get(i, j));
     }
 }
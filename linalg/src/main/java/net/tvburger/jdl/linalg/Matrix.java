@@ -1,5 +1,6 @@
 package net.tvburger.jdl.linalg;
 
+import net.tvburger.jdl.common.numbers.JavaNumberTypeSupport;
 import net.tvburger.jdl.common.numbers.NumberTypeAgnostic;
 
 public interface Matrix<N extends Number> extends Transposable<Matrix<N>>, Invertible<Matrix<N>>, NumberTypeAgnostic<N> {
@@ -18,6 +19,77 @@ public interface Matrix<N extends Number> extends Transposable<Matrix<N>>, Inver
 
     Vector<N> multiply(Vector<N> vector);
 
+    /**
+     * Multiplies this matrix with the given matrix and writes the product into the destination.
+     *
+     * @param matrix      the right operand
+     * @param destination the matrix to write the product to, must not be one of the operands
+     * @return the destination
+     */
+    default Matrix<N> multiply(Matrix<N> matrix, Matrix<N> destination) {
+        Matrix<N> product = multiply(matrix);
+        for (int i = 1; i <= product.m(); i++) {
+            for (int j = 1; j <= product.n(); j++) {
+                destination.set(i, j, product.get(i, j));
+            }
+        }
+        return destination;
+    }
+
+    /**
+     * Adds the given matrix and writes the result into the destination.
+     *
+     * @param matrix      the matrix to add
+     * @param destination the matrix to write the result to, may be this matrix or the operand
+     * @return the destination
+     */
+    default Matrix<N> add(Matrix<N> matrix, Matrix<N> destination) {
+        JavaNumberTypeSupport<N> typeSupport = getCurrentNumberType();
+        for (int i = 1; i <= m(); i++) {
+            for (int j = 1; j <= n(); j++) {
+                destination.set(i, j, typeSupport.add(get(i, j), matrix.get(i, j)));
+            }
+        }
+        return destination;
+    }
+
+    /**
+     * Multiplies each cell with the given value and writes the result into the destination.
+     *
+     * @param value       the value to multiply with
+     * @param destination the matrix to write the result to, may be this matrix
+     * @return the destination
+     */
+    default Matrix<N> multiply(N value, Matrix<N> destination) {
+        JavaNumberTypeSupport<N> typeSupport = getCurrentNumberType();
+        for (int i = 1; i <= m(); i++) {
+            for (int j = 1; j <= n(); j++) {
+                destination.set(i, j, typeSupport.multiply(get(i, j), value));
+            }
+        }
+        return destination;
+    }
+
+    /**
+     * Adds the given matrix to this matrix.
+     *
+     * @param matrix the matrix to add
+     * @return this matrix
+     */
+    default Matrix<N> addInPlace(Matrix<N> matrix) {
+        return add(matrix, this);
+    }
+
+    /**
+     * Multiplies each cell of this matrix with the given value.
+     *
+     * @param value the value to multiply with
+     * @return this matrix
+     */
+    default Matrix<N> scaleInPlace(N value) {
+        return multiply(value, this);
+    }
+
     int numberOfRows();
 
     N determinant();
@@ -34,8 +106,80 @@ public interface Matrix<N extends Number> extends Transposable<Matrix<N>>, Inver
 
     N get(int row, int column);
 
+    /**
+     * Sets the value of the given (1-based) cell.
+     *
+     * @param row    the row of the cell
+     * @param column the column of the cell
+     * @param value  the new value
+     */
+    void set(int row, int column, N value);
+
+    /**
+     * Returns a view of the block of the given size starting at the given (1-based) cell. The view shares its cells
+     * with this matrix, so changes are visible through both, just like a matrix returned by {@link #transpose()}.
+     *
+     * @param row     the first row of the block
+     * @param column  the first column of the block
+     * @param rows    the number of rows of the block
+     * @param columns the number of columns of the block
+     * @return the view of the block
+     * @throws IllegalArgumentException if the block does not fit in this matrix
+     */
+    Matrix<N> subMatrix(int row, int column, int rows, int columns);
+
+    /**
+     * Returns a 1 x n view of the given (1-based) row.
+     *
+     * @param row the row
+     * @return the view of the row
+     */
+    default Matrix<N> getRow(int row) {
+        return subMatrix(row, 1, 1, n());
+    }
+
+    /**
+     * Returns an m x 1 view of the given (1-based) column.
+     *
+     * @param column the column
+     * @return the view of the column
+     */
+    default Matrix<N> getColumn(int column) {
+        return subMatrix(1, column, m(), 1);
+    }
+
     Matrix<N> pseudoInvert();
 
+    /**
+     * Returns the LU decomposition of this square matrix. The decomposition is cached on the matrix until it is
+     * modified through {@link #set(int, int, Number)} or one of the in-place operations.
+     *
+     * @return the LU decomposition
+     * @throws IllegalStateException if this matrix is not square
+     */
+    LUDecomposition<N> decomposeLU();
+
+    /**
+     * Returns the Cholesky decomposition of this symmetric matrix. Only the lower triangle is read, symmetry is not
+     * checked. Unlike {@link #decomposeLU()} it is not cached, as it is typically used once per system to solve.
+     *
+     * @return the Cholesky decomposition
+     * @throws IllegalStateException if this matrix is not square
+     */
+    default CholeskyDecomposition<N> decomposeCholesky() {
+        return new TypedCholeskyDecomposition<>(this, getCurrentNumberType());
+    }
+
+    /**
+     * Returns the QR decomposition of this matrix, to solve least squares problems without squaring the condition
+     * number as {@link #pseudoInvert()} does.
+     *
+     * @return the QR decomposition
+     */
+    default QRDecomposition<N> decomposeQR() {
+        return new TypedQRDecomposition<>(this, getCurrentNumberType());
+    }
+
     default void print() {
         print(null);
     }
@@ -0,0 +1,299 @@
+package net.tvburger.jdl.linalg;
+
+import net.tvburger.jdl.common.numbers.JavaNumberTypeSupport;
+
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Cache-blocked matrix multiplication kernels shared by the matrix backends.
+ * <p>
+ * The right operand is packed once into column panels of {@link #PANEL_WIDTH} columns, so the inner loop walks
+ * contiguous memory for both the packed operand and the result row. The depth is tiled by {@link #BLOCK_DEPTH} to
+ * keep a panel tile in cache while all rows of a block are processed. Row blocks are divided over the common
+ * {@link ForkJoinPool} when the product is large enough, smaller products are computed on the calling thread, as are
+ * the products computed {@linkplain #serially(Runnable) serially} by threads that are already workers of a parallel
+ * computation.
+ * Every cell is accumulated in the same order as the plain triple loop, so results do not depend on the number of
+ * threads. Both operands may be strided views, such as a transposed matrix: the left operand is read through its
+ * strides and the right operand is packed through its strides, so views are never copied first.
+ */
+final class MatrixMultiplication {
+
+    static final int PANEL_WIDTH = 256;
+    static final int BLOCK_DEPTH = 128;
+    static final int BLOCK_ROWS = 32;
+    static final long PARALLEL_THRESHOLD = 64L * 64L * 64L;
+    static final long TYPED_PARALLEL_THRESHOLD = 16L * 16L * 16L;
+
+    // set on the threads computing serially, which do not fork
+    private static final ThreadLocal<Boolean> SERIAL = ThreadLocal.withInitial(() -> false);
+
+    private MatrixMultiplication() {
+    }
+
+    /**
+     * Runs the given task with all products it computes on the calling thread.
+     */
+    static void serially(Runnable task) {
+        boolean serial = SERIAL.get();
+        SERIAL.set(true);
+        try {
+            task.run();
+        } finally {
+            SERIAL.set(serial);
+        }
+    }
+
+    /**
+     * Multiplies the row-major matrices a (m x k) and b (k x n).
+     *
+     * @return the row-major product (m x n)
+     */
+    static float[] multiply(float[] a, float[] b, int m, int k, int n) {
+        float[] c = new float[m * n];
+        multiply(a, b, c, m, k, n);
+        return c;
+    }
+
+    /**
+     * Multiplies the row-major matrices a (m x k) and b (k x n) into c (m x n), overwriting its contents.
+     */
+    static void multiply(float[] a, float[] b, float[] c, int m, int k, int n) {
+        multiply(a, 0, k, 1, b, 0, n, 1, c, 0, m, k, n, false);
+    }
+
+    /**
+     * Multiplies the matrices a and b, which may be views.
+     *
+     * @return the row-major product
+     */
+    static float[] multiply(FloatMatrix a, FloatMatrix b) {
+        float[] c = new float[a.m() * b.n()];
+        multiply(a, b, c);
+        return c;
+    }
+
+    /**
+     * Multiplies the matrices a and b, which may be views, into the row-major c, overwriting its contents.
+     */
+    static void multiply(FloatMatrix a, FloatMatrix b, float[] c) {
+        multiply(a.storage(), a.offset(), a.rowStride(), a.columnStride(),
+                b.storage(), b.offset(), b.rowStride(), b.columnStride(),
+                c, 0, a.m(), a.n(), b.n(), false);
+    }
+
+    /**
+     * Adds the product of the matrices a and b, which may be views, to the row-major c starting at the given offset.
+     */
+    static void multiplyAdd(FloatMatrix a, FloatMatrix b, float[] c, int cOffset) {
+        multiply(a.storage(), a.offset(), a.rowStride(), a.columnStride(),
+                b.storage(), b.offset(), b.rowStride(), b.columnStride(),
+                c, cOffset, a.m(), a.n(), b.n(), true);
+    }
+
+    private static void multiply(float[] a, int aOffset, int aRowStride, int aColumnStride,
+                                 float[] b, int bOffset, int bRowStride, int bColumnStride,
+                                 float[] c, int cOffset, int m, int k, int n, boolean accumulate) {
+        float[] packed = pack(b, bOffset, bRowStride, bColumnStride, k, n);
+        if (!accumulate) {
+            Arrays.fill(c, cOffset, cOffset + m * n, 0);
+        }
+        compute((long) m * k * n, PARALLEL_THRESHOLD, m, (from, to) -> multiplyRows(a, aOffset, aRowStride, aColumnStride, packed, c, cOffset, k, n, from, to));
+    }
+
+    /**
+     * Multiplies the row-major matrices a (m x k) and b (k x n).
+     *
+     * @return the row-major product (m x n)
+     */
+    static double[] multiply(double[] a, double[] b, int m, int k, int n) {
+        double[] c = new double[m * n];
+        multiply(a, b, c, m, k, n);
+        return c;
+    }
+
+    /**
+     * Multiplies the row-major matrices a (m x k) and b (k x n) into c (m x n), overwriting its contents.
+     */
+    static void multiply(double[] a, double[] b, double[] c, int m, int k, int n) {
+        multiply(a, 0, k, 1, b, 0, n, 1, c, m, k, n);
+    }
+
+    /**
+     * Multiplies the matrices a and b, which may be views.
+     *
+     * @return the row-major product
+     */
+    static double[] multiply(DoubleMatrix a, DoubleMatrix b) {
+        double[] c = new double[a.m() * b.n()];
+        multiply(a, b, c);
+        return c;
+    }
+
+    /**
+     * Multiplies the matrices a and b, which may be views, into the row-major c, overwriting its contents.
+     */
+    static void multiply(DoubleMatrix a, DoubleMatrix b, double[] c) {
+        multiply(a.storage(), a.offset(), a.rowStride(), a.columnStride(),
+                b.storage(), b.offset(), b.rowStride(), b.columnStride(),
+                c, a.m(), a.n(), b.n());
+    }
+
+    private static void multiply(double[] a, int aOffset, int aRowStride, int aColumnStride,
+                                 double[] b, int bOffset, int bRowStride, int bColumnStride,
+                                 double[] c, int m, int k, int n) {
+        double[] packed = pack(b, bOffset, bRowStride, bColumnStride, k, n);
+        Arrays.fill(c, 0, m * n, 0);
+        compute((long) m * k * n, PARALLEL_THRESHOLD, m, (from, to) -> multiplyRows(a, aOffset, aRowStride, aColumnStride, packed, c, k, n, from, to));
+    }
+
+    /**
+     * Multiplies a (m x k) with the matrix b (k x n). The columns of the right operand are collected up front, so
+     * each cell is a dot product over two contiguous arrays instead of a column walk through the {@link Matrix}
+     * interface. When b is a transposed view, its columns are the stored rows and nothing is copied.
+     *
+     * @return the product (rows -> columns)
+     */
+    static <N extends Number> N[][] multiply(TypedMatrix<N> a, Matrix<N> b, JavaNumberTypeSupport<N> typeSupport) {
+        int m = a.m();
+        int k = b.m();
+        int n = b.n();
+        N[][] transposed = typeSupport.createArrayOfArrays(n, 0);
+        for (int j = 0; j < n; j++) {
+            if (b instanceof TypedMatrix<N> typed) {
+                transposed[j] = typed.column(j);
+            } else {
+                transposed[j] = typeSupport.createArray(k);
+                for (int p = 0; p < k; p++) {
+                    transposed[j][p] = b.get(p + 1, j + 1);
+                }
+            }
+        }
+        N[][] c = typeSupport.createArrayOfArrays(m, n);
+        compute((long) m * k * n, TYPED_PARALLEL_THRESHOLD, m, (from, to) -> {
+            for (int i = from; i < to; i++) {
+                N[] row = a.row(i);
+                for (int j = 0; j < n; j++) {
+                    c[i][j] = typeSupport.arrayKernels().dot(row, transposed[j]);
+                }
+            }
+        });
+        return c;
+    }
+
+    // panel starting at column jb holds rows of min(PANEL_WIDTH, n - jb) values and starts at offset jb * k
+    private static float[] pack(float[] b, int offset, int rowStride, int columnStride, int k, int n) {
+        float[] packed = new float[k * n];
+        for (int jb = 0; jb < n; jb += PANEL_WIDTH) {
+            int width = Math.min(PANEL_WIDTH, n - jb);
+            int panel = jb * k;
+            for (int p = 0; p < k; p++) {
+                int row = offset + p * rowStride + jb * columnStride;
+                if (columnStride == 1) {
+                    System.arraycopy(b, row, packed, panel + p * width, width);
+                } else {
+                    for (int j = 0; j < width; j++) {
+                        packed[panel + p * width + j] = b[row + j * columnStride];
+                    }
+                }
+            }
+        }
+        return packed;
+    }
+
+    private static double[] pack(double[] b, int offset, int rowStride, int columnStride, int k, int n) {
+        double[] packed = new double[k * n];
+        for (int jb = 0; jb < n; jb += PANEL_WIDTH) {
+            int width = Math.min(PANEL_WIDTH, n - jb);
+            int panel = jb * k;
+            for (int p = 0; p < k; p++) {
+                int row = offset + p * rowStride + jb * columnStride;
+                if (columnStride == 1) {
+                    System.arraycopy(b, row, packed, panel + p * width, width);
+                } else {
+                    for (int j = 0; j < width; j++) {
+                        packed[panel + p * width + j] = b[row + j * columnStride];
+                    }
+                }
+            }
+        }
+        return packed;
+    }
+
+    private static void multiplyRows(float[] a, int aOffset, int aRowStride, int aColumnStride, float[] packed, float[] c, int cOffset, int k, int n, int from, int to) {
+        PrimitiveKernels kernels = PrimitiveKernels.get();
+        for (int jb = 0; jb < n; jb += PANEL_WIDTH) {
+            int width = Math.min(PANEL_WIDTH, n - jb);
+            int panel = jb * k;
+            for (int pb = 0; pb < k; pb += BLOCK_DEPTH) {
+                int depth = Math.min(pb + BLOCK_DEPTH, k);
+                for (int i = from; i < to; i++) {
+                    int aRow = aOffset + i * aRowStride;
+                    int cRow = cOffset + i * n + jb;
+                    for (int p = pb; p < depth; p++) {
+                        kernels.axpy(a[aRow + p * aColumnStride], packed, panel + p * width, c, cRow, width);
+                    }
+                }
+            }
+        }
+    }
+
+    private static void multiplyRows(double[] a, int aOffset, int aRowStride, int aColumnStride, double[] packed, double[] c, int k, int n, int from, int to) {
+        PrimitiveKernels kernels = PrimitiveKernels.get();
+        for (int jb = 0; jb < n; jb += PANEL_WIDTH) {
+            int width = Math.min(PANEL_WIDTH, n - jb);
+            int panel = jb * k;
+            for (int pb = 0; pb < k; pb += BLOCK_DEPTH) {
+                int depth = Math.min(pb + BLOCK_DEPTH, k);
+                for (int i = from; i < to; i++) {
+                    int aRow = aOffset + i * aRowStride;
+                    int cRow = i * n + jb;
+                    for (int p = pb; p < depth; p++) {
+                        kernels.axpy(a[aRow + p * aColumnStride], packed, panel + p * width, c, cRow, width);
+                    }
+                }
+            }
+        }
+    }
+
+    private static void compute(long operations, long threshold, int rows, RowKernel kernel) {
+        if (operations < threshold || rows <= BLOCK_ROWS || ForkJoinPool.getCommonPoolParallelism() < 2 || SERIAL.get()) {
+            kernel.compute(0, rows);
+        } else {
+            ForkJoinPool.commonPool().invoke(new RowBlockTask(kernel, 0, rows));
+        }
+    }
+
+    @FunctionalInterface
+    private interface RowKernel {
+
+        void compute(int from, int to);
+
+    }
+
+    private static final class RowBlockTask extends RecursiveAction {
+
+        private final RowKernel kernel;
+        private final int from;
+        private final int to;
+
+        private RowBlockTask(RowKernel kernel, int from, int to) {
+            this.kernel = kernel;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from <= BLOCK_ROWS) {
+                kernel.compute(from, to);
+            } else {
+                int middle = (from + to) >>> 1;
+                invokeAll(new RowBlockTask(kernel, from, middle), new RowBlockTask(kernel, middle, to));
+            }
+        }
+    }
+
+}
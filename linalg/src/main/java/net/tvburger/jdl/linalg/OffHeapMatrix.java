@@ -0,0 +1,396 @@
+package net.tvburger.jdl.linalg;
+
+import net.tvburger.jdl.common.numbers.JavaNumberTypeSupport;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.DoubleBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * A dense {@link Matrix} of double precision numbers stored outside the Java heap, in direct or memory-mapped
+ * buffers. It is meant for design and weight matrices that would otherwise dominate the heap: the cells add no work
+ * for the garbage collector, and a mapped matrix may be larger than the heap as the operating system pages it in.
+ * Use {@link Matrices#allocateOffHeap(int, int)} or {@link Matrices#mapOffHeap(Path, int, int)} to obtain instances.
+ * <p>
+ * The cells are stored row-major, in native byte order, in chunks of 2<sup>27</sup> values, as a single buffer is
+ * limited to 2 GiB. Like {@link DoubleMatrix}, {@link #transpose()} and {@link #subMatrix(int, int, int, int)}
+ * return views on the same buffers.
+ * <p>
+ * Operations that create a matrix of the same size, such as {@link #add(Matrix)}, allocate their result off heap as
+ * well. Products are returned as a {@link DoubleMatrix}, as they are typically small (ΦᵀΦ, Φw), and are computed
+ * in a single pass over both operands. Decompositions and inverses work on a heap copy.
+ */
+public final class OffHeapMatrix implements Matrix<Double>, AutoCloseable {
+
+    private static final int CHUNK_SHIFT = 27;
+    private static final int CHUNK_SIZE = 1 << CHUNK_SHIFT;
+    private static final long CHUNK_MASK = CHUNK_SIZE - 1;
+
+    // cell (i, j) is stored at offset + i * rowStride + j * columnStride, which is row-major unless this is a view
+    private final long offset;
+    private final int rows;
+    private final int columns;
+    private final long rowStride;
+    private final long columnStride;
+    // the matrix that created the buffers, which is the only one to hold them
+    private final OffHeapMatrix owner;
+    private DoubleBuffer[] buffers;
+
+    private OffHeapMatrix(DoubleBuffer[] buffers, int rows, int columns) {
+        this.offset = 0;
+        this.rows = rows;
+        this.columns = columns;
+        this.rowStride = columns;
+        this.columnStride = 1;
+        this.owner = this;
+        this.buffers = buffers;
+    }
+
+    private OffHeapMatrix(OffHeapMatrix owner, long offset, int rows, int columns, long rowStride, long columnStride) {
+        this.offset = offset;
+        this.rows = rows;
+        this.columns = columns;
+        this.rowStride = rowStride;
+        this.columnStride = columnStride;
+        this.owner = owner;
+    }
+
+    static OffHeapMatrix allocate(int rows, int columns) {
+        long size = checkSize(rows, columns);
+        DoubleBuffer[] buffers = new DoubleBuffer[chunks(size)];
+        for (int c = 0; c < buffers.length; c++) {
+            int length = chunkLength(size, c);
+            buffers[c] = ByteBuffer.allocateDirect(length * Double.BYTES).order(ByteOrder.nativeOrder()).asDoubleBuffer();
+        }
+        return new OffHeapMatrix(buffers, rows, columns);
+    }
+
+    static OffHeapMatrix map(Path file, int rows, int columns) throws IOException {
+        long size = checkSize(rows, columns);
+        DoubleBuffer[] buffers = new DoubleBuffer[chunks(size)];
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            for (int c = 0; c < buffers.length; c++) {
+                int length = chunkLength(size, c);
+                buffers[c] = channel.map(FileChannel.MapMode.READ_WRITE, ((long) c << CHUNK_SHIFT) * Double.BYTES, (long) length * Double.BYTES)
+                        .order(ByteOrder.nativeOrder())
+                        .asDoubleBuffer();
+            }
+        }
+        return new OffHeapMatrix(buffers, rows, columns);
+    }
+
+    private static long checkSize(int rows, int columns) {
+        if (rows < 0 || columns < 0) {
+            throw new IllegalArgumentException("invalid dimensions: " + rows + "x" + columns + "!");
+        }
+        return (long) rows * columns;
+    }
+
+    private static int chunks(long size) {
+        return (int) ((size + CHUNK_SIZE - 1) >>> CHUNK_SHIFT);
+    }
+
+    private static int chunkLength(long size, int chunk) {
+        return (int) Math.min(CHUNK_SIZE, size - ((long) chunk << CHUNK_SHIFT));
+    }
+
+    private DoubleBuffer[] buffers() {
+        DoubleBuffer[] buffers = owner.buffers;
+        if (buffers == null) {
+            throw new IllegalStateException("Matrix has been closed!");
+        }
+        return buffers;
+    }
+
+    private double cell(DoubleBuffer[] buffers, int i, int j) {
+        long index = offset + i * rowStride + j * columnStride;
+        return buffers[(int) (index >>> CHUNK_SHIFT)].get((int) (index & CHUNK_MASK));
+    }
+
+    private void setCell(DoubleBuffer[] buffers, int i, int j, double value) {
+        long index = offset + i * rowStride + j * columnStride;
+        buffers[(int) (index >>> CHUNK_SHIFT)].put((int) (index & CHUNK_MASK), value);
+    }
+
+    // copies row i into the given array, in bulk where the row is contiguous within a chunk
+    private void readRow(DoubleBuffer[] buffers, int i, double[] row) {
+        long start = offset + i * rowStride;
+        int chunk = (int) (start >>> CHUNK_SHIFT);
+        int position = (int) (start & CHUNK_MASK);
+        if (columnStride == 1 && (long) position + columns <= CHUNK_SIZE) {
+            buffers[chunk].get(position, row, 0, columns);
+        } else {
+            for (int j = 0; j < columns; j++) {
+                row[j] = cell(buffers, i, j);
+            }
+        }
+    }
+
+    private void writeRow(DoubleBuffer[] buffers, int i, double[] row) {
+        long start = offset + i * rowStride;
+        int chunk = (int) (start >>> CHUNK_SHIFT);
+        int position = (int) (start & CHUNK_MASK);
+        if (columnStride == 1 && (long) position + columns <= CHUNK_SIZE) {
+            buffers[chunk].put(position, row, 0, columns);
+        } else {
+            for (int j = 0; j < columns; j++) {
+                setCell(buffers, i, j, row[j]);
+            }
+        }
+    }
+
+    private static void readRow(Matrix<Double> matrix, int i, double[] row) {
+        if (matrix instanceof OffHeapMatrix other) {
+            other.readRow(other.buffers(), i, row);
+        } else {
+            for (int j = 0; j < row.length; j++) {
+                row[j] = matrix.get(i + 1, j + 1);
+            }
+        }
+    }
+
+    /**
+     * Copies this matrix to the heap.
+     *
+     * @return the copy
+     */
+    public DoubleMatrix toHeap() {
+        DoubleBuffer[] buffers = buffers();
+        double[] values = new double[Math.multiplyExact(rows, columns)];
+        double[] row = new double[columns];
+        for (int i = 0; i < rows; i++) {
+            readRow(buffers, i, row);
+            System.arraycopy(row, 0, values, i * columns, columns);
+        }
+        return new DoubleMatrix(values, rows, columns);
+    }
+
+    /**
+     * Releases the buffers of this matrix and all its views, after which any access throws an
+     * {@link IllegalStateException}. The memory is returned once the buffers are collected; Java 21 offers no way
+     * to unmap or free a buffer at once.
+     */
+    @Override
+    public void close() {
+        owner.buffers = null;
+    }
+
+    @Override
+    public JavaNumberTypeSupport<Double> getCurrentNumberType() {
+        return JavaNumberTypeSupport.DOUBLE;
+    }
+
+    @Override
+    public OffHeapMatrix add(Double value) {
+        return mapRows(row -> PrimitiveKernels.get().add(value, row, row));
+    }
+
+    @Override
+    public OffHeapMatrix add(Matrix<Double> matrix) {
+        return combineRows(matrix, (row, other) -> PrimitiveKernels.get().add(row, other, row));
+    }
+
+    @Override
+    public OffHeapMatrix substract(Double value) {
+        return add(-value);
+    }
+
+    @Override
+    public OffHeapMatrix substract(Matrix<Double> matrix) {
+        return combineRows(matrix, (row, other) -> PrimitiveKernels.get().subtract(row, other, row));
+    }
+
+    @Override
+    public OffHeapMatrix multiply(Double value) {
+        return mapRows(row -> PrimitiveKernels.get().scale(value, row, row));
+    }
+
+    private OffHeapMatrix mapRows(RowOperation operation) {
+        DoubleBuffer[] buffers = buffers();
+        OffHeapMatrix result = allocate(rows, columns);
+        double[] row = new double[columns];
+        for (int i = 0; i < rows; i++) {
+            readRow(buffers, i, row);
+            operation.apply(row);
+            result.writeRow(result.buffers, i, row);
+        }
+        return result;
+    }
+
+    private OffHeapMatrix combineRows(Matrix<Double> matrix, RowCombination combination) {
+        if (matrix.m() != rows || matrix.n() != columns) {
+            throw new IllegalArgumentException("invalid dimensions of operand: " + matrix.m() + "x" + matrix.n() + "; must be " + rows + "x" + columns + "!");
+        }
+        DoubleBuffer[] buffers = buffers();
+        OffHeapMatrix result = allocate(rows, columns);
+        double[] row = new double[columns];
+        double[] other = new double[columns];
+        for (int i = 0; i < rows; i++) {
+            readRow(buffers, i, row);
+            readRow(matrix, i, other);
+            combination.apply(row, other);
+            result.writeRow(result.buffers, i, row);
+        }
+        return result;
+    }
+
+    /**
+     * Multiplies in a single pass over both operands, accumulating every cell in the same order as the plain triple
+     * loop. When the rows of this matrix are contiguous, they are streamed against the right operand on the heap.
+     * Otherwise, as for the transposed view in ΦᵀΦ, the rows of the right operand are streamed instead.
+     */
+    @Override
+    public DoubleMatrix multiply(Matrix<Double> matrix) {
+        if (matrix.m() != columns) {
+            throw new IllegalArgumentException("invalid dimensions of operand: " + matrix.m() + "x" + matrix.n() + "; must have " + columns + " rows!");
+        }
+        DoubleBuffer[] buffers = buffers();
+        PrimitiveKernels kernels = PrimitiveKernels.get();
+        int n = matrix.n();
+        double[] c = new double[Math.multiplyExact(rows, n)];
+        if (columnStride == 1) {
+            double[] b = matrix instanceof DoubleMatrix other ? other.values() : Matrices.toDoubleArray(matrix);
+            double[] row = new double[columns];
+            for (int i = 0; i < rows; i++) {
+                readRow(buffers, i, row);
+                for (int p = 0; p < columns; p++) {
+                    kernels.axpy(row[p], b, p * n, c, i * n, n);
+                }
+            }
+        } else {
+            double[] row = new double[n];
+            for (int p = 0; p < columns; p++) {
+                readRow(matrix, p, row);
+                for (int i = 0; i < rows; i++) {
+                    kernels.axpy(cell(buffers, i, p), row, 0, c, i * n, n);
+                }
+            }
+        }
+        return new DoubleMatrix(c, rows, n);
+    }
+
+    @Override
+    public DoubleVector multiply(Vector<Double> vector) {
+        DoubleMatrix multiplied = multiply(vector.asMatrix());
+        return new DoubleVector(multiplied.values(), multiplied.m() != 1);
+    }
+
+    @Override
+    public int numberOfRows() {
+        return rows;
+    }
+
+    @Override
+    public int numberOfColumns() {
+        return columns;
+    }
+
+    @Override
+    public Double get(int row, int column) {
+        return cell(buffers(), row - 1, column - 1);
+    }
+
+    @Override
+    public void set(int row, int column, Double value) {
+        setCell(buffers(), row - 1, column - 1, value);
+    }
+
+    @Override
+    public OffHeapMatrix subMatrix(int row, int column, int rows, int columns) {
+        if (row < 1 || column < 1 || rows < 0 || columns < 0 || row - 1 + rows > this.rows || column - 1 + columns > this.columns) {
+            throw new IllegalArgumentException("invalid block: " + rows + "x" + columns + " at (" + row + ", " + column + ") of " + this.rows + "x" + this.columns + "!");
+        }
+        return new OffHeapMatrix(owner, offset + (row - 1) * rowStride + (column - 1) * columnStride, rows, columns, rowStride, columnStride);
+    }
+
+    @Override
+    public OffHeapMatrix transpose() {
+        return new OffHeapMatrix(owner, offset, columns, rows, columnStride, rowStride);
+    }
+
+    @Override
+    public Double determinant() {
+        return toHeap().determinant();
+    }
+
+    @Override
+    public DoubleMatrix pseudoInvert() {
+        return toHeap().pseudoInvert();
+    }
+
+    @Override
+    public DoubleMatrix invert() {
+        return toHeap().invert();
+    }
+
+    @Override
+    public LUDecomposition<Double> decomposeLU() {
+        return toHeap().decomposeLU();
+    }
+
+    @Override
+    public CholeskyDecomposition<Double> decomposeCholesky() {
+        return toHeap().decomposeCholesky();
+    }
+
+    @Override
+    public QRDecomposition<Double> decomposeQR() {
+        return toHeap().decomposeQR();
+    }
+
+    @Override
+    public void print(String name) {
+        Matrices.print(this, name);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        OffHeapMatrix matrix = (OffHeapMatrix) o;
+        if (rows != matrix.rows || columns != matrix.columns) {
+            return false;
+        }
+        DoubleBuffer[] buffers = buffers();
+        DoubleBuffer[] otherBuffers = matrix.buffers();
+        for (int i = 0; i < rows; i++) {
+            for (int j = 0; j < columns; j++) {
+                if (Double.compare(cell(buffers, i, j), matrix.cell(otherBuffers, i, j)) != 0) {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public int hashCode() {
+        DoubleBuffer[] buffers = buffers();
+        int hashCode = 1;
+        for (int i = 0; i < rows; i++) {
+            for (int j = 0; j < columns; j++) {
+                hashCode = 31 * hashCode + Double.hashCode(cell(buffers, i, j));
+            }
+        }
+        return 31 * rows + hashCode;
+    }
+
+    @FunctionalInterface
+    private interface RowOperation {
+
+        void apply(double[] row);
+
+    }
+
+    @FunctionalInterface
+    private interface RowCombination {
+
+        void apply(double[] row, double[] other);
+
+    }
+
+}
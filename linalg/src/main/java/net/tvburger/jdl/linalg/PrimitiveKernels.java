@@ -0,0 +1,111 @@
+package net.tvburger.jdl.linalg;
+
+import net.tvburger.jdl.common.patterns.Strategy;
+
+/**
+ * The loops over primitive arrays used by the {@link FloatMatrix}, {@link DoubleMatrix}, {@link FloatVector} and
+ * {@link DoubleVector} backends.
+ * <p>
+ * Element-wise operations give the same result in every implementation. Reductions ({@code dot}, {@code sum} and
+ * {@code squaredDistance}) may sum in a different order and therefore differ in the last bits; {@code sum} sums
+ * pairwise or compensated in both, so its error does not grow with the length of the array. Use
+ * {@link #get()} to obtain the implementation for the running JVM.
+ */
+@Strategy(Strategy.Role.INTERFACE)
+public interface PrimitiveKernels {
+
+    /**
+     * Returns the kernels for the running JVM: the SIMD kernels when {@code jdk.incubator.vector} is resolved (e.g.
+     * by {@code --add-modules jdk.incubator.vector}), the scalar kernels otherwise. Setting the system property
+     * {@code jdl.linalg.simd} to {@code false} forces the scalar kernels.
+     *
+     * @return the kernels to use
+     */
+    static PrimitiveKernels get() {
+        return KernelsHolder.KERNELS;
+    }
+
+    /**
+     * Returns the plain Java loops, which are always available.
+     *
+     * @return the scalar kernels
+     */
+    static PrimitiveKernels scalar() {
+        return ScalarKernels.INSTANCE;
+    }
+
+    boolean isVectorized();
+
+    float dot(float[] x, int xOffset, float[] y, int yOffset, int length);
+
+    double dot(double[] x, int xOffset, double[] y, int yOffset, int length);
+
+    /**
+     * y[yOffset..] += a * x[xOffset..]
+     */
+    void axpy(float a, float[] x, int xOffset, float[] y, int yOffset, int length);
+
+    /**
+     * y[yOffset..] += a * x[xOffset..]
+     */
+    void axpy(double a, double[] x, int xOffset, double[] y, int yOffset, int length);
+
+    /**
+     * Returns the dot product of a sparse and a dense vector: the sum of values[offset + k] * y[indices[offset + k]]
+     * for k &lt; length.
+     */
+    float dot(float[] values, int[] indices, int offset, int length, float[] y);
+
+    /**
+     * Returns the dot product of a sparse and a dense vector: the sum of values[offset + k] * y[indices[offset + k]]
+     * for k &lt; length.
+     */
+    double dot(double[] values, int[] indices, int offset, int length, double[] y);
+
+    /**
+     * y[indices[offset + k]] += a * values[offset + k] for k &lt; length, the indices must be distinct.
+     */
+    void axpy(float a, float[] values, int[] indices, int offset, int length, float[] y);
+
+    /**
+     * y[indices[offset + k]] += a * values[offset + k] for k &lt; length, the indices must be distinct.
+     */
+    void axpy(double a, double[] values, int[] indices, int offset, int length, double[] y);
+
+    void add(float[] x, float[] y, float[] destination);
+
+    void add(double[] x, double[] y, double[] destination);
+
+    void add(float value, float[] x, float[] destination);
+
+    void add(double value, double[] x, double[] destination);
+
+    void subtract(float[] x, float[] y, float[] destination);
+
+    void subtract(double[] x, double[] y, double[] destination);
+
+    void multiply(float[] x, float[] y, float[] destination);
+
+    void multiply(double[] x, double[] y, double[] destination);
+
+    void divide(float[] x, float[] y, float[] destination);
+
+    void divide(double[] x, double[] y, double[] destination);
+
+    void scale(float value, float[] x, float[] destination);
+
+    void scale(double value, double[] x, double[] destination);
+
+    void squareRoot(float[] x, float[] destination);
+
+    void squareRoot(double[] x, double[] destination);
+
+    float sum(float[] x);
+
+    double sum(double[] x);
+
+    float squaredDistance(float[] x, float[] y);
+
+    double squaredDistance(double[] x, double[] y);
+
+}
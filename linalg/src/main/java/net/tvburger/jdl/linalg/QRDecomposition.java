@@ -0,0 +1,65 @@
+package net.tvburger.jdl.linalg;
+
+import net.tvburger.jdl.common.numbers.NumberTypeAgnostic;
+
+/**
+ * The QR decomposition of an m x n matrix A, used to solve least squares problems without the normal equations.
+ * <p>
+ * Solving through ΦᵀΦ squares the condition number of Φ, which makes high degree polynomial fits lose all precision
+ * in float and double. The QR decomposition works on A itself, so it keeps the condition number of A. When m &lt; n
+ * the transpose of A is decomposed instead and the minimum norm solution is returned.
+ *
+ * @param <N> the number type
+ */
+public interface QRDecomposition<N extends Number> extends NumberTypeAgnostic<N> {
+
+    /**
+     * Returns the number of rows of the decomposed matrix.
+     *
+     * @return m
+     */
+    int m();
+
+    /**
+     * Returns the number of columns of the decomposed matrix.
+     *
+     * @return n
+     */
+    int n();
+
+    /**
+     * Returns whether A has full rank min(m, n), which is required to solve.
+     *
+     * @return true if the decomposed matrix has full rank
+     */
+    boolean isFullRank();
+
+    /**
+     * Returns the x minimizing ||Ax - b||. If m &lt; n, this is the x with the smallest norm that solves Ax = b.
+     *
+     * @param b the right hand side of m dimensions
+     * @return x as column vector of n dimensions
+     * @throws ArithmeticException if the matrix does not have full rank
+     */
+    Vector<N> solve(Vector<N> b);
+
+    /**
+     * Solves the least squares problem for all columns of B.
+     *
+     * @param b the right hand sides with m rows
+     * @return X with n rows
+     * @throws ArithmeticException if the matrix does not have full rank
+     */
+    Matrix<N> solve(Matrix<N> b);
+
+    /**
+     * Returns the pseudo-inverse A⁺, by solving AX = I in the least squares sense.
+     *
+     * @return the pseudo-inverse
+     * @throws ArithmeticException if the matrix does not have full rank
+     */
+    default Matrix<N> pseudoInverse() {
+        return solve(Matrices.identity(m(), getCurrentNumberType()));
+    }
+
+}
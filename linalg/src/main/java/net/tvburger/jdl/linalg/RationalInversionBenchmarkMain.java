@@ -0,0 +1,51 @@
+package net.tvburger.jdl.linalg;
+
+import net.tvburger.jdl.common.numbers.JavaNumberTypeSupport;
+import net.tvburger.jdl.common.numbers.Rational;
+
+import java.math.BigInteger;
+import java.util.function.Function;
+
+/**
+ * Times the inversion of 10x10 Hilbert matrices with {@link JavaNumberTypeSupport#RATIONAL_BIGINT}, by
+ * {@link TypedMatrix#invert()} and by Gaussian elimination on the rationals themselves, which is where the lazy
+ * normalization of the rationals matters. The mean time per inversion is printed.
+ */
+public class RationalInversionBenchmarkMain {
+
+    private static final int SIZE = 10;
+    private static final int WARM_UP = 5;
+    private static final int ITERATIONS = 20;
+
+    public static void main(String[] args) {
+        JavaNumberTypeSupport<Rational<BigInteger>> typeSupport = JavaNumberTypeSupport.RATIONAL_BIGINT;
+        TypedMatrix<Rational<BigInteger>> hilbert = hilbert(SIZE);
+        time("TypedMatrix.invert()", hilbert, TypedMatrix::invert);
+        time("TypedLUDecomposition.inverse()", hilbert, matrix -> new TypedLUDecomposition<>(matrix, typeSupport).inverse());
+    }
+
+    private static void time(String name, TypedMatrix<Rational<BigInteger>> matrix,
+                             Function<TypedMatrix<Rational<BigInteger>>, Matrix<Rational<BigInteger>>> inversion) {
+        for (int i = 0; i < WARM_UP; i++) {
+            inversion.apply(matrix);
+        }
+        long start = System.nanoTime();
+        for (int i = 0; i < ITERATIONS; i++) {
+            inversion.apply(matrix);
+        }
+        long micros = (System.nanoTime() - start) / ITERATIONS / 1_000;
+        System.out.println(name + " of " + SIZE + "x" + SIZE + " Hilbert matrix: " + micros + " us");
+    }
+
+    static TypedMatrix<Rational<BigInteger>> hilbert(int size) {
+        JavaNumberTypeSupport<Rational<BigInteger>> typeSupport = JavaNumberTypeSupport.RATIONAL_BIGINT;
+        Rational<BigInteger>[][] values = typeSupport.createArrayOfArrays(size, size);
+        for (int i = 0; i < size; i++) {
+            for (int j = 0; j < size; j++) {
+                values[i][j] = new Rational<>(BigInteger.ONE, BigInteger.valueOf(i + j + 1));
+            }
+        }
+        return new TypedMatrix<>(values, typeSupport);
+    }
+
+}
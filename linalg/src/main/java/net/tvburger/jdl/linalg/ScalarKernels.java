@@ -0,0 +1,211 @@
+package net.tvburger.jdl.linalg;
+
+import net.tvburger.jdl.common.numbers.PairwiseSummation;
+import net.tvburger.jdl.common.patterns.Strategy;
+
+/**
+ * The plain loop implementation of the {@link PrimitiveKernels}.
+ */
+@Strategy(Strategy.Role.CONCRETE)
+final class ScalarKernels implements PrimitiveKernels {
+
+    static final ScalarKernels INSTANCE = new ScalarKernels();
+
+    @Override
+    public boolean isVectorized() {
+        return false;
+    }
+
+    @Override
+    public float dot(float[] x, int xOffset, float[] y, int yOffset, int length) {
+        float result = 0.0f;
+        for (int i = 0; i < length; i++) {
+            result += x[xOffset + i] * y[yOffset + i];
+        }
+        return result;
+    }
+
+    @Override
+    public double dot(double[] x, int xOffset, double[] y, int yOffset, int length) {
+        double result = 0.0;
+        for (int i = 0; i < length; i++) {
+            result += x[xOffset + i] * y[yOffset + i];
+        }
+        return result;
+    }
+
+    @Override
+    public void axpy(float a, float[] x, int xOffset, float[] y, int yOffset, int length) {
+        for (int i = 0; i < length; i++) {
+            y[yOffset + i] += a * x[xOffset + i];
+        }
+    }
+
+    @Override
+    public void axpy(double a, double[] x, int xOffset, double[] y, int yOffset, int length) {
+        for (int i = 0; i < length; i++) {
+            y[yOffset + i] += a * x[xOffset + i];
+        }
+    }
+
+    @Override
+    public float dot(float[] values, int[] indices, int offset, int length, float[] y) {
+        float result = 0.0f;
+        for (int k = offset; k < offset + length; k++) {
+            result += values[k] * y[indices[k]];
+        }
+        return result;
+    }
+
+    @Override
+    public double dot(double[] values, int[] indices, int offset, int length, double[] y) {
+        double result = 0.0;
+        for (int k = offset; k < offset + length; k++) {
+            result += values[k] * y[indices[k]];
+        }
+        return result;
+    }
+
+    @Override
+    public void axpy(float a, float[] values, int[] indices, int offset, int length, float[] y) {
+        for (int k = offset; k < offset + length; k++) {
+            y[indices[k]] += a * values[k];
+        }
+    }
+
+    @Override
+    public void axpy(double a, double[] values, int[] indices, int offset, int length, double[] y) {
+        for (int k = offset; k < offset + length; k++) {
+            y[indices[k]] += a * values[k];
+        }
+    }
+
+    @Override
+    public void add(float[] x, float[] y, float[] destination) {
+        for (int i = 0; i < destination.length; i++) {
+            destination[i] = x[i] + y[i];
+        }
+    }
+
+    @Override
+    public void add(double[] x, double[] y, double[] destination) {
+        for (int i = 0; i < destination.length; i++) {
+            destination[i] = x[i] + y[i];
+        }
+    }
+
+    @Override
+    public void add(float value, float[] x, float[] destination) {
+        for (int i = 0; i < destination.length; i++) {
+            destination[i] = x[i] + value;
+        }
+    }
+
+    @Override
+    public void add(double value, double[] x, double[] destination) {
+        for (int i = 0; i < destination.length; i++) {
+            destination[i] = x[i] + value;
+        }
+    }
+
+    @Override
+    public void subtract(float[] x, float[] y, float[] destination) {
+        for (int i = 0; i < destination.length; i++) {
+            destination[i] = x[i] - y[i];
+        }
+    }
+
+    @Override
+    public void subtract(double[] x, double[] y, double[] destination) {
+        for (int i = 0; i < destination.length; i++) {
+            destination[i] = x[i] - y[i];
+        }
+    }
+
+    @Override
+    public void multiply(float[] x, float[] y, float[] destination) {
+        for (int i = 0; i < destination.length; i++) {
+            destination[i] = x[i] * y[i];
+        }
+    }
+
+    @Override
+    public void multiply(double[] x, double[] y, double[] destination) {
+        for (int i = 0; i < destination.length; i++) {
+            destination[i] = x[i] * y[i];
+        }
+    }
+
+    @Override
+    public void divide(float[] x, float[] y, float[] destination) {
+        for (int i = 0; i < destination.length; i++) {
+            destination[i] = x[i] / y[i];
+        }
+    }
+
+    @Override
+    public void divide(double[] x, double[] y, double[] destination) {
+        for (int i = 0; i < destination.length; i++) {
+            destination[i] = x[i] / y[i];
+        }
+    }
+
+    @Override
+    public void scale(float value, float[] x, float[] destination) {
+        for (int i = 0; i < destination.length; i++) {
+            destination[i] = x[i] * value;
+        }
+    }
+
+    @Override
+    public void scale(double value, double[] x, double[] destination) {
+        for (int i = 0; i < destination.length; i++) {
+            destination[i] = x[i] * value;
+        }
+    }
+
+    @Override
+    public void squareRoot(float[] x, float[] destination) {
+        for (int i = 0; i < destination.length; i++) {
+            destination[i] = (float) Math.sqrt(x[i]);
+        }
+    }
+
+    @Override
+    public void squareRoot(double[] x, double[] destination) {
+        for (int i = 0; i < destination.length; i++) {
+            destination[i] = Math.sqrt(x[i]);
+        }
+    }
+
+    @Override
+    public float sum(float[] x) {
+        return PairwiseSummation.sum(x);
+    }
+
+    @Override
+    public double sum(double[] x) {
+        return PairwiseSummation.sum(x);
+    }
+
+    @Override
+    public float squaredDistance(float[] x, float[] y) {
+        float result = 0.0f;
+        for (int i = 0; i < x.length; i++) {
+            float difference = x[i] - y[i];
+            result += difference * difference;
+        }
+        return result;
+    }
+
+    @Override
+    public double squaredDistance(double[] x, double[] y) {
+        double result = 0.0;
+        for (int i = 0; i < x.length; i++) {
+            double difference = x[i] - y[i];
+            result += difference * difference;
+        }
+        return result;
+    }
+
+}
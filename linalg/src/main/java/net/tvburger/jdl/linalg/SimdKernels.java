@@ -0,0 +1,387 @@
+package net.tvburger.jdl.linalg;
+
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorSpecies;
+import net.tvburger.jdl.common.numbers.CompensatedDoubleSum;
+import net.tvburger.jdl.common.numbers.CompensatedFloatSum;
+import net.tvburger.jdl.common.numbers.PairwiseSummation;
+import net.tvburger.jdl.common.patterns.Strategy;
+
+/**
+ * The {@link PrimitiveKernels} implemented with the incubating Java Vector API, using the preferred species of the
+ * platform. The tails that do not fill a whole vector are handled by scalar loops.
+ * <p>
+ * Only loaded by {@link KernelsHolder} when {@code jdk.incubator.vector} is resolved. The types of the Vector API
+ * are fully qualified as they clash with the linalg vector backends.
+ */
+@Strategy(Strategy.Role.CONCRETE)
+final class SimdKernels implements PrimitiveKernels {
+
+    private static final VectorSpecies<Float> FLOATS = jdk.incubator.vector.FloatVector.SPECIES_PREFERRED;
+    private static final VectorSpecies<Double> DOUBLES = jdk.incubator.vector.DoubleVector.SPECIES_PREFERRED;
+
+    SimdKernels() {
+    }
+
+    @Override
+    public boolean isVectorized() {
+        return true;
+    }
+
+    @Override
+    public float dot(float[] x, int xOffset, float[] y, int yOffset, int length) {
+        int bound = FLOATS.loopBound(length);
+        jdk.incubator.vector.FloatVector accumulator = jdk.incubator.vector.FloatVector.zero(FLOATS);
+        int i = 0;
+        for (; i < bound; i += FLOATS.length()) {
+            jdk.incubator.vector.FloatVector a = jdk.incubator.vector.FloatVector.fromArray(FLOATS, x, xOffset + i);
+            jdk.incubator.vector.FloatVector b = jdk.incubator.vector.FloatVector.fromArray(FLOATS, y, yOffset + i);
+            accumulator = a.fma(b, accumulator);
+        }
+        float result = accumulator.reduceLanes(VectorOperators.ADD);
+        for (; i < length; i++) {
+            result += x[xOffset + i] * y[yOffset + i];
+        }
+        return result;
+    }
+
+    @Override
+    public double dot(double[] x, int xOffset, double[] y, int yOffset, int length) {
+        int bound = DOUBLES.loopBound(length);
+        jdk.incubator.vector.DoubleVector accumulator = jdk.incubator.vector.DoubleVector.zero(DOUBLES);
+        int i = 0;
+        for (; i < bound; i += DOUBLES.length()) {
+            jdk.incubator.vector.DoubleVector a = jdk.incubator.vector.DoubleVector.fromArray(DOUBLES, x, xOffset + i);
+            jdk.incubator.vector.DoubleVector b = jdk.incubator.vector.DoubleVector.fromArray(DOUBLES, y, yOffset + i);
+            accumulator = a.fma(b, accumulator);
+        }
+        double result = accumulator.reduceLanes(VectorOperators.ADD);
+        for (; i < length; i++) {
+            result += x[xOffset + i] * y[yOffset + i];
+        }
+        return result;
+    }
+
+    @Override
+    public void axpy(float a, float[] x, int xOffset, float[] y, int yOffset, int length) {
+        int bound = FLOATS.loopBound(length);
+        int i = 0;
+        for (; i < bound; i += FLOATS.length()) {
+            jdk.incubator.vector.FloatVector vx = jdk.incubator.vector.FloatVector.fromArray(FLOATS, x, xOffset + i);
+            jdk.incubator.vector.FloatVector vy = jdk.incubator.vector.FloatVector.fromArray(FLOATS, y, yOffset + i);
+            vx.mul(a).add(vy).intoArray(y, yOffset + i);
+        }
+        for (; i < length; i++) {
+            y[yOffset + i] += a * x[xOffset + i];
+        }
+    }
+
+    @Override
+    public void axpy(double a, double[] x, int xOffset, double[] y, int yOffset, int length) {
+        int bound = DOUBLES.loopBound(length);
+        int i = 0;
+        for (; i < bound; i += DOUBLES.length()) {
+            jdk.incubator.vector.DoubleVector vx = jdk.incubator.vector.DoubleVector.fromArray(DOUBLES, x, xOffset + i);
+            jdk.incubator.vector.DoubleVector vy = jdk.incubator.vector.DoubleVector.fromArray(DOUBLES, y, yOffset + i);
+            vx.mul(a).add(vy).intoArray(y, yOffset + i);
+        }
+        for (; i < length; i++) {
+            y[yOffset + i] += a * x[xOffset + i];
+        }
+    }
+
+    @Override
+    public float dot(float[] values, int[] indices, int offset, int length, float[] y) {
+        int bound = FLOATS.loopBound(length);
+        jdk.incubator.vector.FloatVector accumulator = jdk.incubator.vector.FloatVector.zero(FLOATS);
+        int k = 0;
+        for (; k < bound; k += FLOATS.length()) {
+            jdk.incubator.vector.FloatVector a = jdk.incubator.vector.FloatVector.fromArray(FLOATS, values, offset + k);
+            jdk.incubator.vector.FloatVector b = jdk.incubator.vector.FloatVector.fromArray(FLOATS, y, 0, indices, offset + k);
+            accumulator = a.fma(b, accumulator);
+        }
+        float result = accumulator.reduceLanes(VectorOperators.ADD);
+        for (; k < length; k++) {
+            result += values[offset + k] * y[indices[offset + k]];
+        }
+        return result;
+    }
+
+    @Override
+    public double dot(double[] values, int[] indices, int offset, int length, double[] y) {
+        int bound = DOUBLES.loopBound(length);
+        jdk.incubator.vector.DoubleVector accumulator = jdk.incubator.vector.DoubleVector.zero(DOUBLES);
+        int k = 0;
+        for (; k < bound; k += DOUBLES.length()) {
+            jdk.incubator.vector.DoubleVector a = jdk.incubator.vector.DoubleVector.fromArray(DOUBLES, values, offset + k);
+            jdk.incubator.vector.DoubleVector b = jdk.incubator.vector.DoubleVector.fromArray(DOUBLES, y, 0, indices, offset + k);
+            accumulator = a.fma(b, accumulator);
+        }
+        double result = accumulator.reduceLanes(VectorOperators.ADD);
+        for (; k < length; k++) {
+            result += values[offset + k] * y[indices[offset + k]];
+        }
+        return result;
+    }
+
+    @Override
+    public void axpy(float a, float[] values, int[] indices, int offset, int length, float[] y) {
+        int bound = FLOATS.loopBound(length);
+        int k = 0;
+        for (; k < bound; k += FLOATS.length()) {
+            jdk.incubator.vector.FloatVector vx = jdk.incubator.vector.FloatVector.fromArray(FLOATS, values, offset + k);
+            jdk.incubator.vector.FloatVector vy = jdk.incubator.vector.FloatVector.fromArray(FLOATS, y, 0, indices, offset + k);
+            vx.mul(a).add(vy).intoArray(y, 0, indices, offset + k);
+        }
+        for (; k < length; k++) {
+            y[indices[offset + k]] += a * values[offset + k];
+        }
+    }
+
+    @Override
+    public void axpy(double a, double[] values, int[] indices, int offset, int length, double[] y) {
+        int bound = DOUBLES.loopBound(length);
+        int k = 0;
+        for (; k < bound; k += DOUBLES.length()) {
+            jdk.incubator.vector.DoubleVector vx = jdk.incubator.vector.DoubleVector.fromArray(DOUBLES, values, offset + k);
+            jdk.incubator.vector.DoubleVector vy = jdk.incubator.vector.DoubleVector.fromArray(DOUBLES, y, 0, indices, offset + k);
+            vx.mul(a).add(vy).intoArray(y, 0, indices, offset + k);
+        }
+        for (; k < length; k++) {
+            y[indices[offset + k]] += a * values[offset + k];
+        }
+    }
+
+    @Override
+    public void add(float[] x, float[] y, float[] destination) {
+        lanewise(VectorOperators.ADD, x, y, destination);
+    }
+
+    @Override
+    public void add(double[] x, double[] y, double[] destination) {
+        lanewise(VectorOperators.ADD, x, y, destination);
+    }
+
+    @Override
+    public void add(float value, float[] x, float[] destination) {
+        lanewise(VectorOperators.ADD, value, x, destination);
+    }
+
+    @Override
+    public void add(double value, double[] x, double[] destination) {
+        lanewise(VectorOperators.ADD, value, x, destination);
+    }
+
+    @Override
+    public void subtract(float[] x, float[] y, float[] destination) {
+        lanewise(VectorOperators.SUB, x, y, destination);
+    }
+
+    @Override
+    public void subtract(double[] x, double[] y, double[] destination) {
+        lanewise(VectorOperators.SUB, x, y, destination);
+    }
+
+    @Override
+    public void multiply(float[] x, float[] y, float[] destination) {
+        lanewise(VectorOperators.MUL, x, y, destination);
+    }
+
+    @Override
+    public void multiply(double[] x, double[] y, double[] destination) {
+        lanewise(VectorOperators.MUL, x, y, destination);
+    }
+
+    @Override
+    public void divide(float[] x, float[] y, float[] destination) {
+        lanewise(VectorOperators.DIV, x, y, destination);
+    }
+
+    @Override
+    public void divide(double[] x, double[] y, double[] destination) {
+        lanewise(VectorOperators.DIV, x, y, destination);
+    }
+
+    @Override
+    public void scale(float value, float[] x, float[] destination) {
+        lanewise(VectorOperators.MUL, value, x, destination);
+    }
+
+    @Override
+    public void scale(double value, double[] x, double[] destination) {
+        lanewise(VectorOperators.MUL, value, x, destination);
+    }
+
+    @Override
+    public void squareRoot(float[] x, float[] destination) {
+        int bound = FLOATS.loopBound(destination.length);
+        int i = 0;
+        for (; i < bound; i += FLOATS.length()) {
+            jdk.incubator.vector.FloatVector.fromArray(FLOATS, x, i).lanewise(VectorOperators.SQRT).intoArray(destination, i);
+        }
+        for (; i < destination.length; i++) {
+            destination[i] = (float) Math.sqrt(x[i]);
+        }
+    }
+
+    @Override
+    public void squareRoot(double[] x, double[] destination) {
+        int bound = DOUBLES.loopBound(destination.length);
+        int i = 0;
+        for (; i < bound; i += DOUBLES.length()) {
+            jdk.incubator.vector.DoubleVector.fromArray(DOUBLES, x, i).lanewise(VectorOperators.SQRT).intoArray(destination, i);
+        }
+        for (; i < destination.length; i++) {
+            destination[i] = Math.sqrt(x[i]);
+        }
+    }
+
+    @Override
+    public float sum(float[] x) {
+        // blocks are summed in the lanes, the sums of the blocks with compensation
+        int bound = FLOATS.loopBound(x.length);
+        CompensatedFloatSum result = new CompensatedFloatSum();
+        int i = 0;
+        while (i < bound) {
+            int blockBound = Math.min(bound, i + PairwiseSummation.BLOCK_SIZE);
+            jdk.incubator.vector.FloatVector accumulator = jdk.incubator.vector.FloatVector.zero(FLOATS);
+            for (; i < blockBound; i += FLOATS.length()) {
+                accumulator = accumulator.add(jdk.incubator.vector.FloatVector.fromArray(FLOATS, x, i));
+            }
+            result.add(accumulator.reduceLanes(VectorOperators.ADD));
+        }
+        for (; i < x.length; i++) {
+            result.add(x[i]);
+        }
+        return result.floatValue();
+    }
+
+    @Override
+    public double sum(double[] x) {
+        // blocks are summed in the lanes, the sums of the blocks with compensation
+        int bound = DOUBLES.loopBound(x.length);
+        CompensatedDoubleSum result = new CompensatedDoubleSum();
+        int i = 0;
+        while (i < bound) {
+            int blockBound = Math.min(bound, i + PairwiseSummation.BLOCK_SIZE);
+            jdk.incubator.vector.DoubleVector accumulator = jdk.incubator.vector.DoubleVector.zero(DOUBLES);
+            for (; i < blockBound; i += DOUBLES.length()) {
+                accumulator = accumulator.add(jdk.incubator.vector.DoubleVector.fromArray(DOUBLES, x, i));
+            }
+            result.add(accumulator.reduceLanes(VectorOperators.ADD));
+        }
+        for (; i < x.length; i++) {
+            result.add(x[i]);
+        }
+        return result.doubleValue();
+    }
+
+    @Override
+    public float squaredDistance(float[] x, float[] y) {
+        int bound = FLOATS.loopBound(x.length);
+        jdk.incubator.vector.FloatVector accumulator = jdk.incubator.vector.FloatVector.zero(FLOATS);
+        int i = 0;
+        for (; i < bound; i += FLOATS.length()) {
+            jdk.incubator.vector.FloatVector difference = jdk.incubator.vector.FloatVector.fromArray(FLOATS, x, i)
+                    .sub(jdk.incubator.vector.FloatVector.fromArray(FLOATS, y, i));
+            accumulator = difference.fma(difference, accumulator);
+        }
+        float result = accumulator.reduceLanes(VectorOperators.ADD);
+        for (; i < x.length; i++) {
+            float difference = x[i] - y[i];
+            result += difference * difference;
+        }
+        return result;
+    }
+
+    @Override
+    public double squaredDistance(double[] x, double[] y) {
+        int bound = DOUBLES.loopBound(x.length);
+        jdk.incubator.vector.DoubleVector accumulator = jdk.incubator.vector.DoubleVector.zero(DOUBLES);
+        int i = 0;
+        for (; i < bound; i += DOUBLES.length()) {
+            jdk.incubator.vector.DoubleVector difference = jdk.incubator.vector.DoubleVector.fromArray(DOUBLES, x, i)
+                    .sub(jdk.incubator.vector.DoubleVector.fromArray(DOUBLES, y, i));
+            accumulator = difference.fma(difference, accumulator);
+        }
+        double result = accumulator.reduceLanes(VectorOperators.ADD);
+        for (; i < x.length; i++) {
+            double difference = x[i] - y[i];
+            result += difference * difference;
+        }
+        return result;
+    }
+
+    private static void lanewise(VectorOperators.Binary operator, float[] x, float[] y, float[] destination) {
+        int bound = FLOATS.loopBound(destination.length);
+        int i = 0;
+        for (; i < bound; i += FLOATS.length()) {
+            jdk.incubator.vector.FloatVector.fromArray(FLOATS, x, i)
+                    .lanewise(operator, jdk.incubator.vector.FloatVector.fromArray(FLOATS, y, i))
+                    .intoArray(destination, i);
+        }
+        for (; i < destination.length; i++) {
+            destination[i] = apply(operator, x[i], y[i]);
+        }
+    }
+
+    private static void lanewise(VectorOperators.Binary operator, double[] x, double[] y, double[] destination) {
+        int bound = DOUBLES.loopBound(destination.length);
+        int i = 0;
+        for (; i < bound; i += DOUBLES.length()) {
+            jdk.incubator.vector.DoubleVector.fromArray(DOUBLES, x, i)
+                    .lanewise(operator, jdk.incubator.vector.DoubleVector.fromArray(DOUBLES, y, i))
+                    .intoArray(destination, i);
+        }
+        for (; i < destination.length; i++) {
+            destination[i] = apply(operator, x[i], y[i]);
+        }
+    }
+
+    private static void lanewise(VectorOperators.Binary operator, float value, float[] x, float[] destination) {
+        int bound = FLOATS.loopBound(destination.length);
+        int i = 0;
+        for (; i < bound; i += FLOATS.length()) {
+            jdk.incubator.vector.FloatVector.fromArray(FLOATS, x, i).lanewise(operator, value).intoArray(destination, i);
+        }
+        for (; i < destination.length; i++) {
+            destination[i] = apply(operator, x[i], value);
+        }
+    }
+
+    private static void lanewise(VectorOperators.Binary operator, double value, double[] x, double[] destination) {
+        int bound = DOUBLES.loopBound(destination.length);
+        int i = 0;
+        for (; i < bound; i += DOUBLES.length()) {
+            jdk.incubator.vector.DoubleVector.fromArray(DOUBLES, x, i).lanewise(operator, value).intoArray(destination, i);
+        }
+        for (; i < destination.length; i++) {
+            destination[i] = apply(operator, x[i], value);
+        }
+    }
+
+    private static float apply(VectorOperators.Binary operator, float x, float y) {
+        if (operator == VectorOperators.ADD) {
+            return x + y;
+        } else if (operator == VectorOperators.SUB) {
+            return x - y;
+        } else if (operator == VectorOperators.MUL) {
+            return x * y;
+        } else {
+            return x / y;
+        }
+    }
+
+    private static double apply(VectorOperators.Binary operator, double x, double y) {
+        if (operator == VectorOperators.ADD) {
+            return x + y;
+        } else if (operator == VectorOperators.SUB) {
+            return x - y;
+        } else if (operator == VectorOperators.MUL) {
+            return x * y;
+        } else {
+            return x / y;
+        }
+    }
+
+}
@@ -0,0 +1,453 @@
+package net.tvburger.jdl.linalg;
+
+import net.tvburger.jdl.common.numbers.JavaNumberTypeSupport;
+
+import java.util.Arrays;
+
+/**
+ * A sparse {@link Matrix} of single precision numbers in compressed sparse row (CSR) or compressed sparse column
+ * (CSC) form: only the non-zero cells are stored, grouped per row (or column) with their sorted column (or row)
+ * indices.
+ * <p>
+ * {@link #transpose()} reinterprets CSR as CSC of the transpose (and vice versa) on the same arrays, so it neither
+ * copies nor converts. Multiplying with a dense matrix or vector only visits the stored cells. Operations that make
+ * the result dense, like adding a value, return a {@link FloatMatrix}, and the decompositions work on a dense copy.
+ * Setting a cell that is not stored inserts it, which moves the stored cells after it. Use
+ * {@link Matrices#sparse(Matrix)} or {@link Matrices#sparse(int, int)} to obtain instances.
+ */
+public class SparseFloatMatrix implements Matrix<Float> {
+
+    // the stored cells, shared with the transposed matrix so that insertions are visible through both
+    private static final class Entries {
+
+        // the cells of row (or column) o are stored at pointers[o] until pointers[o + 1]
+        private final int[] pointers;
+        private int[] indices;
+        private float[] values;
+
+        private Entries(int[] pointers, int[] indices, float[] values) {
+            this.pointers = pointers;
+            this.indices = indices;
+            this.values = values;
+        }
+
+    }
+
+    private final Entries entries;
+    private final int rows;
+    private final int columns;
+    private final boolean compressedColumns;
+
+    SparseFloatMatrix(int rows, int columns, boolean compressedColumns, int[] pointers, int[] indices, float[] values) {
+        this(new Entries(pointers, indices, values), rows, columns, compressedColumns);
+        if (pointers.length != (compressedColumns ? columns : rows) + 1) {
+            throw new IllegalArgumentException("invalid number of pointers: " + pointers.length + "!");
+        }
+    }
+
+    private SparseFloatMatrix(Entries entries, int rows, int columns, boolean compressedColumns) {
+        this.entries = entries;
+        this.rows = rows;
+        this.columns = columns;
+        this.compressedColumns = compressedColumns;
+    }
+
+    static SparseFloatMatrix of(float[] values, int rows, int columns) {
+        int[] pointers = new int[rows + 1];
+        for (int i = 0; i < rows; i++) {
+            int count = 0;
+            for (int j = 0; j < columns; j++) {
+                if (values[i * columns + j] != 0.0f) {
+                    count++;
+                }
+            }
+            pointers[i + 1] = pointers[i] + count;
+        }
+        int[] indices = new int[pointers[rows]];
+        float[] nonZeros = new float[pointers[rows]];
+        for (int i = 0, k = 0; i < rows; i++) {
+            for (int j = 0; j < columns; j++) {
+                float value = values[i * columns + j];
+                if (value != 0.0f) {
+                    indices[k] = j;
+                    nonZeros[k++] = value;
+                }
+            }
+        }
+        return new SparseFloatMatrix(rows, columns, false, pointers, indices, nonZeros);
+    }
+
+    private int outer(int i, int j) {
+        return compressedColumns ? j : i;
+    }
+
+    private int inner(int i, int j) {
+        return compressedColumns ? i : j;
+    }
+
+    private int outerCount() {
+        return compressedColumns ? columns : rows;
+    }
+
+    /**
+     * Returns whether the cells are grouped per column (CSC) instead of per row (CSR).
+     *
+     * @return true if this matrix is stored in compressed sparse column form
+     */
+    public boolean isCompressedColumns() {
+        return compressedColumns;
+    }
+
+    /**
+     * Returns the number of stored cells.
+     *
+     * @return the number of stored cells
+     */
+    public int getNonZeroCount() {
+        return entries.pointers[outerCount()];
+    }
+
+    /**
+     * Returns this matrix in compressed sparse row form: this matrix itself, or a converted copy.
+     *
+     * @return the CSR matrix
+     */
+    public SparseFloatMatrix toCompressedRows() {
+        return compressedColumns ? convert() : this;
+    }
+
+    /**
+     * Returns this matrix in compressed sparse column form: this matrix itself, or a converted copy.
+     *
+     * @return the CSC matrix
+     */
+    public SparseFloatMatrix toCompressedColumns() {
+        return compressedColumns ? this : convert();
+    }
+
+    // regroups the cells by their inner index with a counting sort, which keeps the new inner indices sorted
+    private SparseFloatMatrix convert() {
+        Entries e = entries;
+        int outerCount = outerCount();
+        int innerCount = compressedColumns ? rows : columns;
+        int size = e.pointers[outerCount];
+        int[] pointers = new int[innerCount + 1];
+        for (int k = 0; k < size; k++) {
+            pointers[e.indices[k] + 1]++;
+        }
+        for (int p = 0; p < innerCount; p++) {
+            pointers[p + 1] += pointers[p];
+        }
+        int[] next = Arrays.copyOf(pointers, innerCount);
+        int[] indices = new int[size];
+        float[] values = new float[size];
+        for (int o = 0; o < outerCount; o++) {
+            for (int k = e.pointers[o]; k < e.pointers[o + 1]; k++) {
+                int position = next[e.indices[k]]++;
+                indices[position] = o;
+                values[position] = e.values[k];
+            }
+        }
+        return new SparseFloatMatrix(rows, columns, !compressedColumns, pointers, indices, values);
+    }
+
+    /**
+     * Returns a dense copy of this matrix.
+     *
+     * @return the dense matrix
+     */
+    public FloatMatrix toDense() {
+        return new FloatMatrix(dense(), rows, columns);
+    }
+
+    // the row-major values
+    private float[] dense() {
+        Entries e = entries;
+        float[] dense = new float[rows * columns];
+        for (int o = 0; o < outerCount(); o++) {
+            for (int k = e.pointers[o]; k < e.pointers[o + 1]; k++) {
+                dense[compressedColumns ? e.indices[k] * columns + o : o * columns + e.indices[k]] = e.values[k];
+            }
+        }
+        return dense;
+    }
+
+    private static float[] denseValues(Matrix<Float> matrix) {
+        if (matrix instanceof FloatMatrix dense) {
+            return dense.values();
+        }
+        if (matrix instanceof SparseFloatMatrix sparse) {
+            return sparse.dense();
+        }
+        return Matrices.toFloatArray(matrix);
+    }
+
+    @Override
+    public JavaNumberTypeSupport<Float> getCurrentNumberType() {
+        return JavaNumberTypeSupport.FLOAT;
+    }
+
+    @Override
+    public FloatMatrix add(Float value) {
+        float[] addedValues = new float[rows * columns];
+        Arrays.fill(addedValues, value);
+        addTo(addedValues);
+        return new FloatMatrix(addedValues, rows, columns);
+    }
+
+    @Override
+    public FloatMatrix add(Matrix<Float> matrix) {
+        checkDimensions(matrix);
+        float[] addedValues = denseValues(matrix).clone();
+        addTo(addedValues);
+        return new FloatMatrix(addedValues, rows, columns);
+    }
+
+    @Override
+    public FloatMatrix substract(Float value) {
+        return add(-value);
+    }
+
+    @Override
+    public FloatMatrix substract(Matrix<Float> matrix) {
+        checkDimensions(matrix);
+        float[] subtractedValues = new float[rows * columns];
+        PrimitiveKernels.get().scale(-1.0f, denseValues(matrix), subtractedValues);
+        addTo(subtractedValues);
+        return new FloatMatrix(subtractedValues, rows, columns);
+    }
+
+    private void checkDimensions(Matrix<Float> matrix) {
+        if (matrix.m() != rows || matrix.n() != columns) {
+            throw new IllegalArgumentException("invalid dimensions of operand: " + matrix.m() + "x" + matrix.n() + "; must be " + rows + "x" + columns + "!");
+        }
+    }
+
+    // adds the stored cells to the given row-major values
+    private void addTo(float[] dense) {
+        Entries e = entries;
+        for (int o = 0; o < outerCount(); o++) {
+            for (int k = e.pointers[o]; k < e.pointers[o + 1]; k++) {
+                dense[compressedColumns ? e.indices[k] * columns + o : o * columns + e.indices[k]] += e.values[k];
+            }
+        }
+    }
+
+    @Override
+    public SparseFloatMatrix multiply(Float value) {
+        int size = getNonZeroCount();
+        float[] multipliedValues = new float[size];
+        for (int k = 0; k < size; k++) {
+            multipliedValues[k] = entries.values[k] * value;
+        }
+        return new SparseFloatMatrix(rows, columns, compressedColumns, entries.pointers.clone(), Arrays.copyOf(entries.indices, size), multipliedValues);
+    }
+
+    /**
+     * Multiplies this matrix with the given matrix, which is read as a dense matrix. The product is dense and only
+     * the stored cells of this matrix are visited.
+     *
+     * @param matrix the right operand
+     * @return the dense product
+     */
+    @Override
+    public FloatMatrix multiply(Matrix<Float> matrix) {
+        if (matrix.m() != columns) {
+            throw new IllegalArgumentException("invalid dimensions of operand: " + matrix.m() + "x" + matrix.n() + "; must have " + columns + " rows!");
+        }
+        Entries e = entries;
+        int n = matrix.n();
+        float[] b = denseValues(matrix);
+        float[] c = new float[rows * n];
+        PrimitiveKernels kernels = PrimitiveKernels.get();
+        for (int o = 0; o < outerCount(); o++) {
+            for (int k = e.pointers[o]; k < e.pointers[o + 1]; k++) {
+                // row i of C += a(i, j) * row j of B
+                int i = compressedColumns ? e.indices[k] : o;
+                int j = compressedColumns ? o : e.indices[k];
+                kernels.axpy(e.values[k], b, j * n, c, i * n, n);
+            }
+        }
+        return new FloatMatrix(c, rows, n);
+    }
+
+    @Override
+    public FloatVector multiply(Vector<Float> vector) {
+        if (!vector.isColumnVector() || vector.getDimensions() != columns) {
+            FloatMatrix multiplied = multiply(vector.asMatrix());
+            return multiplied.m() == 1 ? new FloatVector(multiplied.values(), false) : new FloatVector(multiplied.values(), true);
+        }
+        float[] x;
+        if (vector instanceof FloatVector dense) {
+            x = dense.values();
+        } else if (vector instanceof SparseFloatVector sparse) {
+            x = sparse.toDense().values();
+        } else {
+            x = new float[columns];
+            for (int j = 0; j < columns; j++) {
+                x[j] = vector.get(j + 1);
+            }
+        }
+        Entries e = entries;
+        float[] y = new float[rows];
+        PrimitiveKernels kernels = PrimitiveKernels.get();
+        for (int o = 0; o < outerCount(); o++) {
+            int length = e.pointers[o + 1] - e.pointers[o];
+            if (compressedColumns) {
+                kernels.axpy(x[o], e.values, e.indices, e.pointers[o], length, y);
+            } else {
+                y[o] = kernels.dot(e.values, e.indices, e.pointers[o], length, x);
+            }
+        }
+        return new FloatVector(y, true);
+    }
+
+    @Override
+    public int numberOfRows() {
+        return rows;
+    }
+
+    @Override
+    public int numberOfColumns() {
+        return columns;
+    }
+
+    private int search(int row, int column) {
+        if (row < 1 || row > rows || column < 1 || column > columns) {
+            throw new IndexOutOfBoundsException("invalid cell: (" + row + ", " + column + ") of " + rows + "x" + columns + "!");
+        }
+        int o = outer(row - 1, column - 1);
+        return Arrays.binarySearch(entries.indices, entries.pointers[o], entries.pointers[o + 1], inner(row - 1, column - 1));
+    }
+
+    @Override
+    public Float get(int row, int column) {
+        int k = search(row, column);
+        return k < 0 ? 0.0f : entries.values[k];
+    }
+
+    @Override
+    public void set(int row, int column, Float value) {
+        int k = search(row, column);
+        if (k >= 0) {
+            entries.values[k] = value;
+        } else if (value != 0.0f) {
+            insert(-k - 1, outer(row - 1, column - 1), inner(row - 1, column - 1), value);
+        }
+    }
+
+    private void insert(int k, int o, int index, float value) {
+        Entries e = entries;
+        int size = e.pointers[outerCount()];
+        if (size == e.indices.length) {
+            int capacity = Math.max(4, size * 2);
+            e.indices = Arrays.copyOf(e.indices, capacity);
+            e.values = Arrays.copyOf(e.values, capacity);
+        }
+        System.arraycopy(e.indices, k, e.indices, k + 1, size - k);
+        System.arraycopy(e.values, k, e.values, k + 1, size - k);
+        e.indices[k] = index;
+        e.values[k] = value;
+        for (int p = o + 1; p < e.pointers.length; p++) {
+            e.pointers[p]++;
+        }
+    }
+
+    /**
+     * Returns a copy of the block of the given size starting at the given (1-based) cell. Unlike the blocks of dense
+     * matrices it does not share its cells with this matrix, as the compressed form of a block differs from the
+     * compressed form of the matrix.
+     *
+     * @param row     the first row of the block
+     * @param column  the first column of the block
+     * @param rows    the number of rows of the block
+     * @param columns the number of columns of the block
+     * @return the copy of the block
+     * @throws IllegalArgumentException if the block does not fit in this matrix
+     */
+    @Override
+    public SparseFloatMatrix subMatrix(int row, int column, int rows, int columns) {
+        if (row < 1 || column < 1 || rows < 0 || columns < 0 || row - 1 + rows > this.rows || column - 1 + columns > this.columns) {
+            throw new IllegalArgumentException("invalid block: " + rows + "x" + columns + " at (" + row + ", " + column + ") of " + this.rows + "x" + this.columns + "!");
+        }
+        Entries e = entries;
+        int outerFrom = outer(row - 1, column - 1);
+        int innerFrom = inner(row - 1, column - 1);
+        int outerCount = compressedColumns ? columns : rows;
+        int innerCount = compressedColumns ? rows : columns;
+        int[] pointers = new int[outerCount + 1];
+        int[] indices = new int[getNonZeroCount()];
+        float[] values = new float[indices.length];
+        int size = 0;
+        for (int o = 0; o < outerCount; o++) {
+            int from = e.pointers[outerFrom + o];
+            int to = e.pointers[outerFrom + o + 1];
+            int k = Arrays.binarySearch(e.indices, from, to, innerFrom);
+            for (k = k < 0 ? -k - 1 : k; k < to && e.indices[k] < innerFrom + innerCount; k++) {
+                indices[size] = e.indices[k] - innerFrom;
+                values[size++] = e.values[k];
+            }
+            pointers[o + 1] = size;
+        }
+        return new SparseFloatMatrix(rows, columns, compressedColumns, pointers, Arrays.copyOf(indices, size), Arrays.copyOf(values, size));
+    }
+
+    @Override
+    public Float determinant() {
+        return toDense().determinant();
+    }
+
+    @Override
+    public FloatMatrix invert() {
+        return toDense().invert();
+    }
+
+    @Override
+    public FloatMatrix pseudoInvert() {
+        return toDense().pseudoInvert();
+    }
+
+    @Override
+    public LUDecomposition<Float> decomposeLU() {
+        return toDense().decomposeLU();
+    }
+
+    @Override
+    public CholeskyDecomposition<Float> decomposeCholesky() {
+        return toDense().decomposeCholesky();
+    }
+
+    @Override
+    public QRDecomposition<Float> decomposeQR() {
+        return toDense().decomposeQR();
+    }
+
+    /**
+     * Returns the transpose on the same arrays: a CSR matrix becomes a CSC matrix and vice versa.
+     *
+     * @return the transpose
+     */
+    @Override
+    public SparseFloatMatrix transpose() {
+        return new SparseFloatMatrix(entries, columns, rows, !compressedColumns);
+    }
+
+    @Override
+    public void print(String name) {
+        Matrices.print(this, name);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        SparseFloatMatrix matrix = (SparseFloatMatrix) o;
+        return rows == matrix.rows && columns == matrix.columns && Arrays.equals(dense(), matrix.dense());
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 * rows + Arrays.hashCode(dense());
+    }
+
+}
@@ -0,0 +1,356 @@
+package net.tvburger.jdl.linalg;
+
+import net.tvburger.jdl.common.numbers.JavaNumberTypeSupport;
+
+import java.util.Arrays;
+
+/**
+ * A sparse {@link Vector} of single precision numbers, which only stores its non-zero values together with their
+ * sorted indices.
+ * <p>
+ * Dot products and multiplications only visit the stored values. Setting a value that is not stored inserts it,
+ * which moves the stored values after it, so fill a sparse vector in increasing index order. Operations that make
+ * the result dense, like adding a value, return a {@link FloatVector}. Use {@link Vectors#sparse(float...)} or
+ * {@link Vectors#sparse(int)} to obtain instances.
+ */
+public class SparseFloatVector implements Vector<Float> {
+
+    // the stored values, shared with the transposed vector so that insertions are visible through both
+    private static final class Entries {
+
+        private int[] indices;
+        private float[] values;
+        private int size;
+
+        private Entries(int[] indices, float[] values, int size) {
+            this.indices = indices;
+            this.values = values;
+            this.size = size;
+        }
+
+    }
+
+    private final Entries entries;
+    private final int dimensions;
+    private final boolean columnVector;
+
+    SparseFloatVector(int dimensions, int[] indices, float[] values, int size, boolean columnVector) {
+        this(new Entries(indices, values, size), dimensions, columnVector);
+    }
+
+    private SparseFloatVector(Entries entries, int dimensions, boolean columnVector) {
+        this.entries = entries;
+        this.dimensions = dimensions;
+        this.columnVector = columnVector;
+    }
+
+    static SparseFloatVector of(float[] values, boolean columnVector) {
+        int size = 0;
+        for (float value : values) {
+            if (value != 0.0f) {
+                size++;
+            }
+        }
+        int[] indices = new int[size];
+        float[] nonZeros = new float[size];
+        for (int i = 0, k = 0; i < values.length; i++) {
+            if (values[i] != 0.0f) {
+                indices[k] = i;
+                nonZeros[k++] = values[i];
+            }
+        }
+        return new SparseFloatVector(values.length, indices, nonZeros, size, columnVector);
+    }
+
+    /**
+     * Returns the (0-based) indices of the stored values, only the first {@link #size()} are in use.
+     */
+    int[] indices() {
+        return entries.indices;
+    }
+
+    /**
+     * Returns the stored values, only the first {@link #size()} are in use.
+     */
+    float[] values() {
+        return entries.values;
+    }
+
+    int size() {
+        return entries.size;
+    }
+
+    /**
+     * Returns the number of stored values.
+     *
+     * @return the number of stored values
+     */
+    public int getNonZeroCount() {
+        return entries.size;
+    }
+
+    @Override
+    public int getDimensions() {
+        return dimensions;
+    }
+
+    @Override
+    public boolean isColumnVector() {
+        return columnVector;
+    }
+
+    @Override
+    public SparseFloatVector transpose() {
+        return new SparseFloatVector(entries, dimensions, !columnVector);
+    }
+
+    /**
+     * Returns this vector as a sparse 1xn or nx1 matrix, holding a copy of the stored values.
+     *
+     * @return the matrix representation of this vector
+     */
+    @Override
+    public SparseFloatMatrix asMatrix() {
+        int size = entries.size;
+        int[] pointers = {0, size};
+        int[] indices = Arrays.copyOf(entries.indices, size);
+        float[] values = Arrays.copyOf(entries.values, size);
+        return columnVector
+                ? new SparseFloatMatrix(dimensions, 1, true, pointers, indices, values)
+                : new SparseFloatMatrix(1, dimensions, false, pointers, indices, values);
+    }
+
+    /**
+     * Returns a boxed dense copy of the values of this vector.
+     *
+     * @return the values of this vector
+     */
+    @Override
+    public Float[] asArray() {
+        Float[] floats = new Float[dimensions];
+        Arrays.fill(floats, 0.0f);
+        for (int k = 0; k < entries.size; k++) {
+            floats[entries.indices[k]] = entries.values[k];
+        }
+        return floats;
+    }
+
+    /**
+     * Returns a dense copy of this vector.
+     *
+     * @return the dense vector
+     */
+    public FloatVector toDense() {
+        return new FloatVector(dense(), columnVector);
+    }
+
+    private float[] dense() {
+        float[] dense = new float[dimensions];
+        for (int k = 0; k < entries.size; k++) {
+            dense[entries.indices[k]] = entries.values[k];
+        }
+        return dense;
+    }
+
+    private int search(int i) {
+        if (i < 1 || i > dimensions) {
+            throw new IndexOutOfBoundsException("invalid index: " + i + "; must be in 1.." + dimensions + "!");
+        }
+        return Arrays.binarySearch(entries.indices, 0, entries.size, i - 1);
+    }
+
+    @Override
+    public Float get(int i) {
+        int k = search(i);
+        return k < 0 ? 0.0f : entries.values[k];
+    }
+
+    @Override
+    public void set(int i, Float value) {
+        int k = search(i);
+        if (k >= 0) {
+            entries.values[k] = value;
+        } else if (value != 0.0f) {
+            insert(-k - 1, i - 1, value);
+        }
+    }
+
+    private void insert(int k, int index, float value) {
+        Entries e = entries;
+        if (e.size == e.indices.length) {
+            int capacity = Math.max(4, e.size * 2);
+            e.indices = Arrays.copyOf(e.indices, capacity);
+            e.values = Arrays.copyOf(e.values, capacity);
+        }
+        System.arraycopy(e.indices, k, e.indices, k + 1, e.size - k);
+        System.arraycopy(e.values, k, e.values, k + 1, e.size - k);
+        e.indices[k] = index;
+        e.values[k] = value;
+        e.size++;
+    }
+
+    @Override
+    public SparseFloatVector multiply(Float value) {
+        float[] multipliedValues = new float[entries.size];
+        for (int k = 0; k < multipliedValues.length; k++) {
+            multipliedValues[k] = entries.values[k] * value;
+        }
+        return new SparseFloatVector(dimensions, Arrays.copyOf(entries.indices, entries.size), multipliedValues, entries.size, columnVector);
+    }
+
+    @Override
+    public SparseFloatVector divide(Float value) {
+        float v = value;
+        float[] dividedValues = new float[entries.size];
+        for (int k = 0; k < dividedValues.length; k++) {
+            dividedValues[k] = entries.values[k] / v;
+        }
+        return new SparseFloatVector(dimensions, Arrays.copyOf(entries.indices, entries.size), dividedValues, entries.size, columnVector);
+    }
+
+    @Override
+    public FloatVector add(Float value) {
+        float[] addedValues = new float[dimensions];
+        Arrays.fill(addedValues, value);
+        for (int k = 0; k < entries.size; k++) {
+            addedValues[entries.indices[k]] += entries.values[k];
+        }
+        return new FloatVector(addedValues, columnVector);
+    }
+
+    @Override
+    public FloatVector subtract(Float value) {
+        return add(-value);
+    }
+
+    /**
+     * Adds the given vector, the result is sparse if the given vector is sparse and dense otherwise.
+     *
+     * @param vector the vector to add
+     * @return the sum
+     */
+    @Override
+    public Vector<Float> add(Vector<Float> vector) {
+        return combine(vector, 1.0f);
+    }
+
+    /**
+     * Subtracts the given vector, the result is sparse if the given vector is sparse and dense otherwise.
+     *
+     * @param vector the vector to subtract
+     * @return the difference
+     */
+    @Override
+    public Vector<Float> subtract(Vector<Float> vector) {
+        return combine(vector, -1.0f);
+    }
+
+    // this + sign * vector
+    private Vector<Float> combine(Vector<Float> vector, float sign) {
+        if (vector.getDimensions() != dimensions) {
+            throw new IllegalArgumentException("invalid dimensions of operand: " + vector.getDimensions() + "; must be " + dimensions + "!");
+        }
+        if (vector instanceof SparseFloatVector other) {
+            Entries a = entries;
+            Entries b = other.entries;
+            int[] indices = new int[a.size + b.size];
+            float[] values = new float[a.size + b.size];
+            int i = 0, j = 0, k = 0;
+            while (i < a.size || j < b.size) {
+                if (j == b.size || i < a.size && a.indices[i] < b.indices[j]) {
+                    indices[k] = a.indices[i];
+                    values[k++] = a.values[i++];
+                } else if (i == a.size || b.indices[j] < a.indices[i]) {
+                    indices[k] = b.indices[j];
+                    values[k++] = sign * b.values[j++];
+                } else {
+                    indices[k] = a.indices[i];
+                    values[k++] = a.values[i++] + sign * b.values[j++];
+                }
+            }
+            return new SparseFloatVector(dimensions, indices, values, k, columnVector);
+        }
+        float[] combinedValues = new float[dimensions];
+        if (vector instanceof FloatVector other) {
+            PrimitiveKernels.get().scale(sign, other.values(), combinedValues);
+        } else {
+            for (int i = 0; i < dimensions; i++) {
+                combinedValues[i] = sign * vector.get(i + 1);
+            }
+        }
+        PrimitiveKernels.get().axpy(1.0f, entries.values, entries.indices, 0, entries.size, combinedValues);
+        return new FloatVector(combinedValues, columnVector);
+    }
+
+    @Override
+    public SparseFloatVector scaleInPlace(Float value) {
+        PrimitiveKernels.get().scale(value, entries.values, entries.values);
+        return this;
+    }
+
+    @Override
+    public SparseFloatVector divideInPlace(Float value) {
+        float v = value;
+        for (int k = 0; k < entries.size; k++) {
+            entries.values[k] /= v;
+        }
+        return this;
+    }
+
+    @Override
+    public Float dotProduct(Vector<Float> vector) {
+        if (vector.getDimensions() != dimensions) {
+            throw new IllegalArgumentException();
+        }
+        Entries a = entries;
+        if (vector instanceof FloatVector other) {
+            return PrimitiveKernels.get().dot(a.values, a.indices, 0, a.size, other.values());
+        }
+        float result = 0.0f;
+        if (vector instanceof SparseFloatVector other) {
+            Entries b = other.entries;
+            for (int i = 0, j = 0; i < a.size && j < b.size; ) {
+                if (a.indices[i] < b.indices[j]) {
+                    i++;
+                } else if (a.indices[i] > b.indices[j]) {
+                    j++;
+                } else {
+                    result += a.values[i++] * b.values[j++];
+                }
+            }
+            return result;
+        }
+        for (int k = 0; k < a.size; k++) {
+            result += a.values[k] * vector.get(a.indices[k] + 1);
+        }
+        return result;
+    }
+
+    @Override
+    public Float norm() {
+        float result = PrimitiveKernels.get().dot(entries.values, 0, entries.values, 0, entries.size);
+        return (float) Math.sqrt(result);
+    }
+
+    @Override
+    public int hashCode() {
+        return Arrays.hashCode(dense()) * (columnVector ? -1 : 1);
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (obj == this) {
+            return true;
+        }
+        if (obj instanceof SparseFloatVector v) {
+            return columnVector == v.columnVector && dimensions == v.dimensions && Arrays.equals(dense(), v.dense());
+        } else {
+            return false;
+        }
+    }
+
+    @Override
+    public JavaNumberTypeSupport<Float> getCurrentNumberType() {
+        return JavaNumberTypeSupport.FLOAT;
+    }
+}
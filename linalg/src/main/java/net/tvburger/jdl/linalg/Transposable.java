@@ -2,6 +2,11 @@ package net.tvburger.jdl.linalg;
 
 public interface Transposable<T> {
 
+    /**
+     * Returns the transpose. For matrices and vectors this is a view that shares its values with the original.
+     *
+     * @return the transpose
+     */
     T transpose();
 
 }
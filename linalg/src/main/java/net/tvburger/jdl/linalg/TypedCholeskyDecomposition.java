@@ -0,0 +1,152 @@
+package net.tvburger.jdl.linalg;
+
+import net.tvburger.jdl.common.numbers.JavaNumberTypeSupport;
+
+/**
+ * The {@link CholeskyDecomposition} for any number type, in the square root free form A = LDLᵀ with L unit lower
+ * triangular and D diagonal, so it stays exact for rational number types.
+ *
+ * @param <N> the number type
+ */
+final class TypedCholeskyDecomposition<N extends Number> implements CholeskyDecomposition<N> {
+
+    // L below the diagonal (unit diagonal implied), D on the diagonal
+    private final N[][] ld;
+    private final boolean positiveDefinite;
+    private final JavaNumberTypeSupport<N> typeSupport;
+
+    TypedCholeskyDecomposition(Matrix<N> matrix, JavaNumberTypeSupport<N> typeSupport) {
+        if (matrix.m() != matrix.n()) {
+            throw new IllegalStateException("Must be square matrix!");
+        }
+        this.typeSupport = typeSupport;
+        int n = matrix.m();
+        this.ld = typeSupport.createArrayOfArrays(n, n);
+        boolean positive = true;
+        for (int i = 0; i < n && positive; i++) {
+            for (int j = 0; j <= i; j++) {
+                // accumulated negated, so each term is a single fused multiply-add
+                N sum = typeSupport.negate(matrix.get(i + 1, j + 1));
+                for (int k = 0; k < j; k++) {
+                    sum = typeSupport.fma(typeSupport.multiply(ld[i][k], ld[j][k]), ld[k][k], sum);
+                }
+                sum = typeSupport.negate(sum);
+                if (i == j) {
+                    if (!typeSupport.isGreaterThan(sum, typeSupport.zero())) {
+                        positive = false;
+                        break;
+                    }
+                    ld[i][i] = sum;
+                } else {
+                    ld[i][j] = typeSupport.divide(sum, ld[j][j]);
+                }
+            }
+        }
+        this.positiveDefinite = positive;
+    }
+
+    @Override
+    public JavaNumberTypeSupport<N> getCurrentNumberType() {
+        return typeSupport;
+    }
+
+    @Override
+    public int size() {
+        return ld.length;
+    }
+
+    @Override
+    public boolean isPositiveDefinite() {
+        return positiveDefinite;
+    }
+
+    @Override
+    public double conditionEstimate() {
+        if (!positiveDefinite) {
+            return Double.POSITIVE_INFINITY;
+        }
+        if (ld.length == 0) {
+            return 1.0;
+        }
+        N min = ld[0][0];
+        N max = ld[0][0];
+        for (int i = 1; i < ld.length; i++) {
+            min = typeSupport.min(min, ld[i][i]);
+            max = typeSupport.max(max, ld[i][i]);
+        }
+        return typeSupport.divide(max, min).doubleValue();
+    }
+
+    @Override
+    public N determinant() {
+        if (!positiveDefinite) {
+            throw new ArithmeticException("Matrix is not positive definite.");
+        }
+        N determinant = typeSupport.one();
+        for (int i = 0; i < ld.length; i++) {
+            determinant = typeSupport.multiply(determinant, ld[i][i]);
+        }
+        return determinant;
+    }
+
+    @Override
+    public TypedVector<N> solve(Vector<N> b) {
+        int n = ld.length;
+        if (b.getDimensions() != n) {
+            throw new IllegalArgumentException("invalid dimensions of right hand side: " + b.getDimensions() + "; must be " + n + "!");
+        }
+        N[] x = typeSupport.createArray(n);
+        for (int i = 0; i < n; i++) {
+            x[i] = b.get(i + 1);
+        }
+        substitute(x);
+        return new TypedVector<>(x, true, typeSupport);
+    }
+
+    @Override
+    public TypedMatrix<N> solve(Matrix<N> b) {
+        int n = ld.length;
+        if (b.m() != n) {
+            throw new IllegalArgumentException("invalid dimensions of right hand side: " + b.m() + "x" + b.n() + "; must have " + n + " rows!");
+        }
+        N[][] x = typeSupport.createArrayOfArrays(n, b.n());
+        N[] column = typeSupport.createArray(n);
+        for (int j = 0; j < b.n(); j++) {
+            for (int i = 0; i < n; i++) {
+                column[i] = b.get(i + 1, j + 1);
+            }
+            substitute(column);
+            for (int i = 0; i < n; i++) {
+                x[i][j] = column[i];
+            }
+        }
+        return new TypedMatrix<>(x, typeSupport);
+    }
+
+    // solves LDLᵀx = y in place
+    private void substitute(N[] y) {
+        if (!positiveDefinite) {
+            throw new ArithmeticException("Matrix is not positive definite.");
+        }
+        int n = ld.length;
+        // the sums are accumulated negated, so each term is a single fused multiply-add
+        for (int i = 1; i < n; i++) {
+            N sum = typeSupport.negate(y[i]);
+            for (int k = 0; k < i; k++) {
+                sum = typeSupport.fma(ld[i][k], y[k], sum);
+            }
+            y[i] = typeSupport.negate(sum);
+        }
+        for (int i = 0; i < n; i++) {
+            y[i] = typeSupport.divide(y[i], ld[i][i]);
+        }
+        for (int i = n - 1; i >= 0; i--) {
+            N sum = typeSupport.negate(y[i]);
+            for (int k = i + 1; k < n; k++) {
+                sum = typeSupport.fma(ld[k][i], y[k], sum);
+            }
+            y[i] = typeSupport.negate(sum);
+        }
+    }
+
+}
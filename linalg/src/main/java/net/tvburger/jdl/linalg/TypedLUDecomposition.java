@@ -0,0 +1,164 @@
+package net.tvburger.jdl.linalg;
+
+import net.tvburger.jdl.common.numbers.JavaNumberTypeSupport;
+
+/**
+ * The {@link LUDecomposition} for any number type, operating through the {@link JavaNumberTypeSupport}.
+ *
+ * @param <N> the number type
+ */
+final class TypedLUDecomposition<N extends Number> implements LUDecomposition<N> {
+
+    // L below the diagonal (unit diagonal implied), U on and above the diagonal
+    private final N[][] lu;
+    private final int[] permutation;
+    private final boolean evenPermutation;
+    private final boolean singular;
+    private final JavaNumberTypeSupport<N> typeSupport;
+
+    TypedLUDecomposition(Matrix<N> matrix, JavaNumberTypeSupport<N> typeSupport) {
+        if (matrix.m() != matrix.n()) {
+            throw new IllegalStateException("Must be square matrix!");
+        }
+        this.typeSupport = typeSupport;
+        int n = matrix.m();
+        this.lu = typeSupport.createArrayOfArrays(n, n);
+        for (int i = 0; i < n; i++) {
+            for (int j = 0; j < n; j++) {
+                lu[i][j] = matrix.get(i + 1, j + 1);
+            }
+        }
+        this.permutation = new int[n];
+        for (int i = 0; i < n; i++) {
+            permutation[i] = i;
+        }
+        boolean even = true;
+        boolean zeroPivot = false;
+        for (int k = 0; k < n; k++) {
+            // Find pivot
+            int pivot = k;
+            for (int i = k + 1; i < n; i++) {
+                if (typeSupport.isGreaterThan(typeSupport.absolute(lu[i][k]), typeSupport.absolute(lu[pivot][k]))) {
+                    pivot = i;
+                }
+            }
+            if (typeSupport.isZero(lu[pivot][k])) {
+                zeroPivot = true;
+                continue;
+            }
+            if (pivot != k) {
+                N[] temp = lu[k];
+                lu[k] = lu[pivot];
+                lu[pivot] = temp;
+                int index = permutation[k];
+                permutation[k] = permutation[pivot];
+                permutation[pivot] = index;
+                even = !even;
+            }
+
+            // Eliminate below pivot, storing the factors in L
+            for (int i = k + 1; i < n; i++) {
+                N factor = typeSupport.divide(lu[i][k], lu[k][k]);
+                lu[i][k] = factor;
+                if (!typeSupport.isZero(factor)) {
+                    N negatedFactor = typeSupport.negate(factor);
+                    for (int j = k + 1; j < n; j++) {
+                        lu[i][j] = typeSupport.fma(negatedFactor, lu[k][j], lu[i][j]);
+                    }
+                }
+            }
+        }
+        this.evenPermutation = even;
+        this.singular = zeroPivot;
+    }
+
+    @Override
+    public JavaNumberTypeSupport<N> getCurrentNumberType() {
+        return typeSupport;
+    }
+
+    @Override
+    public int size() {
+        return lu.length;
+    }
+
+    @Override
+    public boolean isSingular() {
+        return singular;
+    }
+
+    @Override
+    public N determinant() {
+        if (singular) {
+            return typeSupport.zero();
+        }
+        N determinant = evenPermutation ? typeSupport.one() : typeSupport.minusOne();
+        for (int i = 0; i < lu.length; i++) {
+            determinant = typeSupport.multiply(determinant, lu[i][i]);
+        }
+        return determinant;
+    }
+
+    @Override
+    public TypedVector<N> solve(Vector<N> b) {
+        int n = lu.length;
+        if (b.getDimensions() != n) {
+            throw new IllegalArgumentException("invalid dimensions of right hand side: " + b.getDimensions() + "; must be " + n + "!");
+        }
+        N[] x = typeSupport.createArray(n);
+        for (int i = 0; i < n; i++) {
+            x[i] = b.get(permutation[i] + 1);
+        }
+        substitute(x);
+        return new TypedVector<>(x, true, typeSupport);
+    }
+
+    @Override
+    public TypedMatrix<N> solve(Matrix<N> b) {
+        int n = lu.length;
+        if (b.m() != n) {
+            throw new IllegalArgumentException("invalid dimensions of right hand side: " + b.m() + "x" + b.n() + "; must have " + n + " rows!");
+        }
+        N[][] x = typeSupport.createArrayOfArrays(n, b.n());
+        N[] column = typeSupport.createArray(n);
+        for (int j = 0; j < b.n(); j++) {
+            for (int i = 0; i < n; i++) {
+                column[i] = b.get(permutation[i] + 1, j + 1);
+            }
+            substitute(column);
+            for (int i = 0; i < n; i++) {
+                x[i][j] = column[i];
+            }
+        }
+        return new TypedMatrix<>(x, typeSupport);
+    }
+
+    @Override
+    public TypedMatrix<N> inverse() {
+        return solve(Matrices.identity(lu.length, typeSupport));
+    }
+
+    // solves LUx = y in place for the permuted y
+    private void substitute(N[] y) {
+        if (singular) {
+            throw new ArithmeticException("Matrix is singular and cannot be inverted.");
+        }
+        int n = lu.length;
+        // the sums are accumulated negated, so each term is a single fused multiply-add
+        for (int i = 1; i < n; i++) {
+            N sum = typeSupport.negate(y[i]);
+            for (int k = 0; k < i; k++) {
+                sum = typeSupport.fma(lu[i][k], y[k], sum);
+            }
+            y[i] = typeSupport.negate(sum);
+        }
+        for (int i = n - 1; i >= 0; i--) {
+            N sum = typeSupport.negate(y[i]);
+            for (int k = i + 1; k < n; k++) {
+                sum = typeSupport.fma(lu[i][k], y[k], sum);
+            }
+            y[i] = typeSupport.negate(typeSupport.divide(sum, lu[i][i]));
+        }
+    }
+
+}
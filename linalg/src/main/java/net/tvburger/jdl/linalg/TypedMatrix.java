@@ -3,18 +3,85 @@ package net.tvburger.jdl.linalg;
 import net.tvburger.jdl.common.numbers.JavaNumberTypeSupport;
 
 import java.util.Arrays;
+import java.util.Objects;
 
 public class TypedMatrix<N extends Number> implements Matrix<N> {
 
-    // rows -> columns
+    // rows -> columns; a view reads cell (i, j) from values[rowOffset + i][columnOffset + j], or from
+    // values[rowOffset + j][columnOffset + i] when transposed
     private final N[][] values;
+    private final int rowOffset;
+    private final int columnOffset;
+    private final int rows;
+    private final int columns;
+    private final boolean transposed;
+    // the matrix that created the values, which holds the cached decomposition
+    private final TypedMatrix<N> owner;
     private final JavaNumberTypeSupport<N> typeSupport;
+    private LUDecomposition<N> luDecomposition;
 
     protected TypedMatrix(N[][] values, JavaNumberTypeSupport<N> typeSupport) {
         this.values = values;
+        this.rowOffset = 0;
+        this.columnOffset = 0;
+        this.rows = values.length;
+        this.columns = values.length == 0 ? 0 : values[0].length;
+        this.transposed = false;
+        this.owner = this;
         this.typeSupport = typeSupport;
     }
 
+    private TypedMatrix(TypedMatrix<N> owner, int rowOffset, int columnOffset, int rows, int columns, boolean transposed) {
+        this.values = owner.values;
+        this.rowOffset = rowOffset;
+        this.columnOffset = columnOffset;
+        this.rows = rows;
+        this.columns = columns;
+        this.transposed = transposed;
+        this.owner = owner;
+        this.typeSupport = owner.typeSupport;
+    }
+
+    private N cell(int i, int j) {
+        return transposed ? values[rowOffset + j][columnOffset + i] : values[rowOffset + i][columnOffset + j];
+    }
+
+    /**
+     * Returns the cells of a row: the backing array itself if this matrix has its rows stored as is, otherwise a
+     * copy. It must not be modified.
+     *
+     * @param i the (0-based) row
+     * @return the cells of the row
+     */
+    N[] row(int i) {
+        if (!transposed && columnOffset == 0 && values[rowOffset + i].length == columns) {
+            return values[rowOffset + i];
+        }
+        N[] row = typeSupport.createArray(columns);
+        for (int j = 0; j < columns; j++) {
+            row[j] = cell(i, j);
+        }
+        return row;
+    }
+
+    /**
+     * Returns the cells of a column: the backing array itself if this matrix is the transpose of a matrix with its
+     * rows stored as is, otherwise a copy. It must not be modified.
+     *
+     * @param j the (0-based) column
+     * @return the cells of the column
+     */
+    N[] column(int j) {
+        if (transposed && columnOffset == 0 && values[rowOffset + j].length == rows) {
+            return values[rowOffset + j];
+        }
+        N[] column = typeSupport.createArray(rows);
+        for (int i = 0; i < rows; i++) {
+            column[i] = cell(i, j);
+        }
+        return column;
+    }
+
     @Override
     public JavaNumberTypeSupport<N> getCurrentNumberType() {
         return typeSupport;
@@ -22,10 +89,10 @@ public class TypedMatrix<N extends Number> implements Matrix<N> {
 
     @Override
     public TypedMatrix<N> add(N value) {
-        N[][] addedValues = typeSupport.createArrayOfArrays(n(), m());
+        N[][] addedValues = typeSupport.createArrayOfArrays(m(), n());
         for (int i = 0; i < m(); i++) {
             for (int j = 0; j < n(); j++) {
-                addedValues[i][j] = typeSupport.add(values[i][j], value);
+                addedValues[i][j] = typeSupport.add(cell(i, j), value);
             }
         }
         return new TypedMatrix<>(addedValues, typeSupport);
@@ -33,10 +100,10 @@ public class TypedMatrix<N extends Number> implements Matrix<N> {
 
     @Override
     public TypedMatrix<N> add(Matrix<N> matrix) {
-        N[][] addedValues = typeSupport.createArrayOfArrays(n(), m());
+        N[][] addedValues = typeSupport.createArrayOfArrays(m(), n());
         for (int i = 0; i < m(); i++) {
             for (int j = 0; j < n(); j++) {
-                addedValues[i][j] = typeSupport.add(values[i][j], matrix.get(i + 1, j + 1));
+                addedValues[i][j] = typeSupport.add(cell(i, j), matrix.get(i + 1, j + 1));
             }
         }
         return new TypedMatrix<>(addedValues, typeSupport);
@@ -54,10 +121,10 @@ public class TypedMatrix<N extends Number> implements Matrix<N> {
 
     @Override
     public TypedMatrix<N> multiply(N value) {
-        N[][] multipliedValues = typeSupport.createArrayOfArrays(n(), m());
+        N[][] multipliedValues = typeSupport.createArrayOfArrays(m(), n());
         for (int i = 0; i < m(); i++) {
             for (int j = 0; j < n(); j++) {
-                multipliedValues[i][j] = typeSupport.multiply(values[i][j], value);
+                multipliedValues[i][j] = typeSupport.multiply(cell(i, j), value);
             }
         }
         return new TypedMatrix<>(multipliedValues, typeSupport);
@@ -68,15 +135,7 @@ public class TypedMatrix<N extends Number> implements Matrix<N> {
         if (matrix.m() != n()) {
             throw new IllegalArgumentException("invalid dimensions of operand: " + matrix.m() + "x" + matrix.n() + "; must have " + n() + " rows!");
         }
-        N[][] multipliedValues = typeSupport.createArrayOfArrays(m(), matrix.n());
-        for (int i = 0; i < m(); i++) {
-            for (int j = 0; j < matrix.n(); j++) {
-                for (int n = 0; n < n(); n++) {
-                    multipliedValues[i][j] = typeSupport.add(multipliedValues[i][j], typeSupport.multiply(values[i][n], matrix.get(n + 1, j + 1)));
-                }
-            }
-        }
-        return new TypedMatrix<>(multipliedValues, typeSupport);
+        return new TypedMatrix<>(MatrixMultiplication.multiply(this, matrix, typeSupport), typeSupport);
     }
 
     @Override
@@ -101,7 +160,27 @@ public class TypedMatrix<N extends Number> implements Matrix<N> {
 
     @Override
     public int numberOfRows() {
-        return values.length;
+        return rows;
+    }
+
+    @Override
+    public void set(int row, int column, N value) {
+        if (transposed) {
+            values[rowOffset + column - 1][columnOffset + row - 1] = value;
+        } else {
+            values[rowOffset + row - 1][columnOffset + column - 1] = value;
+        }
+        owner.luDecomposition = null;
+    }
+
+    @Override
+    public TypedMatrix<N> subMatrix(int row, int column, int rows, int columns) {
+        if (row < 1 || column < 1 || rows < 0 || columns < 0 || row - 1 + rows > this.rows || column - 1 + columns > this.columns) {
+            throw new IllegalArgumentException("invalid block: " + rows + "x" + columns + " at (" + row + ", " + column + ") of " + this.rows + "x" + this.columns + "!");
+        }
+        return transposed
+                ? new TypedMatrix<>(owner, rowOffset + column - 1, columnOffset + row - 1, rows, columns, true)
+                : new TypedMatrix<>(owner, rowOffset + row - 1, columnOffset + column - 1, rows, columns, false);
     }
 
     @Override
@@ -109,12 +188,15 @@ public class TypedMatrix<N extends Number> implements Matrix<N> {
         if (n() != m()) {
             throw new IllegalStateException("Must be square matrix!");
         }
-        int n = values.length;
+        if (FractionFreeLUDecomposition.supports(typeSupport)) {
+            return decomposeLU().determinant();
+        }
+        int n = rows;
 
         // Make a copy (so we don’t destroy the input)
         N[][] a = typeSupport.createArrayOfArrays(n, n);
         for (int i = 0; i < n; i++) {
-            a[i] = values[i].clone();
+            a[i] = row(i).clone();
         }
 
         N det = typeSupport.one();
@@ -144,9 +226,9 @@ public class TypedMatrix<N extends Number> implements Matrix<N> {
 
             // Eliminate below pivot
             for (int j = i + 1; j < n; j++) {
-                N factor = typeSupport.divide(a[j][i], a[i][i]);
+                N negatedFactor = typeSupport.negate(typeSupport.divide(a[j][i], a[i][i]));
                 for (int k = i; k < n; k++) {
-                    a[j][k] = typeSupport.subtract(a[j][k], typeSupport.multiply(factor, a[i][k]));
+                    a[j][k] = typeSupport.fma(negatedFactor, a[i][k], a[j][k]);
                 }
             }
         }
@@ -166,23 +248,17 @@ public class TypedMatrix<N extends Number> implements Matrix<N> {
 
     @Override
     public int numberOfColumns() {
-        return values[0].length;
+        return columns;
     }
 
     @Override
     public N get(int row, int column) {
-        return values[row - 1][column - 1];
+        return cell(row - 1, column - 1);
     }
 
     @Override
     public TypedMatrix<N> transpose() {
-        N[][] transposed = typeSupport.createArrayOfArrays(n(), m());
-        for (int i = 0; i < values.length; i++) {
-            for (int j = 0; j < values[0].length; j++) {
-                transposed[j][i] = values[i][j];
-            }
-        }
-        return new TypedMatrix<>(transposed, typeSupport);
+        return new TypedMatrix<>(owner, rowOffset, columnOffset, columns, rows, !transposed);
     }
 
     @Override
@@ -197,14 +273,37 @@ public class TypedMatrix<N extends Number> implements Matrix<N> {
         }
     }
 
+    @Override
+    public LUDecomposition<N> decomposeLU() {
+        if (owner != this) {
+            return createLUDecomposition();
+        }
+        LUDecomposition<N> decomposition = luDecomposition;
+        if (decomposition == null) {
+            decomposition = createLUDecomposition();
+            luDecomposition = decomposition;
+        }
+        return decomposition;
+    }
+
+    // rationals are eliminated fraction-free, as ordinary elimination lets their numerators and denominators explode
+    private LUDecomposition<N> createLUDecomposition() {
+        return FractionFreeLUDecomposition.supports(typeSupport)
+                ? new FractionFreeLUDecomposition<>(this, typeSupport)
+                : new TypedLUDecomposition<>(this, typeSupport);
+    }
+
     @Override
     public TypedMatrix<N> invert() {
-        int n = values.length;
+        if (FractionFreeLUDecomposition.supports(typeSupport)) {
+            return (TypedMatrix<N>) decomposeLU().inverse();
+        }
+        int n = rows;
 
         // Create augmented matrix [A | I]
         N[][] augmented = typeSupport.createArrayOfArrays(n, 2 * n);
         for (int i = 0; i < n; i++) {
-            System.arraycopy(values[i], 0, augmented[i], 0, n);
+            System.arraycopy(row(i), 0, augmented[i], 0, n);
             augmented[i][i + n] = typeSupport.one(); // Identity part
         }
 
@@ -219,8 +318,6 @@ public class TypedMatrix<N extends Number> implements Matrix<N> {
                     swapRow++;
                 }
                 if (swapRow == n) {
-                    print("INVERSE FAILED FOR ");
-                    System.out.println("determinant = " + determinant());
                     throw new ArithmeticException("Matrix is singular and cannot be inverted.");
                 }
                 N[] temp = augmented[i];
@@ -237,9 +334,9 @@ public class TypedMatrix<N extends Number> implements Matrix<N> {
             // Eliminate other rows
             for (int k = 0; k < n; k++) {
                 if (k != i) {
-                    N factor = augmented[k][i];
+                    N negatedFactor = typeSupport.negate(augmented[k][i]);
                     for (int j = 0; j < 2 * n; j++) {
-                        augmented[k][j] = typeSupport.subtract(augmented[k][j], typeSupport.multiply(factor, augmented[i][j]));
+                        augmented[k][j] = typeSupport.fma(negatedFactor, augmented[i][j], augmented[k][j]);
                     }
                 }
             }
@@ -256,32 +353,7 @@ public class TypedMatrix<N extends Number> implements Matrix<N> {
 
     @Override
     public void print(String name) {
-        String prefix;
-        int length;
-        if (name == null) {
-            prefix = "";
-            length = 0;
-        } else {
-            prefix = name + " = ";
-            length = prefix.length();
-        }
-        for (int i = 0; i < m(); i++) {
-            if (i == (m() % 2 == 1 ? m() : m() - 1) / 2) {
-                System.out.print(prefix);
-            } else {
-                for (int n = 0; n < length; n++) {
-                    System.out.print(" ");
-                }
-            }
-            String symbol = m() == 1 ? "[" : i == 0 ? "┌" : i == m() - 1 ? "└" : "│";
-            System.out.print(symbol + " ");
-            for (int j = 0; j < n(); j++) {
-//                System.out.printf(" %8.2g", values[i][j].doubleValue());
-                System.out.printf(" %s", values[i][j].toString());
-            }
-            symbol = m() == 1 ? "]" : i == 0 ? "┐" : i == m() - 1 ? "┘" : "│";
-            System.out.println(" " + symbol);
-        }
+        Matrices.print(this, name);
     }
 
     @Override
@@ -289,12 +361,35 @@ public class TypedMatrix<N extends Number> implements Matrix<N> {
         if (this == o) return true;
         if (o == null || getClass() != o.getClass()) return false;
         TypedMatrix<?> matrix = (TypedMatrix<?>) o;
-        return Arrays.deepEquals(values, matrix.values);
+        if (rows != matrix.rows || columns != matrix.columns) {
+            return false;
+        }
+        for (int i = 0; i < rows; i++) {
+            for (int j = 0; j < columns; j++) {
+                if (!Objects.equals(normalizedCell(i, j), matrix.normalizedCell(i, j))) {
+                    return false;
+                }
+            }
+        }
+        return true;
     }
 
     @Override
     public int hashCode() {
-        return Arrays.deepHashCode(values);
+        int hashCode = 1;
+        for (int i = 0; i < rows; i++) {
+            int rowHashCode = 1;
+            for (int j = 0; j < columns; j++) {
+                rowHashCode = 31 * rowHashCode + Objects.hashCode(normalizedCell(i, j));
+            }
+            hashCode = 31 * hashCode + rowHashCode;
+        }
+        return hashCode;
+    }
+
+    // the cell in canonical form, as number types may defer normalization
+    private N normalizedCell(int i, int j) {
+        return typeSupport.normalize(cell(i, j));
     }
 
 }
@@ -0,0 +1,160 @@
+package net.tvburger.jdl.linalg;
+
+import net.tvburger.jdl.common.numbers.JavaNumberTypeSupport;
+
+/**
+ * The {@link QRDecomposition} for any number type. As not all number types support a square root, it uses the
+ * square root free modified Gram-Schmidt form A = QR, with Q having orthogonal but not normalized columns, so QᵀQ = D
+ * is diagonal, and R unit upper triangular. This keeps it exact for rational number types.
+ *
+ * @param <N> the number type
+ */
+final class TypedQRDecomposition<N extends Number> implements QRDecomposition<N> {
+
+    // the orthogonal columns of Q, each of p entries
+    private final N[][] q;
+    // R above the diagonal (unit diagonal implied)
+    private final N[][] r;
+    // the squared norms of the columns of Q
+    private final N[] d;
+    private final int p;
+    private final boolean transposed;
+    private final boolean fullRank;
+    private final JavaNumberTypeSupport<N> typeSupport;
+
+    TypedQRDecomposition(Matrix<N> matrix, JavaNumberTypeSupport<N> typeSupport) {
+        this.typeSupport = typeSupport;
+        this.transposed = matrix.m() < matrix.n();
+        this.p = transposed ? matrix.n() : matrix.m();
+        int columns = transposed ? matrix.m() : matrix.n();
+        this.q = typeSupport.createArrayOfArrays(columns, p);
+        for (int j = 0; j < columns; j++) {
+            for (int i = 0; i < p; i++) {
+                q[j][i] = transposed ? matrix.get(j + 1, i + 1) : matrix.get(i + 1, j + 1);
+            }
+        }
+        this.r = typeSupport.createArrayOfArrays(columns, columns);
+        this.d = typeSupport.createArray(columns);
+        boolean rankDeficient = false;
+        for (int k = 0; k < columns; k++) {
+            d[k] = dot(q[k], q[k]);
+            if (typeSupport.isZero(d[k])) {
+                rankDeficient = true;
+                break;
+            }
+            for (int j = k + 1; j < columns; j++) {
+                r[k][j] = typeSupport.divide(dot(q[k], q[j]), d[k]);
+                subtract(q[j], r[k][j], q[k]);
+            }
+        }
+        this.fullRank = !rankDeficient;
+    }
+
+    @Override
+    public JavaNumberTypeSupport<N> getCurrentNumberType() {
+        return typeSupport;
+    }
+
+    @Override
+    public int m() {
+        return transposed ? q.length : p;
+    }
+
+    @Override
+    public int n() {
+        return transposed ? p : q.length;
+    }
+
+    @Override
+    public boolean isFullRank() {
+        return fullRank;
+    }
+
+    @Override
+    public TypedVector<N> solve(Vector<N> b) {
+        if (b.getDimensions() != m()) {
+            throw new IllegalArgumentException("invalid dimensions of right hand side: " + b.getDimensions() + "; must be " + m() + "!");
+        }
+        N[] y = typeSupport.createArray(m());
+        for (int i = 0; i < y.length; i++) {
+            y[i] = b.get(i + 1);
+        }
+        return new TypedVector<>(substitute(y), true, typeSupport);
+    }
+
+    @Override
+    public TypedMatrix<N> solve(Matrix<N> b) {
+        if (b.m() != m()) {
+            throw new IllegalArgumentException("invalid dimensions of right hand side: " + b.m() + "x" + b.n() + "; must have " + m() + " rows!");
+        }
+        N[][] x = typeSupport.createArrayOfArrays(n(), b.n());
+        N[] column = typeSupport.createArray(m());
+        for (int j = 0; j < b.n(); j++) {
+            for (int i = 0; i < column.length; i++) {
+                column[i] = b.get(i + 1, j + 1);
+            }
+            N[] solution = substitute(column);
+            for (int i = 0; i < solution.length; i++) {
+                x[i][j] = solution[i];
+            }
+        }
+        return new TypedMatrix<>(x, typeSupport);
+    }
+
+    // returns x for the right hand side y, which is modified
+    private N[] substitute(N[] y) {
+        if (!fullRank) {
+            throw new ArithmeticException("Matrix is rank deficient.");
+        }
+        int columns = q.length;
+        if (transposed) {
+            // A = RᵀQᵀ: solve RᵀDz = b, then x = Qz
+            for (int k = 0; k < columns; k++) {
+                N sum = typeSupport.negate(y[k]);
+                for (int i = 0; i < k; i++) {
+                    sum = typeSupport.fma(r[i][k], y[i], sum);
+                }
+                y[k] = typeSupport.negate(sum);
+            }
+            N[] x = typeSupport.createArray(p);
+            for (int i = 0; i < p; i++) {
+                x[i] = typeSupport.zero();
+            }
+            for (int k = 0; k < columns; k++) {
+                subtract(x, typeSupport.negate(typeSupport.divide(y[k], d[k])), q[k]);
+            }
+            return x;
+        } else {
+            // A = QR: project b on the columns of Q one by one, then solve Rx = D⁻¹Qᵀb
+            N[] c = typeSupport.createArray(columns);
+            for (int k = 0; k < columns; k++) {
+                c[k] = typeSupport.divide(dot(q[k], y), d[k]);
+                subtract(y, c[k], q[k]);
+            }
+            for (int k = columns - 1; k >= 0; k--) {
+                N sum = typeSupport.negate(c[k]);
+                for (int j = k + 1; j < columns; j++) {
+                    sum = typeSupport.fma(r[k][j], c[j], sum);
+                }
+                c[k] = typeSupport.negate(sum);
+            }
+            return c;
+        }
+    }
+
+    private N dot(N[] x, N[] y) {
+        return typeSupport.arrayKernels().dot(x, y);
+    }
+
+    // target -= factor * x
+    private void subtract(N[] target, N factor, N[] x) {
+        if (typeSupport.isZero(factor)) {
+            return;
+        }
+        N negatedFactor = typeSupport.negate(factor);
+        for (int i = 0; i < p; i++) {
+            target[i] = typeSupport.fma(negatedFactor, x[i], target[i]);
+        }
+    }
+
+}
@@ -33,17 +33,11 @@ public class TypedVector<N extends Number> implements Vector<N> {
 
     @Override
     public TypedMatrix<N> asMatrix() {
-        N[][] matrixValues;
-        if (columnVector) {
-            matrixValues = typeSupport.createArrayOfArrays(values.length, 1);
-            for (int i = 0; i < values.length; i++) {
-                matrixValues[i][0] = values[i];
-            }
-        } else {
-            matrixValues = typeSupport.createArrayOfArrays(1, values.length);
-            System.arraycopy(values, 0, matrixValues[0], 0, values.length);
-        }
-        return new TypedMatrix<>(matrixValues, typeSupport);
+        // the values become the single row, a column vector is its transposed view, so nothing is copied
+        N[][] matrixValues = typeSupport.createArrayOfArrays(1, 0);
+        matrixValues[0] = values;
+        TypedMatrix<N> rowMatrix = new TypedMatrix<>(matrixValues, typeSupport);
+        return columnVector ? rowMatrix.transpose() : rowMatrix;
     }
 
     @Override
@@ -56,6 +50,11 @@ public class TypedVector<N extends Number> implements Vector<N> {
         return values[i - 1];
     }
 
+    @Override
+    public void set(int i, N value) {
+        values[i - 1] = value;
+    }
+
     @Override
     public TypedVector<N> multiply(N value) {
         N[] multipliedValues = typeSupport.createArray(values.length);
@@ -104,28 +103,29 @@ public class TypedVector<N extends Number> implements Vector<N> {
 
     @Override
     public N dotProduct(Vector<N> vector) {
-        N result = typeSupport.zero();
         if (vector.getDimensions() != getDimensions()) {
             throw new IllegalArgumentException();
         }
-        for (int i = 0; i < values.length; i++) {
-            result = typeSupport.add(result, typeSupport.multiply(values[i], vector.get(i + 1)));
-        }
-        return result;
+        return typeSupport.arrayKernels().dot(values, vector.asArray());
     }
 
     @Override
     public N norm() {
-        N result = typeSupport.zero();
-        for (N value : values) {
-            result = typeSupport.add(result, typeSupport.multiply(value, value));
-        }
-        return typeSupport.squareRoot(result);
+        return typeSupport.squareRoot(typeSupport.arrayKernels().dot(values, values));
     }
 
     @Override
     public int hashCode() {
-        return Arrays.hashCode(values) * (columnVector ? -1 : 1);
+        return Arrays.hashCode(normalized()) * (columnVector ? -1 : 1);
+    }
+
+    // the values in canonical form, as number types may defer normalization
+    private N[] normalized() {
+        N[] normalized = typeSupport.createArray(values.length);
+        for (int i = 0; i < values.length; i++) {
+            normalized[i] = typeSupport.normalize(values[i]);
+        }
+        return normalized;
     }
 
     @Override
@@ -134,7 +134,7 @@ public class TypedVector<N extends Number> implements Vector<N> {
             return true;
         }
         if (obj instanceof TypedVector<?> v) {
-            return columnVector == v.columnVector && Arrays.equals(values, v.values);
+            return columnVector == v.columnVector && Arrays.equals(normalized(), v.normalized());
         } else {
             return false;
         }
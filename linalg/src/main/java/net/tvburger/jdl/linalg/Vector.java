@@ -1,5 +1,6 @@
 package net.tvburger.jdl.linalg;
 
+import net.tvburger.jdl.common.numbers.JavaNumberTypeSupport;
 import net.tvburger.jdl.common.numbers.NumberTypeAgnostic;
 
 public interface Vector<N extends Number> extends Transposable<Vector<N>>, NumberTypeAgnostic<N> {
@@ -18,6 +19,15 @@ public interface Vector<N extends Number> extends Transposable<Vector<N>>, Numbe
 
     N get(int i);
 
+    /**
+     * Sets the value at the given (1-based) index. Vectors created by {@link #transpose()} share their values with
+     * the original, so the change is visible through both.
+     *
+     * @param i     the index of the value
+     * @param value the new value
+     */
+    void set(int i, N value);
+
     Vector<N> multiply(N value);
 
     Vector<N> divide(N value);
@@ -30,6 +40,114 @@ public interface Vector<N extends Number> extends Transposable<Vector<N>>, Numbe
 
     Vector<N> subtract(Vector<N> vector);
 
+    /**
+     * Multiplies each value with the given value and writes the result into the destination.
+     *
+     * @param value       the value to multiply with
+     * @param destination the vector to write the result to, may be this vector
+     * @return the destination
+     */
+    default Vector<N> multiply(N value, Vector<N> destination) {
+        JavaNumberTypeSupport<N> typeSupport = getCurrentNumberType();
+        for (int i = 1; i <= getDimensions(); i++) {
+            destination.set(i, typeSupport.multiply(get(i), value));
+        }
+        return destination;
+    }
+
+    /**
+     * Adds the given vector and writes the result into the destination.
+     *
+     * @param vector      the vector to add
+     * @param destination the vector to write the result to, may be this vector or the operand
+     * @return the destination
+     */
+    default Vector<N> add(Vector<N> vector, Vector<N> destination) {
+        JavaNumberTypeSupport<N> typeSupport = getCurrentNumberType();
+        for (int i = 1; i <= getDimensions(); i++) {
+            destination.set(i, typeSupport.add(get(i), vector.get(i)));
+        }
+        return destination;
+    }
+
+    /**
+     * Subtracts the given vector and writes the result into the destination.
+     *
+     * @param vector      the vector to subtract
+     * @param destination the vector to write the result to, may be this vector or the operand
+     * @return the destination
+     */
+    default Vector<N> subtract(Vector<N> vector, Vector<N> destination) {
+        JavaNumberTypeSupport<N> typeSupport = getCurrentNumberType();
+        for (int i = 1; i <= getDimensions(); i++) {
+            destination.set(i, typeSupport.subtract(get(i), vector.get(i)));
+        }
+        return destination;
+    }
+
+    /**
+     * Adds the given value to each value of this vector.
+     *
+     * @param value the value to add
+     * @return this vector
+     */
+    default Vector<N> addInPlace(N value) {
+        JavaNumberTypeSupport<N> typeSupport = getCurrentNumberType();
+        for (int i = 1; i <= getDimensions(); i++) {
+            set(i, typeSupport.add(get(i), value));
+        }
+        return this;
+    }
+
+    /**
+     * Adds the given vector to this vector.
+     *
+     * @param vector the vector to add
+     * @return this vector
+     */
+    default Vector<N> addInPlace(Vector<N> vector) {
+        return add(vector, this);
+    }
+
+    /**
+     * Multiplies each value of this vector with the given value.
+     *
+     * @param value the value to multiply with
+     * @return this vector
+     */
+    default Vector<N> scaleInPlace(N value) {
+        return multiply(value, this);
+    }
+
+    /**
+     * Divides each value of this vector by the given value.
+     *
+     * @param value the value to divide by
+     * @return this vector
+     */
+    default Vector<N> divideInPlace(N value) {
+        JavaNumberTypeSupport<N> typeSupport = getCurrentNumberType();
+        for (int i = 1; i <= getDimensions(); i++) {
+            set(i, typeSupport.divide(get(i), value));
+        }
+        return this;
+    }
+
+    /**
+     * Adds the given vector multiplied by a to this vector: {@code this = this + a * x}.
+     *
+     * @param a the value to multiply x with
+     * @param x the vector to add
+     * @return this vector
+     */
+    default Vector<N> fma(N a, Vector<N> x) {
+        JavaNumberTypeSupport<N> typeSupport = getCurrentNumberType();
+        for (int i = 1; i <= getDimensions(); i++) {
+            set(i, typeSupport.add(get(i), typeSupport.multiply(x.get(i), a)));
+        }
+        return this;
+    }
+
     N dotProduct(Vector<N> vector);
 
     N norm();
@@ -18,25 +18,44 @@ public final class Vectors {
         return new TypedVector<>(numbers, false, typeSupport);
     }
 
-    public static <N extends Number> TypedVector<N> zeros(JavaNumberTypeSupport<N> typeSupport, int dimensions) {
+    @SuppressWarnings("unchecked")
+    public static <N extends Number> Vector<N> zeros(JavaNumberTypeSupport<N> typeSupport, int dimensions) {
+        if (typeSupport == JavaNumberTypeSupport.FLOAT) {
+            return (Vector<N>) new FloatVector(new float[dimensions], false);
+        }
+        if (typeSupport == JavaNumberTypeSupport.DOUBLE) {
+            return (Vector<N>) new DoubleVector(new double[dimensions], false);
+        }
         N[] numbers = typeSupport.createArray(dimensions);
         return new TypedVector<>(numbers, false, typeSupport);
     }
 
-    public static TypedVector<Float> of(float... values) {
-        Float[] floats = new Float[values.length];
-        for (int i = 0; i < floats.length; i++) {
-            floats[i] = values[i];
-        }
-        return new TypedVector<>(floats, false, JavaNumberTypeSupport.FLOAT);
+    public static FloatVector of(float... values) {
+        return new FloatVector(values.clone(), false);
     }
 
-    public static TypedVector<Double> of(double... values) {
-        Double[] doubles = new Double[values.length];
-        for (int i = 0; i < doubles.length; i++) {
-            doubles[i] = values[i];
-        }
-        return new TypedVector<>(doubles, false, JavaNumberTypeSupport.DOUBLE);
+    public static DoubleVector of(double... values) {
+        return new DoubleVector(values.clone(), false);
+    }
+
+    /**
+     * Creates a sparse row vector, storing only the non-zero values.
+     *
+     * @param values the values
+     * @return the sparse vector
+     */
+    public static SparseFloatVector sparse(float... values) {
+        return SparseFloatVector.of(values, false);
+    }
+
+    /**
+     * Creates an empty sparse row vector, to be filled in increasing index order.
+     *
+     * @param dimensions the number of dimensions
+     * @return the sparse vector
+     */
+    public static SparseFloatVector sparse(int dimensions) {
+        return new SparseFloatVector(dimensions, new int[0], new float[0], 0, false);
     }
 
     public static <N extends Number, M extends Number> TypedVector<M> convert(Vector<N> vector, JavaNumberTypeSupport<M> typeSupport) {
@@ -47,20 +66,20 @@ public final class Vectors {
         return new TypedVector<>(numbers, vector.isColumnVector(), typeSupport);
     }
 
-    public static TypedVector<Double> withDoublePrecision(TypedVector<Float> vector) {
-        Double[] doubles = JavaNumberTypeSupport.DOUBLE.createArray(vector.getDimensions());
-        for (int i = 0; i < vector.getDimensions(); i++) {
-            doubles[i] = (double) (float) vector.get(i + 1);
+    public static DoubleVector withDoublePrecision(Vector<Float> vector) {
+        double[] doubles = new double[vector.getDimensions()];
+        for (int i = 0; i < doubles.length; i++) {
+            doubles[i] = vector.get(i + 1);
         }
-        return new TypedVector<>(doubles, vector.isColumnVector(), JavaNumberTypeSupport.DOUBLE);
+        return new DoubleVector(doubles, vector.isColumnVector());
     }
 
-    public static TypedVector<Float> withSinglePrecision(TypedVector<Double> vector) {
-        Float[] floats = JavaNumberTypeSupport.FLOAT.createArray(vector.getDimensions());
-        for (int i = 0; i < vector.getDimensions(); i++) {
+    public static FloatVector withSinglePrecision(Vector<Double> vector) {
+        float[] floats = new float[vector.getDimensions()];
+        for (int i = 0; i < floats.length; i++) {
             floats[i] = (float) (double) vector.get(i + 1);
         }
-        return new TypedVector<>(floats, vector.isColumnVector(), JavaNumberTypeSupport.FLOAT);
+        return new FloatVector(floats, vector.isColumnVector());
     }
 
     public static <N extends Number> TypedVector<N> squared(TypedVector<N> vector) {
@@ -89,6 +108,96 @@ public final class Vectors {
         return new TypedVector<>(values, vector.isColumnVector(), vector.getCurrentNumberType());
     }
 
+    public static FloatVector squared(FloatVector vector) {
+        float[] values = new float[vector.getDimensions()];
+        PrimitiveKernels.get().multiply(vector.values(), vector.values(), values);
+        return new FloatVector(values, vector.isColumnVector());
+    }
+
+    public static FloatVector squareRoot(FloatVector vector) {
+        float[] values = new float[vector.getDimensions()];
+        PrimitiveKernels.get().squareRoot(vector.values(), values);
+        return new FloatVector(values, vector.isColumnVector());
+    }
+
+    public static FloatVector divide(FloatVector vector, FloatVector denominator) {
+        float[] values = new float[vector.getDimensions()];
+        PrimitiveKernels.get().divide(vector.values(), denominator.values(), values);
+        return new FloatVector(values, vector.isColumnVector());
+    }
+
+    public static DoubleVector squared(DoubleVector vector) {
+        double[] values = new double[vector.getDimensions()];
+        PrimitiveKernels.get().multiply(vector.values(), vector.values(), values);
+        return new DoubleVector(values, vector.isColumnVector());
+    }
+
+    public static DoubleVector squareRoot(DoubleVector vector) {
+        double[] values = new double[vector.getDimensions()];
+        PrimitiveKernels.get().squareRoot(vector.values(), values);
+        return new DoubleVector(values, vector.isColumnVector());
+    }
+
+    public static DoubleVector divide(DoubleVector vector, DoubleVector denominator) {
+        double[] values = new double[vector.getDimensions()];
+        PrimitiveKernels.get().divide(vector.values(), denominator.values(), values);
+        return new DoubleVector(values, vector.isColumnVector());
+    }
+
+    /**
+     * Squares each value of the vector and writes the result into the destination, which may be the vector itself.
+     */
+    public static <N extends Number> Vector<N> squared(Vector<N> vector, Vector<N> destination) {
+        if (vector instanceof FloatVector x && destination instanceof FloatVector d) {
+            PrimitiveKernels.get().multiply(x.values(), x.values(), d.values());
+        } else if (vector instanceof DoubleVector x && destination instanceof DoubleVector d) {
+            PrimitiveKernels.get().multiply(x.values(), x.values(), d.values());
+        } else {
+            JavaNumberTypeSupport<N> typeSupport = vector.getCurrentNumberType();
+            for (int i = 1; i <= vector.getDimensions(); i++) {
+                N v = vector.get(i);
+                destination.set(i, typeSupport.multiply(v, v));
+            }
+        }
+        return destination;
+    }
+
+    /**
+     * Takes the square root of each value of the vector and writes the result into the destination, which may be
+     * the vector itself.
+     */
+    public static <N extends Number> Vector<N> squareRoot(Vector<N> vector, Vector<N> destination) {
+        if (vector instanceof FloatVector x && destination instanceof FloatVector d) {
+            PrimitiveKernels.get().squareRoot(x.values(), d.values());
+        } else if (vector instanceof DoubleVector x && destination instanceof DoubleVector d) {
+            PrimitiveKernels.get().squareRoot(x.values(), d.values());
+        } else {
+            JavaNumberTypeSupport<N> typeSupport = vector.getCurrentNumberType();
+            for (int i = 1; i <= vector.getDimensions(); i++) {
+                destination.set(i, typeSupport.squareRoot(vector.get(i)));
+            }
+        }
+        return destination;
+    }
+
+    /**
+     * Divides each value of the vector by the value of the denominator and writes the result into the destination,
+     * which may be one of the operands.
+     */
+    public static <N extends Number> Vector<N> divide(Vector<N> vector, Vector<N> denominator, Vector<N> destination) {
+        if (vector instanceof FloatVector x && denominator instanceof FloatVector y && destination instanceof FloatVector d) {
+            PrimitiveKernels.get().divide(x.values(), y.values(), d.values());
+        } else if (vector instanceof DoubleVector x && denominator instanceof DoubleVector y && destination instanceof DoubleVector d) {
+            PrimitiveKernels.get().divide(x.values(), y.values(), d.values());
+        } else {
+            JavaNumberTypeSupport<N> typeSupport = vector.getCurrentNumberType();
+            for (int i = 1; i <= vector.getDimensions(); i++) {
+                destination.set(i, typeSupport.divide(vector.get(i), denominator.get(i)));
+            }
+        }
+        return destination;
+    }
+
     public static <N extends Number> TypedVector<N> elementWise(TypedVector<N> vector, BiFunction<Integer, N, N> function) {
         N[] values = vector.getCurrentNumberType().createArray(vector.getDimensions());
         for (int i = 0; i < values.length; i++) {
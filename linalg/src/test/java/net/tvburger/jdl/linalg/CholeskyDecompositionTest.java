@@ -0,0 +1,79 @@
+package net.tvburger.jdl.linalg;
+
+import net.tvburger.jdl.common.numbers.JavaNumberTypeSupport;
+import net.tvburger.jdl.common.numbers.Rational;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+public class CholeskyDecompositionTest {
+
+    @Test
+    public void testSolve_double() {
+        // Given
+        Matrix<Double> matrix = Matrices.of(new double[]{4.0, 2.0, 2.0}, new double[]{2.0, 5.0, 3.0}, new double[]{2.0, 3.0, 6.0});
+        Vector<Double> b = Vectors.of(14.0, 21.0, 26.0).transpose();
+
+        // When
+        CholeskyDecomposition<Double> decomposition = matrix.decomposeCholesky();
+        Vector<Double> x = decomposition.solve(b);
+
+        // Then
+        Assertions.assertTrue(decomposition.isPositiveDefinite());
+        Assertions.assertTrue(x.isColumnVector());
+        Assertions.assertEquals(1.0, x.get(1), 1e-12);
+        Assertions.assertEquals(2.0, x.get(2), 1e-12);
+        Assertions.assertEquals(3.0, x.get(3), 1e-12);
+        Assertions.assertEquals(matrix.decomposeLU().determinant(), decomposition.determinant(), 1e-9);
+    }
+
+    @Test
+    public void testSolveMatrix_float() {
+        // Given
+        Matrix<Float> matrix = Matrices.of(new float[]{4.0f, 2.0f}, new float[]{2.0f, 3.0f});
+
+        // When
+        Matrix<Float> inverse = matrix.decomposeCholesky().solve(Matrices.identity(2, JavaNumberTypeSupport.FLOAT));
+
+        // Then
+        Assertions.assertEquals(0.375f, inverse.get(1, 1), 1e-6f);
+        Assertions.assertEquals(-0.25f, inverse.get(1, 2), 1e-6f);
+        Assertions.assertEquals(-0.25f, inverse.get(2, 1), 1e-6f);
+        Assertions.assertEquals(0.5f, inverse.get(2, 2), 1e-6f);
+    }
+
+    @Test
+    public void testDeterminant_rational() {
+        // Given
+        JavaNumberTypeSupport<Rational<Long>> typeSupport = JavaNumberTypeSupport.RATIONAL_LONG;
+        Rational<Long>[][] values = typeSupport.createArrayOfArrays(3, 3);
+        for (int i = 0; i < 3; i++) {
+            for (int j = 0; j < 3; j++) {
+                values[i][j] = typeSupport.divide(typeSupport.one(), typeSupport.valueOf(i + j + 1));
+            }
+        }
+        Matrix<Rational<Long>> hilbert = Matrices.create(values, typeSupport);
+
+        // When
+        CholeskyDecomposition<Rational<Long>> decomposition = hilbert.decomposeCholesky();
+
+        // Then
+        Assertions.assertTrue(decomposition.isPositiveDefinite());
+        Assertions.assertEquals(typeSupport.divide(typeSupport.one(), typeSupport.valueOf(2160)), decomposition.determinant());
+        Assertions.assertTrue(Matrices.isIdentity(hilbert.multiply(decomposition.solve(Matrices.identity(3, typeSupport)))));
+        Assertions.assertTrue(decomposition.conditionEstimate() > 100.0);
+    }
+
+    @Test
+    public void testNotPositiveDefinite() {
+        // Given
+        Matrix<Double> matrix = Matrices.of(new double[]{1.0, 2.0}, new double[]{2.0, 1.0});
+
+        // When
+        CholeskyDecomposition<Double> decomposition = matrix.decomposeCholesky();
+
+        // Then
+        Assertions.assertFalse(decomposition.isPositiveDefinite());
+        Assertions.assertEquals(Double.POSITIVE_INFINITY, decomposition.conditionEstimate());
+        Assertions.assertThrows(ArithmeticException.class, () -> decomposition.solve(Vectors.of(1.0, 2.0)));
+    }
+}
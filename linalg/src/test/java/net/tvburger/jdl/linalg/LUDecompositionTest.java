@@ -0,0 +1,149 @@
+package net.tvburger.jdl.linalg;
+
+import net.tvburger.jdl.common.numbers.JavaNumberTypeSupport;
+import net.tvburger.jdl.common.numbers.Rational;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigInteger;
+
+public class LUDecompositionTest {
+
+    @Test
+    public void testSolve_double() {
+        // Given
+        Matrix<Double> matrix = Matrices.of(new double[]{0.0, 2.0, 1.0}, new double[]{1.0, 1.0, 0.0}, new double[]{3.0, 0.0, 1.0});
+        Vector<Double> b = Vectors.of(7.0, 3.0, 6.0).transpose();
+
+        // When
+        Vector<Double> x = matrix.decomposeLU().solve(b);
+
+        // Then
+        Assertions.assertTrue(x.isColumnVector());
+        Assertions.assertEquals(1.0, x.get(1), 1e-12);
+        Assertions.assertEquals(2.0, x.get(2), 1e-12);
+        Assertions.assertEquals(3.0, x.get(3), 1e-12);
+    }
+
+    @Test
+    public void testDeterminantAndInverse_float() {
+        // Given
+        Matrix<Float> matrix = Matrices.of(new float[]{1.0f, 2.0f}, new float[]{3.0f, 4.0f});
+
+        // When
+        LUDecomposition<Float> decomposition = matrix.decomposeLU();
+        Matrix<Float> inverse = decomposition.inverse();
+
+        // Then
+        Assertions.assertEquals(-2.0f, decomposition.determinant(), 1e-6f);
+        Assertions.assertEquals(-2.0f, inverse.get(1, 1), 1e-6f);
+        Assertions.assertEquals(1.0f, inverse.get(1, 2), 1e-6f);
+        Assertions.assertEquals(1.5f, inverse.get(2, 1), 1e-6f);
+        Assertions.assertEquals(-0.5f, inverse.get(2, 2), 1e-6f);
+    }
+
+    @Test
+    public void testInverse_rational() {
+        // Given
+        JavaNumberTypeSupport<Rational<Long>> typeSupport = JavaNumberTypeSupport.RATIONAL_LONG;
+        Rational<Long>[][] values = typeSupport.createArrayOfArrays(3, 3);
+        for (int i = 0; i < 3; i++) {
+            for (int j = 0; j < 3; j++) {
+                values[i][j] = typeSupport.divide(typeSupport.one(), typeSupport.valueOf(i + j + 1));
+            }
+        }
+        Matrix<Rational<Long>> hilbert = Matrices.create(values, typeSupport);
+
+        // When
+        LUDecomposition<Rational<Long>> decomposition = hilbert.decomposeLU();
+
+        // Then
+        Assertions.assertEquals(typeSupport.divide(typeSupport.one(), typeSupport.valueOf(2160)), decomposition.determinant());
+        Assertions.assertTrue(Matrices.isIdentity(hilbert.multiply(decomposition.inverse())));
+    }
+
+    @Test
+    public void testFractionFree_rational() {
+        // Given a matrix with a zero in the first pivot position, negative values and fractions
+        JavaNumberTypeSupport<Rational<BigInteger>> typeSupport = JavaNumberTypeSupport.RATIONAL_BIGINT;
+        Rational<BigInteger>[][] values = typeSupport.createArrayOfArrays(3, 3);
+        values[0][1] = rational(1, 2);
+        values[0][2] = rational(-1, 1);
+        values[1][0] = rational(2, 3);
+        values[1][1] = rational(1, 1);
+        values[2][0] = rational(1, 1);
+        values[2][1] = rational(-1, 4);
+        values[2][2] = rational(3, 1);
+        Matrix<Rational<BigInteger>> matrix = Matrices.create(values, typeSupport);
+        Vector<Rational<BigInteger>> b = Vectors.of(typeSupport, rational(1, 1), rational(-2, 5), rational(7, 3)).transpose();
+
+        // When
+        LUDecomposition<Rational<BigInteger>> decomposition = matrix.decomposeLU();
+        Vector<Rational<BigInteger>> x = decomposition.solve(b);
+
+        // Then
+        Assertions.assertFalse(decomposition.isSingular());
+        Assertions.assertTrue(typeSupport.equals(rational(1, 6), decomposition.determinant()));
+        Assertions.assertTrue(typeSupport.equals(decomposition.determinant(), matrix.determinant()));
+        Vector<Rational<BigInteger>> product = matrix.multiply(x);
+        for (int i = 1; i <= 3; i++) {
+            Assertions.assertTrue(typeSupport.equals(b.get(i), product.get(i)));
+        }
+        Assertions.assertTrue(Matrices.isIdentity(matrix.invert().multiply(matrix)));
+    }
+
+    @Test
+    public void testInverse_adaptiveRational() {
+        // Given
+        JavaNumberTypeSupport<Rational<Number>> typeSupport = JavaNumberTypeSupport.RATIONAL_ADAPTIVE;
+        Rational<Number>[][] values = typeSupport.createArrayOfArrays(8, 8);
+        for (int i = 0; i < 8; i++) {
+            for (int j = 0; j < 8; j++) {
+                values[i][j] = typeSupport.divide(typeSupport.one(), typeSupport.valueOf(i + j + 1));
+            }
+        }
+        Matrix<Rational<Number>> hilbert = Matrices.create(values, typeSupport);
+
+        // When
+        Matrix<Rational<Number>> inverse = hilbert.invert();
+
+        // Then
+        Assertions.assertEquals(new Rational<>(64L, 1L), inverse.get(1, 1));
+        Assertions.assertTrue(Matrices.isIdentity(hilbert.multiply(inverse)));
+    }
+
+    private static Rational<BigInteger> rational(long numerator, long denominator) {
+        return new Rational<>(BigInteger.valueOf(numerator), BigInteger.valueOf(denominator));
+    }
+
+    @Test
+    public void testSingular() {
+        // Given
+        Matrix<Double> matrix = Matrices.of(new double[]{1.0, 2.0}, new double[]{2.0, 4.0});
+
+        // When
+        LUDecomposition<Double> decomposition = matrix.decomposeLU();
+
+        // Then
+        Assertions.assertTrue(decomposition.isSingular());
+        Assertions.assertEquals(0.0, decomposition.determinant());
+        Assertions.assertThrows(ArithmeticException.class, () -> decomposition.solve(Vectors.of(1.0, 2.0)));
+    }
+
+    @Test
+    public void testCaching() {
+        // Given
+        Matrix<Double> matrix = Matrices.of(new double[]{2.0, 0.0}, new double[]{0.0, 4.0});
+        LUDecomposition<Double> decomposition = matrix.decomposeLU();
+
+        // When
+        LUDecomposition<Double> cached = matrix.decomposeLU();
+        matrix.set(2, 2, 8.0);
+        LUDecomposition<Double> recomputed = matrix.decomposeLU();
+
+        // Then
+        Assertions.assertSame(decomposition, cached);
+        Assertions.assertNotSame(decomposition, recomputed);
+        Assertions.assertEquals(16.0, recomputed.determinant());
+    }
+}
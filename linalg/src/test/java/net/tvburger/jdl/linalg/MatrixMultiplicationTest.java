@@ -0,0 +1,202 @@
+package net.tvburger.jdl.linalg;
+
+import net.tvburger.jdl.common.numbers.JavaNumberTypeSupport;
+import net.tvburger.jdl.common.numbers.Rational;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Random;
+
+public class MatrixMultiplicationTest {
+
+    @Test
+    public void testMultiply_float_blockedAndParallel() {
+        // Given
+        Random random = new Random(42);
+        int m = 70, k = 300, n = 260;
+        float[] a = new float[m * k];
+        float[] b = new float[k * n];
+        for (int i = 0; i < a.length; i++) {
+            a[i] = random.nextFloat() - 0.5f;
+        }
+        for (int i = 0; i < b.length; i++) {
+            b[i] = random.nextFloat() - 0.5f;
+        }
+
+        // When
+        float[] result = MatrixMultiplication.multiply(a, b, m, k, n);
+
+        // Then
+        float[] expected = new float[m * n];
+        for (int i = 0; i < m; i++) {
+            for (int p = 0; p < k; p++) {
+                for (int j = 0; j < n; j++) {
+                    expected[i * n + j] += a[i * k + p] * b[p * n + j];
+                }
+            }
+        }
+        Assertions.assertArrayEquals(expected, result);
+    }
+
+    @Test
+    public void testMultiply_double_blockedAndParallel() {
+        // Given
+        Random random = new Random(7);
+        int m = 65, k = 129, n = 257;
+        double[] a = new double[m * k];
+        double[] b = new double[k * n];
+        for (int i = 0; i < a.length; i++) {
+            a[i] = random.nextDouble() - 0.5;
+        }
+        for (int i = 0; i < b.length; i++) {
+            b[i] = random.nextDouble() - 0.5;
+        }
+
+        // When
+        double[] result = MatrixMultiplication.multiply(a, b, m, k, n);
+
+        // Then
+        double[] expected = new double[m * n];
+        for (int i = 0; i < m; i++) {
+            for (int p = 0; p < k; p++) {
+                for (int j = 0; j < n; j++) {
+                    expected[i * n + j] += a[i * k + p] * b[p * n + j];
+                }
+            }
+        }
+        Assertions.assertArrayEquals(expected, result);
+    }
+
+    @Test
+    public void testMultiply_typed() {
+        // Given
+        JavaNumberTypeSupport<Rational<Long>> typeSupport = JavaNumberTypeSupport.RATIONAL_LONG;
+        int size = 40;
+        Rational<Long>[][] values = typeSupport.createArrayOfArrays(size, size);
+        for (int i = 0; i < size; i++) {
+            for (int j = 0; j < size; j++) {
+                values[i][j] = typeSupport.valueOf((i + 1) * (j % 3) - j);
+            }
+        }
+        Matrix<Rational<Long>> matrix = Matrices.create(values, typeSupport);
+
+        // When
+        Matrix<Rational<Long>> result = matrix.multiply(Matrices.identity(size, typeSupport));
+
+        // Then
+        Assertions.assertEquals(matrix, result);
+    }
+
+    @Test
+    public void testMultiply_double_views() {
+        // Given
+        Random random = new Random(3);
+        int m = 300, n = 70;
+        double[][] rows = new double[m][n];
+        double[][] transposedRows = new double[n][m];
+        for (int i = 0; i < m; i++) {
+            for (int j = 0; j < n; j++) {
+                rows[i][j] = random.nextDouble() - 0.5;
+                transposedRows[j][i] = rows[i][j];
+            }
+        }
+        DoubleMatrix matrix = Matrices.of(rows);
+
+        // When
+        Matrix<Double> gram = matrix.transpose().multiply(matrix);
+        Matrix<Double> block = matrix.subMatrix(11, 5, 40, 30).multiply(matrix.subMatrix(2, 3, 30, 20).transpose().transpose());
+
+        // Then
+        Assertions.assertEquals(Matrices.of(transposedRows).multiply(Matrices.of(rows)), gram);
+        double[][] blockA = new double[40][30];
+        double[][] blockB = new double[30][20];
+        for (int i = 0; i < 40; i++) {
+            System.arraycopy(rows[10 + i], 4, blockA[i], 0, 30);
+        }
+        for (int i = 0; i < 30; i++) {
+            System.arraycopy(rows[1 + i], 2, blockB[i], 0, 20);
+        }
+        Assertions.assertEquals(Matrices.of(blockA).multiply(Matrices.of(blockB)), block);
+    }
+
+    @Test
+    public void testMultiply_typed_views() {
+        // Given
+        JavaNumberTypeSupport<Rational<Long>> typeSupport = JavaNumberTypeSupport.RATIONAL_LONG;
+        Rational<Long>[][] values = typeSupport.createArrayOfArrays(3, 2);
+        Rational<Long>[][] transposedValues = typeSupport.createArrayOfArrays(2, 3);
+        for (int i = 0; i < 3; i++) {
+            for (int j = 0; j < 2; j++) {
+                values[i][j] = typeSupport.valueOf(i * 2 + j + 1);
+                transposedValues[j][i] = values[i][j];
+            }
+        }
+        Matrix<Rational<Long>> matrix = Matrices.create(values, typeSupport);
+
+        // When
+        Matrix<Rational<Long>> gram = matrix.transpose().multiply(matrix);
+        Matrix<Rational<Long>> outer = matrix.multiply(matrix.transpose());
+
+        // Then
+        Matrix<Rational<Long>> transposed = Matrices.create(transposedValues, typeSupport);
+        Assertions.assertEquals(transposed.multiply(Matrices.create(values, typeSupport)), gram);
+        Assertions.assertEquals(Matrices.create(values, typeSupport).multiply(transposed), outer);
+    }
+
+    @Test
+    public void testMultiplyAdd_float_transposedIntoOffset() {
+        // Given
+        Random random = new Random(7);
+        int m = 40, k = 90, n = 70;
+        float[] a = new float[m * k];
+        float[] b = new float[n * k];
+        for (int i = 0; i < a.length; i++) {
+            a[i] = random.nextFloat() - 0.5f;
+        }
+        for (int i = 0; i < b.length; i++) {
+            b[i] = random.nextFloat() - 0.5f;
+        }
+        float[] c = new float[3 + m * n];
+        Arrays.fill(c, 1.0f);
+
+        // When
+        Matrices.multiplyAdd(Matrices.wrap(a, m, k), Matrices.wrap(b, n, k).transpose(), c, 3);
+
+        // Then
+        float[] expected = new float[3 + m * n];
+        Arrays.fill(expected, 1.0f);
+        for (int i = 0; i < m; i++) {
+            for (int p = 0; p < k; p++) {
+                for (int j = 0; j < n; j++) {
+                    expected[3 + i * n + j] += a[i * k + p] * b[j * k + p];
+                }
+            }
+        }
+        Assertions.assertArrayEquals(expected, c, 1e-4f);
+    }
+
+    @Test
+    public void testSerially_sameResultAsParallel() {
+        // Given
+        Random random = new Random(7);
+        int m = 70, k = 300, n = 260;
+        float[] a = new float[m * k];
+        float[] b = new float[k * n];
+        for (int i = 0; i < a.length; i++) {
+            a[i] = random.nextFloat() - 0.5f;
+        }
+        for (int i = 0; i < b.length; i++) {
+            b[i] = random.nextFloat() - 0.5f;
+        }
+        float[] parallel = new float[m * n];
+        float[] serial = new float[m * n];
+        Matrices.multiplyAdd(Matrices.wrap(a, m, k), Matrices.wrap(b, k, n), parallel, 0);
+
+        // When
+        Matrices.serially(() -> Matrices.multiplyAdd(Matrices.wrap(a, m, k), Matrices.wrap(b, k, n), serial, 0));
+
+        // Then
+        Assertions.assertArrayEquals(parallel, serial);
+    }
+}
@@ -1,5 +1,7 @@
 package net.tvburger.jdl.linalg;
 
+import net.tvburger.jdl.common.numbers.JavaNumberTypeSupport;
+import net.tvburger.jdl.common.numbers.Rational;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
 
@@ -100,10 +102,10 @@ public class MatrixTest {
     @Test
     public void testPseudoInvert_underdetermined() {
         // Given
-        TypedMatrix<Float> matrix = Matrices.of(new float[]{1.0f, 9.0f, 3.0f}, new float[]{1.0f, 5.0f, 7.0f});
+        FloatMatrix matrix = Matrices.of(new float[]{1.0f, 9.0f, 3.0f}, new float[]{1.0f, 5.0f, 7.0f});
 
         // When
-        TypedMatrix<Float> result = matrix.pseudoInvert();
+        FloatMatrix result = matrix.pseudoInvert();
         matrix.print("A");
         result.print("A" + Notations.PSEUDO_INVERSE);
         matrix.multiply(result).print("I");
@@ -115,10 +117,10 @@ public class MatrixTest {
     @Test
     public void testPseudoInvert_overdetermined() {
         // Given
-        TypedMatrix<Float> matrix = Matrices.of(new float[]{1.0f, 2.0f}, new float[]{3.0f, 1.0f}, new float[]{5.0f, 7.0f});
+        FloatMatrix matrix = Matrices.of(new float[]{1.0f, 2.0f}, new float[]{3.0f, 1.0f}, new float[]{5.0f, 7.0f});
 
         // When
-        TypedMatrix<Float> result = matrix.pseudoInvert();
+        FloatMatrix result = matrix.pseudoInvert();
         matrix.print("A");
         result.print("A" + Notations.PSEUDO_INVERSE);
         result.multiply(matrix).print("I");
@@ -126,4 +128,137 @@ public class MatrixTest {
         // Then
         Assertions.assertTrue(Matrices.isIdentity(result.multiply(matrix)));
     }
+
+    @Test
+    public void testCreate_primitiveBackends() {
+        // Given
+        Float[][] floats = {{1.0f, 2.0f}, {3.0f, 4.0f}};
+        Double[][] doubles = {{1.0, 2.0}, {3.0, 4.0}};
+
+        // When
+        Matrix<Float> floatMatrix = Matrices.create(floats, JavaNumberTypeSupport.FLOAT);
+        Matrix<Double> doubleMatrix = Matrices.create(doubles, JavaNumberTypeSupport.DOUBLE);
+
+        // Then
+        Assertions.assertInstanceOf(FloatMatrix.class, floatMatrix);
+        Assertions.assertInstanceOf(DoubleMatrix.class, doubleMatrix);
+        Assertions.assertEquals(3.0f, floatMatrix.get(2, 1));
+        Assertions.assertEquals(2.0, doubleMatrix.get(1, 2));
+    }
+
+    @Test
+    public void testCreate_typedBackend() {
+        // Given
+        Rational<Integer>[][] values = JavaNumberTypeSupport.RATIONAL_INT.createArrayOfArrays(2, 2);
+        values[0][0] = JavaNumberTypeSupport.RATIONAL_INT.valueOf(2);
+        values[1][1] = JavaNumberTypeSupport.RATIONAL_INT.valueOf(4);
+
+        // When
+        Matrix<Rational<Integer>> matrix = Matrices.create(values, JavaNumberTypeSupport.RATIONAL_INT);
+        Matrix<Rational<Integer>> result = matrix.multiply(matrix.invert());
+
+        // Then
+        Assertions.assertInstanceOf(TypedMatrix.class, matrix);
+        Assertions.assertTrue(Matrices.isIdentity(result));
+    }
+
+    @Test
+    public void testInvert_doubleMatrix() {
+        // Given
+        Matrix<Double> matrix = Matrices.of(new double[]{0.0, 2.0, 1.0}, new double[]{1.0, 1.0, 0.0}, new double[]{3.0, 0.0, 1.0});
+
+        // When
+        Matrix<Double> result = matrix.invert();
+
+        // Then
+        Assertions.assertEquals(-5.0, matrix.determinant(), 1e-12);
+        Matrix<Double> identity = matrix.multiply(result);
+        for (int i = 1; i <= 3; i++) {
+            for (int j = 1; j <= 3; j++) {
+                Assertions.assertEquals(i == j ? 1.0 : 0.0, identity.get(i, j), 1e-12);
+            }
+        }
+    }
+
+    @Test
+    public void testWithDoublePrecision() {
+        // Given
+        Matrix<Float> matrix = Matrices.of(new float[]{1.0f, 2.0f}, new float[]{3.0f, 4.0f});
+
+        // When
+        Matrix<Double> result = Matrices.withDoublePrecision(matrix);
+
+        // Then
+        Assertions.assertEquals(Matrices.of(new double[]{1.0, 2.0}, new double[]{3.0, 4.0}), result);
+        Assertions.assertEquals(matrix, Matrices.withSinglePrecision(result));
+    }
+
+    @Test
+    public void testMultiply_destination() {
+        // Given
+        Matrix<Float> matrixA = Matrices.of(new float[]{1.0f, 2.0f}, new float[]{3.0f, 4.0f});
+        Matrix<Float> matrixB = Matrices.of(new float[]{0.0f, 1.0f}, new float[]{1.0f, 0.0f});
+        Matrix<Float> destination = Matrices.of(new float[]{9.0f, 9.0f}, new float[]{9.0f, 9.0f});
+
+        // When
+        Matrix<Float> result = matrixA.multiply(matrixB, destination);
+        destination.addInPlace(matrixA).scaleInPlace(2.0f);
+
+        // Then
+        Assertions.assertSame(destination, result);
+        Assertions.assertEquals(Matrices.of(new float[]{6.0f, 6.0f}, new float[]{14.0f, 14.0f}), destination);
+    }
+
+    @Test
+    public void testTranspose_sharesValues() {
+        // Given
+        Matrix<Float> matrix = Matrices.of(new float[]{1.0f, 2.0f, 3.0f}, new float[]{4.0f, 5.0f, 6.0f});
+
+        // When
+        Matrix<Float> transposed = matrix.transpose();
+        transposed.set(3, 1, 9.0f);
+
+        // Then
+        Assertions.assertEquals(9.0f, matrix.get(1, 3));
+        Assertions.assertEquals(Matrices.of(new float[]{1.0f, 4.0f}, new float[]{2.0f, 5.0f}, new float[]{9.0f, 6.0f}), transposed);
+    }
+
+    @Test
+    public void testSubMatrix() {
+        // Given
+        Matrix<Double> matrix = Matrices.of(new double[]{1.0, 2.0, 3.0}, new double[]{4.0, 5.0, 6.0}, new double[]{7.0, 8.0, 9.0});
+
+        // When
+        Matrix<Double> block = matrix.subMatrix(2, 2, 2, 2);
+        Matrix<Double> column = matrix.transpose().getColumn(3);
+        block.set(1, 1, 0.0);
+
+        // Then
+        Assertions.assertEquals(Matrices.of(new double[]{0.0, 6.0}, new double[]{8.0, 9.0}), block);
+        Assertions.assertEquals(Matrices.of(new double[]{7.0}, new double[]{8.0}, new double[]{9.0}), column);
+        Assertions.assertEquals(0.0, matrix.get(2, 2));
+        Assertions.assertEquals(-48.0, block.determinant());
+        Assertions.assertThrows(IllegalArgumentException.class, () -> matrix.subMatrix(2, 2, 3, 1));
+    }
+
+    @Test
+    public void testSubMatrix_typed() {
+        // Given
+        JavaNumberTypeSupport<Rational<Long>> typeSupport = JavaNumberTypeSupport.RATIONAL_LONG;
+        Rational<Long>[][] values = typeSupport.createArrayOfArrays(2, 3);
+        for (int i = 0; i < 2; i++) {
+            for (int j = 0; j < 3; j++) {
+                values[i][j] = typeSupport.valueOf(i * 3 + j + 1);
+            }
+        }
+        Matrix<Rational<Long>> matrix = Matrices.create(values, typeSupport);
+
+        // When
+        Matrix<Rational<Long>> row = matrix.transpose().subMatrix(2, 1, 2, 2).getRow(2);
+
+        // Then
+        Assertions.assertEquals(2, row.n());
+        Assertions.assertEquals(typeSupport.valueOf(3), row.get(1, 1));
+        Assertions.assertEquals(typeSupport.valueOf(6), row.get(1, 2));
+    }
 }
@@ -0,0 +1,66 @@
+package net.tvburger.jdl.linalg;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Path;
+
+public class OffHeapMatrixTest {
+
+    @Test
+    public void testMultiply_gram() {
+        // Given
+        double[][] rows = {{1.0, 2.0}, {3.0, 4.0}, {5.0, 6.0}};
+        OffHeapMatrix matrix = Matrices.allocateOffHeap(3, 2);
+        for (int i = 0; i < 3; i++) {
+            for (int j = 0; j < 2; j++) {
+                matrix.set(i + 1, j + 1, rows[i][j]);
+            }
+        }
+        DoubleMatrix heapMatrix = Matrices.of(rows);
+
+        // When
+        Matrix<Double> gram = matrix.transpose().multiply(matrix);
+        Vector<Double> product = matrix.multiply(Vectors.of(1.0, -1.0).transpose());
+
+        // Then
+        Assertions.assertEquals(heapMatrix.transpose().multiply(heapMatrix), gram);
+        Assertions.assertEquals(heapMatrix.multiply(Vectors.of(1.0, -1.0).transpose()), product);
+        Assertions.assertEquals(heapMatrix, matrix.toHeap());
+        Assertions.assertEquals(heapMatrix.add(heapMatrix), matrix.add(heapMatrix).toHeap());
+    }
+
+    @Test
+    public void testMap(@TempDir Path directory) throws IOException {
+        // Given
+        Path file = directory.resolve("matrix.bin");
+        try (OffHeapMatrix matrix = Matrices.mapOffHeap(file, 2, 2)) {
+            matrix.set(1, 2, 3.0);
+            matrix.set(2, 1, 4.0);
+        }
+
+        // When
+        try (OffHeapMatrix matrix = Matrices.mapOffHeap(file, 2, 2)) {
+
+            // Then
+            Assertions.assertEquals(Matrices.of(new double[]{0.0, 3.0}, new double[]{4.0, 0.0}), matrix.toHeap());
+            Assertions.assertEquals(-12.0, matrix.determinant());
+        }
+    }
+
+    @Test
+    public void testClose() {
+        // Given
+        OffHeapMatrix matrix = Matrices.allocateOffHeap(2, 2);
+        Matrix<Double> transposed = matrix.transpose();
+
+        // When
+        matrix.close();
+
+        // Then
+        Assertions.assertThrows(IllegalStateException.class, () -> matrix.get(1, 1));
+        Assertions.assertThrows(IllegalStateException.class, () -> transposed.get(1, 1));
+    }
+}
@@ -0,0 +1,136 @@
+package net.tvburger.jdl.linalg;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Assumptions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+public class PrimitiveKernelsTest {
+
+    // covers whole vectors of every species plus a tail
+    private static final int LENGTH = 1027;
+    // reductions are summed in a different order, allow a few ulps per accumulated term
+    private static final int REDUCTION_ULPS = 4 * LENGTH;
+
+    private final PrimitiveKernels scalar = PrimitiveKernels.scalar();
+    private PrimitiveKernels simd;
+    private float[] floatsX;
+    private float[] floatsY;
+    private double[] doublesX;
+    private double[] doublesY;
+
+    @BeforeEach
+    public void setUp() {
+        simd = PrimitiveKernels.get();
+        Assumptions.assumeTrue(simd.isVectorized(), "jdk.incubator.vector is not resolved");
+        Random random = new Random(1);
+        floatsX = new float[LENGTH];
+        floatsY = new float[LENGTH];
+        doublesX = new double[LENGTH];
+        doublesY = new double[LENGTH];
+        for (int i = 0; i < LENGTH; i++) {
+            floatsX[i] = random.nextFloat() + 0.5f;
+            floatsY[i] = random.nextFloat() + 0.5f;
+            doublesX[i] = random.nextDouble() + 0.5;
+            doublesY[i] = random.nextDouble() + 0.5;
+        }
+    }
+
+    @Test
+    public void testElementWise_float() {
+        // Given
+        float[] expected = new float[LENGTH];
+        float[] result = new float[LENGTH];
+
+        // When / Then
+        scalar.add(floatsX, floatsY, expected);
+        simd.add(floatsX, floatsY, result);
+        Assertions.assertArrayEquals(expected, result);
+        scalar.subtract(floatsX, floatsY, expected);
+        simd.subtract(floatsX, floatsY, result);
+        Assertions.assertArrayEquals(expected, result);
+        scalar.multiply(floatsX, floatsY, expected);
+        simd.multiply(floatsX, floatsY, result);
+        Assertions.assertArrayEquals(expected, result);
+        scalar.divide(floatsX, floatsY, expected);
+        simd.divide(floatsX, floatsY, result);
+        Assertions.assertArrayEquals(expected, result);
+        scalar.scale(3.0f, floatsX, expected);
+        simd.scale(3.0f, floatsX, result);
+        Assertions.assertArrayEquals(expected, result);
+        scalar.add(3.0f, floatsX, expected);
+        simd.add(3.0f, floatsX, result);
+        Assertions.assertArrayEquals(expected, result);
+        scalar.squareRoot(floatsX, expected);
+        simd.squareRoot(floatsX, result);
+        Assertions.assertArrayEquals(expected, result);
+    }
+
+    @Test
+    public void testElementWise_double() {
+        // Given
+        double[] expected = new double[LENGTH];
+        double[] result = new double[LENGTH];
+
+        // When / Then
+        scalar.add(doublesX, doublesY, expected);
+        simd.add(doublesX, doublesY, result);
+        Assertions.assertArrayEquals(expected, result);
+        scalar.subtract(doublesX, doublesY, expected);
+        simd.subtract(doublesX, doublesY, result);
+        Assertions.assertArrayEquals(expected, result);
+        scalar.multiply(doublesX, doublesY, expected);
+        simd.multiply(doublesX, doublesY, result);
+        Assertions.assertArrayEquals(expected, result);
+        scalar.divide(doublesX, doublesY, expected);
+        simd.divide(doublesX, doublesY, result);
+        Assertions.assertArrayEquals(expected, result);
+        scalar.scale(3.0, doublesX, expected);
+        simd.scale(3.0, doublesX, result);
+        Assertions.assertArrayEquals(expected, result);
+        scalar.squareRoot(doublesX, expected);
+        simd.squareRoot(doublesX, result);
+        Assertions.assertArrayEquals(expected, result);
+    }
+
+    @Test
+    public void testAxpy_withOffsets() {
+        // Given
+        float[] expected = floatsY.clone();
+        float[] result = floatsY.clone();
+        double[] expectedDoubles = doublesY.clone();
+        double[] resultDoubles = doublesY.clone();
+
+        // When
+        scalar.axpy(0.25f, floatsX, 3, expected, 5, LENGTH - 7);
+        simd.axpy(0.25f, floatsX, 3, result, 5, LENGTH - 7);
+        scalar.axpy(0.25, doublesX, 3, expectedDoubles, 5, LENGTH - 7);
+        simd.axpy(0.25, doublesX, 3, resultDoubles, 5, LENGTH - 7);
+
+        // Then
+        Assertions.assertArrayEquals(expected, result);
+        Assertions.assertArrayEquals(expectedDoubles, resultDoubles);
+    }
+
+    @Test
+    public void testReductions_withinUlps() {
+        // When / Then
+        assertUlps(scalar.dot(floatsX, 0, floatsY, 0, LENGTH), simd.dot(floatsX, 0, floatsY, 0, LENGTH));
+        assertUlps(scalar.dot(floatsX, 2, floatsY, 1, LENGTH - 2), simd.dot(floatsX, 2, floatsY, 1, LENGTH - 2));
+        assertUlps(scalar.sum(floatsX), simd.sum(floatsX));
+        assertUlps(scalar.squaredDistance(floatsX, floatsY), simd.squaredDistance(floatsX, floatsY));
+        assertUlps(scalar.dot(doublesX, 0, doublesY, 0, LENGTH), simd.dot(doublesX, 0, doublesY, 0, LENGTH));
+        assertUlps(scalar.sum(doublesX), simd.sum(doublesX));
+        assertUlps(scalar.squaredDistance(doublesX, doublesY), simd.squaredDistance(doublesX, doublesY));
+    }
+
+    private static void assertUlps(float expected, float actual) {
+        Assertions.assertEquals(expected, actual, REDUCTION_ULPS * Math.ulp(expected));
+    }
+
+    private static void assertUlps(double expected, double actual) {
+        Assertions.assertEquals(expected, actual, REDUCTION_ULPS * Math.ulp(expected));
+    }
+}
@@ -0,0 +1,98 @@
+package net.tvburger.jdl.linalg;
+
+import net.tvburger.jdl.common.numbers.JavaNumberTypeSupport;
+import net.tvburger.jdl.common.numbers.Rational;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+public class QRDecompositionTest {
+
+    @Test
+    public void testSolve_overdetermined() {
+        // Given
+        Matrix<Double> matrix = Matrices.of(new double[]{1.0, 0.0}, new double[]{1.0, 1.0}, new double[]{1.0, 2.0}, new double[]{1.0, 3.0});
+        Vector<Double> b = Vectors.of(1.0, 3.0, 5.0, 7.0).transpose();
+
+        // When
+        QRDecomposition<Double> decomposition = matrix.decomposeQR();
+        Vector<Double> x = decomposition.solve(b);
+
+        // Then
+        Assertions.assertTrue(decomposition.isFullRank());
+        Assertions.assertTrue(x.isColumnVector());
+        Assertions.assertEquals(2, x.getDimensions());
+        Assertions.assertEquals(1.0, x.get(1), 1e-12);
+        Assertions.assertEquals(2.0, x.get(2), 1e-12);
+    }
+
+    @Test
+    public void testSolve_underdetermined() {
+        // Given
+        Matrix<Float> matrix = Matrices.of(new float[]{1.0f, 1.0f});
+        Vector<Float> b = Vectors.of(2.0f);
+
+        // When
+        Vector<Float> x = matrix.decomposeQR().solve(b);
+
+        // Then
+        Assertions.assertEquals(2, x.getDimensions());
+        Assertions.assertEquals(1.0f, x.get(1), 1e-6f);
+        Assertions.assertEquals(1.0f, x.get(2), 1e-6f);
+    }
+
+    @Test
+    public void testPseudoInverse_rational() {
+        // Given
+        JavaNumberTypeSupport<Rational<Long>> typeSupport = JavaNumberTypeSupport.RATIONAL_LONG;
+        Rational<Long>[][] values = typeSupport.createArrayOfArrays(3, 2);
+        for (int i = 0; i < 3; i++) {
+            values[i][0] = typeSupport.one();
+            values[i][1] = typeSupport.valueOf(i);
+        }
+        Matrix<Rational<Long>> matrix = Matrices.create(values, typeSupport);
+
+        // When
+        Matrix<Rational<Long>> pseudoInverse = matrix.decomposeQR().pseudoInverse();
+
+        // Then
+        Assertions.assertTrue(Matrices.isIdentity(pseudoInverse.multiply(matrix)));
+    }
+
+    @Test
+    public void testSolve_illConditioned() {
+        // Given a degree 9 polynomial fit on [0, 1], where ΦᵀΦ is too ill-conditioned for float
+        int m = 20;
+        int n = 10;
+        float[][] values = new float[m][n];
+        float[] target = new float[m];
+        for (int i = 0; i < m; i++) {
+            float t = i / (float) (m - 1);
+            for (int j = 0; j < n; j++) {
+                values[i][j] = (float) Math.pow(t, j);
+            }
+            target[i] = (float) Math.sin(2 * Math.PI * t);
+        }
+        Matrix<Float> matrix = Matrices.of(values);
+        Vector<Float> b = Vectors.of(target).transpose();
+
+        // When
+        Vector<Float> x = matrix.decomposeQR().solve(b);
+
+        // Then
+        Vector<Float> residual = matrix.multiply(x).subtract(b);
+        Assertions.assertTrue(residual.dotProduct(residual) < 1e-4f);
+    }
+
+    @Test
+    public void testRankDeficient() {
+        // Given
+        Matrix<Double> matrix = Matrices.of(new double[]{1.0, 2.0}, new double[]{2.0, 4.0}, new double[]{3.0, 6.0});
+
+        // When
+        QRDecomposition<Double> decomposition = matrix.decomposeQR();
+
+        // Then
+        Assertions.assertFalse(decomposition.isFullRank());
+        Assertions.assertThrows(ArithmeticException.class, () -> decomposition.solve(Vectors.of(1.0, 2.0, 3.0)));
+    }
+}
@@ -0,0 +1,36 @@
+package net.tvburger.jdl.linalg;
+
+import net.tvburger.jdl.common.numbers.JavaNumberTypeSupport;
+import net.tvburger.jdl.common.numbers.Rational;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigInteger;
+
+/**
+ * Inverts a 10x10 Hilbert matrix with {@link JavaNumberTypeSupport#RATIONAL_BIGINT}, by {@link TypedMatrix#invert()}
+ * and by Gaussian elimination on the rationals themselves, which is where the lazy normalization of the rationals
+ * matters. The timings are measured by {@link RationalInversionBenchmarkMain}.
+ */
+public class RationalInversionTest {
+
+    private static final int SIZE = 10;
+
+    @Test
+    public void testInvert_hilbert() {
+        // Given
+        JavaNumberTypeSupport<Rational<BigInteger>> typeSupport = JavaNumberTypeSupport.RATIONAL_BIGINT;
+        TypedMatrix<Rational<BigInteger>> hilbert = RationalInversionBenchmarkMain.hilbert(SIZE);
+
+        // When
+        Matrix<Rational<BigInteger>> inverse = hilbert.invert();
+        Matrix<Rational<BigInteger>> eliminated = new TypedLUDecomposition<>(hilbert, typeSupport).inverse();
+
+        // Then
+        Assertions.assertTrue(Matrices.isIdentity(hilbert.multiply(inverse)));
+        Assertions.assertEquals(inverse, eliminated);
+        // the inverse of a Hilbert matrix is integral, with (H⁻¹)₁₁ = n²
+        Assertions.assertTrue(typeSupport.equals(new Rational<>(BigInteger.valueOf(SIZE * SIZE), BigInteger.ONE), inverse.get(1, 1)));
+    }
+
+}
@@ -0,0 +1,70 @@
+package net.tvburger.jdl.linalg;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+public class SparseMatrixTest {
+
+    @Test
+    public void testMultiply_sparseDense() {
+        // Given
+        FloatMatrix dense = Matrices.of(new float[]{0.0f, 2.0f, 0.0f}, new float[]{1.0f, 0.0f, 3.0f});
+        FloatMatrix other = Matrices.of(new float[]{1.0f, 2.0f}, new float[]{3.0f, 4.0f}, new float[]{5.0f, 6.0f});
+        SparseFloatMatrix sparse = Matrices.sparse(dense);
+
+        // When
+        Matrix<Float> product = sparse.multiply(other);
+        Matrix<Float> transposedProduct = other.transpose().multiply(sparse.transpose());
+        Vector<Float> vectorProduct = sparse.transpose().multiply(Vectors.of(1.0f, -1.0f).transpose());
+
+        // Then
+        Assertions.assertEquals(3, sparse.getNonZeroCount());
+        Assertions.assertTrue(sparse.transpose().isCompressedColumns());
+        Assertions.assertEquals(dense.multiply(other), product);
+        Assertions.assertEquals(other.transpose().multiply(dense.transpose()), transposedProduct);
+        Assertions.assertEquals(dense.transpose().multiply(Vectors.of(1.0f, -1.0f).transpose()), vectorProduct);
+        Assertions.assertEquals(dense.multiply(Vectors.of(1.0f, 1.0f, 1.0f).transpose()), sparse.multiply(Vectors.sparse(1.0f, 1.0f, 1.0f).transpose()));
+    }
+
+    @Test
+    public void testSet_sharedWithTranspose() {
+        // Given
+        SparseFloatMatrix matrix = Matrices.sparse(3, 2);
+        SparseFloatMatrix transposed = matrix.transpose();
+
+        // When
+        matrix.set(3, 1, 5.0f);
+        matrix.set(1, 2, 7.0f);
+        transposed.set(2, 3, 1.0f);
+
+        // Then
+        Assertions.assertEquals(Matrices.of(new float[]{0.0f, 7.0f}, new float[]{0.0f, 0.0f}, new float[]{5.0f, 1.0f}), matrix.toDense());
+        Assertions.assertEquals(matrix.toDense(), matrix.toCompressedColumns().toDense());
+        Assertions.assertEquals(matrix, matrix.toCompressedColumns().toCompressedRows());
+        Assertions.assertEquals(Matrices.of(new float[]{5.0f, 1.0f}), matrix.subMatrix(3, 1, 1, 2).toDense());
+        Assertions.assertEquals(Matrices.of(new float[]{5.0f}, new float[]{1.0f}), transposed.subMatrix(1, 3, 2, 1).toDense());
+    }
+
+    @Test
+    public void testSparseVector() {
+        // Given
+        SparseFloatVector sparse = Vectors.sparse(6);
+        sparse.set(2, 3.0f);
+        sparse.set(5, 4.0f);
+        SparseFloatVector other = Vectors.sparse(1.0f, 0.0f, 0.0f, 0.0f, 2.0f, 0.0f);
+        FloatVector dense = Vectors.of(1.0f, 2.0f, 3.0f, 4.0f, 5.0f, 6.0f);
+
+        // When
+        Vector<Float> sum = sparse.add(other);
+
+        // Then
+        Assertions.assertEquals(2, sparse.getNonZeroCount());
+        Assertions.assertEquals(26.0f, sparse.dotProduct(dense));
+        Assertions.assertEquals(26.0f, dense.dotProduct(sparse));
+        Assertions.assertEquals(8.0f, sparse.dotProduct(other));
+        Assertions.assertEquals(5.0f, sparse.norm());
+        Assertions.assertEquals(Vectors.sparse(1.0f, 3.0f, 0.0f, 0.0f, 6.0f, 0.0f), sum);
+        Assertions.assertEquals(Vectors.of(1.0f, 5.0f, 3.0f, 4.0f, 9.0f, 6.0f), sparse.add(dense));
+        Assertions.assertEquals(Vectors.of(1.0f, 8.0f, 3.0f, 4.0f, 13.0f, 6.0f), dense.fma(2.0f, sparse));
+    }
+}
@@ -1,5 +1,7 @@
 package net.tvburger.jdl.linalg;
 
+import net.tvburger.jdl.common.numbers.JavaNumberTypeSupport;
+import net.tvburger.jdl.common.numbers.Rational;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
 
@@ -161,4 +163,62 @@ public class VectorTest {
         vector.print("t");
         vector.transpose().print("t^T");
     }
+
+    @Test
+    public void testInPlace() {
+        // Given
+        Vector<Float> vector = Vectors.of(1f, 2f, 3f);
+
+        // When
+        Vector<Float> result = vector.scaleInPlace(2f).fma(0.5f, Vectors.of(2f, 4f, 6f)).addInPlace(1f);
+
+        // Then
+        Assertions.assertSame(vector, result);
+        Assertions.assertEquals(Vectors.of(4f, 7f, 10f), vector);
+    }
+
+    @Test
+    public void testInPlace_typed() {
+        // Given
+        JavaNumberTypeSupport<Rational<Integer>> typeSupport = JavaNumberTypeSupport.RATIONAL_INT;
+        Vector<Rational<Integer>> vector = Vectors.of(typeSupport, typeSupport.valueOf(1), typeSupport.valueOf(2));
+        Vector<Rational<Integer>> other = Vectors.of(typeSupport, typeSupport.valueOf(3), typeSupport.valueOf(4));
+
+        // When
+        vector.addInPlace(other).divideInPlace(typeSupport.valueOf(2));
+
+        // Then
+        Assertions.assertEquals(typeSupport.valueOf(2), vector.get(1));
+        Assertions.assertEquals(typeSupport.valueOf(3), vector.get(2));
+    }
+
+    @Test
+    public void testInto_destination() {
+        // Given
+        Vector<Double> vectorA = Vectors.of(1.0, 2.0);
+        Vector<Double> vectorB = Vectors.of(3.0, 5.0);
+        Vector<Double> destination = Vectors.zeros(JavaNumberTypeSupport.DOUBLE, 2);
+
+        // When
+        vectorA.subtract(vectorB, destination);
+
+        // Then
+        Assertions.assertEquals(Vectors.of(-2.0, -3.0), destination);
+        Assertions.assertEquals(Vectors.of(1.0, 2.0), vectorA);
+        Assertions.assertEquals(Vectors.of(4.0, 7.0), vectorA.add(vectorB, vectorB));
+    }
+
+    @Test
+    public void testElementWise_destination() {
+        // Given
+        Vector<Float> vector = Vectors.of(4f, 9f);
+        Vector<Float> destination = Vectors.zeros(JavaNumberTypeSupport.FLOAT, 2);
+
+        // When
+        Vectors.squareRoot(vector, destination);
+        Vectors.divide(vector, destination, destination);
+
+        // Then
+        Assertions.assertEquals(Vectors.of(2f, 3f), destination);
+    }
 }
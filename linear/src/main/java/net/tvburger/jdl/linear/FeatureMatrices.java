@@ -3,7 +3,8 @@ package net.tvburger.jdl.linear;
 import net.tvburger.jdl.common.patterns.StaticFactory;
 import net.tvburger.jdl.common.patterns.StaticUtility;
 import net.tvburger.jdl.linalg.Matrices;
-import net.tvburger.jdl.linalg.TypedMatrix;
+import net.tvburger.jdl.linalg.Matrix;
+import net.tvburger.jdl.linalg.OffHeapMatrix;
 import net.tvburger.jdl.model.DataSet;
 
 @StaticUtility
@@ -13,7 +14,7 @@ public final class FeatureMatrices {
     }
 
     @StaticFactory
-    public static <N extends Number> TypedMatrix<N> create(FeatureExtractor<N> featureExtractor, DataSet<N> dataSet) {
+    public static <N extends Number> Matrix<N> create(FeatureExtractor<N> featureExtractor, DataSet<N> dataSet) {
         N[][] cells = featureExtractor.getTypeSupport().createArrayOfArrays(dataSet.size(), featureExtractor.featureCount() + 1);
         for (int i = 0; i < cells.length; i++) {
             N x = dataSet.samples().get(i).features()[0];
@@ -26,4 +27,26 @@ public final class FeatureMatrices {
         return Matrices.create(cells, featureExtractor.getTypeSupport());
     }
 
+    /**
+     * Creates the design matrix outside the Java heap. Every row is written as soon as its features are extracted, so
+     * the full matrix never exists as boxed numbers. Close the matrix to release it.
+     *
+     * @param featureExtractor the feature extractor
+     * @param dataSet          the data set
+     * @return the design matrix
+     */
+    @StaticFactory
+    public static OffHeapMatrix createOffHeap(FeatureExtractor<Double> featureExtractor, DataSet<Double> dataSet) {
+        OffHeapMatrix matrix = Matrices.allocateOffHeap(dataSet.size(), featureExtractor.featureCount() + 1);
+        for (int i = 0; i < dataSet.size(); i++) {
+            Double x = dataSet.samples().get(i).features()[0];
+            Double[] features = featureExtractor.extractFeatures(x);
+            matrix.set(i + 1, 1, 1.0);
+            for (int j = 0; j < features.length; j++) {
+                matrix.set(i + 1, j + 2, features[j]);
+            }
+        }
+        return matrix;
+    }
+
 }
@@ -1,5 +1,6 @@
 package net.tvburger.jdl.linear;
 
+import net.tvburger.jdl.common.numbers.CompensatedFloatSum;
 import net.tvburger.jdl.common.patterns.Facade;
 import net.tvburger.jdl.common.utils.Pair;
 import net.tvburger.jdl.linear.basis.BasisFunction;
@@ -67,12 +68,11 @@ public class LinearRegression<N extends Number> {
     }
 
     public float calculateRME(DataSet<N> dataSet, LinearBasisFunctionModel<N> regression) {
-        float mse = 0.0f;
+        CompensatedFloatSum squaredErrors = new CompensatedFloatSum();
         for (DataSet.Sample<N> sample : dataSet) {
-            float estimated = regression.estimateScalar(sample.features()).floatValue();
-            float target = sample.targetOutputs()[0].floatValue();
-            mse += (float) Math.pow(estimated - target, 2) / dataSet.size();
+            float error = regression.estimateScalar(sample.features()).floatValue() - sample.targetOutputs()[0].floatValue();
+            squaredErrors.addProduct(error, error);
         }
-        return (float) Math.sqrt(mse);
+        return (float) Math.sqrt(squaredErrors.floatValue() / dataSet.size());
     }
 }
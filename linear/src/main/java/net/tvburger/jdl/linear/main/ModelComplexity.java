@@ -20,7 +20,7 @@ import java.util.Map;
 public class ModelComplexity {
 
     public static void main(String[] args) {
-        showForNumberType(JavaNumberTypeSupport.RATIONAL_BIGINT);
+        showForNumberType(JavaNumberTypeSupport.RATIONAL_ADAPTIVE);
     }
 
     public static <N extends Number> void showForNumberType(JavaNumberTypeSupport<N> typeSupport) {
@@ -20,7 +20,7 @@ import java.util.Map;
 public class ModelRegularization {
 
     public static void main(String[] args) {
-        showForNumberType(JavaNumberTypeSupport.RATIONAL_BIGINT, 1, 20, 9, 0);
+        showForNumberType(JavaNumberTypeSupport.RATIONAL_ADAPTIVE, 1, 20, 9, 0);
     }
 
     private static <N extends Number> void showForNumberType(JavaNumberTypeSupport<N> typeSupport, int begin, int end, int m, long sleep) {
@@ -20,7 +20,7 @@ import java.util.Map;
 public class ModelVariance {
 
     public static void main(String[] args) {
-        useNumberType(JavaNumberTypeSupport.RATIONAL_BIGINT, 25, 8, 9, 0);
+        useNumberType(JavaNumberTypeSupport.RATIONAL_ADAPTIVE, 25, 8, 9, 0);
     }
 
     private static <N extends Number> void useNumberType(JavaNumberTypeSupport<N> typeSupport, int count, double regularizationLog10, int m, long sleep) {
@@ -20,7 +20,7 @@ import java.util.Map;
 public class TrainingSetSize {
 
     public static <N extends Number> void main(String[] args) {
-        List<JavaNumberTypeSupport<?>> types = List.of(JavaNumberTypeSupport.RATIONAL_BIGINT);
+        List<JavaNumberTypeSupport<?>> types = List.of(JavaNumberTypeSupport.RATIONAL_ADAPTIVE);
 
         Plot mrePlot = new Plot("RME");
         mrePlot.display();
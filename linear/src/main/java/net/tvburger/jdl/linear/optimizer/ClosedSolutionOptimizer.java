@@ -8,7 +8,22 @@ import net.tvburger.jdl.model.DataSet;
 
 public class ClosedSolutionOptimizer<N extends Number> implements LinearModelOptimizer<N> {
 
+    /**
+     * How the least squares problem is solved.
+     */
+    public enum Solver {
+        /**
+         * Through the normal equations: cheap, but squares the condition number of Φ.
+         */
+        NORMAL_EQUATIONS,
+        /**
+         * Through the QR decomposition of Φ: more work, but keeps high degree fits accurate in float and double.
+         */
+        QR
+    }
+
     private boolean debugOutput;
+    private Solver solver = Solver.NORMAL_EQUATIONS;
 
     private final JavaNumberTypeSupport<N> typeSupport;
 
@@ -29,6 +44,14 @@ public class ClosedSolutionOptimizer<N extends Number> implements LinearModelOpt
         this.debugOutput = debugOutput;
     }
 
+    public Solver getSolver() {
+        return solver;
+    }
+
+    public void setSolver(Solver solver) {
+        this.solver = solver;
+    }
+
     @Override
     public void setOptimalWeights(LinearBasisFunctionModel<N> regression, DataSet<N> trainSet) {
         JavaNumberTypeSupport<N> typeSupport = regression.getCurrentNumberType();
@@ -47,14 +70,10 @@ public class ClosedSolutionOptimizer<N extends Number> implements LinearModelOpt
         Matrix<N> designMatrix = FeatureMatrices.create(regression.getFeatureExtractor(), trainSet);
         if (debugOutput) {
             designMatrix.print("Φ");
+            designMatrix.pseudoInvert().multiply(designMatrix).print("Φ" + Notations.PSEUDO_INVERSE + "Φ = I");
         }
 
-        Matrix<N> invertedDesignMatrix = designMatrix.pseudoInvert();
-        if (debugOutput) {
-            invertedDesignMatrix.multiply(designMatrix).print("Φ" + Notations.PSEUDO_INVERSE + "Φ = I");
-        }
-
-        Vector<N> weights = invertedDesignMatrix.multiply(y);
+        Vector<N> weights = solve(designMatrix, y);
         if (debugOutput) {
             weights.print("w");
         }
@@ -64,4 +83,20 @@ public class ClosedSolutionOptimizer<N extends Number> implements LinearModelOpt
         }
     }
 
+    /**
+     * Solves the least squares problem Φw = y without forming the pseudo-inverse. With the normal equations, this is
+     * w = (ΦᵀΦ)⁻¹Φᵀy when overdetermined, w = Φᵀ(ΦΦᵀ)⁻¹y otherwise.
+     */
+    private Vector<N> solve(Matrix<N> designMatrix, Vector<N> y) {
+        if (solver == Solver.QR) {
+            return designMatrix.decomposeQR().solve(y);
+        }
+        Matrix<N> transposedDesignMatrix = designMatrix.transpose();
+        if (designMatrix.m() >= designMatrix.n()) {
+            return NormalEquations.solve(transposedDesignMatrix.multiply(designMatrix), transposedDesignMatrix.multiply(y), debugOutput);
+        } else {
+            return transposedDesignMatrix.multiply(NormalEquations.solve(designMatrix.multiply(transposedDesignMatrix), y, debugOutput));
+        }
+    }
+
 }
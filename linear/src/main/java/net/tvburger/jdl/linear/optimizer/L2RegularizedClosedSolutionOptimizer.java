@@ -63,17 +63,15 @@ public class L2RegularizedClosedSolutionOptimizer<N extends Number> implements L
 
         Matrix<N> transposedDesignMatrix = designMatrix.transpose();
 
-        Matrix<N> regularizedInvertedDesignMatrix = transposedDesignMatrix
+        Matrix<N> regularizedGram = transposedDesignMatrix
                 .multiply(designMatrix)
-                .add(Matrices.identity(designMatrix.m(), typeSupport)
-                        .multiply(lambda))
-                .invert()
-                .multiply(transposedDesignMatrix);
+                .add(Matrices.identity(designMatrix.n(), typeSupport)
+                        .multiply(lambda));
         if (debugOutput) {
-            regularizedInvertedDesignMatrix.print("(Φ" + Notations.TRANSPOSED + "Φ + " + Notations.LAMBDA + "I)" + Notations.INVERSE);
+            regularizedGram.print("Φ" + Notations.TRANSPOSED + "Φ + " + Notations.LAMBDA + "I");
         }
 
-        Vector<N> weights = regularizedInvertedDesignMatrix.multiply(y);
+        Vector<N> weights = NormalEquations.solve(regularizedGram, transposedDesignMatrix.multiply(y), debugOutput);
         if (debugOutput) {
             weights.print("w");
         }
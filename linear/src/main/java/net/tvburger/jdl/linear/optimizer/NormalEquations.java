@@ -0,0 +1,37 @@
+package net.tvburger.jdl.linear.optimizer;
+
+import net.tvburger.jdl.common.patterns.StaticUtility;
+import net.tvburger.jdl.linalg.CholeskyDecomposition;
+import net.tvburger.jdl.linalg.Matrix;
+import net.tvburger.jdl.linalg.Vector;
+
+/**
+ * Solves the symmetric systems of the normal equations, such as (ΦᵀΦ + λI)w = Φᵀy, through the Cholesky
+ * decomposition. When the system turns out not to be numerically positive definite, it falls back to the LU
+ * decomposition. Exact number types are solved through the LU decomposition right away, which eliminates them
+ * fraction-free, as the Cholesky decomposition would let their numerators and denominators explode.
+ */
+@StaticUtility
+final class NormalEquations {
+
+    private NormalEquations() {
+    }
+
+    static <N extends Number> Vector<N> solve(Matrix<N> gram, Vector<N> rightHandSide, boolean debugOutput) {
+        if (gram.getCurrentNumberType().isExact()) {
+            return gram.decomposeLU().solve(rightHandSide);
+        }
+        CholeskyDecomposition<N> decomposition = gram.decomposeCholesky();
+        if (debugOutput) {
+            System.out.println("Condition estimate = " + decomposition.conditionEstimate());
+        }
+        if (decomposition.isPositiveDefinite()) {
+            return decomposition.solve(rightHandSide);
+        }
+        if (debugOutput) {
+            System.out.println("Not positive definite, falling back to LU decomposition");
+        }
+        return gram.decomposeLU().solve(rightHandSide);
+    }
+
+}
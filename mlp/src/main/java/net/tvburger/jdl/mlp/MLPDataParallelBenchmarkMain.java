@@ -0,0 +1,62 @@
+package net.tvburger.jdl.mlp;
+
+import net.tvburger.jdl.common.numbers.JavaNumberTypeSupport;
+import net.tvburger.jdl.datasets.LinesAndCircles;
+import net.tvburger.jdl.model.DataSet;
+import net.tvburger.jdl.model.nn.NeuralNetwork;
+import net.tvburger.jdl.model.nn.training.initializers.XavierInitializer;
+import net.tvburger.jdl.model.nn.training.optimizers.DataParallelGradientDescentOptimizer;
+import net.tvburger.jdl.model.nn.training.optimizers.NeuralNetworkOptimizers;
+import net.tvburger.jdl.model.scalars.activations.Activations;
+import net.tvburger.jdl.model.training.ObjectiveFunction;
+import net.tvburger.jdl.model.training.Optimizer;
+import net.tvburger.jdl.model.training.Regime;
+import net.tvburger.jdl.model.training.loss.Objectives;
+import net.tvburger.jdl.model.training.regimes.Regimes;
+
+/**
+ * Measures how the {@link DataParallelGradientDescentOptimizer} scales with the number of workers, by the time per
+ * epoch of mini-batch training on the lines and circles images, against the single-threaded compiled optimizer. The
+ * number of workers doubles from one up to the given maximum, by default the number of available processors. Every
+ * configuration trains the same network from the same initial parameters, after a warm-up epoch.
+ */
+public class MLPDataParallelBenchmarkMain {
+
+    private static final int EPOCHS = 5;
+    private static final int BATCH_SIZE = 256;
+    private static final float LEARNING_RATE = 0.1f;
+    private static final int SEED = 42;
+
+    public static void main(String[] args) {
+        int maxWorkers = args.length > 0 ? Integer.parseInt(args[0]) : Runtime.getRuntime().availableProcessors();
+        DataSet<Float> trainingSet = new LinesAndCircles().load();
+        ObjectiveFunction<Float> objective = Objectives.bCE(JavaNumberTypeSupport.FLOAT);
+        Regime regime = Regimes.miniBatch(BATCH_SIZE);
+
+        double compiled = run(regime, NeuralNetworkOptimizers.compiled(NeuralNetworkOptimizers.vanilla(LEARNING_RATE)), trainingSet, objective);
+        System.out.printf("compiled: %.1f ms per epoch%n", compiled);
+        double single = 0.0;
+        for (int workers = 1; workers <= maxWorkers; workers *= 2) {
+            try (DataParallelGradientDescentOptimizer optimizer = NeuralNetworkOptimizers.dataParallel(NeuralNetworkOptimizers.vanilla(LEARNING_RATE), workers)) {
+                double millis = run(regime, optimizer, trainingSet, objective);
+                if (workers == 1) {
+                    single = millis;
+                }
+                System.out.printf("data-parallel, %d workers: %.1f ms per epoch (%.2fx of 1 worker, %.2fx of compiled)%n", workers, millis, single / millis, compiled / millis);
+            }
+        }
+    }
+
+    // the mean time of an epoch, after one to warm up
+    private static double run(Regime regime, Optimizer<? super NeuralNetwork, Float> optimizer, DataSet<Float> trainingSet, ObjectiveFunction<Float> objective) {
+        MultiLayerPerceptron mlp = MultiLayerPerceptron.create(Activations.sigmoid(), Activations.sigmoid(), 400, 128, 8);
+        new XavierInitializer(SEED).initialize(mlp);
+        regime.train(mlp, trainingSet, objective, optimizer, 1);
+        long start = System.nanoTime();
+        for (int epoch = 2; epoch <= EPOCHS + 1; epoch++) {
+            regime.train(mlp, trainingSet, objective, optimizer, epoch);
+        }
+        return (System.nanoTime() - start) / 1e6 / EPOCHS;
+    }
+
+}
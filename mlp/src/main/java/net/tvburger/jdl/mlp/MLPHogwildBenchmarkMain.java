@@ -0,0 +1,65 @@
+package net.tvburger.jdl.mlp;
+
+import net.tvburger.jdl.common.numbers.JavaNumberTypeSupport;
+import net.tvburger.jdl.common.utils.Pair;
+import net.tvburger.jdl.datasets.LinesAndCircles;
+import net.tvburger.jdl.model.DataSet;
+import net.tvburger.jdl.model.nn.CompiledNeuralNetwork;
+import net.tvburger.jdl.model.nn.NeuralNetwork;
+import net.tvburger.jdl.model.nn.training.initializers.XavierInitializer;
+import net.tvburger.jdl.model.nn.training.optimizers.NeuralNetworkOptimizers;
+import net.tvburger.jdl.model.scalars.activations.Activations;
+import net.tvburger.jdl.model.training.ObjectiveFunction;
+import net.tvburger.jdl.model.training.Optimizer;
+import net.tvburger.jdl.model.training.Regime;
+import net.tvburger.jdl.model.training.loss.Objectives;
+import net.tvburger.jdl.model.training.regimes.Regimes;
+
+import java.util.List;
+
+/**
+ * Compares the convergence per wall-clock second of the single-threaded {@link Regimes#stochastic()} regime with the
+ * asynchronous {@link Regimes#hogwild(int)} regime on the lines and circles images, which have sparse binary pixels.
+ * Every configuration starts from the same initial parameters; the loss is measured after each epoch, outside the
+ * measured training time.
+ */
+public class MLPHogwildBenchmarkMain {
+
+    private static final int EPOCHS = 20;
+    private static final float LEARNING_RATE = 0.1f;
+    private static final int SEED = 42;
+
+    public static void main(String[] args) {
+        int threads = args.length > 0 ? Integer.parseInt(args[0]) : Runtime.getRuntime().availableProcessors();
+        DataSet<Float> trainingSet = new LinesAndCircles().load();
+        ObjectiveFunction<Float> objective = Objectives.bCE(JavaNumberTypeSupport.FLOAT);
+
+        run("stochastic, neurons", Regimes.stochastic(), NeuralNetworkOptimizers.vanilla(LEARNING_RATE), trainingSet, objective);
+        run("stochastic, hogwild optimizer", Regimes.stochastic(), NeuralNetworkOptimizers.hogwild(LEARNING_RATE), trainingSet, objective);
+        run("hogwild, " + threads + " threads", Regimes.hogwild(threads), NeuralNetworkOptimizers.hogwild(LEARNING_RATE), trainingSet, objective);
+    }
+
+    private static void run(String name, Regime regime, Optimizer<? super NeuralNetwork, Float> optimizer, DataSet<Float> trainingSet, ObjectiveFunction<Float> objective) {
+        MultiLayerPerceptron mlp = MultiLayerPerceptron.create(Activations.sigmoid(), Activations.sigmoid(), 400, 32, 8);
+        new XavierInitializer(SEED).initialize(mlp);
+        float initialLoss = loss(mlp, trainingSet, objective);
+        System.out.printf("%s: loss %.4f at 0.000 s%n", name, initialLoss);
+        long nanos = 0;
+        for (int epoch = 1; epoch <= EPOCHS; epoch++) {
+            long start = System.nanoTime();
+            regime.train(mlp, trainingSet, objective, optimizer, epoch);
+            nanos += System.nanoTime() - start;
+            float loss = loss(mlp, trainingSet, objective);
+            double seconds = nanos / 1e9;
+            System.out.printf("%s: loss %.4f at %.3f s (%.4f decrease per second)%n", name, loss, seconds, (initialLoss - loss) / seconds);
+        }
+    }
+
+    // estimated by a compiled copy, which does not cache activations in the neurons
+    private static float loss(MultiLayerPerceptron mlp, DataSet<Float> trainingSet, ObjectiveFunction<Float> objective) {
+        CompiledNeuralNetwork compiled = CompiledNeuralNetwork.compile(mlp);
+        List<Pair<Float[], Float[]>> batch = trainingSet.samples().stream().map(s -> Pair.of(compiled.estimate(s.features()), s.targetOutputs())).toList();
+        return objective.calculateLossWithoutRegularizationPenalty(batch);
+    }
+
+}
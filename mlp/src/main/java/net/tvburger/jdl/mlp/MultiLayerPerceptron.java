@@ -1,5 +1,6 @@
 package net.tvburger.jdl.mlp;
 
+import net.tvburger.jdl.model.nn.ActivationArena;
 import net.tvburger.jdl.model.nn.ActivationsCachedNeuron;
 import net.tvburger.jdl.model.nn.DefaultNeuralNetwork;
 import net.tvburger.jdl.model.nn.InputNeuron;
@@ -23,6 +24,7 @@ public class MultiLayerPerceptron extends DefaultNeuralNetwork {
             } else {
                 List<Neuron> layerNeurons = new ArrayList<>();
                 List<? extends Neuron> previousLayer = layers.getLast();
+                ActivationArena arena = new ActivationArena();
                 for (int i = 0; i < depth[d]; i++) {
                     String name;
                     ActivationFunction activationFunction;
@@ -33,7 +35,7 @@ public class MultiLayerPerceptron extends DefaultNeuralNetwork {
                         name = "Hidden";
                         activationFunction = hiddenActivationFunction;
                     }
-                    layerNeurons.add(ActivationsCachedNeuron.create(name + "(" + layers.size() + "," + i + ")", previousLayer, activationFunction));
+                    layerNeurons.add(ActivationsCachedNeuron.create(name + "(" + layers.size() + "," + i + ")", previousLayer, activationFunction, arena));
                 }
                 layers.add(layerNeurons);
             }
@@ -45,4 +47,14 @@ public class MultiLayerPerceptron extends DefaultNeuralNetwork {
         super(layers);
     }
 
+    /**
+     * Removes the cached activations of all neurons and releases the memory of their arenas, such as after estimates
+     * that are not back-propagated.
+     */
+    public void resetActivationCaches() {
+        for (int l = 1; l <= getDepth(); l++) {
+            getNeuron(l, 0, ActivationsCachedNeuron.class).getArena().reset();
+        }
+    }
+
 }
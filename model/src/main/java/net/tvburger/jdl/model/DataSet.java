@@ -1,5 +1,6 @@
 package net.tvburger.jdl.model;
 
+import net.tvburger.jdl.common.numbers.Float16Format;
 import net.tvburger.jdl.common.patterns.*;
 
 import java.util.*;
@@ -154,6 +155,20 @@ public record DataSet<N extends Number>(List<Sample<N>> samples) implements Iter
         return new DataSet(List.of(sample));
     }
 
+    /**
+     * Creates a read-only data set holding the samples of the given data set in a 16 bit format, which are widened to
+     * single precision when accessed.
+     *
+     * @param dataSet the data set to compact, must not be empty
+     * @param format  the format to store the values in
+     * @return the compact data set
+     * @see Float16Samples
+     */
+    @StaticFactory
+    public static DataSet<Float> compact(DataSet<? extends Number> dataSet, Float16Format format) {
+        return new DataSet<>(Float16Samples.of(dataSet.samples(), format));
+    }
+
     /**
      * Creates a new empty data set
      */
@@ -0,0 +1,196 @@
+package net.tvburger.jdl.model;
+
+import net.tvburger.jdl.common.numbers.Float16Format;
+import net.tvburger.jdl.common.patterns.DomainObject;
+
+import java.util.AbstractList;
+import java.util.List;
+import java.util.RandomAccess;
+
+/**
+ * The samples of a {@link DataSet} of single precision numbers stored in a {@link Float16Format}: all features and
+ * all target outputs are kept in two {@code short} arrays, instead of a boxed {@code Float} per value, which takes
+ * less than a tenth of the memory.
+ * <p>
+ * The samples are read-only. {@link #get(int)} widens a sample to a new {@link DataSet.Sample}; hot loops should use
+ * {@link #features(int, float[])} and {@link #targetOutputs(int, float[])} instead, which widen into a reused buffer.
+ * A {@link #subList(int, int)} is a view of the same encoded values, so the subsets of a {@link DataSet} taken by the
+ * training regimes are {@code Float16Samples} as well.
+ */
+@DomainObject
+public final class Float16Samples extends AbstractList<DataSet.Sample<Float>> implements RandomAccess {
+
+    private final Float16Format format;
+    private final int featureCount;
+    private final int targetCount;
+    private final short[] features;
+    private final short[] targetOutputs;
+    // the range of samples of the arrays in this list
+    private final int first;
+    private final int size;
+
+    /**
+     * Creates the samples from encoded values, sample after sample.
+     *
+     * @param format        the format the values are encoded in
+     * @param featureCount  the number of features per sample
+     * @param targetCount   the number of target outputs per sample
+     * @param features      the encoded features of all samples
+     * @param targetOutputs the encoded target outputs of all samples
+     * @throws IllegalArgumentException if the lengths do not match the counts
+     */
+    public Float16Samples(Float16Format format, int featureCount, int targetCount, short[] features, short[] targetOutputs) {
+        if (featureCount <= 0 || targetCount <= 0 || features.length % featureCount != 0
+                || features.length / featureCount != targetOutputs.length / targetCount
+                || targetOutputs.length % targetCount != 0) {
+            throw new IllegalArgumentException("Invalid lengths: " + features.length + " features and " + targetOutputs.length + " target outputs!");
+        }
+        this.format = format;
+        this.featureCount = featureCount;
+        this.targetCount = targetCount;
+        this.features = features;
+        this.targetOutputs = targetOutputs;
+        this.first = 0;
+        this.size = features.length / featureCount;
+    }
+
+    private Float16Samples(Float16Samples samples, int first, int size) {
+        this.format = samples.format;
+        this.featureCount = samples.featureCount;
+        this.targetCount = samples.targetCount;
+        this.features = samples.features;
+        this.targetOutputs = samples.targetOutputs;
+        this.first = first;
+        this.size = size;
+    }
+
+    /**
+     * Encodes the given samples.
+     *
+     * @param samples the samples to encode, must not be empty
+     * @param format  the format to encode in
+     * @return the encoded samples
+     */
+    public static Float16Samples of(List<? extends DataSet.Sample<? extends Number>> samples, Float16Format format) {
+        if (samples.isEmpty()) {
+            throw new IllegalArgumentException("No samples!");
+        }
+        int featureCount = samples.getFirst().featureCount();
+        int targetCount = samples.getFirst().targetCount();
+        short[] features = new short[samples.size() * featureCount];
+        short[] targetOutputs = new short[samples.size() * targetCount];
+        for (int i = 0; i < samples.size(); i++) {
+            DataSet.Sample<? extends Number> sample = samples.get(i);
+            if (sample.featureCount() != featureCount || sample.targetCount() != targetCount) {
+                throw new IllegalArgumentException("Sample " + i + " has wrong size!");
+            }
+            for (int j = 0; j < featureCount; j++) {
+                features[i * featureCount + j] = format.encode(sample.features()[j]);
+            }
+            for (int j = 0; j < targetCount; j++) {
+                targetOutputs[i * targetCount + j] = format.encode(sample.targetOutputs()[j]);
+            }
+        }
+        return new Float16Samples(format, featureCount, targetCount, features, targetOutputs);
+    }
+
+    /**
+     * Returns the format the values are stored in.
+     *
+     * @return the format
+     */
+    public Float16Format getFormat() {
+        return format;
+    }
+
+    /**
+     * Returns the number of features per sample.
+     *
+     * @return the feature count
+     */
+    public int getFeatureCount() {
+        return featureCount;
+    }
+
+    /**
+     * Returns the number of target outputs per sample.
+     *
+     * @return the target count
+     */
+    public int getTargetCount() {
+        return targetCount;
+    }
+
+    /**
+     * Widens the features of the given sample into the given buffer.
+     *
+     * @param index       the index of the sample
+     * @param destination the buffer of at least the feature count
+     * @return the destination
+     */
+    public float[] features(int index, float[] destination) {
+        format.decode(features, (first + checkIndex(index)) * featureCount, destination, 0, featureCount);
+        return destination;
+    }
+
+    /**
+     * Widens the target outputs of the given sample into the given buffer.
+     *
+     * @param index       the index of the sample
+     * @param destination the buffer of at least the target count
+     * @return the destination
+     */
+    public float[] targetOutputs(int index, float[] destination) {
+        format.decode(targetOutputs, (first + checkIndex(index)) * targetCount, destination, 0, targetCount);
+        return destination;
+    }
+
+    private int checkIndex(int index) {
+        if (index < 0 || index >= size()) {
+            throw new IndexOutOfBoundsException("invalid index: " + index + "; must be in 0.." + (size() - 1) + "!");
+        }
+        return index;
+    }
+
+    /**
+     * Returns the sample at the given index, widened to boxed floats.
+     *
+     * @param index the index of the sample
+     * @return a new sample holding the decoded values
+     */
+    @Override
+    public DataSet.Sample<Float> get(int index) {
+        int sample = first + checkIndex(index);
+        return DataSet.Sample.of(decode(features, sample * featureCount, featureCount),
+                decode(targetOutputs, sample * targetCount, targetCount));
+    }
+
+    private Float[] decode(short[] bits, int offset, int length) {
+        Float[] values = new Float[length];
+        for (int i = 0; i < length; i++) {
+            values[i] = format.decode(bits[offset + i]);
+        }
+        return values;
+    }
+
+    /**
+     * Returns a view of the given range of the samples, holding the same encoded values.
+     *
+     * @param fromIndex the first sample, inclusive
+     * @param toIndex   the last sample, exclusive
+     * @return the samples in the range
+     */
+    @Override
+    public Float16Samples subList(int fromIndex, int toIndex) {
+        if (fromIndex < 0 || toIndex > size || fromIndex > toIndex) {
+            throw new IndexOutOfBoundsException("invalid range: " + fromIndex + ".." + toIndex + "; must be within 0.." + size + "!");
+        }
+        return new Float16Samples(this, first + fromIndex, toIndex - fromIndex);
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+}
@@ -1,6 +1,7 @@
 package net.tvburger.jdl.model.distances;
 
 import net.tvburger.jdl.common.patterns.Strategy;
+import net.tvburger.jdl.linalg.PrimitiveKernels;
 
 /**
  * Concrete implementation of the {@link DistanceMetric} strategy that
@@ -42,4 +43,23 @@ public class EuclideanDistance implements DistanceMetric {
 
         return (float) Math.sqrt(sum);
     }
-}
\ No newline at end of file
+
+    /**
+     * Calculates the Euclidean distance between two points stored in primitive arrays, using the
+     * {@link PrimitiveKernels} so the calculation can be vectorized.
+     *
+     * @param point1 first point to compare
+     * @param point2 second point to compare
+     * @return the Euclidean distance between point1 and point2
+     * @throws IllegalArgumentException if the points are null or have different dimensions
+     */
+    public float distance(float[] point1, float[] point2) {
+        if (point1 == null || point2 == null) {
+            throw new IllegalArgumentException("Points must not be null.");
+        }
+        if (point1.length != point2.length) {
+            throw new IllegalArgumentException("Points must have the same dimension.");
+        }
+        return (float) Math.sqrt(PrimitiveKernels.get().squaredDistance(point1, point2));
+    }
+}
@@ -0,0 +1,234 @@
+package net.tvburger.jdl.model.nn;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Stores the activations cached by the {@link ActivationsCachedNeuron}s of a layer in contiguous primitive arrays,
+ * instead of an object with boxed inputs per activation. The arena has a slot per cached activation of the layer: a
+ * slot holds the inputs of the layer, followed in a second array by the outputs of all its neurons. Neurons with the
+ * same input nodes, such as all neurons of a fully connected layer, share their inputs, which are stored once per
+ * slot.
+ * <p>
+ * The activations of each neuron form a stack of slots. The neurons of a layer are expected to be activated
+ * together, as by {@link DefaultNeuralNetwork#estimate(Float...)}, so the slot of an activation holds the inputs of
+ * the same pass for all of them.
+ * <p>
+ * The arena grows by doubling when a neuron needs more slots than it has, so its capacity settles at the high-water
+ * mark of the number of activations cached at once, typically the size of a batch. After that, caching an activation
+ * does not allocate. Activations that are never removed, such as those of estimates that are not back-propagated,
+ * keep growing the arena; {@link #reset()} removes all activations and releases the memory.
+ * <p>
+ * Like the other state of the neurons, the arena is not thread safe: one thread at a time activates the layer.
+ */
+public final class ActivationArena {
+
+    /**
+     * The number of slots a new arena starts with.
+     */
+    public static final int DEFAULT_CAPACITY = 16;
+
+    private final int initialCapacity;
+    private int capacity;
+    // the input nodes of each group of neurons sharing their inputs, and the offset of its inputs within a slot
+    private final List<List<? extends Neuron>> groupInputNodes = new ArrayList<>();
+    private int[] groupOffsets = new int[0];
+    // the number of slots from the first that hold the inputs of each group
+    private int[] groupFilled = new int[0];
+    // the group of each neuron, and the number of activations it has cached
+    private int[] neuronGroups = new int[0];
+    private int[] counts = new int[0];
+    // the number of inputs of all groups, and the number of neurons
+    private int stride;
+    private int width;
+    private float[] inputs = new float[0];
+    private float[] outputs = new float[0];
+    private int highWaterMark;
+
+    /**
+     * Creates an arena with the default capacity.
+     */
+    public ActivationArena() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Creates an arena.
+     *
+     * @param capacity the initial number of slots
+     * @throws IllegalArgumentException if the capacity is not positive
+     */
+    public ActivationArena(int capacity) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("invalid capacity: " + capacity + "; must be positive!");
+        }
+        this.initialCapacity = capacity;
+        this.capacity = capacity;
+    }
+
+    /**
+     * Adds a neuron to the layer of this arena.
+     *
+     * @param inputNodes the input nodes of the neuron
+     * @return the index of the neuron in the arena
+     * @throws IllegalStateException if activations are already cached
+     */
+    int register(List<? extends Neuron> inputNodes) {
+        if (outputs.length > 0) {
+            throw new IllegalStateException("Arena already in use!");
+        }
+        List<? extends Neuron> nodes = inputNodes == null ? List.of() : inputNodes;
+        int group = findGroup(nodes);
+        if (group < 0) {
+            group = groupInputNodes.size();
+            groupInputNodes.add(nodes);
+            groupOffsets = Arrays.copyOf(groupOffsets, group + 1);
+            groupOffsets[group] = stride;
+            groupFilled = Arrays.copyOf(groupFilled, group + 1);
+            stride += nodes.size();
+        }
+        int index = width;
+        neuronGroups = Arrays.copyOf(neuronGroups, width + 1);
+        neuronGroups[index] = group;
+        counts = Arrays.copyOf(counts, width + 1);
+        width++;
+        return index;
+    }
+
+    // the group with the same input nodes, in the same order, or -1
+    private int findGroup(List<? extends Neuron> nodes) {
+        for (int g = 0; g < groupInputNodes.size(); g++) {
+            List<? extends Neuron> groupNodes = groupInputNodes.get(g);
+            if (groupNodes == nodes) {
+                return g;
+            }
+            if (groupNodes.size() == nodes.size()) {
+                int i = 0;
+                while (i < nodes.size() && groupNodes.get(i) == nodes.get(i)) {
+                    i++;
+                }
+                if (i == nodes.size()) {
+                    return g;
+                }
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Caches an activation of a neuron in its next slot, growing the arena when needed. The inputs are read from the
+     * outputs of the input nodes, unless another neuron of the group already stored them in the slot.
+     *
+     * @param index  the index of the neuron
+     * @param output the output of the activation
+     * @return the slot of the activation
+     */
+    int push(int index, float output) {
+        int slot = counts[index]++;
+        if (slot >= capacity) {
+            capacity = Math.max(slot + 1, capacity * 2);
+        }
+        if (outputs.length != capacity * width) {
+            // allocated on first use, once all neurons of the layer are registered
+            inputs = Arrays.copyOf(inputs, capacity * stride);
+            outputs = Arrays.copyOf(outputs, capacity * width);
+        }
+        int group = neuronGroups[index];
+        if (slot >= groupFilled[group]) {
+            List<? extends Neuron> nodes = groupInputNodes.get(group);
+            int offset = slot * stride + groupOffsets[group];
+            for (int i = 0; i < nodes.size(); i++) {
+                inputs[offset + i] = nodes.get(i).getOutput();
+            }
+            groupFilled[group] = slot + 1;
+        }
+        outputs[slot * width + index] = output;
+        highWaterMark = Math.max(highWaterMark, slot + 1);
+        return slot;
+    }
+
+    /**
+     * Removes the latest cached activation of a neuron. Its slot stays readable until the neuron, or another neuron
+     * of its group, is activated again.
+     *
+     * @param index the index of the neuron
+     * @return the slot of the removed activation
+     * @throws IllegalStateException if the neuron has no cached activations
+     */
+    int pop(int index) {
+        if (counts[index] == 0) {
+            throw new IllegalStateException("No cached activations!");
+        }
+        int slot = --counts[index];
+        int group = neuronGroups[index];
+        groupFilled[group] = Math.min(groupFilled[group], slot);
+        return slot;
+    }
+
+    int getCount(int index) {
+        return counts[index];
+    }
+
+    // the inputs of the group stay in use up to the most activations another neuron of the group still has cached
+    void clear(int index) {
+        counts[index] = 0;
+        int group = neuronGroups[index];
+        int filled = 0;
+        for (int n = 0; n < width; n++) {
+            if (neuronGroups[n] == group) {
+                filled = Math.max(filled, counts[n]);
+            }
+        }
+        groupFilled[group] = Math.min(groupFilled[group], filled);
+    }
+
+    float getInput(int slot, int index, int i) {
+        return inputs[slot * stride + groupOffsets[neuronGroups[index]] + i];
+    }
+
+    float getOutput(int slot, int index) {
+        return outputs[slot * width + index];
+    }
+
+    /**
+     * Removes the cached activations of all neurons and releases the memory of the arena, which starts again with
+     * its initial capacity.
+     */
+    public void reset() {
+        Arrays.fill(counts, 0);
+        Arrays.fill(groupFilled, 0);
+        capacity = initialCapacity;
+        inputs = new float[0];
+        outputs = new float[0];
+        highWaterMark = 0;
+    }
+
+    /**
+     * Returns the number of slots the arena has room for.
+     *
+     * @return the capacity
+     */
+    public int getCapacity() {
+        return capacity;
+    }
+
+    /**
+     * Returns the highest number of activations that were cached at once since the arena was created or reset.
+     *
+     * @return the high-water mark
+     */
+    public int getHighWaterMark() {
+        return highWaterMark;
+    }
+
+    /**
+     * Returns the number of floats a slot takes: the inputs of all groups and the outputs of all neurons.
+     *
+     * @return the size of a slot
+     */
+    public int getSlotSize() {
+        return stride + width;
+    }
+
+}
@@ -7,16 +7,18 @@ import net.tvburger.jdl.model.scalars.NeuronFunction;
 import net.tvburger.jdl.model.scalars.activations.ActivationFunction;
 import net.tvburger.jdl.model.scalars.activations.Activations;
 
-import java.util.LinkedList;
+import java.util.ArrayList;
 import java.util.List;
 
 /**
  * A {@link Neuron} that caches activations for later retrieval.
  *
- * <p>This neuron extends the base {@link Neuron} class and stores a list of
- * {@link Activation} objects, which contain the input values, target digit,
- * output, and gradient for each activation. This is useful for
- * <strong>backpropagation, debugging, or analysis</strong> of the neuron’s behavior over time.
+ * <p>This neuron extends the base {@link Neuron} class and stores the inputs
+ * and output of each activation in an {@link ActivationArena}, which is
+ * typically shared by all neurons of a layer. The activations are cached as a
+ * stack of slots: {@link #removeLastActivation()} returns the slot of the
+ * latest one. This is useful for <strong>backpropagation, debugging, or
+ * analysis</strong> of the neuron’s behavior over time.
  *
  * <p>The class is annotated with {@link Decorator} to indicate that it
  * enhances the standard neuron with caching functionality.
@@ -32,7 +34,11 @@ public class ActivationsCachedNeuron extends Neuron {
     }
 
     public static ActivationsCachedNeuron create(String name, List<? extends Neuron> inputNodes, ActivationFunction activationFunction) {
-        return new ActivationsCachedNeuron(name, inputNodes, new NeuronFunction(AffineTransformation.create(inputNodes.size(), JavaNumberTypeSupport.FLOAT), activationFunction));
+        return create(name, inputNodes, activationFunction, new ActivationArena());
+    }
+
+    public static ActivationsCachedNeuron create(String name, List<? extends Neuron> inputNodes, ActivationFunction activationFunction, ActivationArena arena) {
+        return new ActivationsCachedNeuron(name, inputNodes, new NeuronFunction(AffineTransformation.create(inputNodes.size(), JavaNumberTypeSupport.FLOAT), activationFunction), arena);
     }
 
     /**
@@ -49,10 +55,19 @@ public class ActivationsCachedNeuron extends Neuron {
 
     }
 
+    private final ActivationArena arena;
+    private final int index;
+
     /**
-     * The list of cached activations for this neuron.
+     * Constructs a new neuron with caching capabilities and an arena of its own.
+     *
+     * @param name           the name of the neuron
+     * @param inputs         the list of input neurons
+     * @param neuronFunction the function used by this neuron
      */
-    private final List<Activation> cachedActivations = new LinkedList<>();
+    public ActivationsCachedNeuron(String name, List<? extends Neuron> inputs, NeuronFunction neuronFunction) {
+        this(name, inputs, neuronFunction, new ActivationArena());
+    }
 
     /**
      * Constructs a new neuron with caching capabilities.
@@ -60,9 +75,13 @@ public class ActivationsCachedNeuron extends Neuron {
      * @param name           the name of the neuron
      * @param inputs         the list of input neurons
      * @param neuronFunction the function used by this neuron
+     * @param arena          the arena to cache the activations in, shared with the other neurons of the layer
+     * @throws IllegalStateException if the arena already holds activations
      */
-    public ActivationsCachedNeuron(String name, List<? extends Neuron> inputs, NeuronFunction neuronFunction) {
+    public ActivationsCachedNeuron(String name, List<? extends Neuron> inputs, NeuronFunction neuronFunction, ActivationArena arena) {
         super(name, inputs, neuronFunction);
+        this.arena = arena;
+        this.index = arena.register(inputs);
     }
 
     /**
@@ -70,26 +89,83 @@ public class ActivationsCachedNeuron extends Neuron {
      *
      * <p>If the neuron is already activated, this method does nothing.
      * Otherwise, it performs the standard {@link Neuron#activate()} operation
-     * and stores an {@link Activation} record in the cache containing:
-     * inputs, logit, output, and gradient.
+     * and stores its inputs and output in the next slot of the arena.
      */
     public synchronized void activate() {
         if (isActivated()) {
             return;
         }
         super.activate();
-        Float[] inputValues = getInputValues();
-        float output = getOutput();
-        cachedActivations.add(new Activation(inputValues, output, getNeuronFunction().calculateParameterGradients_df_dp(inputValues)));
+        arena.push(index, getOutput());
     }
 
     /**
-     * Returns the cached activations.
+     * Returns the number of cached activations.
+     *
+     * @return the number of cached activations
+     */
+    public int getCachedActivationCount() {
+        return arena.getCount(index);
+    }
+
+    /**
+     * Returns the cached activations, oldest first. The list is a snapshot
+     * copied from the arena, so changing it does not change the cache.
      *
      * @return the list of {@link Activation} records representing past activations
      */
     public List<Activation> getCache() {
-        return cachedActivations;
+        int count = arena.getCount(index);
+        List<Activation> cache = new ArrayList<>(count);
+        for (int slot = 0; slot < count; slot++) {
+            Float[] inputValues = new Float[arity()];
+            for (int i = 0; i < inputValues.length; i++) {
+                inputValues[i] = arena.getInput(slot, index, i);
+            }
+            cache.add(new Activation(inputValues, arena.getOutput(slot, index), getNeuronFunction().calculateParameterGradients_df_dp(inputValues)));
+        }
+        return cache;
+    }
+
+    /**
+     * Removes the latest cached activation. Its slot stays readable until the
+     * neurons of the layer are activated again.
+     *
+     * @return the slot of the removed activation
+     * @throws IllegalStateException if no activations are cached
+     */
+    public int removeLastActivation() {
+        return arena.pop(index);
+    }
+
+    /**
+     * Returns an input of a cached activation.
+     *
+     * @param slot the slot of the activation
+     * @param i    the index of the input, starting from 0
+     * @return the input value
+     */
+    public float getCachedInput(int slot, int i) {
+        return arena.getInput(slot, index, i);
+    }
+
+    /**
+     * Returns the output of a cached activation.
+     *
+     * @param slot the slot of the activation
+     * @return the output value
+     */
+    public float getCachedOutput(int slot) {
+        return arena.getOutput(slot, index);
+    }
+
+    /**
+     * Returns the arena the activations are cached in.
+     *
+     * @return the arena
+     */
+    public ActivationArena getArena() {
+        return arena;
     }
 
     /**
@@ -99,7 +175,7 @@ public class ActivationsCachedNeuron extends Neuron {
      * the cache.
      */
     public synchronized void clearCache() {
-        cachedActivations.clear();
+        arena.clear(index);
     }
 
 }
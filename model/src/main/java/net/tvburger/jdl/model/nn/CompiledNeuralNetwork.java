@@ -0,0 +1,647 @@
+package net.tvburger.jdl.model.nn;
+
+import net.tvburger.jdl.common.numbers.JavaNumberTypeSupport;
+import net.tvburger.jdl.common.patterns.Strategy;
+import net.tvburger.jdl.linalg.FloatMatrix;
+import net.tvburger.jdl.linalg.Matrices;
+import net.tvburger.jdl.linalg.PrimitiveKernels;
+import net.tvburger.jdl.model.EstimationFunction;
+import net.tvburger.jdl.model.scalars.AffineTransformation;
+import net.tvburger.jdl.model.scalars.LinearCombination;
+import net.tvburger.jdl.model.scalars.activations.ActivationFunction;
+
+import java.util.Arrays;
+
+/**
+ * A fully connected {@link NeuralNetwork} compiled into dense layers: per layer one row-major weight matrix and one
+ * bias vector of primitive floats. A forward pass is a matrix-vector product per layer, instead of every neuron
+ * pulling the boxed outputs of its inputs one by one. A {@link Batch} of samples runs through each layer as a single
+ * matrix-matrix product, with its error signals propagated back as a matrix as well.
+ * <p>
+ * The neuron graph stays the authoring model. {@link #compile(NeuralNetwork)} copies its parameters,
+ * {@link #syncFromNeurons()} copies them again after the neurons changed and {@link #syncToNeurons()} writes the
+ * parameters of the compiled form back to the neurons.
+ * <p>
+ * The compiled network only holds parameters; the state of a pass lives in {@link Activations}, {@link Batch} and
+ * {@link Gradients}, which are owned by the caller. {@link #estimate(float[])} allocates its own, so it may be called
+ * concurrently as long as the parameters are not changed at the same time.
+ */
+@Strategy(Strategy.Role.CONCRETE)
+public final class CompiledNeuralNetwork implements EstimationFunction<Float> {
+
+    /**
+     * The outputs and error signals of every layer for a single sample.
+     */
+    public static final class Activations {
+
+        private final float[][] outputs;
+        private final float[][] errorSignals;
+
+        private Activations(int[] widths) {
+            outputs = new float[widths.length - 1][];
+            errorSignals = new float[widths.length - 1][];
+            for (int l = 1; l < widths.length; l++) {
+                outputs[l - 1] = new float[widths[l]];
+                errorSignals[l - 1] = new float[widths[l]];
+            }
+        }
+
+        /**
+         * Returns the outputs of layer {@code l} of the last forward pass.
+         *
+         * @param l the layer, from 1 to the depth
+         * @return the outputs, owned by these activations
+         */
+        public float[] getOutputs(int l) {
+            return outputs[l - 1];
+        }
+
+    }
+
+    /**
+     * The inputs, outputs and error signals of every layer for a batch of samples, each stored as a row-major matrix
+     * with a row per sample.
+     */
+    public static final class Batch {
+
+        private final int capacity;
+        private final float[] inputs;
+        private final float[][] outputs;
+        private final float[][] errorSignals;
+        private int size;
+
+        private Batch(int[] widths, int capacity) {
+            if (capacity < 1) {
+                throw new IllegalArgumentException("invalid capacity: " + capacity + "; must be positive!");
+            }
+            this.capacity = capacity;
+            inputs = new float[capacity * widths[0]];
+            outputs = new float[widths.length - 1][];
+            errorSignals = new float[widths.length - 1][];
+            for (int l = 1; l < widths.length; l++) {
+                outputs[l - 1] = new float[capacity * widths[l]];
+                errorSignals[l - 1] = new float[capacity * widths[l]];
+            }
+        }
+
+        /**
+         * Returns the maximum number of samples.
+         *
+         * @return the capacity
+         */
+        public int getCapacity() {
+            return capacity;
+        }
+
+        /**
+         * Returns the number of samples added since the last {@link #clear()}.
+         *
+         * @return the size
+         */
+        public int size() {
+            return size;
+        }
+
+        /**
+         * Removes all samples.
+         */
+        public void clear() {
+            size = 0;
+        }
+
+        /**
+         * Adds the features of a sample as the next row of the inputs.
+         *
+         * @param features the features of the sample
+         * @throws IllegalStateException    if the batch is full
+         * @throws IllegalArgumentException if the number of features does not match the arity
+         */
+        public void add(Float[] features) {
+            int arity = checkAdd(features.length);
+            for (int i = 0; i < arity; i++) {
+                inputs[size * arity + i] = features[i];
+            }
+            size++;
+        }
+
+        /**
+         * Adds the features of a sample as the next row of the inputs.
+         *
+         * @param features the features of the sample
+         * @throws IllegalStateException    if the batch is full
+         * @throws IllegalArgumentException if the number of features does not match the arity
+         */
+        public void add(float[] features) {
+            int arity = checkAdd(features.length);
+            System.arraycopy(features, 0, inputs, size * arity, arity);
+            size++;
+        }
+
+        // the arity, if a sample with the given number of features can be added
+        private int checkAdd(int featureCount) {
+            int arity = inputs.length / capacity;
+            if (size == capacity) {
+                throw new IllegalStateException("Batch is full!");
+            }
+            if (featureCount != arity) {
+                throw new IllegalArgumentException("invalid number of inputs: " + featureCount + "; must be " + arity + "!");
+            }
+            return arity;
+        }
+
+        /**
+         * Returns the outputs of layer {@code l} of the last forward pass, a row per sample.
+         *
+         * @param l the layer, from 1 to the depth
+         * @return the row-major outputs, owned by this batch
+         */
+        public float[] getOutputs(int l) {
+            return outputs[l - 1];
+        }
+
+    }
+
+    /**
+     * The gradients of the objective to the parameters, summed over the samples passed backward since the last
+     * {@link #clear()}. All gradients are stored in one flat buffer, layer by layer the weights followed by the
+     * biases, so they can be cleared, summed and reduced as a whole.
+     */
+    public static final class Gradients {
+
+        private final float[] values;
+        private final int[] weightsOffsets;
+        private final int[] biasesOffsets;
+
+        private Gradients(int size, int[] weightsOffsets, int[] biasesOffsets) {
+            this.values = new float[size];
+            this.weightsOffsets = weightsOffsets;
+            this.biasesOffsets = biasesOffsets;
+        }
+
+        /**
+         * Returns the flat buffer holding all gradients.
+         *
+         * @return the gradients, owned by these gradients
+         */
+        public float[] values() {
+            return values;
+        }
+
+        /**
+         * Returns the offset in {@link #values()} of the gradients to the weights of layer {@code l}, in the layout
+         * of {@link CompiledNeuralNetwork#getWeights(int)}.
+         *
+         * @param l the layer, from 1 to the depth
+         * @return the offset of the weight gradients
+         */
+        public int getWeightsOffset(int l) {
+            return weightsOffsets[l - 1];
+        }
+
+        /**
+         * Returns the offset in {@link #values()} of the gradients to the biases of layer {@code l}.
+         *
+         * @param l the layer, from 1 to the depth
+         * @return the offset of the bias gradients
+         */
+        public int getBiasesOffset(int l) {
+            return biasesOffsets[l - 1];
+        }
+
+        /**
+         * Adds the given gradients to these.
+         *
+         * @param gradients the gradients of the same network
+         */
+        public void add(Gradients gradients) {
+            KERNELS.add(values, gradients.values, values);
+        }
+
+        /**
+         * Resets all gradients to zero.
+         */
+        public void clear() {
+            Arrays.fill(values, 0.0f);
+        }
+
+    }
+
+    private static final PrimitiveKernels KERNELS = PrimitiveKernels.get();
+
+    private final NeuralNetwork neuralNetwork;
+    private final int[] widths;
+    // per layer, row j holds the weights of neuron j
+    private final float[][] weights;
+    private final float[][] biases;
+    private final ActivationFunction[][] activations;
+    private final LinearCombination<Float>[][] linearCombinations;
+    // the layout of the flat gradients
+    private final int[] weightsOffsets;
+    private final int[] biasesOffsets;
+    private final int parameterCount;
+
+    /**
+     * Compiles the given neural network, copying its current parameters.
+     *
+     * @param neuralNetwork the neural network, every neuron must take all neurons of the previous layer as inputs,
+     *                      in order
+     * @return the compiled neural network
+     * @throws IllegalArgumentException if the network is not fully connected
+     */
+    public static CompiledNeuralNetwork compile(NeuralNetwork neuralNetwork) {
+        return new CompiledNeuralNetwork(neuralNetwork);
+    }
+
+    @SuppressWarnings("unchecked")
+    private CompiledNeuralNetwork(NeuralNetwork neuralNetwork) {
+        this.neuralNetwork = neuralNetwork;
+        int depth = neuralNetwork.getDepth();
+        if (depth < 1) {
+            throw new IllegalArgumentException("No layers!");
+        }
+        widths = new int[depth + 1];
+        for (int l = 0; l <= depth; l++) {
+            widths[l] = neuralNetwork.getWidth(l);
+        }
+        weights = new float[depth][];
+        biases = new float[depth][];
+        activations = new ActivationFunction[depth][];
+        linearCombinations = (LinearCombination<Float>[][]) new LinearCombination<?>[depth][];
+        weightsOffsets = new int[depth];
+        biasesOffsets = new int[depth];
+        int offset = 0;
+        for (int l = 1; l <= depth; l++) {
+            int width = widths[l];
+            int arity = widths[l - 1];
+            weightsOffsets[l - 1] = offset;
+            biasesOffsets[l - 1] = offset + width * arity;
+            offset += width * arity + width;
+            weights[l - 1] = new float[width * arity];
+            biases[l - 1] = new float[width];
+            activations[l - 1] = new ActivationFunction[width];
+            linearCombinations[l - 1] = (LinearCombination<Float>[]) new LinearCombination<?>[width];
+            for (int j = 0; j < width; j++) {
+                Neuron neuron = neuralNetwork.getNeuron(l, j);
+                if (neuron instanceof InputNeuron || neuron.getInputNodes().size() != arity) {
+                    throw new IllegalArgumentException("Neuron " + neuron.getName() + " is not fully connected to the previous layer!");
+                }
+                for (int i = 0; i < arity; i++) {
+                    if (neuron.getInputNodes().get(i) != neuralNetwork.getNeuron(l - 1, i)) {
+                        throw new IllegalArgumentException("Neuron " + neuron.getName() + " is not fully connected to the previous layer!");
+                    }
+                }
+                activations[l - 1][j] = neuron.getNeuronFunction().getActivationFunction();
+                linearCombinations[l - 1][j] = neuron.getNeuronFunction().getLinearCombination();
+            }
+        }
+        parameterCount = offset;
+        syncFromNeurons();
+    }
+
+    /**
+     * Copies the parameters of the neurons into the compiled form. The parameters of a neuron that is bound to a
+     * parameter buffer are copied straight from its range of the buffer.
+     */
+    public void syncFromNeurons() {
+        for (int l = 0; l < linearCombinations.length; l++) {
+            int arity = widths[l];
+            for (int j = 0; j < linearCombinations[l].length; j++) {
+                LinearCombination<Float> linearCombination = linearCombinations[l][j];
+                boolean affine = linearCombination instanceof AffineTransformation<Float>;
+                if (linearCombination.isBound()) {
+                    float[] buffer = linearCombination.getParameterBuffer();
+                    int offset = linearCombination.getParameterOffset();
+                    System.arraycopy(buffer, affine ? offset + 1 : offset, weights[l], j * arity, arity);
+                    biases[l][j] = affine ? buffer[offset] : 0.0f;
+                } else {
+                    Float[] neuronWeights = linearCombination.getWeights();
+                    for (int i = 0; i < arity; i++) {
+                        weights[l][j * arity + i] = neuronWeights[i];
+                    }
+                    biases[l][j] = affine ? ((AffineTransformation<Float>) linearCombination).getBias() : 0.0f;
+                }
+            }
+        }
+    }
+
+    /**
+     * Copies the parameters of the compiled form back into the neurons, straight into the range of the parameter
+     * buffer of a bound neuron. Neurons without a bias keep having none.
+     */
+    public void syncToNeurons() {
+        for (int l = 0; l < linearCombinations.length; l++) {
+            int arity = widths[l];
+            for (int j = 0; j < linearCombinations[l].length; j++) {
+                LinearCombination<Float> linearCombination = linearCombinations[l][j];
+                boolean affine = linearCombination instanceof AffineTransformation<Float>;
+                if (linearCombination.isBound()) {
+                    float[] buffer = linearCombination.getParameterBuffer();
+                    int offset = linearCombination.getParameterOffset();
+                    System.arraycopy(weights[l], j * arity, buffer, affine ? offset + 1 : offset, arity);
+                    if (affine) {
+                        buffer[offset] = biases[l][j];
+                    }
+                    continue;
+                }
+                Float[] neuronWeights = new Float[arity];
+                for (int i = 0; i < arity; i++) {
+                    neuronWeights[i] = weights[l][j * arity + i];
+                }
+                linearCombination.setWeights(neuronWeights);
+                if (affine) {
+                    ((AffineTransformation<Float>) linearCombination).setBias(biases[l][j]);
+                }
+            }
+        }
+    }
+
+    /**
+     * Returns the neural network this network was compiled from.
+     *
+     * @return the source network
+     */
+    public NeuralNetwork getNeuralNetwork() {
+        return neuralNetwork;
+    }
+
+    /**
+     * Returns the number of layers, excluding the input layer.
+     *
+     * @return the depth
+     */
+    public int getDepth() {
+        return weights.length;
+    }
+
+    /**
+     * Returns the number of neurons in layer {@code l}.
+     *
+     * @param l the layer, 0 being the inputs
+     * @return the width of the layer
+     */
+    public int getWidth(int l) {
+        return widths[l];
+    }
+
+    /**
+     * Returns the weights of layer {@code l} as a row-major matrix: the weight of input {@code i} of neuron
+     * {@code j} is at {@code j * getWidth(l - 1) + i}. Changes are seen by the next pass.
+     *
+     * @param l the layer, from 1 to the depth
+     * @return the weights, owned by this network
+     */
+    public float[] getWeights(int l) {
+        return weights[l - 1];
+    }
+
+    /**
+     * Returns the biases of layer {@code l}. Changes are seen by the next pass.
+     *
+     * @param l the layer, from 1 to the depth
+     * @return the biases, owned by this network
+     */
+    public float[] getBiases(int l) {
+        return biases[l - 1];
+    }
+
+    /**
+     * Returns the activation function of neuron {@code j} of layer {@code l}.
+     *
+     * @param l the layer, from 1 to the depth
+     * @param j the neuron
+     * @return the activation function
+     */
+    public ActivationFunction getActivationFunction(int l, int j) {
+        return activations[l - 1][j];
+    }
+
+    /**
+     * Returns the linear combination of neuron {@code j} of layer {@code l} in the source network.
+     *
+     * @param l the layer, from 1 to the depth
+     * @param j the neuron
+     * @return the linear combination
+     */
+    public LinearCombination<Float> getLinearCombination(int l, int j) {
+        return linearCombinations[l - 1][j];
+    }
+
+    /**
+     * Creates the state for a pass through this network.
+     *
+     * @return new activations
+     */
+    public Activations createActivations() {
+        return new Activations(widths);
+    }
+
+    /**
+     * Creates zeroed gradients for this network.
+     *
+     * @return new gradients
+     */
+    public Gradients createGradients() {
+        return new Gradients(parameterCount, weightsOffsets, biasesOffsets);
+    }
+
+    /**
+     * Creates the state for passes of up to the given number of samples at once.
+     *
+     * @param capacity the maximum number of samples
+     * @return a new, empty batch
+     * @throws IllegalArgumentException if the capacity is not positive
+     */
+    public Batch createBatch(int capacity) {
+        return new Batch(widths, capacity);
+    }
+
+    @Override
+    public Float[] estimate(Float[] inputs) {
+        float[] features = new float[inputs.length];
+        for (int i = 0; i < inputs.length; i++) {
+            features[i] = inputs[i];
+        }
+        float[] outputs = estimate(features);
+        Float[] boxed = new Float[outputs.length];
+        for (int j = 0; j < outputs.length; j++) {
+            boxed[j] = outputs[j];
+        }
+        return boxed;
+    }
+
+    /**
+     * Estimates the outputs for the given inputs without boxing.
+     *
+     * @param inputs the inputs
+     * @return the outputs
+     */
+    public float[] estimate(float[] inputs) {
+        return forward(inputs, createActivations()).clone();
+    }
+
+    /**
+     * Runs a forward pass, storing the output of every layer in the given activations.
+     *
+     * @param inputs      the inputs
+     * @param activations the state to store the outputs in
+     * @return the outputs of the last layer, owned by the activations
+     * @throws IllegalArgumentException if the number of inputs does not match the arity
+     */
+    public float[] forward(float[] inputs, Activations activations) {
+        if (inputs.length != arity()) {
+            throw new IllegalArgumentException("invalid number of inputs: " + inputs.length + "; must be " + arity() + "!");
+        }
+        float[] x = inputs;
+        for (int l = 0; l < weights.length; l++) {
+            float[] y = activations.outputs[l];
+            int arity = x.length;
+            for (int j = 0; j < y.length; j++) {
+                y[j] = this.activations[l][j].activate(biases[l][j] + KERNELS.dot(weights[l], j * arity, x, 0, arity));
+            }
+            x = y;
+        }
+        return x;
+    }
+
+    /**
+     * Propagates the gradients of the objective to the outputs back through the network and adds the resulting
+     * gradients to the weights and biases to the given gradients. The activations must hold the forward pass of the
+     * same inputs.
+     *
+     * @param inputs          the inputs of the forward pass
+     * @param activations     the state of the forward pass, its error signals are overwritten
+     * @param outputGradients the gradients of the objective to the outputs
+     * @param gradients       the gradients to add to
+     */
+    public void backward(float[] inputs, Activations activations, float[] outputGradients, Gradients gradients) {
+        int last = weights.length - 1;
+        float[] outputs = activations.outputs[last];
+        float[] errorSignals = activations.errorSignals[last];
+        for (int j = 0; j < errorSignals.length; j++) {
+            errorSignals[j] = outputGradients[j] * this.activations[last][j].determineGradientForOutput(outputs[j]);
+        }
+        for (int l = last; l >= 0; l--) {
+            float[] x = l == 0 ? inputs : activations.outputs[l - 1];
+            float[] delta = activations.errorSignals[l];
+            int arity = x.length;
+            float[] values = gradients.values;
+            int weightsOffset = weightsOffsets[l];
+            int biasesOffset = biasesOffsets[l];
+            for (int j = 0; j < delta.length; j++) {
+                values[biasesOffset + j] += delta[j];
+                KERNELS.axpy(delta[j], x, 0, values, weightsOffset + j * arity, arity);
+            }
+            if (l > 0) {
+                // the error signals of the previous layer are the transposed weights times the deltas
+                float[] previous = activations.errorSignals[l - 1];
+                Arrays.fill(previous, 0.0f);
+                for (int j = 0; j < delta.length; j++) {
+                    KERNELS.axpy(delta[j], weights[l], j * arity, previous, 0, arity);
+                }
+                for (int i = 0; i < arity; i++) {
+                    previous[i] *= this.activations[l - 1][i].determineGradientForOutput(x[i]);
+                }
+            }
+        }
+    }
+
+    /**
+     * Runs a forward pass of all samples of the batch, storing the outputs of every layer in the batch. Each layer
+     * computes the outputs of all samples as one matrix product of the inputs and the transposed weights.
+     *
+     * @param batch the batch holding the inputs
+     * @return the outputs of the last layer, a row per sample, owned by the batch
+     */
+    public float[] forward(Batch batch) {
+        int size = batch.size;
+        float[] x = batch.inputs;
+        for (int l = 0; l < weights.length; l++) {
+            float[] y = batch.outputs[l];
+            int arity = widths[l];
+            int width = widths[l + 1];
+            for (int s = 0; s < size; s++) {
+                System.arraycopy(biases[l], 0, y, s * width, width);
+            }
+            Matrices.multiplyAdd(rows(x, size, arity, batch.capacity), Matrices.wrap(weights[l], width, arity).transpose(), y, 0);
+            ActivationFunction[] layerActivations = activations[l];
+            for (int s = 0; s < size; s++) {
+                for (int j = 0; j < width; j++) {
+                    y[s * width + j] = layerActivations[j].activate(y[s * width + j]);
+                }
+            }
+            x = y;
+        }
+        return x;
+    }
+
+    /**
+     * Propagates the gradients of the objective to the outputs of all samples of the batch back through the network
+     * and adds the resulting gradients, summed over the samples, to the given gradients. The batch must hold its
+     * forward pass. The error signals of a layer are propagated to the previous layer as one matrix product with the
+     * weights, and the weight gradients of a layer are one matrix product of the transposed error signals and the
+     * inputs.
+     *
+     * @param batch           the batch of the forward pass, its error signals are overwritten
+     * @param outputGradients the gradients of the objective to the outputs, a row per sample
+     * @param gradients       the gradients to add to
+     */
+    public void backward(Batch batch, float[] outputGradients, Gradients gradients) {
+        int size = batch.size;
+        int last = weights.length - 1;
+        float[] outputs = batch.outputs[last];
+        float[] errorSignals = batch.errorSignals[last];
+        int coArity = widths[last + 1];
+        for (int s = 0; s < size; s++) {
+            for (int j = 0; j < coArity; j++) {
+                int index = s * coArity + j;
+                errorSignals[index] = outputGradients[index] * activations[last][j].determineGradientForOutput(outputs[index]);
+            }
+        }
+        float[] values = gradients.values;
+        for (int l = last; l >= 0; l--) {
+            float[] x = l == 0 ? batch.inputs : batch.outputs[l - 1];
+            float[] delta = batch.errorSignals[l];
+            int arity = widths[l];
+            int width = widths[l + 1];
+            // dW += δᵀX and db += the column sums of δ
+            Matrices.multiplyAdd(rows(delta, size, width, batch.capacity).transpose(), rows(x, size, arity, batch.capacity), values, weightsOffsets[l]);
+            for (int s = 0; s < size; s++) {
+                KERNELS.axpy(1.0f, delta, s * width, values, biasesOffsets[l], width);
+            }
+            if (l > 0) {
+                // the error signals of the previous layer are δW times the derivatives of its outputs
+                float[] previous = batch.errorSignals[l - 1];
+                Arrays.fill(previous, 0, size * arity, 0.0f);
+                Matrices.multiplyAdd(rows(delta, size, width, batch.capacity), Matrices.wrap(weights[l], width, arity), previous, 0);
+                ActivationFunction[] previousActivations = activations[l - 1];
+                for (int s = 0; s < size; s++) {
+                    for (int i = 0; i < arity; i++) {
+                        previous[s * arity + i] *= previousActivations[i].determineGradientForOutput(x[s * arity + i]);
+                    }
+                }
+            }
+        }
+    }
+
+    // the first rows of a matrix allocated for the capacity of a batch
+    private static FloatMatrix rows(float[] values, int rows, int columns, int capacity) {
+        FloatMatrix matrix = Matrices.wrap(values, capacity, columns);
+        return rows == capacity ? matrix : matrix.subMatrix(1, 1, rows, columns);
+    }
+
+    @Override
+    public int arity() {
+        return widths[0];
+    }
+
+    @Override
+    public int coArity() {
+        return widths[widths.length - 1];
+    }
+
+    @Override
+    public JavaNumberTypeSupport<Float> getCurrentNumberType() {
+        return JavaNumberTypeSupport.FLOAT;
+    }
+
+}
@@ -13,6 +13,11 @@ import java.util.*;
  * inputs (features), transforms them through a series of layers composed of {@link Neuron}s
  * and weighted connections, and produces outputs (predictions).
  * </p>
+ * <p>
+ * The network keeps the parameters of all its neurons in a single flat buffer, layer by layer and neuron by neuron,
+ * each neuron with its bias followed by its weights. The linear combinations of the neurons are bound to their range
+ * of this buffer when the network is constructed.
+ * </p>
  */
 @Mediator
 public class DefaultNeuralNetwork implements NeuralNetwork {
@@ -20,16 +25,50 @@ public class DefaultNeuralNetwork implements NeuralNetwork {
     private final List<List<? extends Neuron>> layers;
     private final Map<Neuron, Pair<Integer, Integer>> positions;
     private final Map<Neuron, List<Neuron>> connections;
+    private final NeuronAdjacency adjacency;
+    private final float[] parameters;
 
     /**
      * Constructs a neural network for the provided layers.
      *
      * @param layers the layers of the neural network
+     * @throws UnsupportedOperationException if the parameters of a neuron are not floats, as only those can be bound
+     *                                       to the parameter buffer
      */
     public DefaultNeuralNetwork(List<List<? extends Neuron>> layers) {
         this.layers = layers;
         this.positions = NeuralNetworks.getNeuronPositions(layers);
         this.connections = NeuralNetworks.getNeuronConnections(layers);
+        this.parameters = bindParameters(layers);
+        // indexed into the parameter buffer, so after binding
+        this.adjacency = NeuronAdjacency.of(this);
+    }
+
+    // moves the parameters of all neurons into one buffer
+    private static float[] bindParameters(List<List<? extends Neuron>> layers) {
+        int parameterCount = 0;
+        for (List<? extends Neuron> layer : layers) {
+            for (Neuron neuron : layer) {
+                if (!(neuron instanceof InputNeuron)) {
+                    // checked up front, so no neuron is bound when another one cannot be
+                    if (neuron.getNeuronFunction().getLinearCombination().getCurrentNumberType() != JavaNumberTypeSupport.FLOAT) {
+                        throw new UnsupportedOperationException("Only float parameters can be bound to a buffer: " + neuron + "!");
+                    }
+                    parameterCount += neuron.getParameterCount();
+                }
+            }
+        }
+        float[] parameters = new float[parameterCount];
+        int offset = 0;
+        for (List<? extends Neuron> layer : layers) {
+            for (Neuron neuron : layer) {
+                if (!(neuron instanceof InputNeuron)) {
+                    neuron.getNeuronFunction().getLinearCombination().bind(parameters, offset);
+                    offset += neuron.getParameterCount();
+                }
+            }
+        }
+        return parameters;
     }
 
     /**
@@ -69,13 +108,9 @@ public class DefaultNeuralNetwork implements NeuralNetwork {
      */
     @Override
     public Map<Neuron, Float> getOutputConnections(int l, int j) {
-        Neuron neuron = getNeuron(l, j);
-        List<Neuron> connectedNeurons = connections.get(neuron);
         Map<Neuron, Float> outputConnections = new IdentityHashMap<>();
-        if (connectedNeurons != null) {
-            for (Neuron connectedNeuron : connectedNeurons) {
-                outputConnections.put(connectedNeuron, connectedNeuron.getWeight(neuron));
-            }
+        for (int c = adjacency.getStart(l, j); c < adjacency.getEnd(l, j); c++) {
+            outputConnections.put(getNeuron(adjacency.getTargetLayer(c), adjacency.getTargetIndex(c)), adjacency.getWeight(c));
         }
         return outputConnections;
     }
@@ -89,21 +124,23 @@ public class DefaultNeuralNetwork implements NeuralNetwork {
         return neurons == null ? Set.of() : new HashSet<>(neurons);
     }
 
+    /**
+     * {@inheritDoc}
+     * <p>
+     * The adjacency is indexed once, when the network is constructed.
+     * </p>
+     */
+    @Override
+    public NeuronAdjacency getAdjacency() {
+        return adjacency;
+    }
+
     /**
      * {@inheritDoc}
      */
     @Override
     public int getParameterCount() {
-        int parameterCount = 0;
-        for (List<? extends Neuron> layer : layers) {
-            for (Neuron neuron : layer) {
-                if (neuron instanceof InputNeuron) {
-                    continue;
-                }
-                parameterCount += neuron.getParameterCount();
-            }
-        }
-        return parameterCount;
+        return parameters.length;
     }
 
     /**
@@ -111,33 +148,50 @@ public class DefaultNeuralNetwork implements NeuralNetwork {
      */
     @Override
     public Float[] getParameters() {
-        Float[] parameters = new Float[getParameterCount()];
-        int i = 0;
-        for (List<? extends Neuron> layer : layers) {
-            for (Neuron neuron : layer) {
-                if (neuron instanceof InputNeuron) {
-                    continue;
-                }
-                Float[] neuronParameters = neuron.getParameters();
-                System.arraycopy(neuronParameters, 0, parameters, i, neuronParameters.length);
-            }
+        Float[] values = new Float[parameters.length];
+        for (int p = 0; p < parameters.length; p++) {
+            values[p] = parameters[p];
         }
+        return values;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public float[] getParameterBuffer() {
         return parameters;
     }
 
+    /**
+     * {@inheritDoc}
+     */
     @Override
     public Float getParameter(int p) {
-        return getParameters()[p];
+        return parameters[p];
     }
 
+    /**
+     * {@inheritDoc}
+     *
+     * @throws IllegalArgumentException if the number of values does not match {@link #getParameterCount()}
+     */
     @Override
     public void setParameters(Float[] values) {
-        throw new UnsupportedOperationException();
+        if (values.length != parameters.length) {
+            throw new IllegalArgumentException("Invalid number of parameters!");
+        }
+        for (int p = 0; p < parameters.length; p++) {
+            parameters[p] = values[p];
+        }
     }
 
+    /**
+     * {@inheritDoc}
+     */
     @Override
     public void setParameter(int p, Float value) {
-        throw new UnsupportedOperationException();
+        parameters[p] = value;
     }
 
     @Override
@@ -147,6 +201,10 @@ public class DefaultNeuralNetwork implements NeuralNetwork {
 
     /**
      * {@inheritDoc}
+     * <p>
+     * The neurons hold the state of the estimate, so it must not be called by several threads at once; a
+     * {@link FrozenNeuralNetwork} of this network can be.
+     * </p>
      */
     @Override
     public Float[] estimate(Float... inputs) {
@@ -0,0 +1,225 @@
+package net.tvburger.jdl.model.nn;
+
+import net.tvburger.jdl.common.numbers.CompensatedFloatSum;
+import net.tvburger.jdl.common.numbers.JavaNumberTypeSupport;
+import net.tvburger.jdl.common.patterns.Strategy;
+import net.tvburger.jdl.model.EstimationFunction;
+import net.tvburger.jdl.model.scalars.AffineTransformation;
+import net.tvburger.jdl.model.scalars.LinearCombination;
+import net.tvburger.jdl.model.scalars.NeuronFunction;
+import net.tvburger.jdl.model.scalars.activations.ActivationFunction;
+
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * An immutable copy of a trained {@link NeuralNetwork} for inference by many threads at once. The neurons of a
+ * network hold the state of its last estimate, so a network can only estimate for one caller at a time. A frozen
+ * network only holds the topology, parameters and activation functions, and keeps the state of an estimate in an
+ * {@link ExecutionContext} of the caller instead.
+ * <p>
+ * Unlike the {@link CompiledNeuralNetwork}, any topology can be frozen, and the outputs equal those of the network
+ * it was frozen from. Changes to the network after it was frozen are not seen by the frozen network.
+ */
+@Strategy(Strategy.Role.CONCRETE)
+public final class FrozenNeuralNetwork implements EstimationFunction<Float> {
+
+    /**
+     * The outputs of all neurons during an estimate. A context may be reused for any number of estimates, but by one
+     * thread at a time.
+     */
+    public static final class ExecutionContext {
+
+        private final FrozenNeuralNetwork network;
+        private final float[] outputs;
+        private final CompensatedFloatSum sum = new CompensatedFloatSum();
+
+        private ExecutionContext(FrozenNeuralNetwork network) {
+            this.network = network;
+            this.outputs = new float[network.neuronCount];
+        }
+    }
+
+    private final int arity;
+    private final int neuronCount;
+    // per neuron after the input neurons: its inputs as indices of neurons, its parameters and its activation
+    private final int[][] inputIndices;
+    private final int[] parameterOffsets;
+    private final boolean[] biased;
+    private final ActivationFunction[] activations;
+    private final float[] parameters;
+    private final int[] outputIndices;
+    // the contexts of platform threads, virtual threads create one per estimate instead
+    private final ThreadLocal<ExecutionContext> contexts = ThreadLocal.withInitial(this::createContext);
+
+    /**
+     * Copies the topology, parameters and activation functions of the given network.
+     *
+     * @param neuralNetwork the network to freeze
+     * @return the frozen network
+     * @throws IllegalArgumentException if a neuron has an input that is not part of the network
+     */
+    public static FrozenNeuralNetwork freeze(NeuralNetwork neuralNetwork) {
+        return new FrozenNeuralNetwork(neuralNetwork);
+    }
+
+    private FrozenNeuralNetwork(NeuralNetwork neuralNetwork) {
+        int depth = neuralNetwork.getDepth();
+        Map<Neuron, Integer> indices = new IdentityHashMap<>();
+        for (int l = 0; l <= depth; l++) {
+            for (int j = 0; j < neuralNetwork.getWidth(l); j++) {
+                indices.put(neuralNetwork.getNeuron(l, j), indices.size());
+            }
+        }
+        arity = neuralNetwork.getWidth(0);
+        neuronCount = indices.size();
+        int computed = neuronCount - arity;
+        inputIndices = new int[computed][];
+        parameterOffsets = new int[computed];
+        biased = new boolean[computed];
+        activations = new ActivationFunction[computed];
+        int parameterCount = 0;
+        for (int l = 1; l <= depth; l++) {
+            for (int j = 0; j < neuralNetwork.getWidth(l); j++) {
+                NeuronFunction neuronFunction = neuralNetwork.getNeuron(l, j).getNeuronFunction();
+                parameterCount += neuronFunction == null ? 0 : neuronFunction.getParameterCount();
+            }
+        }
+        parameters = new float[parameterCount];
+        int n = 0;
+        int offset = 0;
+        for (int l = 1; l <= depth; l++) {
+            for (int j = 0; j < neuralNetwork.getWidth(l); j++, n++) {
+                Neuron neuron = neuralNetwork.getNeuron(l, j);
+                NeuronFunction neuronFunction = neuron.getNeuronFunction();
+                parameterOffsets[n] = offset;
+                if (neuronFunction == null || neuronFunction.getParameterCount() == 0) {
+                    // never activated, as by the neuron
+                    continue;
+                }
+                List<? extends Neuron> inputs = neuron.getInputNodes();
+                inputIndices[n] = new int[inputs.size()];
+                for (int i = 0; i < inputs.size(); i++) {
+                    Integer index = indices.get(inputs.get(i));
+                    if (index == null) {
+                        throw new IllegalArgumentException("Neuron " + neuron + " has an input outside of the network!");
+                    }
+                    inputIndices[n][i] = index;
+                }
+                LinearCombination<Float> linearCombination = neuronFunction.getLinearCombination();
+                if (linearCombination instanceof AffineTransformation<Float> affine) {
+                    biased[n] = true;
+                    parameters[offset++] = affine.getBias();
+                }
+                for (int d = 1; d <= linearCombination.arity(); d++) {
+                    parameters[offset++] = linearCombination.getWeight(d);
+                }
+                activations[n] = neuronFunction.getActivationFunction();
+            }
+        }
+        int coArity = neuralNetwork.getWidth(depth);
+        outputIndices = new int[coArity];
+        for (int k = 0; k < coArity; k++) {
+            outputIndices[k] = indices.get(neuralNetwork.getNeuron(depth, k));
+        }
+    }
+
+    /**
+     * Creates a context to estimate with, to be used by one thread at a time.
+     *
+     * @return the context
+     */
+    public ExecutionContext createContext() {
+        return new ExecutionContext(this);
+    }
+
+    /**
+     * Estimates the outputs for the given inputs. Platform threads reuse a context of their own, virtual threads use
+     * a new context per call, so this method may be called by any number of threads at once.
+     *
+     * @param inputs the inputs
+     * @return the outputs
+     */
+    @Override
+    public Float[] estimate(Float[] inputs) {
+        ExecutionContext context = Thread.currentThread().isVirtual() ? createContext() : contexts.get();
+        float[] values = new float[inputs.length];
+        for (int i = 0; i < inputs.length; i++) {
+            values[i] = inputs[i];
+        }
+        float[] outputs = estimate(context, values);
+        Float[] boxed = new Float[outputs.length];
+        for (int k = 0; k < outputs.length; k++) {
+            boxed[k] = outputs[k];
+        }
+        return boxed;
+    }
+
+    /**
+     * Estimates the outputs for the given inputs in the given context.
+     *
+     * @param context the context of the caller
+     * @param inputs  the inputs
+     * @return the outputs, in a new array
+     * @throws IllegalArgumentException if the context is of another network or the number of inputs is not the
+     *                                  arity
+     */
+    public float[] estimate(ExecutionContext context, float[] inputs) {
+        if (context.network != this) {
+            throw new IllegalArgumentException("Context of another network!");
+        }
+        if (inputs.length != arity) {
+            throw new IllegalArgumentException("invalid number of inputs: " + inputs.length + "; must be " + arity + "!");
+        }
+        float[] values = context.outputs;
+        CompensatedFloatSum sum = context.sum;
+        System.arraycopy(inputs, 0, values, 0, arity);
+        for (int n = 0; n < inputIndices.length; n++) {
+            int[] neuronInputs = inputIndices[n];
+            if (neuronInputs == null) {
+                values[arity + n] = 0.0f;
+                continue;
+            }
+            int offset = parameterOffsets[n];
+            float bias = biased[n] ? parameters[offset++] : 0.0f;
+            // summed as by the linear combination, with the bias added after
+            sum.reset();
+            for (int i = 0; i < neuronInputs.length; i++) {
+                sum.addProduct(values[neuronInputs[i]], parameters[offset + i]);
+            }
+            float logit = biased[n] ? bias + sum.floatValue() : sum.floatValue();
+            values[arity + n] = activations[n].activate(logit);
+        }
+        float[] outputs = new float[outputIndices.length];
+        for (int k = 0; k < outputs.length; k++) {
+            outputs[k] = values[outputIndices[k]];
+        }
+        return outputs;
+    }
+
+    /**
+     * Returns a copy of the parameters, in the order of {@link NeuralNetwork#getParameters()}.
+     *
+     * @return the parameters
+     */
+    public float[] getParameters() {
+        return parameters.clone();
+    }
+
+    @Override
+    public int arity() {
+        return arity;
+    }
+
+    @Override
+    public int coArity() {
+        return outputIndices.length;
+    }
+
+    @Override
+    public JavaNumberTypeSupport<Float> getCurrentNumberType() {
+        return JavaNumberTypeSupport.FLOAT;
+    }
+
+}
@@ -89,6 +89,19 @@ public interface NeuralNetwork extends TrainableFunction<Float> {
      */
     Set<Neuron> getTargetNeurons(Neuron neuron);
 
+    /**
+     * Returns the outgoing connections of all neurons, indexed for traversal without lookups.
+     * <p>
+     * The default implementation indexes the network on every call; implementations with a fixed topology should
+     * index it once.
+     * </p>
+     *
+     * @return the adjacency of the neurons
+     */
+    default NeuronAdjacency getAdjacency() {
+        return NeuronAdjacency.of(this);
+    }
+
     /**
      * Returns the total number of trainable parameters in the network
      * (typically weights + biases).
@@ -108,6 +121,21 @@ public interface NeuralNetwork extends TrainableFunction<Float> {
      */
     Float[] getParameters();
 
+    /**
+     * Returns the flat buffer the parameters of the network are stored in, in the order of
+     * {@link #getParameters()}. The linear combinations of the neurons are views of ranges of it, so the buffer is
+     * not a copy: writing to it changes the parameters of the neurons, and the other way around. This allows
+     * optimizers, regularizations and checkpoints to process all parameters in a single pass over primitive floats.
+     * <p>
+     * The buffer holds floats, so a network can only be built from neurons with {@link
+     * net.tvburger.jdl.common.numbers.JavaNumberTypeSupport#FLOAT float} parameters; the
+     * {@link DefaultNeuralNetwork} rejects other neurons with an {@link UnsupportedOperationException}.
+     * </p>
+     *
+     * @return the parameter buffer
+     */
+    float[] getParameterBuffer();
+
     /**
      * Accepts a {@link net.tvburger.jdl.model.nn.NeuronVisitor} to traverse
      * the structure of this neural network.
@@ -1,5 +1,6 @@
 package net.tvburger.jdl.model.nn;
 
+import net.tvburger.jdl.common.numbers.Float16Format;
 import net.tvburger.jdl.common.patterns.StaticUtility;
 import net.tvburger.jdl.common.utils.Pair;
 
@@ -42,6 +43,52 @@ public final class NeuralNetworks {
         System.out.println("====================");
     }
 
+    /**
+     * Returns the parameters of all neurons, layer by layer, encoded in the given 16 bit format. Stores a trained
+     * network for inference in half the memory; the precision of the formats is too low to keep training with.
+     *
+     * @param neuralNetwork the neural network to take the parameters of
+     * @param format        the format to encode the parameters in
+     * @return the encoded parameters
+     */
+    public static short[] encodeParameters(NeuralNetwork neuralNetwork, Float16Format format) {
+        short[] parameters = new short[neuralNetwork.getParameterCount()];
+        int offset = 0;
+        for (int l = 1; l < neuralNetwork.getDepth() + 1; l++) {
+            for (int i = 0; i < neuralNetwork.getWidth(l); i++) {
+                for (Float parameter : neuralNetwork.getNeuron(l, i).getParameters()) {
+                    parameters[offset++] = format.encode(parameter);
+                }
+            }
+        }
+        return parameters;
+    }
+
+    /**
+     * Sets the parameters of all neurons, layer by layer, widened from the given encoded parameters.
+     *
+     * @param neuralNetwork the neural network to set the parameters of
+     * @param format        the format the parameters are encoded in
+     * @param parameters    the encoded parameters, as returned by {@link #encodeParameters(NeuralNetwork, Float16Format)}
+     * @throws IllegalArgumentException if the number of parameters does not match the network
+     */
+    public static void decodeParameters(NeuralNetwork neuralNetwork, Float16Format format, short[] parameters) {
+        if (parameters.length != neuralNetwork.getParameterCount()) {
+            throw new IllegalArgumentException("invalid number of parameters: " + parameters.length + "; must be " + neuralNetwork.getParameterCount() + "!");
+        }
+        int offset = 0;
+        for (int l = 1; l < neuralNetwork.getDepth() + 1; l++) {
+            for (int i = 0; i < neuralNetwork.getWidth(l); i++) {
+                Neuron neuron = neuralNetwork.getNeuron(l, i);
+                Float[] values = new Float[neuron.getParameterCount()];
+                for (int p = 0; p < values.length; p++) {
+                    values[p] = format.decode(parameters[offset++]);
+                }
+                neuron.setParameters(values);
+            }
+        }
+    }
+
     /**
      * Returns a map containing the node positions in the layer
      *
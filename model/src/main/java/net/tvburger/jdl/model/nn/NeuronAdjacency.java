@@ -0,0 +1,214 @@
+package net.tvburger.jdl.model.nn;
+
+import net.tvburger.jdl.model.scalars.AffineTransformation;
+import net.tvburger.jdl.model.scalars.LinearCombination;
+import net.tvburger.jdl.model.scalars.NeuronFunction;
+
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The outgoing connections of all neurons of a {@link NeuralNetwork}, indexed once so they can be followed without
+ * building maps or scanning input lists. The connections of each source neuron are stored contiguously, as in a
+ * compressed sparse row matrix: connection {@code c} from {@link #getStart(int, int)} up to
+ * {@link #getEnd(int, int)} leads to neuron {@link #getTargetIndex(int)} of layer {@link #getTargetLayer(int)},
+ * which weighs it with weight {@link #getWeightIndex(int)} of its linear combination. That weight is parameter
+ * {@link #getParameterIndex(int)} of the {@linkplain NeuralNetwork#getParameterBuffer() parameter buffer} of the
+ * network.
+ * <p>
+ * The adjacency describes the topology only; the weights are read from the parameter buffer, so it stays valid while
+ * the network is trained.
+ */
+public final class NeuronAdjacency {
+
+    // per layer the start of the connections of each neuron, with one extra entry for the end of the last
+    private final int[][] starts;
+    private final int[] targetLayers;
+    private final int[] targetIndices;
+    private final int[] weightIndices;
+    private final int[] parameterIndices;
+    private final float[] parameters;
+
+    /**
+     * Indexes the connections of the given network.
+     *
+     * @param neuralNetwork the network to index
+     * @return the adjacency of the network
+     * @throws IllegalArgumentException if a neuron with parameters is not bound to the parameter buffer of the network
+     */
+    public static NeuronAdjacency of(NeuralNetwork neuralNetwork) {
+        int depth = neuralNetwork.getDepth();
+        Map<Neuron, int[]> positions = new IdentityHashMap<>();
+        int[][] counts = new int[depth + 1][];
+        for (int l = 0; l <= depth; l++) {
+            counts[l] = new int[neuralNetwork.getWidth(l)];
+            for (int j = 0; j < counts[l].length; j++) {
+                positions.put(neuralNetwork.getNeuron(l, j), new int[]{l, j});
+            }
+        }
+        // the offset of the weights of each neuron in the buffer, after its bias, or -1 if it has no parameters
+        float[] parameters = neuralNetwork.getParameterBuffer();
+        int[][] weightsOffsets = new int[depth + 1][];
+        for (int l = 1; l <= depth; l++) {
+            weightsOffsets[l] = new int[counts[l].length];
+            for (int j = 0; j < counts[l].length; j++) {
+                Neuron neuron = neuralNetwork.getNeuron(l, j);
+                NeuronFunction neuronFunction = neuron.getNeuronFunction();
+                if (neuronFunction == null || neuronFunction.getParameterCount() == 0) {
+                    weightsOffsets[l][j] = -1;
+                    continue;
+                }
+                LinearCombination<Float> linearCombination = neuronFunction.getLinearCombination();
+                if (parameters == null || linearCombination.getParameterBuffer() != parameters) {
+                    throw new IllegalArgumentException("Neuron " + neuron + " is not bound to the parameter buffer!");
+                }
+                int offset = linearCombination.getParameterOffset();
+                weightsOffsets[l][j] = linearCombination instanceof AffineTransformation<Float> ? offset + 1 : offset;
+            }
+        }
+        // neurons without parameters do not read their inputs, so they have no incoming connections
+        int connections = 0;
+        for (int l = 1; l <= depth; l++) {
+            for (int j = 0; j < counts[l].length; j++) {
+                if (weightsOffsets[l][j] < 0) {
+                    continue;
+                }
+                for (Neuron input : neuralNetwork.getNeuron(l, j).getInputNodes()) {
+                    int[] source = positions.get(input);
+                    if (source != null) {
+                        counts[source[0]][source[1]]++;
+                        connections++;
+                    }
+                }
+            }
+        }
+        int[][] starts = new int[depth + 1][];
+        int start = 0;
+        for (int l = 0; l <= depth; l++) {
+            starts[l] = new int[counts[l].length + 1];
+            for (int j = 0; j < counts[l].length; j++) {
+                starts[l][j] = start;
+                start += counts[l][j];
+            }
+            starts[l][counts[l].length] = start;
+        }
+        int[] targetLayers = new int[connections];
+        int[] targetIndices = new int[connections];
+        int[] weightIndices = new int[connections];
+        int[] parameterIndices = new int[connections];
+        // fill each range from its start, counting down what is left
+        for (int l = 1; l <= depth; l++) {
+            for (int j = 0; j < counts[l].length; j++) {
+                if (weightsOffsets[l][j] < 0) {
+                    continue;
+                }
+                Neuron target = neuralNetwork.getNeuron(l, j);
+                List<? extends Neuron> inputs = target.getInputNodes();
+                for (int d = 1; d <= inputs.size(); d++) {
+                    int[] source = positions.get(inputs.get(d - 1));
+                    if (source == null) {
+                        continue;
+                    }
+                    int c = starts[source[0]][source[1] + 1] - counts[source[0]][source[1]]--;
+                    targetLayers[c] = l;
+                    targetIndices[c] = j;
+                    weightIndices[c] = d;
+                    parameterIndices[c] = weightsOffsets[l][j] + d - 1;
+                }
+            }
+        }
+        return new NeuronAdjacency(starts, targetLayers, targetIndices, weightIndices, parameterIndices, parameters);
+    }
+
+    private NeuronAdjacency(int[][] starts, int[] targetLayers, int[] targetIndices, int[] weightIndices, int[] parameterIndices, float[] parameters) {
+        this.starts = starts;
+        this.targetLayers = targetLayers;
+        this.targetIndices = targetIndices;
+        this.weightIndices = weightIndices;
+        this.parameterIndices = parameterIndices;
+        this.parameters = parameters;
+    }
+
+    /**
+     * Returns the first connection of neuron {@code j} of layer {@code l}.
+     *
+     * @param l the layer of the source neuron
+     * @param j the index of the source neuron
+     * @return the index of its first connection
+     */
+    public int getStart(int l, int j) {
+        return starts[l][j];
+    }
+
+    /**
+     * Returns the end (exclusive) of the connections of neuron {@code j} of layer {@code l}.
+     *
+     * @param l the layer of the source neuron
+     * @param j the index of the source neuron
+     * @return the index after its last connection
+     */
+    public int getEnd(int l, int j) {
+        return starts[l][j + 1];
+    }
+
+    /**
+     * Returns the total number of connections.
+     *
+     * @return the number of connections
+     */
+    public int size() {
+        return targetLayers.length;
+    }
+
+    /**
+     * Returns the layer of the target neuron of connection {@code c}.
+     *
+     * @param c the connection
+     * @return the layer of the target
+     */
+    public int getTargetLayer(int c) {
+        return targetLayers[c];
+    }
+
+    /**
+     * Returns the index within its layer of the target neuron of connection {@code c}.
+     *
+     * @param c the connection
+     * @return the index of the target
+     */
+    public int getTargetIndex(int c) {
+        return targetIndices[c];
+    }
+
+    /**
+     * Returns the dimension (1-based) of the weight of connection {@code c} in the linear combination of the target.
+     *
+     * @param c the connection
+     * @return the weight index
+     */
+    public int getWeightIndex(int c) {
+        return weightIndices[c];
+    }
+
+    /**
+     * Returns the index of the weight of connection {@code c} in the parameter buffer of the network.
+     *
+     * @param c the connection
+     * @return the parameter index
+     */
+    public int getParameterIndex(int c) {
+        return parameterIndices[c];
+    }
+
+    /**
+     * Returns the current weight of connection {@code c}, read from the parameter buffer.
+     *
+     * @param c the connection
+     * @return the weight
+     */
+    public float getWeight(int c) {
+        return parameters[parameterIndices[c]];
+    }
+
+}
@@ -0,0 +1,197 @@
+package net.tvburger.jdl.model.nn.quantization;
+
+import net.tvburger.jdl.common.numbers.CompensatedFloatSum;
+import net.tvburger.jdl.model.DataSet;
+import net.tvburger.jdl.model.nn.CompiledNeuralNetwork;
+import net.tvburger.jdl.model.nn.FrozenNeuralNetwork;
+import net.tvburger.jdl.model.nn.NeuralNetwork;
+import net.tvburger.jdl.model.scalars.activations.ActivationFunction;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Quantizes a trained, fully connected {@link NeuralNetwork} into a {@link QuantizedNeuralNetwork} with 8 bit weights
+ * and activations, which takes about a quarter of the memory and computes its weighted sums in integer arithmetic.
+ * <p>
+ * The weights are quantized per neuron or per layer, see {@link Granularity}. The ranges of the activations are
+ * calibrated by running the float network over a calibration set, which should be representative of the inputs the
+ * quantized network will see. Use {@link #evaluate(NeuralNetwork, QuantizedNeuralNetwork, DataSet)} to measure what
+ * the quantization costs in accuracy.
+ */
+public final class NeuralNetworkQuantizer {
+
+    /**
+     * The granularity at which weights share their quantization parameters.
+     */
+    public enum Granularity {
+
+        /**
+         * Each neuron has its own scale and zero point, which is more accurate when the neurons of a layer have
+         * weights of different magnitudes.
+         */
+        PER_NEURON,
+
+        /**
+         * All neurons of a layer share a scale and zero point.
+         */
+        PER_LAYER
+
+    }
+
+    private final Granularity granularity;
+
+    /**
+     * Creates a quantizer.
+     *
+     * @param granularity the granularity of the weight quantization
+     */
+    public NeuralNetworkQuantizer(Granularity granularity) {
+        this.granularity = granularity;
+    }
+
+    /**
+     * Quantizes the given neural network.
+     *
+     * @param neuralNetwork  the trained neural network, every neuron must take all neurons of the previous layer as
+     *                       inputs, in order
+     * @param calibrationSet the samples to determine the ranges of the activations with
+     * @return the quantized neural network
+     * @throws IllegalArgumentException if the network is not fully connected or the calibration set is empty
+     */
+    public QuantizedNeuralNetwork quantize(NeuralNetwork neuralNetwork, DataSet<Float> calibrationSet) {
+        if (calibrationSet.isEmpty()) {
+            throw new IllegalArgumentException("No calibration samples!");
+        }
+        CompiledNeuralNetwork compiled = CompiledNeuralNetwork.compile(neuralNetwork);
+        int depth = compiled.getDepth();
+        // the range of the input of each layer, the outputs of the previous one
+        float[] min = new float[depth];
+        float[] max = new float[depth];
+        Arrays.fill(min, Float.POSITIVE_INFINITY);
+        Arrays.fill(max, Float.NEGATIVE_INFINITY);
+        CompiledNeuralNetwork.Activations activations = compiled.createActivations();
+        for (DataSet.Sample<Float> sample : calibrationSet) {
+            float[] features = toFloats(sample.features());
+            compiled.forward(features, activations);
+            for (int l = 1; l <= depth; l++) {
+                for (float value : l == 1 ? features : activations.getOutputs(l - 1)) {
+                    min[l - 1] = Math.min(min[l - 1], value);
+                    max[l - 1] = Math.max(max[l - 1], value);
+                }
+            }
+        }
+        List<QuantizedNeuralNetwork.Layer> layers = new ArrayList<>(depth);
+        for (int l = 1; l <= depth; l++) {
+            layers.add(quantizeLayer(QuantizationParameters.forRange(min[l - 1], max[l - 1]), compiled, l));
+        }
+        return new QuantizedNeuralNetwork(layers);
+    }
+
+    private QuantizedNeuralNetwork.Layer quantizeLayer(QuantizationParameters input, CompiledNeuralNetwork compiled, int l) {
+        int width = compiled.getWidth(l);
+        int arity = compiled.getWidth(l - 1);
+        float[] weights = compiled.getWeights(l);
+        float[] biases = compiled.getBiases(l);
+        QuantizationParameters[] weightsFormat = new QuantizationParameters[width];
+        if (granularity == Granularity.PER_LAYER) {
+            float min = Float.POSITIVE_INFINITY;
+            float max = Float.NEGATIVE_INFINITY;
+            for (float weight : weights) {
+                min = Math.min(min, weight);
+                max = Math.max(max, weight);
+            }
+            Arrays.fill(weightsFormat, QuantizationParameters.forRange(min, max));
+        } else {
+            for (int j = 0; j < width; j++) {
+                float min = Float.POSITIVE_INFINITY;
+                float max = Float.NEGATIVE_INFINITY;
+                for (int i = 0; i < arity; i++) {
+                    min = Math.min(min, weights[j * arity + i]);
+                    max = Math.max(max, weights[j * arity + i]);
+                }
+                weightsFormat[j] = QuantizationParameters.forRange(min, max);
+            }
+        }
+        byte[][] quantizedWeights = new byte[width][arity];
+        int[] quantizedBiases = new int[width];
+        ActivationFunction[] activations = new ActivationFunction[width];
+        for (int j = 0; j < width; j++) {
+            for (int i = 0; i < arity; i++) {
+                quantizedWeights[j][i] = weightsFormat[j].quantize(weights[j * arity + i]);
+            }
+            quantizedBiases[j] = Math.round(biases[j] / (weightsFormat[j].scale() * input.scale()));
+            activations[j] = compiled.getActivationFunction(l, j);
+        }
+        return new QuantizedNeuralNetwork.Layer(input, quantizedWeights, weightsFormat, quantizedBiases, activations);
+    }
+
+    /**
+     * Compares the outputs of the quantized network with those of the original network on the given samples. The
+     * original network is estimated through a {@link FrozenNeuralNetwork}, so its neurons do not cache activations.
+     *
+     * @param neuralNetwork the original neural network
+     * @param quantized     the quantized neural network
+     * @param dataSet       the samples to compare on
+     * @return the report of the differences
+     */
+    public static QuantizationReport evaluate(NeuralNetwork neuralNetwork, QuantizedNeuralNetwork quantized, DataSet<Float> dataSet) {
+        CompensatedFloatSum absoluteErrors = new CompensatedFloatSum();
+        float maxAbsoluteError = 0.0f;
+        int outputs = 0;
+        int floatCorrect = 0;
+        int quantizedCorrect = 0;
+        FrozenNeuralNetwork frozen = FrozenNeuralNetwork.freeze(neuralNetwork);
+        FrozenNeuralNetwork.ExecutionContext context = frozen.createContext();
+        for (DataSet.Sample<Float> sample : dataSet) {
+            float[] features = toFloats(sample.features());
+            float[] expected = frozen.estimate(context, features);
+            float[] actual = quantized.estimate(features);
+            for (int j = 0; j < expected.length; j++) {
+                float error = Math.abs(expected[j] - actual[j]);
+                absoluteErrors.add(error);
+                maxAbsoluteError = Math.max(maxAbsoluteError, error);
+            }
+            outputs += expected.length;
+            float[] target = toFloats(sample.targetOutputs());
+            floatCorrect += isCorrect(expected, target) ? 1 : 0;
+            quantizedCorrect += isCorrect(actual, target) ? 1 : 0;
+        }
+        int samples = dataSet.size();
+        return new QuantizationReport(samples,
+                outputs == 0 ? 0.0f : absoluteErrors.floatValue() / outputs,
+                maxAbsoluteError,
+                samples == 0 ? 0.0f : (float) floatCorrect / samples,
+                samples == 0 ? 0.0f : (float) quantizedCorrect / samples,
+                (long) neuralNetwork.getParameterCount() * Float.BYTES,
+                quantized.getSizeInBytes());
+    }
+
+    // the class with the highest output for multiple outputs, within 0.5 of the target for a single output
+    private static boolean isCorrect(float[] outputs, float[] target) {
+        if (outputs.length == 1) {
+            return Math.abs(outputs[0] - target[0]) < 0.5f;
+        }
+        return argMax(outputs) == argMax(target);
+    }
+
+    private static int argMax(float[] values) {
+        int index = 0;
+        for (int i = 1; i < values.length; i++) {
+            if (values[i] > values[index]) {
+                index = i;
+            }
+        }
+        return index;
+    }
+
+    private static float[] toFloats(Float[] values) {
+        float[] floats = new float[values.length];
+        for (int i = 0; i < values.length; i++) {
+            floats[i] = values[i];
+        }
+        return floats;
+    }
+
+}
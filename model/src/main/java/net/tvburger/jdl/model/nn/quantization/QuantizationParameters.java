@@ -0,0 +1,50 @@
+package net.tvburger.jdl.model.nn.quantization;
+
+import net.tvburger.jdl.common.patterns.ValueObject;
+
+/**
+ * The affine mapping between real values and signed 8 bit integers: real = scale * (quantized - zeroPoint).
+ *
+ * @param scale     the real value of one quantization step
+ * @param zeroPoint the quantized value that represents the real value 0
+ */
+@ValueObject
+public record QuantizationParameters(float scale, int zeroPoint) {
+
+    /**
+     * Returns the parameters that map the range [min, max], extended to include 0 so it is represented exactly, onto
+     * [-128, 127].
+     *
+     * @param min the smallest value to represent
+     * @param max the largest value to represent
+     * @return the quantization parameters
+     */
+    public static QuantizationParameters forRange(float min, float max) {
+        min = Math.min(min, 0.0f);
+        max = Math.max(max, 0.0f);
+        float scale = max == min ? 1.0f : (max - min) / 255.0f;
+        int zeroPoint = Math.clamp(Math.round(Byte.MIN_VALUE - min / scale), Byte.MIN_VALUE, Byte.MAX_VALUE);
+        return new QuantizationParameters(scale, zeroPoint);
+    }
+
+    /**
+     * Returns the nearest quantized value, saturated to the range of a byte.
+     *
+     * @param value the real value
+     * @return the quantized value
+     */
+    public byte quantize(float value) {
+        return (byte) Math.clamp(Math.round(value / scale) + zeroPoint, Byte.MIN_VALUE, Byte.MAX_VALUE);
+    }
+
+    /**
+     * Returns the real value of the given quantized value.
+     *
+     * @param value the quantized value
+     * @return the real value
+     */
+    public float dequantize(byte value) {
+        return scale * (value - zeroPoint);
+    }
+
+}
@@ -0,0 +1,41 @@
+package net.tvburger.jdl.model.nn.quantization;
+
+import net.tvburger.jdl.common.patterns.ValueObject;
+
+/**
+ * The differences between a neural network and its quantized form on a data set.
+ * <p>
+ * The accuracies count the samples for which the class with the highest output is the class with the highest target
+ * output, or for networks with a single output, for which the output is within 0.5 of the target.
+ *
+ * @param samples           the number of samples compared on
+ * @param meanAbsoluteError the mean absolute difference between the outputs of both networks
+ * @param maxAbsoluteError  the largest absolute difference between the outputs of both networks
+ * @param floatAccuracy     the accuracy of the original network
+ * @param quantizedAccuracy the accuracy of the quantized network
+ * @param floatBytes        the size of the parameters of the original network
+ * @param quantizedBytes    the size of the parameters of the quantized network
+ */
+@ValueObject
+public record QuantizationReport(int samples, float meanAbsoluteError, float maxAbsoluteError,
+                                 float floatAccuracy, float quantizedAccuracy, long floatBytes, long quantizedBytes) {
+
+    /**
+     * Returns the accuracy lost by quantizing, negative if the quantized network happens to be more accurate.
+     *
+     * @return the accuracy delta
+     */
+    public float accuracyDelta() {
+        return floatAccuracy - quantizedAccuracy;
+    }
+
+    /**
+     * Returns how many times smaller the quantized parameters are.
+     *
+     * @return the compression ratio
+     */
+    public float compressionRatio() {
+        return quantizedBytes == 0 ? 0.0f : (float) floatBytes / quantizedBytes;
+    }
+
+}
@@ -0,0 +1,140 @@
+package net.tvburger.jdl.model.nn.quantization;
+
+import net.tvburger.jdl.common.numbers.JavaNumberTypeSupport;
+import net.tvburger.jdl.common.patterns.Strategy;
+import net.tvburger.jdl.model.EstimationFunction;
+import net.tvburger.jdl.model.scalars.activations.ActivationFunction;
+
+import java.util.List;
+
+/**
+ * A neural network with 8 bit integer weights and activations, for inference only. Obtain one from
+ * {@link NeuralNetworkQuantizer}.
+ * <p>
+ * The weighted sums are computed in integer arithmetic: a neuron adds its quantized bias to the products of its
+ * quantized weights and inputs, all relative to their zero points, in an {@code int}. The sum is scaled to a real
+ * logit only to apply the activation function, after which the output is quantized again as input for the next layer.
+ * The outputs of the last layer are returned as floats.
+ */
+@Strategy(Strategy.Role.CONCRETE)
+public final class QuantizedNeuralNetwork implements EstimationFunction<Float> {
+
+    /**
+     * A fully connected layer of the quantized network.
+     *
+     * @param input         the quantization of the inputs of the layer
+     * @param weights       the quantized weights, row j holding the weights of neuron j
+     * @param weightsFormat the quantization of the weights of each neuron
+     * @param biases        the biases of each neuron, quantized with the scale of its weights times the input scale
+     * @param activations   the activation function of each neuron
+     */
+    record Layer(QuantizationParameters input, byte[][] weights, QuantizationParameters[] weightsFormat, int[] biases,
+                 ActivationFunction[] activations) {
+
+        int width() {
+            return weights.length;
+        }
+
+        int arity() {
+            return weights.length == 0 ? 0 : weights[0].length;
+        }
+
+    }
+
+    private final List<Layer> layers;
+
+    QuantizedNeuralNetwork(List<Layer> layers) {
+        if (layers.isEmpty()) {
+            throw new IllegalArgumentException("No layers!");
+        }
+        this.layers = List.copyOf(layers);
+    }
+
+    @Override
+    public Float[] estimate(Float[] inputs) {
+        if (inputs.length != arity()) {
+            throw new IllegalArgumentException("invalid number of inputs: " + inputs.length + "; must be " + arity() + "!");
+        }
+        float[] features = new float[inputs.length];
+        for (int i = 0; i < inputs.length; i++) {
+            features[i] = inputs[i];
+        }
+        float[] outputs = estimate(features);
+        Float[] boxed = new Float[outputs.length];
+        for (int j = 0; j < outputs.length; j++) {
+            boxed[j] = outputs[j];
+        }
+        return boxed;
+    }
+
+    /**
+     * Estimates the outputs for the given inputs without boxing.
+     *
+     * @param inputs the inputs
+     * @return the dequantized outputs
+     */
+    public float[] estimate(float[] inputs) {
+        QuantizationParameters inputFormat = layers.getFirst().input();
+        byte[] x = new byte[inputs.length];
+        for (int i = 0; i < inputs.length; i++) {
+            x[i] = inputFormat.quantize(inputs[i]);
+        }
+        float[] outputs = null;
+        for (int l = 0; l < layers.size(); l++) {
+            Layer layer = layers.get(l);
+            boolean last = l == layers.size() - 1;
+            int inputZeroPoint = layer.input().zeroPoint();
+            float inputScale = layer.input().scale();
+            byte[] next = last ? null : new byte[layer.width()];
+            QuantizationParameters nextFormat = last ? null : layers.get(l + 1).input();
+            outputs = last ? new float[layer.width()] : null;
+            for (int j = 0; j < layer.width(); j++) {
+                byte[] weights = layer.weights()[j];
+                int weightZeroPoint = layer.weightsFormat()[j].zeroPoint();
+                int sum = layer.biases()[j];
+                for (int i = 0; i < weights.length; i++) {
+                    sum += (weights[i] - weightZeroPoint) * (x[i] - inputZeroPoint);
+                }
+                float output = layer.activations()[j].activate(sum * layer.weightsFormat()[j].scale() * inputScale);
+                if (last) {
+                    outputs[j] = output;
+                } else {
+                    next[j] = nextFormat.quantize(output);
+                }
+            }
+            x = next;
+        }
+        return outputs;
+    }
+
+    /**
+     * Returns the number of bytes taken by the weights, biases and quantization parameters.
+     *
+     * @return the size in bytes
+     */
+    public long getSizeInBytes() {
+        long bytes = 0;
+        for (Layer layer : layers) {
+            // a scale and a zero point per neuron and for the input, next to the weights and the int biases
+            bytes += (long) layer.width() * layer.arity() + (long) layer.width() * (Integer.BYTES + Float.BYTES + Integer.BYTES)
+                    + Float.BYTES + Integer.BYTES;
+        }
+        return bytes;
+    }
+
+    @Override
+    public int arity() {
+        return layers.getFirst().arity();
+    }
+
+    @Override
+    public int coArity() {
+        return layers.getLast().width();
+    }
+
+    @Override
+    public JavaNumberTypeSupport<Float> getCurrentNumberType() {
+        return JavaNumberTypeSupport.FLOAT;
+    }
+
+}
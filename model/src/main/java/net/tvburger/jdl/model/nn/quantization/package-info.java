@@ -0,0 +1,4 @@
+/**
+ * Post-training quantization of neural networks to 8 bit integers, for inference only.
+ */
+package net.tvburger.jdl.model.nn.quantization;
@@ -5,15 +5,13 @@ import net.tvburger.jdl.linalg.TypedVector;
 import net.tvburger.jdl.linalg.Vector;
 import net.tvburger.jdl.model.nn.ActivationsCachedNeuron;
 import net.tvburger.jdl.model.nn.NeuralNetwork;
-import net.tvburger.jdl.model.nn.Neuron;
+import net.tvburger.jdl.model.nn.NeuronAdjacency;
 import net.tvburger.jdl.model.scalars.LinearCombination;
 import net.tvburger.jdl.model.scalars.activations.ActivationFunction;
 import net.tvburger.jdl.model.training.optimizer.GradientDescentModelDecomposer;
 
 import java.util.ArrayList;
-import java.util.IdentityHashMap;
 import java.util.List;
-import java.util.Map;
 import java.util.stream.Stream;
 
 @Strategy(Strategy.Role.CONCRETE)
@@ -22,58 +20,62 @@ public class BackPropagation implements GradientDescentModelDecomposer<NeuralNet
     @Override
     public Stream<GradientDecomposition<Float>> calculateDecompositionGradients(NeuralNetwork neuralNetwork, Vector<Float> objectiveGradients, Float[] inputs) {
         List<GradientDecomposition<Float>> decompositions = new ArrayList<>();
-        Map<Neuron, Float> errorSignals = new IdentityHashMap<>();
+        NeuronAdjacency adjacency = neuralNetwork.getAdjacency();
+        // the error signals per layer, zero for neurons that are not reached
+        float[][] errorSignals = new float[neuralNetwork.getDepth() + 1][];
+        for (int l = 1; l <= neuralNetwork.getDepth(); l++) {
+            errorSignals[l] = new float[neuralNetwork.getWidth(l)];
+        }
         for (int k = 0; k < neuralNetwork.coArity(); k++) {
             decomposeAndSetErrorSignalForOutputNode(decompositions, neuralNetwork, objectiveGradients, errorSignals, k);
         }
         for (int l = neuralNetwork.getDepth() - 1; l >= 1; l--) {
             int width = neuralNetwork.getWidth(l);
             for (int j = 0; j < width; j++) {
-                decomposeAndSetErrorSignalForHiddenNode(decompositions, neuralNetwork, errorSignals, l, j);
+                decomposeAndSetErrorSignalForHiddenNode(decompositions, neuralNetwork, adjacency, errorSignals, l, j);
             }
         }
         return decompositions.stream();
     }
 
-    private static void decomposeAndSetErrorSignalForOutputNode(List<GradientDecomposition<Float>> decompositions, NeuralNetwork neuralNetwork, Vector<Float> objectiveGradients, Map<Neuron, Float> errorSignals, int j) {
+    private static void decomposeAndSetErrorSignalForOutputNode(List<GradientDecomposition<Float>> decompositions, NeuralNetwork neuralNetwork, Vector<Float> objectiveGradients, float[][] errorSignals, int j) {
         ActivationsCachedNeuron outputNode = neuralNetwork.getNeuron(neuralNetwork.getDepth(), j, ActivationsCachedNeuron.class);
-        ActivationsCachedNeuron.Activation activation = outputNode.getCache().removeLast();
+        int slot = outputNode.removeLastActivation();
 
         // determine error signal for output node
         ActivationFunction activationFunction = outputNode.getNeuronFunction().getActivationFunction();
-        float errorSignal = objectiveGradients.get(j + 1) * activationFunction.determineGradientForOutput(activation.output());
-        decompositions.add(decompose(outputNode.getNeuronFunction().getLinearCombination(), activation.inputs(), errorSignal));
-        errorSignals.put(outputNode, errorSignal);
+        float errorSignal = objectiveGradients.get(j + 1) * activationFunction.determineGradientForOutput(outputNode.getCachedOutput(slot));
+        decompositions.add(decompose(outputNode, slot, errorSignal));
+        errorSignals[neuralNetwork.getDepth()][j] = errorSignal;
     }
 
-    private static void decomposeAndSetErrorSignalForHiddenNode(List<GradientDecomposition<Float>> decompositions, NeuralNetwork neuralNetwork, Map<Neuron, Float> errorSignals, int l, int j) {
+    private static void decomposeAndSetErrorSignalForHiddenNode(List<GradientDecomposition<Float>> decompositions, NeuralNetwork neuralNetwork, NeuronAdjacency adjacency, float[][] errorSignals, int l, int j) {
         ActivationsCachedNeuron hiddenNode = neuralNetwork.getNeuron(l, j, ActivationsCachedNeuron.class);
-        ActivationsCachedNeuron.Activation activation = hiddenNode.getCache().removeLast();
+        int slot = hiddenNode.removeLastActivation();
 
         // determine error signal for hidden node using back propagation
-        float backPropagation = calculateBackPropagation(neuralNetwork, errorSignals, l, j);
+        float backPropagation = calculateBackPropagation(adjacency, errorSignals, l, j);
         ActivationFunction activationFunction = hiddenNode.getNeuronFunction().getActivationFunction();
-        float errorSignal = backPropagation * activationFunction.determineGradientForOutput(activation.output());
-        decompositions.add(decompose(hiddenNode.getNeuronFunction().getLinearCombination(), activation.inputs(), errorSignal));
-        errorSignals.put(hiddenNode, errorSignal);
+        float errorSignal = backPropagation * activationFunction.determineGradientForOutput(hiddenNode.getCachedOutput(slot));
+        decompositions.add(decompose(hiddenNode, slot, errorSignal));
+        errorSignals[l][j] = errorSignal;
     }
 
-    private static <N extends NeuralNetwork> float calculateBackPropagation(N neuralNetwork, Map<Neuron, Float> errorSignals, int l, int j) {
+    private static float calculateBackPropagation(NeuronAdjacency adjacency, float[][] errorSignals, int l, int j) {
         float backPropagation = 0.0f;
-        Map<Neuron, Float> downstreamNodes = neuralNetwork.getOutputConnections(l, j);
-        for (Map.Entry<Neuron, Float> entry : downstreamNodes.entrySet()) {
-            float downstreamWeight = entry.getValue();
-            float downstreamErrorSignal = errorSignals.getOrDefault(entry.getKey(), 0.0f);
-            backPropagation += downstreamErrorSignal * downstreamWeight;
+        for (int c = adjacency.getStart(l, j); c < adjacency.getEnd(l, j); c++) {
+            float downstreamErrorSignal = errorSignals[adjacency.getTargetLayer(c)][adjacency.getTargetIndex(c)];
+            backPropagation += downstreamErrorSignal * adjacency.getWeight(c);
         }
         return backPropagation;
     }
 
-    private static GradientDecomposition<Float> decompose(LinearCombination<Float> linearCombination, Float[] inputs, float errorSignal) {
-        Float[] parameterGradients = new Float[inputs.length + 1];
+    private static GradientDecomposition<Float> decompose(ActivationsCachedNeuron neuron, int slot, float errorSignal) {
+        LinearCombination<Float> linearCombination = neuron.getNeuronFunction().getLinearCombination();
+        Float[] parameterGradients = new Float[neuron.arity() + 1];
         parameterGradients[0] = errorSignal; // bias term
         for (int d = 1; d < parameterGradients.length; d++) {
-            parameterGradients[d] = errorSignal * inputs[d - 1];
+            parameterGradients[d] = errorSignal * neuron.getCachedInput(slot, d - 1);
         }
         return new GradientDecomposition<>(linearCombination, new TypedVector<>(parameterGradients, true, linearCombination.getCurrentNumberType()));
     }
@@ -0,0 +1,201 @@
+package net.tvburger.jdl.model.nn.training.optimizers;
+
+import net.tvburger.jdl.common.numbers.JavaNumberTypeSupport;
+import net.tvburger.jdl.common.patterns.Strategy;
+import net.tvburger.jdl.linalg.TypedVector;
+import net.tvburger.jdl.linalg.Vector;
+import net.tvburger.jdl.linalg.Vectors;
+import net.tvburger.jdl.model.DataSet;
+import net.tvburger.jdl.model.Float16Samples;
+import net.tvburger.jdl.model.HyperparameterConfigurable;
+import net.tvburger.jdl.model.nn.CompiledNeuralNetwork;
+import net.tvburger.jdl.model.nn.NeuralNetwork;
+import net.tvburger.jdl.model.scalars.AffineTransformation;
+import net.tvburger.jdl.model.scalars.LinearCombination;
+import net.tvburger.jdl.model.training.ObjectiveFunction;
+import net.tvburger.jdl.model.training.Optimizer;
+import net.tvburger.jdl.model.training.optimizer.UpdateStep;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Gradient descent for fully connected neural networks on their {@link CompiledNeuralNetwork}: the training set is
+ * passed forward and backward in batches of up to {@link #getBatchSize()} samples, each layer as one matrix-matrix
+ * product over primitive floats, instead of sample by sample through the neurons and {@link BackPropagation}. The
+ * gradients of all batches are summed into one flat buffer before the update. Large products are divided over the
+ * common fork/join pool, so mini-batches are computed in parallel.
+ * <p>
+ * The neurons stay the owners of the parameters. Each call compiles the network, or copies the parameters of the
+ * neurons into the compiled network compiled before, and the updates are applied to the linear combinations of the
+ * neurons, so the {@link UpdateStep}s keep their state per neuron as with the
+ * {@link net.tvburger.jdl.model.training.optimizer.GradientDescentOptimizer}.
+ */
+@Strategy(Strategy.Role.CONCRETE)
+public class CompiledGradientDescentOptimizer implements Optimizer<NeuralNetwork, Float>, HyperparameterConfigurable {
+
+    public static final int DEFAULT_BATCH_SIZE = 256;
+
+    private final UpdateStep<LinearCombination<Float>, Float> updateStep;
+    private final int batchSize;
+
+    private CompiledNeuralNetwork compiled;
+    private CompiledNeuralNetwork.Batch batch;
+    private CompiledNeuralNetwork.Gradients gradients;
+
+    public CompiledGradientDescentOptimizer(UpdateStep<LinearCombination<Float>, Float> updateStep) {
+        this(updateStep, DEFAULT_BATCH_SIZE);
+    }
+
+    public CompiledGradientDescentOptimizer(UpdateStep<LinearCombination<Float>, Float> updateStep, int batchSize) {
+        if (batchSize < 1) {
+            throw new IllegalArgumentException("invalid batch size: " + batchSize + "; must be positive!");
+        }
+        this.updateStep = updateStep;
+        this.batchSize = batchSize;
+    }
+
+    @Override
+    public void optimize(NeuralNetwork neuralNetwork, DataSet<Float> trainingSet, ObjectiveFunction<Float> objective, int step) {
+        if (trainingSet.isEmpty()) {
+            return;
+        }
+        CompiledNeuralNetwork network = compile(neuralNetwork);
+        gradients.clear();
+        List<DataSet.Sample<Float>> samples = trainingSet.samples();
+        accumulate(network, samples, 0, samples.size(), objective, batch, gradients);
+        update(network, gradients, samples.size(), updateStep, objective, step);
+    }
+
+    // adds the gradients of the samples [from, to) to the given gradients, a batch at a time; encoded samples are
+    // widened into reused buffers instead of boxed
+    static void accumulate(CompiledNeuralNetwork network, List<DataSet.Sample<Float>> samples, int from, int to,
+                           ObjectiveFunction<Float> objective, CompiledNeuralNetwork.Batch batch, CompiledNeuralNetwork.Gradients gradients) {
+        int coArity = network.coArity();
+        Float[] estimated = new Float[coArity];
+        float[] outputGradients = new float[batch.getCapacity() * coArity];
+        Float16Samples encoded = samples instanceof Float16Samples float16Samples ? float16Samples : null;
+        if (encoded != null && (encoded.getFeatureCount() != network.arity() || encoded.getTargetCount() != coArity)) {
+            throw new IllegalArgumentException("Samples do not match the network!");
+        }
+        float[] features = encoded == null ? null : new float[network.arity()];
+        float[] targetValues = encoded == null ? null : new float[coArity];
+        Float[] targetOutputs = encoded == null ? null : new Float[coArity];
+        int offset = from;
+        while (offset < to) {
+            int end = Math.min(to, offset + batch.getCapacity());
+            batch.clear();
+            for (int s = offset; s < end; s++) {
+                if (encoded == null) {
+                    batch.add(samples.get(s).features());
+                } else {
+                    batch.add(encoded.features(s, features));
+                }
+            }
+            float[] outputs = network.forward(batch);
+            for (int s = offset; s < end; s++) {
+                int row = (s - offset) * coArity;
+                for (int k = 0; k < coArity; k++) {
+                    estimated[k] = outputs[row + k];
+                }
+                Float[] target;
+                if (encoded == null) {
+                    target = samples.get(s).targetOutputs();
+                } else {
+                    encoded.targetOutputs(s, targetValues);
+                    for (int k = 0; k < coArity; k++) {
+                        targetOutputs[k] = targetValues[k];
+                    }
+                    target = targetOutputs;
+                }
+                Float[] objectiveGradients = objective.calculateGradient_dJ_da(1, estimated, target);
+                for (int k = 0; k < coArity; k++) {
+                    outputGradients[row + k] = objectiveGradients[k];
+                }
+            }
+            network.backward(batch, outputGradients, gradients);
+            offset = end;
+        }
+    }
+
+    // applies the update step to the linear combination of every neuron, for the mean of the summed gradients; the
+    // adjustments are added in place to the parameter buffer of a bound linear combination
+    static void update(CompiledNeuralNetwork network, CompiledNeuralNetwork.Gradients gradients, int sampleCount,
+                       UpdateStep<LinearCombination<Float>, Float> updateStep, ObjectiveFunction<Float> objective, int step) {
+        float trainingSetSize = sampleCount;
+        float[] values = gradients.values();
+        for (int l = 1; l <= network.getDepth(); l++) {
+            int arity = network.getWidth(l - 1);
+            int weightsOffset = gradients.getWeightsOffset(l);
+            int biasesOffset = gradients.getBiasesOffset(l);
+            for (int j = 0; j < network.getWidth(l); j++) {
+                LinearCombination<Float> linearCombination = network.getLinearCombination(l, j);
+                // the gradients in the order of the parameters: the bias first, if any
+                int first = linearCombination instanceof AffineTransformation<Float> ? 1 : 0;
+                Float[] meanGradients = new Float[first + arity];
+                if (first == 1) {
+                    meanGradients[0] = values[biasesOffset + j] / trainingSetSize;
+                }
+                for (int i = 0; i < arity; i++) {
+                    meanGradients[first + i] = values[weightsOffset + j * arity + i] / trainingSetSize;
+                }
+                Vector<Float> adjustments = updateStep.calculateUpdate(new TypedVector<>(meanGradients, true, JavaNumberTypeSupport.FLOAT),
+                        linearCombination, step, objective.getRegularizations());
+                if (linearCombination.isBound()) {
+                    float[] buffer = linearCombination.getParameterBuffer();
+                    int offset = linearCombination.getParameterOffset();
+                    for (int i = 0; i < adjustments.getDimensions(); i++) {
+                        buffer[offset + i] += adjustments.get(i + 1);
+                    }
+                } else {
+                    Vector<Float> thetas = Vectors.of(JavaNumberTypeSupport.FLOAT, linearCombination.getParameters()).transpose();
+                    linearCombination.setParameters(thetas.addInPlace(adjustments).asArray());
+                }
+            }
+        }
+    }
+
+    // the compiled network of the given network with the current parameters of its neurons
+    private CompiledNeuralNetwork compile(NeuralNetwork neuralNetwork) {
+        CompiledNeuralNetwork network = compile(compiled, neuralNetwork);
+        if (network != compiled) {
+            compiled = network;
+            batch = compiled.createBatch(batchSize);
+            gradients = compiled.createGradients();
+        }
+        return compiled;
+    }
+
+    // the given compiled network synced with the neurons if it was compiled from the given network, or else a newly
+    // compiled network, for which the caller creates its batches and gradients
+    static CompiledNeuralNetwork compile(CompiledNeuralNetwork compiled, NeuralNetwork neuralNetwork) {
+        if (compiled == null || compiled.getNeuralNetwork() != neuralNetwork) {
+            return CompiledNeuralNetwork.compile(neuralNetwork);
+        }
+        compiled.syncFromNeurons();
+        return compiled;
+    }
+
+    public int getBatchSize() {
+        return batchSize;
+    }
+
+    public UpdateStep<LinearCombination<Float>, Float> getUpdateStep() {
+        return updateStep;
+    }
+
+    @Override
+    public Map<String, Object> getHyperparameters() {
+        if (updateStep instanceof HyperparameterConfigurable configurable) {
+            return configurable.getHyperparameters();
+        }
+        return Map.of();
+    }
+
+    @Override
+    public void setHyperparameter(String name, Object value) {
+        if (updateStep instanceof HyperparameterConfigurable configurable) {
+            configurable.setHyperparameter(name, value);
+        }
+    }
+}
@@ -0,0 +1,177 @@
+package net.tvburger.jdl.model.nn.training.optimizers;
+
+import net.tvburger.jdl.common.patterns.Strategy;
+import net.tvburger.jdl.linalg.Matrices;
+import net.tvburger.jdl.model.DataSet;
+import net.tvburger.jdl.model.HyperparameterConfigurable;
+import net.tvburger.jdl.model.nn.CompiledNeuralNetwork;
+import net.tvburger.jdl.model.nn.NeuralNetwork;
+import net.tvburger.jdl.model.scalars.LinearCombination;
+import net.tvburger.jdl.model.training.ObjectiveFunction;
+import net.tvburger.jdl.model.training.Optimizer;
+import net.tvburger.jdl.model.training.optimizer.UpdateStep;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Data-parallel gradient descent for fully connected neural networks on their {@link CompiledNeuralNetwork}. The
+ * training set of each step, typically a mini-batch, is split into a shard per worker. The workers run the forward
+ * and backward passes of their shards at the same time, each in a {@link CompiledNeuralNetwork.Batch} and into
+ * {@link CompiledNeuralNetwork.Gradients} of its own, so they share nothing but the read-only parameters. The
+ * gradients of the workers are then summed pairwise in a tree, in parallel as well, after which the
+ * {@link UpdateStep} is applied once as with the {@link CompiledGradientDescentOptimizer}.
+ * <p>
+ * The workers are the threads of a pool owned by the optimizer, which is shut down when the optimizer is closed. The
+ * matrix products of a worker are computed {@linkplain Matrices#serially(Runnable) serially} on its own thread, as
+ * the workers already occupy the processors.
+ */
+@Strategy(Strategy.Role.CONCRETE)
+public class DataParallelGradientDescentOptimizer implements Optimizer<NeuralNetwork, Float>, HyperparameterConfigurable, AutoCloseable {
+
+    private final UpdateStep<LinearCombination<Float>, Float> updateStep;
+    private final int workers;
+    private final int batchSize;
+    private final ForkJoinPool pool;
+
+    private CompiledNeuralNetwork compiled;
+    private CompiledNeuralNetwork.Batch[] batches;
+    private CompiledNeuralNetwork.Gradients[] gradients;
+
+    public DataParallelGradientDescentOptimizer(UpdateStep<LinearCombination<Float>, Float> updateStep) {
+        this(updateStep, Runtime.getRuntime().availableProcessors());
+    }
+
+    public DataParallelGradientDescentOptimizer(UpdateStep<LinearCombination<Float>, Float> updateStep, int workers) {
+        this(updateStep, workers, CompiledGradientDescentOptimizer.DEFAULT_BATCH_SIZE);
+    }
+
+    /**
+     * Creates the optimizer.
+     *
+     * @param updateStep the update step to apply to the summed gradients
+     * @param workers    the number of worker threads, and shards per step
+     * @param batchSize  the number of samples a worker passes through the network at once
+     * @throws IllegalArgumentException if the number of workers or the batch size is not positive
+     */
+    public DataParallelGradientDescentOptimizer(UpdateStep<LinearCombination<Float>, Float> updateStep, int workers, int batchSize) {
+        if (workers < 1) {
+            throw new IllegalArgumentException("invalid number of workers: " + workers + "; must be positive!");
+        }
+        if (batchSize < 1) {
+            throw new IllegalArgumentException("invalid batch size: " + batchSize + "; must be positive!");
+        }
+        this.updateStep = updateStep;
+        this.workers = workers;
+        this.batchSize = batchSize;
+        this.pool = new ForkJoinPool(workers);
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @throws IllegalStateException if the optimizer is closed
+     */
+    @Override
+    public void optimize(NeuralNetwork neuralNetwork, DataSet<Float> trainingSet, ObjectiveFunction<Float> objective, int step) {
+        if (pool.isShutdown()) {
+            throw new IllegalStateException("Optimizer closed!");
+        }
+        if (trainingSet.isEmpty()) {
+            return;
+        }
+        CompiledNeuralNetwork network = compile(neuralNetwork);
+        List<DataSet.Sample<Float>> samples = trainingSet.samples();
+        int shards = Math.min(workers, samples.size());
+        pool.invoke(new ShardTask(network, samples, objective, shards, 0, shards));
+        CompiledGradientDescentOptimizer.update(network, gradients[0], samples.size(), updateStep, objective, step);
+    }
+
+    // the compiled network of the given network with the current parameters of its neurons
+    private CompiledNeuralNetwork compile(NeuralNetwork neuralNetwork) {
+        CompiledNeuralNetwork network = CompiledGradientDescentOptimizer.compile(compiled, neuralNetwork);
+        if (network != compiled) {
+            compiled = network;
+            batches = new CompiledNeuralNetwork.Batch[workers];
+            gradients = new CompiledNeuralNetwork.Gradients[workers];
+            for (int w = 0; w < workers; w++) {
+                batches[w] = compiled.createBatch(batchSize);
+                gradients[w] = compiled.createGradients();
+            }
+        }
+        return compiled;
+    }
+
+    /**
+     * Shuts down the worker threads.
+     */
+    @Override
+    public void close() {
+        pool.shutdown();
+    }
+
+    public int getWorkers() {
+        return workers;
+    }
+
+    public int getBatchSize() {
+        return batchSize;
+    }
+
+    public UpdateStep<LinearCombination<Float>, Float> getUpdateStep() {
+        return updateStep;
+    }
+
+    @Override
+    public Map<String, Object> getHyperparameters() {
+        if (updateStep instanceof HyperparameterConfigurable configurable) {
+            return configurable.getHyperparameters();
+        }
+        return Map.of();
+    }
+
+    @Override
+    public void setHyperparameter(String name, Object value) {
+        if (updateStep instanceof HyperparameterConfigurable configurable) {
+            configurable.setHyperparameter(name, value);
+        }
+    }
+
+    // computes the gradients of the shards [from, to) and sums them into the gradients of the first shard
+    private final class ShardTask extends RecursiveAction {
+
+        private final CompiledNeuralNetwork network;
+        private final List<DataSet.Sample<Float>> samples;
+        private final ObjectiveFunction<Float> objective;
+        private final int shards;
+        private final int from;
+        private final int to;
+
+        private ShardTask(CompiledNeuralNetwork network, List<DataSet.Sample<Float>> samples, ObjectiveFunction<Float> objective, int shards, int from, int to) {
+            this.network = network;
+            this.samples = samples;
+            this.objective = objective;
+            this.shards = shards;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from == 1) {
+                int first = (int) ((long) from * samples.size() / shards);
+                int end = (int) ((long) to * samples.size() / shards);
+                gradients[from].clear();
+                Matrices.serially(() -> CompiledGradientDescentOptimizer.accumulate(network, samples, first, end, objective, batches[from], gradients[from]));
+            } else {
+                int middle = (from + to) >>> 1;
+                invokeAll(new ShardTask(network, samples, objective, shards, from, middle),
+                        new ShardTask(network, samples, objective, shards, middle, to));
+                gradients[from].add(gradients[middle]);
+            }
+        }
+    }
+
+}
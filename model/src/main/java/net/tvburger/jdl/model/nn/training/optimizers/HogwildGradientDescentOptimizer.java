@@ -0,0 +1,261 @@
+package net.tvburger.jdl.model.nn.training.optimizers;
+
+import net.tvburger.jdl.common.patterns.Strategy;
+import net.tvburger.jdl.model.DataSet;
+import net.tvburger.jdl.model.Float16Samples;
+import net.tvburger.jdl.model.nn.NeuralNetwork;
+import net.tvburger.jdl.model.nn.Neuron;
+import net.tvburger.jdl.model.scalars.AffineTransformation;
+import net.tvburger.jdl.model.scalars.LinearCombination;
+import net.tvburger.jdl.model.scalars.activations.ActivationFunction;
+import net.tvburger.jdl.model.training.ObjectiveFunction;
+import net.tvburger.jdl.model.training.Optimizer;
+import net.tvburger.jdl.model.training.optimizer.LearningRateConfigurable;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Stochastic gradient descent for fully connected neural networks that may be called by many threads at once, as
+ * in Hogwild!: the threads update the {@linkplain NeuralNetwork#getParameterBuffer() parameter buffer} of the network
+ * without any locking, accepting that an update is now and then computed with parameters another thread is changing.
+ * When each sample only affects a few parameters, such as a sparse input that only has a few non-zero features,
+ * these collisions are rare.
+ * <p>
+ * The passes read the parameters from the buffer of the network directly, with the outputs and error signals kept
+ * per thread, so the neurons are not activated. Every sample of the training set is a step of its own: its gradients
+ * are applied, scaled by the learning rate, while it is back-propagated. Parameters whose gradient is zero, such as
+ * the weights of zero inputs, are not written.
+ * <p>
+ * The update is always plain gradient descent with the learning rate: there is no {@link
+ * net.tvburger.jdl.model.training.optimizer.UpdateStep}, so no momentum or adaptive rates, and the regularizations of
+ * the objective are ignored. It is therefore not a drop-in replacement for the optimizers of
+ * {@link NeuralNetworkOptimizers#vanilla()} and the like, even when called by a single thread.
+ *
+ * @see net.tvburger.jdl.model.training.regimes.HogwildRegime
+ */
+@Strategy(Strategy.Role.CONCRETE)
+public class HogwildGradientDescentOptimizer implements Optimizer<NeuralNetwork, Float>, LearningRateConfigurable<Float> {
+
+    private volatile float learningRate;
+    private volatile Layout layout;
+    private final ThreadLocal<State> states = new ThreadLocal<>();
+
+    public HogwildGradientDescentOptimizer() {
+        this(NeuralNetworkOptimizers.DEFAULT_LEARNING_RATE);
+    }
+
+    public HogwildGradientDescentOptimizer(float learningRate) {
+        this.learningRate = learningRate;
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @throws IllegalArgumentException if the network is not fully connected, or its neurons are not bound to its
+     *                                  parameter buffer
+     */
+    @Override
+    public void optimize(NeuralNetwork neuralNetwork, DataSet<Float> trainingSet, ObjectiveFunction<Float> objective, int step) {
+        Layout layout = getLayout(neuralNetwork);
+        State state = states.get();
+        if (state == null || state.layout != layout) {
+            state = new State(layout);
+            states.set(state);
+        }
+        List<DataSet.Sample<Float>> samples = trainingSet.samples();
+        if (samples instanceof Float16Samples encoded) {
+            // widened into the buffers of the thread instead of boxed
+            if (encoded.getFeatureCount() != layout.widths[0] || encoded.getTargetCount() != state.targetOutputs.length) {
+                throw new IllegalArgumentException("Samples do not match the network!");
+            }
+            for (int s = 0; s < encoded.size(); s++) {
+                encoded.features(s, state.outputs[0]);
+                encoded.targetOutputs(s, state.targetValues);
+                for (int k = 0; k < state.targetOutputs.length; k++) {
+                    state.targetOutputs[k] = state.targetValues[k];
+                }
+                descend(layout, state, state.targetOutputs, objective);
+            }
+        } else {
+            for (DataSet.Sample<Float> sample : samples) {
+                Float[] features = sample.features();
+                for (int i = 0; i < features.length; i++) {
+                    state.outputs[0][i] = features[i];
+                }
+                descend(layout, state, sample.targetOutputs(), objective);
+            }
+        }
+    }
+
+    // the layout of the given network, indexed once per network
+    private Layout getLayout(NeuralNetwork neuralNetwork) {
+        Layout current = layout;
+        if (current == null || current.neuralNetwork != neuralNetwork) {
+            synchronized (this) {
+                current = layout;
+                if (current == null || current.neuralNetwork != neuralNetwork) {
+                    current = new Layout(neuralNetwork);
+                    layout = current;
+                }
+            }
+        }
+        return current;
+    }
+
+    // a step for the sample whose features are in the outputs of the input layer
+    private void descend(Layout layout, State state, Float[] targetOutputs, ObjectiveFunction<Float> objective) {
+        float[] parameters = layout.parameters;
+        float[][] outputs = state.outputs;
+        float[][] errorSignals = state.errorSignals;
+        int depth = layout.widths.length - 1;
+        for (int l = 1; l <= depth; l++) {
+            float[] x = outputs[l - 1];
+            for (int j = 0; j < layout.widths[l]; j++) {
+                int weightsOffset = layout.weightsOffsets[l][j];
+                int biasIndex = layout.biasIndices[l][j];
+                float logit = biasIndex < 0 ? 0.0f : parameters[biasIndex];
+                for (int i = 0; i < x.length; i++) {
+                    logit += parameters[weightsOffset + i] * x[i];
+                }
+                outputs[l][j] = layout.activations[l][j].activate(logit);
+            }
+        }
+        for (int k = 0; k < state.estimated.length; k++) {
+            state.estimated[k] = outputs[depth][k];
+        }
+        Float[] outputGradients = objective.calculateGradient_dJ_da(1, state.estimated, targetOutputs);
+        for (int j = 0; j < layout.widths[depth]; j++) {
+            errorSignals[depth][j] = outputGradients[j] * layout.activations[depth][j].determineGradientForOutput(outputs[depth][j]);
+        }
+        float rate = learningRate;
+        for (int l = depth; l >= 1; l--) {
+            float[] x = outputs[l - 1];
+            float[] delta = errorSignals[l];
+            if (l > 1) {
+                // propagated with the weights before they are updated
+                float[] previous = errorSignals[l - 1];
+                for (int i = 0; i < x.length; i++) {
+                    float sum = 0.0f;
+                    for (int j = 0; j < delta.length; j++) {
+                        sum += delta[j] * parameters[layout.weightsOffsets[l][j] + i];
+                    }
+                    previous[i] = sum * layout.activations[l - 1][i].determineGradientForOutput(x[i]);
+                }
+            }
+            for (int j = 0; j < delta.length; j++) {
+                if (delta[j] == 0.0f) {
+                    continue;
+                }
+                float adjustment = -rate * delta[j];
+                int biasIndex = layout.biasIndices[l][j];
+                if (biasIndex >= 0) {
+                    parameters[biasIndex] += adjustment;
+                }
+                int weightsOffset = layout.weightsOffsets[l][j];
+                for (int i = 0; i < x.length; i++) {
+                    if (x[i] != 0.0f) {
+                        parameters[weightsOffset + i] += adjustment * x[i];
+                    }
+                }
+            }
+        }
+    }
+
+    @Override
+    public Map<String, Object> getHyperparameters() {
+        return Map.of(HP_LEARNING_RATE, learningRate);
+    }
+
+    @Override
+    public void setHyperparameter(String name, Object value) {
+        if (HP_LEARNING_RATE.equals(name)) {
+            this.learningRate = (Float) value;
+        }
+    }
+
+    // where the parameters of each neuron are in the buffer of the network, as bound by its linear combination
+    private static final class Layout {
+
+        private final NeuralNetwork neuralNetwork;
+        private final float[] parameters;
+        private final int[] widths;
+        private final int[][] weightsOffsets;
+        private final int[][] biasIndices;
+        private final ActivationFunction[][] activations;
+
+        private Layout(NeuralNetwork neuralNetwork) {
+            int depth = neuralNetwork.getDepth();
+            this.neuralNetwork = neuralNetwork;
+            this.parameters = neuralNetwork.getParameterBuffer();
+            this.widths = new int[depth + 1];
+            this.weightsOffsets = new int[depth + 1][];
+            this.biasIndices = new int[depth + 1][];
+            this.activations = new ActivationFunction[depth + 1][];
+            widths[0] = neuralNetwork.getWidth(0);
+            for (int l = 1; l <= depth; l++) {
+                int width = neuralNetwork.getWidth(l);
+                widths[l] = width;
+                weightsOffsets[l] = new int[width];
+                biasIndices[l] = new int[width];
+                activations[l] = new ActivationFunction[width];
+                for (int j = 0; j < width; j++) {
+                    Neuron neuron = neuralNetwork.getNeuron(l, j);
+                    if (!isFullyConnected(neuralNetwork, l, neuron)) {
+                        throw new IllegalArgumentException("Neuron " + neuron + " is not connected to all neurons of layer " + (l - 1) + " in order!");
+                    }
+                    LinearCombination<Float> linearCombination = neuron.getNeuronFunction().getLinearCombination();
+                    if (linearCombination.getParameterBuffer() != parameters) {
+                        throw new IllegalArgumentException("Neuron " + neuron + " is not bound to the parameter buffer!");
+                    }
+                    int offset = linearCombination.getParameterOffset();
+                    boolean affine = linearCombination instanceof AffineTransformation<Float>;
+                    biasIndices[l][j] = affine ? offset : -1;
+                    weightsOffsets[l][j] = affine ? offset + 1 : offset;
+                    activations[l][j] = neuron.getNeuronFunction().getActivationFunction();
+                }
+            }
+        }
+
+        // whether the inputs of the neuron are the neurons of the previous layer, in order, each with a weight
+        private static boolean isFullyConnected(NeuralNetwork neuralNetwork, int l, Neuron neuron) {
+            List<? extends Neuron> inputs = neuron.getInputNodes();
+            if (neuron.getNeuronFunction() == null || inputs == null || inputs.size() != neuralNetwork.getWidth(l - 1)
+                    || neuron.getNeuronFunction().getLinearCombination().arity() != inputs.size()) {
+                return false;
+            }
+            for (int i = 0; i < inputs.size(); i++) {
+                if (inputs.get(i) != neuralNetwork.getNeuron(l - 1, i)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+
+    // the outputs and error signals of every layer, per thread
+    private static final class State {
+
+        private final Layout layout;
+        private final float[][] outputs;
+        private final float[][] errorSignals;
+        private final Float[] estimated;
+        private final float[] targetValues;
+        private final Float[] targetOutputs;
+
+        private State(Layout layout) {
+            int depth = layout.widths.length - 1;
+            this.layout = layout;
+            this.outputs = new float[depth + 1][];
+            this.errorSignals = new float[depth + 1][];
+            for (int l = 0; l <= depth; l++) {
+                outputs[l] = new float[layout.widths[l]];
+                errorSignals[l] = new float[layout.widths[l]];
+            }
+            this.estimated = new Float[layout.widths[depth]];
+            this.targetValues = new float[layout.widths[depth]];
+            this.targetOutputs = new Float[layout.widths[depth]];
+        }
+    }
+
+}
@@ -57,4 +57,39 @@ public final class NeuralNetworkOptimizers {
     public static GradientDescentOptimizer<NeuralNetwork, Float> adamW(float learningRate, float beta1, float beta2, float lambda) {
         return new GradientDescentOptimizer<>(BACK_PROPAGATION, new AdamW<>(learningRate, beta1, beta2, lambda));
     }
+
+    /**
+     * Returns an optimizer with the update step of the given optimizer, that trains fully connected networks on
+     * their {@link net.tvburger.jdl.model.nn.CompiledNeuralNetwork}.
+     *
+     * @param optimizer the optimizer to take the update step of
+     * @return the compiled optimizer
+     */
+    public static CompiledGradientDescentOptimizer compiled(GradientDescentOptimizer<NeuralNetwork, Float> optimizer) {
+        return new CompiledGradientDescentOptimizer(optimizer.getUpdateStep());
+    }
+
+    /**
+     * Returns an optimizer with the update step of the given optimizer, that trains fully connected networks on
+     * their {@link net.tvburger.jdl.model.nn.CompiledNeuralNetwork} with the samples of each step divided over the
+     * given number of worker threads. The optimizer owns its threads, so it must be closed when training is done.
+     *
+     * @param optimizer the optimizer to take the update step of
+     * @param workers   the number of worker threads
+     * @return the data-parallel optimizer
+     */
+    public static DataParallelGradientDescentOptimizer dataParallel(GradientDescentOptimizer<NeuralNetwork, Float> optimizer, int workers) {
+        return new DataParallelGradientDescentOptimizer(optimizer.getUpdateStep(), workers);
+    }
+
+    /**
+     * Returns an optimizer that may be called by many threads at once for the same network, updating its
+     * parameters without locking, to be used with a {@link net.tvburger.jdl.model.training.regimes.HogwildRegime}.
+     *
+     * @param learningRate the learning rate
+     * @return the Hogwild optimizer
+     */
+    public static HogwildGradientDescentOptimizer hogwild(float learningRate) {
+        return new HogwildGradientDescentOptimizer(learningRate);
+    }
 }
@@ -12,12 +12,19 @@ import net.tvburger.jdl.common.patterns.Strategy;
  * <p>
  * This class supports forward estimation of the scalar output as well as
  * calculation of parameter parameterGradients required for gradient-based training.
+ * <p>
+ * Once {@linkplain #bind(float[], int) bound} to a flat parameter buffer, the bias is stored in front of the weights,
+ * in the order of {@link #getParameters()}, and the {@linkplain #getParameterOffset() parameter offset} is that of the
+ * bias.
  */
 @Strategy(Strategy.Role.CONCRETE)
 public class AffineTransformation<N extends Number> extends LinearCombination<N> {
 
     private final JavaNumberTypeSupport<N> typeSupport;
     private N bias;
+    // the buffer holding the bias at the offset, or null while not bound
+    private float[] buffer;
+    private int offset;
 
     /**
      * Creates a new {@code AffineTransformation} with the specified number of input dimensions.
@@ -48,6 +55,38 @@ public class AffineTransformation<N extends Number> extends LinearCombination<N>
         this.bias = bias;
     }
 
+    /**
+     * Moves the bias and weights into the given buffer from the offset: the bias at the offset, followed by the
+     * weights.
+     *
+     * @param buffer the flat parameter buffer
+     * @param offset the offset of the parameters in the buffer
+     * @throws UnsupportedOperationException if the number type is not {@link JavaNumberTypeSupport#FLOAT}
+     * @throws IllegalArgumentException      if the parameters do not fit in the buffer from the offset
+     */
+    @Override
+    public void bind(float[] buffer, int offset) {
+        if (offset < 0) {
+            throw new IllegalArgumentException("invalid offset: " + offset + "; must not be negative!");
+        }
+        N bias = getBias();
+        super.bind(buffer, offset + 1);
+        buffer[offset] = bias.floatValue();
+        this.buffer = buffer;
+        this.offset = offset;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int getParameterOffset() {
+        if (buffer == null) {
+            throw new IllegalStateException("Not bound to a parameter buffer!");
+        }
+        return offset;
+    }
+
     /**
      * Estimates the scalar output of this affine transformation for the given input vector.
      * <p>
@@ -62,7 +101,7 @@ public class AffineTransformation<N extends Number> extends LinearCombination<N>
      */
     @Override
     public N estimateScalar(N[] inputs) {
-        return typeSupport.add(bias, super.estimateScalar(inputs));
+        return typeSupport.add(getBias(), super.estimateScalar(inputs));
     }
 
     /**
@@ -98,12 +137,12 @@ public class AffineTransformation<N extends Number> extends LinearCombination<N>
      * Returns the full parameter vector of this model.
      * The first element is the bias, the rest are the weights.
      *
-     * @return the parameter array
+     * @return the parameter array, always a copy
      */
     @Override
     public N[] getParameters() {
         N[] parameters = typeSupport.createArray(1 + arity());
-        parameters[0] = bias;
+        parameters[0] = getBias();
         if (arity() > 0) {
             System.arraycopy(super.getParameters(), 0, parameters, 1, arity());
         }
@@ -169,8 +208,9 @@ public class AffineTransformation<N extends Number> extends LinearCombination<N>
      *
      * @return the bias value (0.0f if there are no parameters)
      */
+    @SuppressWarnings("unchecked")
     public N getBias() {
-        return bias;
+        return buffer == null ? bias : (N) Float.valueOf(buffer[offset]);
     }
 
     /**
@@ -179,7 +219,11 @@ public class AffineTransformation<N extends Number> extends LinearCombination<N>
      * @param bias the new bias value
      */
     public void setBias(N bias) {
-        this.bias = bias;
+        if (buffer == null) {
+            this.bias = bias;
+        } else {
+            buffer[offset] = bias.floatValue();
+        }
     }
 
     /**
@@ -188,7 +232,7 @@ public class AffineTransformation<N extends Number> extends LinearCombination<N>
      * @param delta the adjustment value
      */
     public void adjustBias(N delta) {
-        bias = typeSupport.add(bias, delta);
+        setBias(typeSupport.add(getBias(), delta));
     }
 
 }
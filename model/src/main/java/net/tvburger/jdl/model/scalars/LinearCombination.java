@@ -1,5 +1,7 @@
 package net.tvburger.jdl.model.scalars;
 
+import net.tvburger.jdl.common.numbers.ArrayKernels;
+import net.tvburger.jdl.common.numbers.CompensatedFloatSum;
 import net.tvburger.jdl.common.numbers.JavaNumberTypeSupport;
 import net.tvburger.jdl.common.patterns.Strategy;
 
@@ -12,14 +14,25 @@ import net.tvburger.jdl.common.patterns.Strategy;
  * <p>
  * This class supports forward estimation of the scalar output as well as
  * calculation of parameter parameterGradients required for gradient-based training.
+ * <p>
+ * The parameters are held in an array of their own, until a linear combination of floats is
+ * {@linkplain #bind(float[], int) bound} to a range of a flat parameter buffer, such as the one of a
+ * {@link net.tvburger.jdl.model.nn.DefaultNeuralNetwork}. From then on the parameters are read from and written to
+ * that range of the buffer only, and {@link #getParameters()} and {@link #getWeights()} return copies: writing to
+ * the returned arrays no longer changes the parameters. Estimating keeps no state in the linear combination, so
+ * threads may estimate concurrently as long as none of them changes the parameters.
  *
  * @see AffineTransformation
  */
 @Strategy(Strategy.Role.CONCRETE)
 public class LinearCombination<N extends Number> implements TrainableScalarFunction<N> {
 
-    private final N[] parameters;
+    private final int arity;
     private final JavaNumberTypeSupport<N> typeSupport;
+    // the parameters of their own, or null once bound to the range of a buffer from the offset
+    private N[] parameters;
+    private float[] buffer;
+    private int offset;
 
     /**
      * Creates a new {@code LinearCombination} with the specified number of input dimensions.
@@ -39,10 +52,68 @@ public class LinearCombination<N extends Number> implements TrainableScalarFunct
      * @param parameters parameter vector (weights)
      */
     public LinearCombination(N[] parameters, JavaNumberTypeSupport<N> typeSupport) {
+        this.arity = parameters.length;
         this.parameters = parameters;
         this.typeSupport = typeSupport;
     }
 
+    /**
+     * Moves the weights into the given buffer from the offset, after which this linear combination is a view of
+     * that range of the buffer: changes to the buffer are seen by it and the other way around. A linear combination
+     * that is already bound is moved to the new buffer.
+     *
+     * @param buffer the flat parameter buffer
+     * @param offset the offset of the weights in the buffer
+     * @throws UnsupportedOperationException if the number type is not {@link JavaNumberTypeSupport#FLOAT}
+     * @throws IllegalArgumentException      if the weights do not fit in the buffer from the offset
+     */
+    public void bind(float[] buffer, int offset) {
+        if (typeSupport != JavaNumberTypeSupport.FLOAT) {
+            throw new UnsupportedOperationException("Only float parameters can be bound to a buffer!");
+        }
+        if (offset < 0 || offset + arity > buffer.length) {
+            throw new IllegalArgumentException("invalid offset: " + offset + "; the " + arity + " weights do not fit!");
+        }
+        for (int i = 0; i < arity; i++) {
+            buffer[offset + i] = load(i).floatValue();
+        }
+        this.parameters = null;
+        this.buffer = buffer;
+        this.offset = offset;
+    }
+
+    /**
+     * Returns whether the parameters are a view of a flat parameter buffer.
+     *
+     * @return true if bound to a buffer
+     */
+    public boolean isBound() {
+        return buffer != null;
+    }
+
+    /**
+     * Returns the buffer the parameters are bound to.
+     *
+     * @return the parameter buffer, or null if not bound
+     */
+    public float[] getParameterBuffer() {
+        return buffer;
+    }
+
+    /**
+     * Returns the offset in the {@linkplain #getParameterBuffer() parameter buffer} of the first parameter, so
+     * parameter {@code p} is at {@code getParameterOffset() + p}.
+     *
+     * @return the offset of the parameters
+     * @throws IllegalStateException if not bound
+     */
+    public int getParameterOffset() {
+        if (buffer == null) {
+            throw new IllegalStateException("Not bound to a parameter buffer!");
+        }
+        return offset;
+    }
+
     @Override
     public JavaNumberTypeSupport<N> getCurrentNumberType() {
         return typeSupport;
@@ -55,21 +126,27 @@ public class LinearCombination<N extends Number> implements TrainableScalarFunct
      * <pre>
      *   output = Σ (inputs[i] * weights[i])
      * </pre>
+     * It is computed by a single call to the {@link ArrayKernels} of the number type.
      *
      * @param inputs the input feature vector
      * @return the scalar output value
      * @throws IllegalArgumentException if {@code inputs.length != arity()}
      */
     @Override
+    @SuppressWarnings("unchecked")
     public N estimateScalar(N[] inputs) {
-        if (inputs.length != parameters.length) {
+        if (inputs.length != arity) {
             throw new IllegalArgumentException();
         }
-        N sum = typeSupport.zero();
-        for (int d = 1; d <= parameters.length; d++) {
-            sum = typeSupport.add(sum, typeSupport.multiply(inputs[d - 1], getWeight(d)));
+        if (buffer == null) {
+            return typeSupport.arrayKernels().dot(inputs, parameters);
         }
-        return sum;
+        // as the float kernel does, over the range of the buffer
+        CompensatedFloatSum sum = new CompensatedFloatSum();
+        for (int i = 0; i < arity; i++) {
+            sum.addProduct(inputs[i].floatValue(), buffer[offset + i]);
+        }
+        return (N) Float.valueOf(sum.floatValue());
     }
 
     /**
@@ -94,17 +171,17 @@ public class LinearCombination<N extends Number> implements TrainableScalarFunct
      */
     @Override
     public int getParameterCount() {
-        return parameters.length;
+        return arity;
     }
 
     /**
-     * Returns the full parameter vector of this model.
+     * Returns the full parameter vector of this model: the weights, as by {@link #getWeights()}.
      *
-     * @return the parameter array
+     * @return the parameter array; a copy once bound to a buffer
      */
     @Override
     public N[] getParameters() {
-        return parameters;
+        return getWeights();
     }
 
     /**
@@ -112,7 +189,7 @@ public class LinearCombination<N extends Number> implements TrainableScalarFunct
      */
     @Override
     public N getParameter(int p) {
-        return parameters[p];
+        return load(p);
     }
 
     /**
@@ -120,7 +197,9 @@ public class LinearCombination<N extends Number> implements TrainableScalarFunct
      */
     @Override
     public void setParameters(N[] values) {
-        System.arraycopy(values, 0, parameters, 0, parameters.length);
+        for (int i = 0; i < arity; i++) {
+            store(i, values[i]);
+        }
     }
 
     /**
@@ -128,7 +207,7 @@ public class LinearCombination<N extends Number> implements TrainableScalarFunct
      */
     @Override
     public void setParameter(int p, N value) {
-        parameters[p] = value;
+        store(p, value);
     }
 
     /**
@@ -139,7 +218,7 @@ public class LinearCombination<N extends Number> implements TrainableScalarFunct
      */
     @Override
     public int arity() {
-        return parameters.length;
+        return arity;
     }
 
     /**
@@ -150,19 +229,28 @@ public class LinearCombination<N extends Number> implements TrainableScalarFunct
      * @throws IllegalArgumentException if {@code d} is out of range
      */
     protected final int validDimension(int d) {
-        if (d < 1 || d > parameters.length) {
+        if (d < 1 || d > arity) {
             throw new IllegalArgumentException("Invalid dimension!");
         }
         return d;
     }
 
     /**
-     * Returns a copy of the weights (all parameters except the bias).
+     * Returns the weights (all parameters except the bias). While not bound, this is the array holding the weights,
+     * so changes to it change the weights. Once bound to a buffer it is a copy, and the weights are changed by
+     * {@link #setWeights(Number[])} or through the buffer instead.
      *
      * @return the weight vector
      */
     public N[] getWeights() {
-        return parameters;
+        if (buffer == null) {
+            return parameters;
+        }
+        N[] weights = typeSupport.createArray(arity);
+        for (int i = 0; i < arity; i++) {
+            weights[i] = load(i);
+        }
+        return weights;
     }
 
     /**
@@ -172,10 +260,12 @@ public class LinearCombination<N extends Number> implements TrainableScalarFunct
      * @throws IllegalArgumentException if the number of weights does not match {@link #arity()}
      */
     public void setWeights(N[] weights) {
-        if (weights.length != parameters.length) {
+        if (weights.length != arity) {
             throw new IllegalArgumentException("Invalid number of weights!");
         }
-        System.arraycopy(weights, 0, parameters, 0, parameters.length);
+        for (int i = 0; i < arity; i++) {
+            store(i, weights[i]);
+        }
     }
 
     /**
@@ -186,7 +276,7 @@ public class LinearCombination<N extends Number> implements TrainableScalarFunct
      * @throws IllegalArgumentException if {@code d} is out of range
      */
     public N getWeight(int d) {
-        return parameters[validDimension(d) - 1];
+        return load(validDimension(d) - 1);
     }
 
     /**
@@ -197,7 +287,7 @@ public class LinearCombination<N extends Number> implements TrainableScalarFunct
      * @throws IllegalArgumentException if {@code d} is out of range
      */
     public void setWeight(int d, N weight) {
-        parameters[validDimension(d) - 1] = weight;
+        store(validDimension(d) - 1, weight);
     }
 
     /**
@@ -208,7 +298,22 @@ public class LinearCombination<N extends Number> implements TrainableScalarFunct
      * @throws IllegalArgumentException if {@code d} is out of range
      */
     public void adjustWeight(int d, N delta) {
-        parameters[d - 1] = typeSupport.add(parameters[validDimension(d) - 1], delta);
+        int i = validDimension(d) - 1;
+        store(i, typeSupport.add(load(i), delta));
+    }
+
+    // the weight at the 0-based index, from the own parameters or the buffer
+    @SuppressWarnings("unchecked")
+    private N load(int i) {
+        return buffer == null ? parameters[i] : (N) Float.valueOf(buffer[offset + i]);
+    }
+
+    private void store(int i, N weight) {
+        if (buffer == null) {
+            parameters[i] = weight;
+        } else {
+            buffer[offset + i] = weight.floatValue();
+        }
     }
 
 }
@@ -1,5 +1,6 @@
 package net.tvburger.jdl.model.training;
 
+import net.tvburger.jdl.common.numbers.Accumulator;
 import net.tvburger.jdl.common.numbers.JavaNumberTypeSupport;
 import net.tvburger.jdl.common.patterns.Mediator;
 import net.tvburger.jdl.common.patterns.Strategy;
@@ -122,11 +123,11 @@ public class ObjectiveFunctionImpl<N extends Number> implements ObjectiveFunctio
 
     @Override
     public N calculateRegularizationPenalty(N[] parameters) {
-        N totalPenalty = getCurrentNumberType().zero();
+        Accumulator<N> totalPenalty = getCurrentNumberType().accumulator();
         for (ExplicitRegularization<N> regularization : regularizations) {
-            totalPenalty = getCurrentNumberType().add(totalPenalty, regularization.lossPenalty(parameters));
+            totalPenalty.add(regularization.lossPenalty(parameters));
         }
-        return totalPenalty;
+        return totalPenalty.sum();
     }
 
     /**
@@ -1,5 +1,6 @@
 package net.tvburger.jdl.model.training.loss;
 
+import net.tvburger.jdl.common.numbers.Accumulator;
 import net.tvburger.jdl.common.numbers.JavaNumberTypeSupport;
 import net.tvburger.jdl.common.patterns.Strategy;
 
@@ -57,11 +58,9 @@ public class MeanError<N extends Number> implements SampleLossFunction<N>, Batch
      */
     @Override
     public N calculateBatchLoss(List<N> sampleLosses) {
-        N loss = typeSupport.zero();
-        for (N sampleLoss : sampleLosses) {
-            loss = typeSupport.add(loss, sampleLoss);
-        }
-        return typeSupport.divide(loss, sampleLosses.size());
+        Accumulator<N> loss = typeSupport.accumulator();
+        loss.addAll(sampleLosses);
+        return typeSupport.divide(loss.sum(), sampleLosses.size());
     }
 
     /**
@@ -77,11 +76,9 @@ public class MeanError<N extends Number> implements SampleLossFunction<N>, Batch
      */
     @Override
     public N calculateSampleLoss(List<N> dimensionLosses) {
-        N loss = typeSupport.zero();
-        for (N dimensionLoss : dimensionLosses) {
-            loss = typeSupport.add(loss, dimensionLoss);
-        }
-        return typeSupport.divide(loss, dimensionLosses.size());
+        Accumulator<N> loss = typeSupport.accumulator();
+        loss.addAll(dimensionLosses);
+        return typeSupport.divide(loss.sum(), dimensionLosses.size());
     }
 
     /**
@@ -1,5 +1,6 @@
 package net.tvburger.jdl.model.training.loss;
 
+import net.tvburger.jdl.common.numbers.Accumulator;
 import net.tvburger.jdl.common.numbers.JavaNumberTypeSupport;
 import net.tvburger.jdl.common.patterns.Strategy;
 
@@ -41,11 +42,9 @@ public class SummedError<N extends Number> implements SampleLossFunction<N>, Bat
      */
     @Override
     public N calculateBatchLoss(List<N> sampleLosses) {
-        N loss = typeSupport.zero();
-        for (N sampleLoss : sampleLosses) {
-            loss = typeSupport.add(loss, sampleLoss);
-        }
-        return loss;
+        Accumulator<N> loss = typeSupport.accumulator();
+        loss.addAll(sampleLosses);
+        return loss.sum();
     }
 
     /**
@@ -61,11 +60,9 @@ public class SummedError<N extends Number> implements SampleLossFunction<N>, Bat
      */
     @Override
     public N calculateSampleLoss(List<N> dimensionLosses) {
-        N loss = typeSupport.zero();
-        for (N dimensionLoss : dimensionLosses) {
-            loss = typeSupport.add(loss, dimensionLoss);
-        }
-        return loss;
+        Accumulator<N> loss = typeSupport.accumulator();
+        loss.addAll(dimensionLosses);
+        return loss.sum();
     }
 
     /**
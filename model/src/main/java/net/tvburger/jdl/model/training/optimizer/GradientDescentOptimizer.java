@@ -1,5 +1,6 @@
 package net.tvburger.jdl.model.training.optimizer;
 
+import net.tvburger.jdl.common.numbers.Accumulator;
 import net.tvburger.jdl.linalg.Vector;
 import net.tvburger.jdl.linalg.Vectors;
 import net.tvburger.jdl.model.DataSet;
@@ -9,8 +10,10 @@ import net.tvburger.jdl.model.training.ObjectiveFunction;
 import net.tvburger.jdl.model.training.Optimizer;
 import net.tvburger.jdl.model.training.TrainableFunction;
 
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
 public class GradientDescentOptimizer<E extends TrainableFunction<N>, N extends Number> implements Optimizer<E, N>, HyperparameterConfigurable {
@@ -33,31 +36,67 @@ public class GradientDescentOptimizer<E extends TrainableFunction<N>, N extends
 
     @Override
     public void optimize(E estimationFunction, DataSet<N> trainingSet, ObjectiveFunction<N> objective, int step) {
-        Map<LinearCombination<N>, Vector<N>> accumulatedAdjustments = new HashMap<>();
+        Map<LinearCombination<N>, GradientSum<N>> accumulatedAdjustments = new HashMap<>();
         N trainingSetSize = estimationFunction.getCurrentNumberType().valueOf(trainingSet.size());
         for (DataSet.Sample<N> sample : trainingSet) {
             Vector<N> objectiveGradients = objectiveGradientEstimator.determineGradient(sample, estimationFunction, objective);
             modelDecomposer.calculateDecompositionGradients(estimationFunction, objectiveGradients, sample.features())
-                    .forEach(d -> accumulatedAdjustments.merge(d.linearCombination(), d.parameterGradients(), Vector::add));
+                    .forEach(d -> accumulatedAdjustments.computeIfAbsent(d.linearCombination(), m -> new GradientSum<>(d.parameterGradients()))
+                            .add(d.parameterGradients()));
         }
 
         accumulatedAdjustments.forEach((m, a) -> {
             if (debug && step == 1) {
                 System.out.println("0: Applying accumulated adjustment for model: " + Arrays.toString(m.getParameters()));
             }
-            N[] parameters = m.getParameters();
-            Vector<N> meanGradients = a.divide(trainingSetSize);
+            Vector<N> meanGradients = a.sum().divideInPlace(trainingSetSize);
             Vector<N> adjustments = updateStep.calculateUpdate(meanGradients, m, step, objective.getRegularizations());
-            Vector<N> thetas = Vectors.of(m.getCurrentNumberType(), parameters).transpose();
-            Vector<N> updatedThetas = thetas.add(adjustments);
-            N[] updatedParameters = updatedThetas.asArray();
-            m.setParameters(updatedParameters);
+            if (m.isBound()) {
+                // added in place, in the range of the parameter buffer
+                float[] buffer = m.getParameterBuffer();
+                int offset = m.getParameterOffset();
+                for (int i = 0; i < adjustments.getDimensions(); i++) {
+                    buffer[offset + i] += adjustments.get(i + 1).floatValue();
+                }
+            } else {
+                Vector<N> thetas = Vectors.of(m.getCurrentNumberType(), m.getParameters()).transpose();
+                m.setParameters(thetas.addInPlace(adjustments).asArray());
+            }
             if (debug) {
                 System.out.println(step + ": Applied accumulated adjustment for model: " + Arrays.toString(m.getParameters()));
             }
         });
     }
 
+    // sums the gradients of one linear combination over the samples, compensating for rounding errors
+    private static final class GradientSum<N extends Number> {
+
+        private final Vector<N> gradients;
+        private final List<Accumulator<N>> sums;
+
+        private GradientSum(Vector<N> gradients) {
+            this.gradients = gradients;
+            this.sums = new ArrayList<>(gradients.getDimensions());
+            for (int i = 0; i < gradients.getDimensions(); i++) {
+                sums.add(gradients.getCurrentNumberType().accumulator());
+            }
+        }
+
+        private void add(Vector<N> sampleGradients) {
+            for (int i = 0; i < sums.size(); i++) {
+                sums.get(i).add(sampleGradients.get(i + 1));
+            }
+        }
+
+        // the sums, written into the vector of the first sample
+        private Vector<N> sum() {
+            for (int i = 0; i < sums.size(); i++) {
+                gradients.set(i + 1, sums.get(i).sum());
+            }
+            return gradients;
+        }
+    }
+
     public UpdateStep<LinearCombination<N>, N> getUpdateStep() {
         return updateStep;
     }
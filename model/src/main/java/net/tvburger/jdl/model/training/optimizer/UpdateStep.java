@@ -8,6 +8,18 @@ import java.util.Set;
 
 public interface UpdateStep<E extends TrainableFunction<N>, N extends Number> {
 
+    /**
+     * Calculates the update to add to the parameters of the model.
+     * <p>
+     * Steps that keep state per model may return a vector they own and overwrite it on the next call for the same
+     * model, so the caller must apply the update before calculating the next one.
+     *
+     * @param gradients       the (mean) gradients of the parameters
+     * @param model           the model to update
+     * @param step            the step number, starting at 1
+     * @param regularizations the explicit regularizations to apply to the gradients
+     * @return the update for the parameters
+     */
     Vector<N> calculateUpdate(Vector<N> gradients, E model, int step, Set<ExplicitRegularization<N>> regularizations);
 
 }
@@ -34,9 +34,7 @@ public class ARGOptimizer<N extends Number> implements UpdateStep<LinearCombinat
         N[] accumulatedGradients = this.accumulatedGradients.computeIfAbsent(model, k -> model.getCurrentNumberType().createArray(model.getParameterCount()));
         JavaNumberTypeSupport<N> typeSupport = model.getCurrentNumberType();
 
-        N[] parameters = model.getParameters();
-        Vector<N> thetas = Vectors.of(model.getCurrentNumberType(), parameters).transpose();
-        Vector<N> regularizationGradients = Regularizations.applyExplicitRegularization(regularizations, thetas, gradients);
+        Vector<N> regularizationGradients = Regularizations.applyExplicitRegularization(regularizations, model, gradients);
 
         for (int i = 0; i < regularizationGradients.getDimensions(); i++) {
             N newGradient = regularizationGradients.get(i + 1);
@@ -1,8 +1,6 @@
 package net.tvburger.jdl.model.training.optimizer.steps;
 
 import net.tvburger.jdl.common.numbers.JavaNumberTypeSupport;
-import net.tvburger.jdl.common.utils.SimpleHolder;
-import net.tvburger.jdl.linalg.TypedVector;
 import net.tvburger.jdl.linalg.Vector;
 import net.tvburger.jdl.linalg.Vectors;
 import net.tvburger.jdl.model.HyperparameterConfigurable;
@@ -18,7 +16,7 @@ import java.util.WeakHashMap;
 
 public class AdaGrad<N extends Number> implements UpdateStep<LinearCombination<N>, N>, LearningRateConfigurable<N>, HyperparameterConfigurable {
 
-    private final Map<LinearCombination<N>, SimpleHolder<TypedVector<N>>> adaptions = new WeakHashMap<>();
+    private final Map<LinearCombination<N>, AdaptiveBuffers<N>> adaptions = new WeakHashMap<>();
 
     private N learningRate;
 
@@ -30,23 +28,28 @@ public class AdaGrad<N extends Number> implements UpdateStep<LinearCombination<N
     public Vector<N> calculateUpdate(Vector<N> gradients, LinearCombination<N> model, int step, Set<ExplicitRegularization<N>> regularizations) {
         JavaNumberTypeSupport<N> typeSupport = model.getCurrentNumberType();
 
-        SimpleHolder<TypedVector<N>> accumulatedSquaredGradients = this.adaptions.computeIfAbsent(model, k -> SimpleHolder.create());
-        TypedVector<N> g2 = accumulatedSquaredGradients.get();
+        Vector<N> regularizationGradients = Regularizations.applyExplicitRegularization(regularizations, model, gradients);
 
-        N[] parameters = model.getParameters();
-        Vector<N> thetas = Vectors.of(model.getCurrentNumberType(), parameters).transpose();
-        TypedVector<N> regularizationGradients = (TypedVector<N>) Regularizations.applyExplicitRegularization(regularizations, thetas, gradients);
+        AdaptiveBuffers<N> buffers = this.adaptions.get(model);
+        boolean firstStep = buffers == null;
+        if (firstStep) {
+            buffers = AdaptiveBuffers.create(typeSupport, regularizationGradients);
+            this.adaptions.put(model, buffers);
+        }
+        Vector<N> g2 = buffers.second();
 
         // Accumulate squared gradients
-        TypedVector<N> gradientsSquared = Vectors.squared(regularizationGradients);
-        g2 = g2 == null ? gradientsSquared : g2.add(gradientsSquared);
-        accumulatedSquaredGradients.set(g2);
+        if (firstStep) {
+            Vectors.squared(regularizationGradients, g2);
+        } else {
+            g2.addInPlace(Vectors.squared(regularizationGradients, buffers.update()));
+        }
 
         // Compute update
-        TypedVector<N> g2Sqrt = Vectors.squareRoot(g2); // element wise sqrt
-        TypedVector<N> denom = g2Sqrt.add(typeSupport.epsilon()); // epsilon is scalar, broadcasts
+        Vector<N> g2Sqrt = Vectors.squareRoot(g2, buffers.denominator()); // element wise sqrt
+        Vector<N> denom = g2Sqrt.addInPlace(typeSupport.epsilon()); // epsilon is scalar, broadcasts
 
-        return Vectors.divide(regularizationGradients, denom).multiply(model.getCurrentNumberType().negate(learningRate));
+        return Vectors.divide(regularizationGradients, denom, buffers.update()).scaleInPlace(model.getCurrentNumberType().negate(learningRate));
     }
 
     @Override
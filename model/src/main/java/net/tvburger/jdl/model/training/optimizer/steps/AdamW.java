@@ -1,8 +1,6 @@
 package net.tvburger.jdl.model.training.optimizer.steps;
 
 import net.tvburger.jdl.common.numbers.JavaNumberTypeSupport;
-import net.tvburger.jdl.common.utils.Pair;
-import net.tvburger.jdl.linalg.TypedVector;
 import net.tvburger.jdl.linalg.Vector;
 import net.tvburger.jdl.linalg.Vectors;
 import net.tvburger.jdl.model.HyperparameterConfigurable;
@@ -22,7 +20,7 @@ public class AdamW<N extends Number> implements UpdateStep<LinearCombination<N>,
     public static final String HP_BETA_2 = "beta2";
     public static final String HP_LAMBDA = "lambda";
 
-    private final Map<LinearCombination<N>, Pair<TypedVector<N>, TypedVector<N>>> adaptions = new WeakHashMap<>();
+    private final Map<LinearCombination<N>, AdaptiveBuffers<N>> adaptions = new WeakHashMap<>();
 
     private N learningRate;
     private N beta1;
@@ -40,26 +38,35 @@ public class AdamW<N extends Number> implements UpdateStep<LinearCombination<N>,
     public Vector<N> calculateUpdate(Vector<N> gradients, LinearCombination<N> model, int step, Set<ExplicitRegularization<N>> regularizations) {
         JavaNumberTypeSupport<N> typeSupport = model.getCurrentNumberType();
 
-        Pair<TypedVector<N>, TypedVector<N>> adaptions = this.adaptions.computeIfAbsent(model, k -> Pair.mutable(null, null));
-        TypedVector<N> m = adaptions.left();
-        TypedVector<N> v = adaptions.right();
-
         N[] parameters = model.getParameters();
         Vector<N> thetas = Vectors.of(model.getCurrentNumberType(), parameters).transpose();
-        TypedVector<N> regularizationGradients = (TypedVector<N>) Regularizations.applyExplicitRegularization(regularizations, thetas, gradients);
+        Vector<N> regularizationGradients = Regularizations.applyExplicitRegularization(regularizations, thetas, gradients);
+
+        AdaptiveBuffers<N> buffers = this.adaptions.get(model);
+        boolean firstStep = buffers == null;
+        if (firstStep) {
+            buffers = AdaptiveBuffers.create(typeSupport, regularizationGradients);
+            this.adaptions.put(model, buffers);
+        }
+        Vector<N> m = buffers.first();
+        Vector<N> v = buffers.second();
 
         // m = β1 * m + (1 - β1) * g
-        TypedVector<N> secondTermM = regularizationGradients.multiply(typeSupport.subtract(typeSupport.one(), beta1));
-        m = m == null ? secondTermM : m.multiply(beta1).add(secondTermM);
+        N oneMinusBeta1 = typeSupport.subtract(typeSupport.one(), beta1);
+        if (firstStep) {
+            regularizationGradients.multiply(oneMinusBeta1, m);
+        } else {
+            m.scaleInPlace(beta1).fma(oneMinusBeta1, regularizationGradients);
+        }
 
         // v = β2 * v + (1 - β2) * g^2
-        TypedVector<N> gradientSquared = Vectors.squared(regularizationGradients);
-        TypedVector<N> secondTermV = gradientSquared.multiply(typeSupport.subtract(typeSupport.one(), beta2));
-        v = v == null ? secondTermV : v.multiply(beta2).add(secondTermV);
-
-        // Store the results
-        adaptions.setLeft(m);
-        adaptions.setRight(v);
+        Vector<N> gradientSquared = Vectors.squared(regularizationGradients, buffers.update());
+        N oneMinusBeta2 = typeSupport.subtract(typeSupport.one(), beta2);
+        if (firstStep) {
+            gradientSquared.multiply(oneMinusBeta2, v);
+        } else {
+            v.scaleInPlace(beta2).fma(oneMinusBeta2, gradientSquared);
+        }
 
         // Bias correction
         N beta1T = typeSupport.pow(this.beta1, step);
@@ -67,16 +74,14 @@ public class AdamW<N extends Number> implements UpdateStep<LinearCombination<N>,
         N oneMinusBeta1T = typeSupport.subtract(typeSupport.one(), beta1T);
         N oneMinusBeta2T = typeSupport.subtract(typeSupport.one(), beta2T);
 
-        TypedVector<N> mHat = m.multiply(typeSupport.inverse(oneMinusBeta1T));
-        TypedVector<N> vHat = v.multiply(typeSupport.inverse(oneMinusBeta2T));
+        Vector<N> mHat = m.multiply(typeSupport.inverse(oneMinusBeta1T), buffers.update());
+        Vector<N> vHat = v.multiply(typeSupport.inverse(oneMinusBeta2T), buffers.denominator());
 
         // θ = θ - α * m̂ / (sqrt(v̂) + ε)
-        TypedVector<N> vHatSqrt = Vectors.squareRoot(vHat); // element wise sqrt
-        TypedVector<N> denom = vHatSqrt.add(typeSupport.epsilon()); // epsilon is scalar, broadcasts
+        Vector<N> denom = Vectors.squareRoot(vHat, vHat).addInPlace(typeSupport.epsilon()); // epsilon is scalar, broadcasts
 
         // Weight decay
-        TypedVector<N> weightDecayTerm = Vectors.of(model.getCurrentNumberType(), parameters).transpose().multiply(lambda);
-        return Vectors.divide(mHat, denom).add(weightDecayTerm).multiply(model.getCurrentNumberType().negate(learningRate));
+        return Vectors.divide(mHat, denom, mHat).fma(lambda, thetas).scaleInPlace(model.getCurrentNumberType().negate(learningRate));
     }
 
     @Override
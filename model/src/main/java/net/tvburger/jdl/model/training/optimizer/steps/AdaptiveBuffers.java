@@ -0,0 +1,33 @@
+package net.tvburger.jdl.model.training.optimizer.steps;
+
+import net.tvburger.jdl.common.numbers.JavaNumberTypeSupport;
+import net.tvburger.jdl.linalg.Vector;
+import net.tvburger.jdl.linalg.Vectors;
+
+/**
+ * The per model vectors of the adaptive update steps. The moments are kept between steps, the update and
+ * denominator are scratch space that is overwritten on each step, so a step allocates no vectors once the buffers
+ * exist.
+ *
+ * @param first       the first moment (or unused)
+ * @param second      the second moment or accumulated squared gradients
+ * @param update      the vector returned as update
+ * @param denominator the element wise denominator of the update
+ * @param <N>         the number type
+ */
+record AdaptiveBuffers<N extends Number>(Vector<N> first, Vector<N> second, Vector<N> update, Vector<N> denominator) {
+
+    static <N extends Number> AdaptiveBuffers<N> create(JavaNumberTypeSupport<N> typeSupport, Vector<N> gradients) {
+        return new AdaptiveBuffers<>(
+                zeros(typeSupport, gradients),
+                zeros(typeSupport, gradients),
+                zeros(typeSupport, gradients),
+                zeros(typeSupport, gradients));
+    }
+
+    private static <N extends Number> Vector<N> zeros(JavaNumberTypeSupport<N> typeSupport, Vector<N> gradients) {
+        Vector<N> zeros = Vectors.zeros(typeSupport, gradients.getDimensions());
+        return gradients.isColumnVector() ? zeros.transpose() : zeros;
+    }
+
+}
@@ -1,8 +1,6 @@
 package net.tvburger.jdl.model.training.optimizer.steps;
 
 import net.tvburger.jdl.common.numbers.JavaNumberTypeSupport;
-import net.tvburger.jdl.common.utils.SimpleHolder;
-import net.tvburger.jdl.linalg.TypedVector;
 import net.tvburger.jdl.linalg.Vector;
 import net.tvburger.jdl.linalg.Vectors;
 import net.tvburger.jdl.model.HyperparameterConfigurable;
@@ -20,7 +18,7 @@ public class RMSProp<N extends Number> implements UpdateStep<LinearCombination<N
 
     public static final String HP_BETA = "beta";
 
-    private final Map<LinearCombination<N>, SimpleHolder<TypedVector<N>>> adaptions = new WeakHashMap<>();
+    private final Map<LinearCombination<N>, AdaptiveBuffers<N>> adaptions = new WeakHashMap<>();
 
     private N learningRate;
     private N beta;
@@ -34,24 +32,29 @@ public class RMSProp<N extends Number> implements UpdateStep<LinearCombination<N
     public Vector<N> calculateUpdate(Vector<N> gradients, LinearCombination<N> model, int step, Set<ExplicitRegularization<N>> regularizations) {
         JavaNumberTypeSupport<N> typeSupport = model.getCurrentNumberType();
 
-        SimpleHolder<TypedVector<N>> accumulatedSquaredGradients = this.adaptions.computeIfAbsent(model, k -> SimpleHolder.create());
-        TypedVector<N> g2 = accumulatedSquaredGradients.get();
+        Vector<N> regularizationGradients = Regularizations.applyExplicitRegularization(regularizations, model, gradients);
 
-        N[] parameters = model.getParameters();
-        Vector<N> thetas = Vectors.of(model.getCurrentNumberType(), parameters).transpose();
-        TypedVector<N> regularizationGradients = (TypedVector<N>) Regularizations.applyExplicitRegularization(regularizations, thetas, gradients);
+        AdaptiveBuffers<N> buffers = this.adaptions.get(model);
+        boolean firstStep = buffers == null;
+        if (firstStep) {
+            buffers = AdaptiveBuffers.create(typeSupport, regularizationGradients);
+            this.adaptions.put(model, buffers);
+        }
+        Vector<N> g2 = buffers.second();
 
         // Accumulate squared gradients
-        TypedVector<N> gradientsSquared = Vectors.squared(regularizationGradients);
-        TypedVector<N> secondTerm = gradientsSquared.multiply(typeSupport.min(typeSupport.one(), beta));
-        g2 = g2 == null ? secondTerm : g2.multiply(beta).add(gradientsSquared);
-        accumulatedSquaredGradients.set(g2);
+        Vector<N> gradientsSquared = Vectors.squared(regularizationGradients, buffers.update());
+        if (firstStep) {
+            gradientsSquared.multiply(typeSupport.min(typeSupport.one(), beta), g2);
+        } else {
+            g2.scaleInPlace(beta).addInPlace(gradientsSquared);
+        }
 
         // Compute update
-        TypedVector<N> g2Sqrt = Vectors.squareRoot(g2); // element wise sqrt
-        TypedVector<N> denom = g2Sqrt.add(typeSupport.epsilon()); // epsilon is scalar, broadcasts
+        Vector<N> g2Sqrt = Vectors.squareRoot(g2, buffers.denominator()); // element wise sqrt
+        Vector<N> denom = g2Sqrt.addInPlace(typeSupport.epsilon()); // epsilon is scalar, broadcasts
 
-        return Vectors.divide(regularizationGradients, denom).multiply(model.getCurrentNumberType().negate(learningRate));
+        return Vectors.divide(regularizationGradients, denom, buffers.update()).scaleInPlace(model.getCurrentNumberType().negate(learningRate));
     }
 
     @Override
@@ -1,7 +1,6 @@
 package net.tvburger.jdl.model.training.optimizer.steps;
 
 import net.tvburger.jdl.linalg.Vector;
-import net.tvburger.jdl.linalg.Vectors;
 import net.tvburger.jdl.model.scalars.LinearCombination;
 import net.tvburger.jdl.model.training.optimizer.LearningRateConfigurable;
 import net.tvburger.jdl.model.training.optimizer.UpdateStep;
@@ -21,9 +20,7 @@ public class VanillaGradientDescent<N extends Number> implements UpdateStep<Line
 
     @Override
     public Vector<N> calculateUpdate(Vector<N> gradients, LinearCombination<N> model, int step, Set<ExplicitRegularization<N>> regularizations) {
-        N[] parameters = model.getParameters();
-        Vector<N> thetas = Vectors.of(model.getCurrentNumberType(), parameters).transpose();
-        Vector<N> regularizationGradients = Regularizations.applyExplicitRegularization(regularizations, thetas, gradients);
+        Vector<N> regularizationGradients = Regularizations.applyExplicitRegularization(regularizations, model, gradients);
         return regularizationGradients.multiply(model.getCurrentNumberType().negate(learningRate));
     }
 
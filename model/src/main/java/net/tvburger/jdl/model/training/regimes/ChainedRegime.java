@@ -251,6 +251,17 @@ public class ChainedRegime implements Regime, Iterable<Regime> {
             return chainRegime(new StochasticRegime()).build();
         }
 
+        /**
+         * Adds a {@link HogwildRegime} decorator around the current target.
+         *
+         * @param threads the number of threads
+         * @return this builder (for fluent chaining)
+         * @see HogwildRegime
+         */
+        public final ChainedRegime hogwild(int threads) {
+            return chainRegime(new HogwildRegime(threads)).build();
+        }
+
         /**
          * Adds a {@link MiniBatchRegime} decorator with a default batch size of 32.
          *
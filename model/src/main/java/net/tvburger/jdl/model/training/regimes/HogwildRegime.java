@@ -0,0 +1,133 @@
+package net.tvburger.jdl.model.training.regimes;
+
+import net.tvburger.jdl.common.patterns.Strategy;
+import net.tvburger.jdl.model.DataSet;
+import net.tvburger.jdl.model.nn.training.optimizers.HogwildGradientDescentOptimizer;
+import net.tvburger.jdl.model.training.ObjectiveFunction;
+import net.tvburger.jdl.model.training.Optimizer;
+import net.tvburger.jdl.model.training.Regime;
+import net.tvburger.jdl.model.training.TrainableFunction;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * A training regime that performs <strong>asynchronous stochastic training</strong>, as in Hogwild!.
+ * <p>
+ * Like the {@link StochasticRegime}, the model is updated after each individual sample, but the samples are
+ * processed by several threads at once, without any synchronization between their updates.
+ * </p>
+ *
+ * <h2>Behavior</h2>
+ * <ul>
+ *   <li>The order of the samples is shuffled on every call.</li>
+ *   <li>Each thread takes the next sample of the shuffled order, until all samples are taken.</li>
+ *   <li>For each sample, a single-sample subset is passed to the optimizer, from several threads at the same
+ *       time.</li>
+ * </ul>
+ *
+ * <h2>Use cases</h2>
+ * <p>
+ * Asynchronous training pays off for sparse problems, where most updates touch few parameters, so threads rarely
+ * overwrite the updates of each other. The optimizer must allow concurrent calls for the same model, which the
+ * other optimizers do not, so only the {@link HogwildGradientDescentOptimizer} is accepted.
+ * </p>
+ * <p>
+ * The threads are those of a pool created for each call to {@link #train}, which is shut down before it returns.
+ * </p>
+ *
+ * @see Regime
+ * @see StochasticRegime
+ */
+@Strategy(Strategy.Role.CONCRETE)
+public final class HogwildRegime implements Regime {
+
+    private final int threads;
+    private final Random random;
+
+    /**
+     * Creates a regime with a thread per available processor.
+     */
+    public HogwildRegime() {
+        this(Runtime.getRuntime().availableProcessors());
+    }
+
+    public HogwildRegime(int threads) {
+        this(threads, new Random());
+    }
+
+    public HogwildRegime(int threads, long seed) {
+        this(threads, new Random(seed));
+    }
+
+    /**
+     * Creates a regime.
+     *
+     * @param threads the number of threads to train with
+     * @param random  the random to shuffle the samples with
+     * @throws IllegalArgumentException if the number of threads is not positive
+     */
+    public HogwildRegime(int threads, Random random) {
+        if (threads < 1) {
+            throw new IllegalArgumentException("invalid number of threads: " + threads + "; must be positive!");
+        }
+        this.threads = threads;
+        this.random = random;
+    }
+
+    /**
+     * Trains the given estimation function by letting all threads take
+     * samples from the shuffled training set and invoke the optimizer for
+     * each one, until all samples are processed.
+     *
+     * @param estimationFunction the model or function to train
+     * @param trainingSet        the dataset containing training samples
+     * @param objective          the objective/loss function
+     * @param optimizer          the optimizer used to update parameters, called concurrently
+     * @param <E>                the type of estimation function
+     * @throws IllegalArgumentException if the optimizer is not a {@link HogwildGradientDescentOptimizer}
+     */
+    @Override
+    public <E extends TrainableFunction<N>, N extends Number> void train(E estimationFunction, DataSet<N> trainingSet, ObjectiveFunction<N> objective, Optimizer<? super E, N> optimizer, int step) {
+        if (!(optimizer instanceof HogwildGradientDescentOptimizer)) {
+            throw new IllegalArgumentException("invalid optimizer: " + optimizer + "; must be a HogwildGradientDescentOptimizer!");
+        }
+        int[] order = shuffledOrder(trainingSet.size());
+        AtomicInteger next = new AtomicInteger();
+        List<ForkJoinTask<?>> tasks = new ArrayList<>(threads);
+        for (int t = 0; t < threads; t++) {
+            tasks.add(ForkJoinTask.adapt(() -> {
+                int k;
+                while ((k = next.getAndIncrement()) < order.length) {
+                    optimizer.optimize(estimationFunction, trainingSet.subset(order[k], order[k] + 1), objective, step);
+                }
+            }));
+        }
+        try (ForkJoinPool pool = new ForkJoinPool(threads)) {
+            pool.invoke(ForkJoinTask.adapt(() -> ForkJoinTask.invokeAll(tasks)));
+        }
+    }
+
+    private synchronized int[] shuffledOrder(int size) {
+        int[] order = new int[size];
+        for (int i = 0; i < size; i++) {
+            order[i] = i;
+        }
+        for (int i = size - 1; i > 0; i--) {
+            int j = random.nextInt(i + 1);
+            int swap = order[i];
+            order[i] = order[j];
+            order[j] = swap;
+        }
+        return order;
+    }
+
+    public int getThreads() {
+        return threads;
+    }
+
+}
@@ -65,6 +65,6 @@ public final class MiniBatchRegime extends DelegatedRegime implements BatchSizeC
             int newOffset = Math.min(trainingSetSize, offset + getBatchSize());
             regime.train(estimationFunction, trainingSet.subset(offset, newOffset), objective, optimizer, step);
             offset = newOffset;
-        } while (offset >= trainingSet.size());
+        } while (offset < trainingSetSize);
     }
 }
@@ -5,10 +5,14 @@ import net.tvburger.jdl.common.patterns.StaticFactory;
 import net.tvburger.jdl.common.patterns.Strategy;
 import net.tvburger.jdl.common.utils.Pair;
 import net.tvburger.jdl.model.DataSet;
+import net.tvburger.jdl.model.EstimationFunction;
+import net.tvburger.jdl.model.nn.FrozenNeuralNetwork;
+import net.tvburger.jdl.model.nn.NeuralNetwork;
 import net.tvburger.jdl.model.training.ObjectiveFunction;
 import net.tvburger.jdl.model.training.Optimizer;
 import net.tvburger.jdl.model.training.Regime;
 import net.tvburger.jdl.model.training.TrainableFunction;
+import net.tvburger.jdl.model.training.regularization.ExplicitRegularization;
 
 import java.util.List;
 
@@ -21,6 +25,11 @@ import java.util.List;
  * prints the results if {@code dump} is enabled. It also tracks the relative
  * improvement between epochs.
  * </p>
+ * <p>
+ * A {@link NeuralNetwork} is evaluated through a {@link FrozenNeuralNetwork}, so the estimates do not cache
+ * activations in its neurons. The penalty of regularizations is then calculated from its parameter buffer,
+ * without boxing the parameters.
+ * </p>
  * <h3>Improvement Sign Convention</h3>
  * The reported relative improvement is expressed as a percentage change in
  * loss compared to the previous epoch:
@@ -113,8 +122,7 @@ public class ObjectiveReportingRegime extends DelegatedRegime {
         JavaNumberTypeSupport<N> typeSupport = estimationFunction.getCurrentNumberType();
         N previousLoss;
         if (objective != null && step == 1) {
-            List<Pair<N[], N[]>> batch = trainingSet.samples().stream().map(s -> Pair.of(estimationFunction.estimate(s.features()), s.targetOutputs())).toList();
-            previousLoss = objective.calculateLoss(batch, estimationFunction.getParameters());
+            previousLoss = calculateLoss(estimator(estimationFunction), estimationFunction, trainingSet, objective);
             if (isDumpingLossValues()) {
                 System.out.printf("[Measurement %4d] Aggregated loss = %.4s (baseline)%n", 0, previousLoss);
             }
@@ -127,8 +135,7 @@ public class ObjectiveReportingRegime extends DelegatedRegime {
             regime.train(estimationFunction, trainingSet, objective, optimizer, step);
         }
         if (objective != null) {
-            List<Pair<N[], N[]>> batch = trainingSet.samples().stream().map(s -> Pair.of(estimationFunction.estimate(s.features()), s.targetOutputs())).toList();
-            currentLoss = objective.calculateLoss(batch, estimationFunction.getParameters());
+            currentLoss = calculateLoss(estimator(estimationFunction), estimationFunction, trainingSet, objective);
             improvement = typeSupport.multiply(typeSupport.divide(typeSupport.subtract(previousLoss, (N) currentLoss), previousLoss), -100);
             if (isDumpingLossValues()) {
                 System.out.printf("[Measurement %4d] Aggregated loss = %.4s (%.2s%%)%n", step, currentLoss, improvement);
@@ -136,6 +143,32 @@ public class ObjectiveReportingRegime extends DelegatedRegime {
         }
     }
 
+    // a neural network is frozen, so its estimates do not cache activations in the neurons
+    @SuppressWarnings("unchecked")
+    private static <N extends Number> EstimationFunction<N> estimator(TrainableFunction<N> estimationFunction) {
+        return estimationFunction instanceof NeuralNetwork neuralNetwork
+                ? (EstimationFunction<N>) FrozenNeuralNetwork.freeze(neuralNetwork)
+                : estimationFunction;
+    }
+
+    private static <N extends Number> N calculateLoss(EstimationFunction<N> estimator, TrainableFunction<N> estimationFunction, DataSet<N> trainingSet, ObjectiveFunction<N> objective) {
+        List<Pair<N[], N[]>> batch = trainingSet.samples().stream().map(s -> Pair.of(estimator.estimate(s.features()), s.targetOutputs())).toList();
+        if (objective.getRegularizations().isEmpty()) {
+            return objective.calculateLossWithoutRegularizationPenalty(batch);
+        }
+        if (!(estimationFunction instanceof NeuralNetwork neuralNetwork)) {
+            return objective.calculateLoss(batch, estimationFunction.getParameters());
+        }
+        // the penalty of each regularization in a single pass over the parameter buffer
+        float[] parameters = neuralNetwork.getParameterBuffer();
+        float penalty = 0.0f;
+        for (ExplicitRegularization<N> regularization : objective.getRegularizations()) {
+            penalty += regularization.lossPenalty(parameters);
+        }
+        JavaNumberTypeSupport<N> typeSupport = objective.getCurrentNumberType();
+        return typeSupport.add(objective.calculateLossWithoutRegularizationPenalty(batch), typeSupport.valueOf(penalty));
+    }
+
     /**
      * Returns the relative improvement in aggregated loss compared to the
      * previous epoch.
@@ -61,6 +61,19 @@ public final class Regimes {
         return new StochasticRegime();
     }
 
+    /**
+     * Creates an asynchronous training regime that processes one sample at a
+     * time on each of the given number of threads, without synchronizing
+     * their updates. It trains with a
+     * {@link net.tvburger.jdl.model.nn.training.optimizers.HogwildGradientDescentOptimizer} only.
+     *
+     * @param threads the number of threads
+     * @return a new {@link HogwildRegime}
+     */
+    public static HogwildRegime hogwild(int threads) {
+        return new HogwildRegime(threads);
+    }
+
     /**
      * Starts building a chained regime that repeats training for a given
      * number of epochs.
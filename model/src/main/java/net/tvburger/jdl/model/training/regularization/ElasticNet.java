@@ -51,6 +51,11 @@ public class ElasticNet<N extends Number> implements ExplicitRegularization<N>,
         return getCurrentNumberType().add(loss1, loss2);
     }
 
+    @Override
+    public float lossPenalty(float[] parameters) {
+        return lasso.lossPenalty(parameters) + ridge.lossPenalty(parameters);
+    }
+
     public N gradientAdjustment(N parameter) {
         N grad1 = lasso.gradientAdjustment(parameter);
         N grad2 = ridge.gradientAdjustment(parameter);
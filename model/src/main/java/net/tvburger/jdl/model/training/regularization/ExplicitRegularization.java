@@ -10,6 +10,21 @@ public interface ExplicitRegularization<N extends Number> extends Regularization
 
     N lossPenalty(N[] parameters);
 
+    /**
+     * Calculates the loss penalty of parameters stored as primitive floats, such as the parameter buffer of a
+     * neural network. The default boxes the parameters; implementations override it to read the floats directly.
+     *
+     * @param parameters the parameters
+     * @return the loss penalty
+     */
+    default float lossPenalty(float[] parameters) {
+        N[] values = getCurrentNumberType().createArray(parameters.length);
+        for (int i = 0; i < parameters.length; i++) {
+            values[i] = getCurrentNumberType().valueOf(parameters[i]);
+        }
+        return lossPenalty(values).floatValue();
+    }
+
     N gradientAdjustment(N parameter);
 
 }
@@ -41,6 +41,15 @@ public class LASSO<N extends Number> implements ExplicitRegularization<N>, Hyper
         return getCurrentNumberType().multiply(sum, lambda);
     }
 
+    @Override
+    public float lossPenalty(float[] parameters) {
+        float sum = 0.0f;
+        for (float parameter : parameters) {
+            sum += Math.abs(parameter);
+        }
+        return sum * lambda.floatValue();
+    }
+
     @Override
     public N gradientAdjustment(N parameter) {
         if (getCurrentNumberType().isZero(parameter)) {
@@ -4,6 +4,9 @@ import net.tvburger.jdl.common.numbers.JavaNumberTypeSupport;
 import net.tvburger.jdl.common.patterns.StaticUtility;
 import net.tvburger.jdl.linalg.TypedVector;
 import net.tvburger.jdl.linalg.Vector;
+import net.tvburger.jdl.linalg.Vectors;
+import net.tvburger.jdl.model.scalars.LinearCombination;
+
 
 import java.util.Arrays;
 import java.util.HashMap;
@@ -30,6 +33,37 @@ public final class Regularizations {
         return new TypedVector<>(values, gradients.isColumnVector(), gradients.getCurrentNumberType());
     }
 
+    /**
+     * Applies the regularizations to the gradients of the parameters of the given model. The parameters of a model
+     * that is {@linkplain LinearCombination#isBound() bound} are read from its parameter buffer, and those of other
+     * models only when there are regularizations to apply.
+     *
+     * @param regularizations the regularizations to apply
+     * @param model           the model the gradients are of
+     * @param gradients       the gradients of the parameters of the model
+     * @param <N>             the number type
+     * @return the regularized gradients, or the given gradients if there are no regularizations
+     */
+    @SuppressWarnings("unchecked")
+    public static <N extends Number> Vector<N> applyExplicitRegularization(Set<ExplicitRegularization<N>> regularizations, LinearCombination<N> model, Vector<N> gradients) {
+        if (regularizations.isEmpty()) {
+            return gradients;
+        }
+        if (!model.isBound()) {
+            return applyExplicitRegularization(regularizations, Vectors.of(model.getCurrentNumberType(), model.getParameters()).transpose(), gradients);
+        }
+        float[] buffer = model.getParameterBuffer();
+        int offset = model.getParameterOffset();
+        N[] values = Arrays.copyOf(gradients.asArray(), gradients.getDimensions());
+        for (ExplicitRegularization<N> regularization : regularizations) {
+            for (int i = 0; i < model.getParameterCount(); i++) {
+                N adjustment = regularization.gradientAdjustment((N) Float.valueOf(buffer[offset + i]));
+                values[i] = regularization.getCurrentNumberType().add(values[i], adjustment);
+            }
+        }
+        return new TypedVector<>(values, gradients.isColumnVector(), gradients.getCurrentNumberType());
+    }
+
     private static final Map<JavaNumberTypeSupport<?>, RegularizationFactory<?>> factories = new HashMap<>();
 
     @SuppressWarnings("unchecked")
@@ -1,5 +1,6 @@
 package net.tvburger.jdl.model.training.regularization;
 
+import net.tvburger.jdl.common.numbers.CompensatedFloatSum;
 import net.tvburger.jdl.common.numbers.JavaNumberTypeSupport;
 import net.tvburger.jdl.model.HyperparameterConfigurable;
 
@@ -35,13 +36,20 @@ public class Ridge<N extends Number> implements ExplicitRegularization<N>, Hyper
 
     @Override
     public N lossPenalty(N[] parameters) {
-        N sum = getCurrentNumberType().zero();
-        for (N param : parameters) {
-            sum = getCurrentNumberType().add(sum, getCurrentNumberType().multiply(param, param));
-        }
+        N sum = getCurrentNumberType().arrayKernels().dot(parameters, parameters);
         return getCurrentNumberType().multiply(sum, lambda);
     }
 
+    @Override
+    public float lossPenalty(float[] parameters) {
+        // as the float kernel computes the dot product
+        CompensatedFloatSum sum = new CompensatedFloatSum();
+        for (float parameter : parameters) {
+            sum.addProduct(parameter, parameter);
+        }
+        return sum.floatValue() * lambda.floatValue();
+    }
+
     @Override
     public N gradientAdjustment(N parameter) {
         return getCurrentNumberType().multiply(lambdaTwice, parameter);
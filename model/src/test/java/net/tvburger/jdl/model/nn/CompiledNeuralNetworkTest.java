@@ -0,0 +1,91 @@
+package net.tvburger.jdl.model.nn;
+
+import net.tvburger.jdl.common.numbers.JavaNumberTypeSupport;
+import net.tvburger.jdl.linalg.TypedVector;
+import net.tvburger.jdl.linalg.Vector;
+import net.tvburger.jdl.model.nn.training.optimizers.BackPropagation;
+import net.tvburger.jdl.model.scalars.LinearCombination;
+import net.tvburger.jdl.model.training.optimizer.GradientDescentModelDecomposer;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.Random;
+
+public class CompiledNeuralNetworkTest {
+
+    private static final int CAPACITY = 8;
+
+    @Test
+    public void testBackward_batchOfOne() {
+        assertBackwardEqualsBackPropagation(1);
+    }
+
+    @Test
+    public void testBackward_fullBatch() {
+        assertBackwardEqualsBackPropagation(CAPACITY);
+    }
+
+    @Test
+    public void testBackward_partialBatch() {
+        assertBackwardEqualsBackPropagation(5);
+    }
+
+    private static void assertBackwardEqualsBackPropagation(int size) {
+        // Given
+        DefaultNeuralNetwork neuralNetwork = TestNeuralNetworks.createMultiLayerPerceptron(42, 6, 5, 4, 3);
+        CompiledNeuralNetwork compiled = CompiledNeuralNetwork.compile(neuralNetwork);
+        Random random = new Random(size);
+        Float[][] inputs = new Float[size][];
+        float[] outputGradients = new float[CAPACITY * compiled.coArity()];
+        CompiledNeuralNetwork.Batch batch = compiled.createBatch(CAPACITY);
+        for (int s = 0; s < size; s++) {
+            inputs[s] = TestNeuralNetworks.randomInputs(random, compiled.arity());
+            batch.add(inputs[s]);
+            for (int k = 0; k < compiled.coArity(); k++) {
+                outputGradients[s * compiled.coArity() + k] = random.nextFloat() * 2.0f - 1.0f;
+            }
+        }
+        Map<LinearCombination<Float>, float[]> expected = new IdentityHashMap<>();
+        BackPropagation backPropagation = new BackPropagation();
+        for (int s = 0; s < size; s++) {
+            Float[] objectiveGradients = new Float[compiled.coArity()];
+            for (int k = 0; k < compiled.coArity(); k++) {
+                objectiveGradients[k] = outputGradients[s * compiled.coArity() + k];
+            }
+            neuralNetwork.estimate(inputs[s]);
+            Vector<Float> gradients = new TypedVector<>(objectiveGradients, true, JavaNumberTypeSupport.FLOAT);
+            backPropagation.calculateDecompositionGradients(neuralNetwork, gradients, inputs[s])
+                    .forEach(d -> add(expected, d));
+        }
+
+        // When
+        CompiledNeuralNetwork.Gradients gradients = compiled.createGradients();
+        compiled.forward(batch);
+        compiled.backward(batch, outputGradients, gradients);
+
+        // Then
+        float[] values = gradients.values();
+        for (int l = 1; l <= compiled.getDepth(); l++) {
+            int arity = compiled.getWidth(l - 1);
+            for (int j = 0; j < compiled.getWidth(l); j++) {
+                float[] expectedGradients = expected.get(compiled.getLinearCombination(l, j));
+                Assertions.assertEquals(expectedGradients[0], values[gradients.getBiasesOffset(l) + j], 1e-5f);
+                for (int i = 0; i < arity; i++) {
+                    Assertions.assertEquals(expectedGradients[1 + i], values[gradients.getWeightsOffset(l) + j * arity + i], 1e-5f);
+                }
+            }
+        }
+    }
+
+    // sums the gradients of a linear combination, the bias first
+    private static void add(Map<LinearCombination<Float>, float[]> sums, GradientDescentModelDecomposer.GradientDecomposition<Float> decomposition) {
+        Vector<Float> gradients = decomposition.parameterGradients();
+        float[] sum = sums.computeIfAbsent(decomposition.linearCombination(), m -> new float[gradients.getDimensions()]);
+        for (int p = 0; p < sum.length; p++) {
+            sum[p] += gradients.get(p + 1);
+        }
+    }
+
+}
@@ -0,0 +1,85 @@
+package net.tvburger.jdl.model.nn;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+public class FrozenNeuralNetworkTest {
+
+    private static final int SAMPLES = 2000;
+
+    @Test
+    public void testEstimate_equalsNetwork() {
+        // Given
+        DefaultNeuralNetwork neuralNetwork = TestNeuralNetworks.createMultiLayerPerceptron(42, 8, 16, 12, 4);
+        FrozenNeuralNetwork frozen = FrozenNeuralNetwork.freeze(neuralNetwork);
+        FrozenNeuralNetwork.ExecutionContext context = frozen.createContext();
+        Random random = new Random(1);
+
+        for (int s = 0; s < 200; s++) {
+            Float[] inputs = TestNeuralNetworks.randomInputs(random, neuralNetwork.arity());
+            float[] primitiveInputs = new float[inputs.length];
+            for (int i = 0; i < inputs.length; i++) {
+                primitiveInputs[i] = inputs[i];
+            }
+
+            // When
+            Float[] expected = neuralNetwork.estimate(inputs);
+            Float[] boxed = frozen.estimate(inputs);
+            float[] primitive = frozen.estimate(context, primitiveInputs);
+
+            // Then
+            Assertions.assertArrayEquals(expected, boxed);
+            for (int k = 0; k < expected.length; k++) {
+                Assertions.assertEquals(Float.floatToRawIntBits(expected[k]), Float.floatToRawIntBits(primitive[k]));
+            }
+        }
+    }
+
+    @Test
+    public void testEstimate_concurrentVirtualThreads() throws InterruptedException, ExecutionException {
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            assertConcurrentEstimatesEqualSequential(executor);
+        }
+    }
+
+    @Test
+    public void testEstimate_concurrentThreadPool() throws InterruptedException, ExecutionException {
+        try (ExecutorService executor = Executors.newFixedThreadPool(8)) {
+            assertConcurrentEstimatesEqualSequential(executor);
+        }
+    }
+
+    private static void assertConcurrentEstimatesEqualSequential(ExecutorService executor) throws InterruptedException, ExecutionException {
+        // Given
+        DefaultNeuralNetwork neuralNetwork = TestNeuralNetworks.createMultiLayerPerceptron(7, 8, 16, 12, 4);
+        FrozenNeuralNetwork frozen = FrozenNeuralNetwork.freeze(neuralNetwork);
+        Random random = new Random(2);
+        Float[][] inputs = new Float[SAMPLES][];
+        Float[][] expected = new Float[SAMPLES][];
+        for (int s = 0; s < SAMPLES; s++) {
+            inputs[s] = TestNeuralNetworks.randomInputs(random, neuralNetwork.arity());
+            expected[s] = frozen.estimate(inputs[s]);
+        }
+
+        // When
+        List<Future<Float[]>> futures = new ArrayList<>(SAMPLES);
+        for (int s = 0; s < SAMPLES; s++) {
+            Float[] sampleInputs = inputs[s];
+            futures.add(executor.submit(() -> frozen.estimate(sampleInputs)));
+        }
+
+        // Then
+        for (int s = 0; s < SAMPLES; s++) {
+            Assertions.assertArrayEquals(expected[s], futures.get(s).get());
+        }
+    }
+
+}
@@ -0,0 +1,46 @@
+package net.tvburger.jdl.model.nn;
+
+import net.tvburger.jdl.model.nn.training.initializers.XavierInitializer;
+import net.tvburger.jdl.model.scalars.activations.ActivationFunction;
+import net.tvburger.jdl.model.scalars.activations.Activations;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+// builds the networks of the tests, as the multi-layer perceptron of the mlp module does
+final class TestNeuralNetworks {
+
+    static DefaultNeuralNetwork createMultiLayerPerceptron(int seed, int... widths) {
+        List<List<? extends Neuron>> layers = new ArrayList<>();
+        List<Neuron> inputNeurons = new ArrayList<>();
+        for (int i = 0; i < widths[0]; i++) {
+            inputNeurons.add(new InputNeuron("Input(" + i + ")"));
+        }
+        layers.add(inputNeurons);
+        for (int l = 1; l < widths.length; l++) {
+            ActivationFunction activationFunction = l == widths.length - 1 ? Activations.sigmoid() : Activations.tanh();
+            ActivationArena arena = new ActivationArena();
+            List<Neuron> neurons = new ArrayList<>();
+            for (int j = 0; j < widths[l]; j++) {
+                neurons.add(ActivationsCachedNeuron.create("Neuron(" + l + "," + j + ")", layers.getLast(), activationFunction, arena));
+            }
+            layers.add(neurons);
+        }
+        DefaultNeuralNetwork neuralNetwork = new DefaultNeuralNetwork(layers);
+        new XavierInitializer(seed).initialize(neuralNetwork);
+        return neuralNetwork;
+    }
+
+    static Float[] randomInputs(Random random, int arity) {
+        Float[] inputs = new Float[arity];
+        for (int i = 0; i < arity; i++) {
+            inputs[i] = random.nextFloat() * 2.0f - 1.0f;
+        }
+        return inputs;
+    }
+
+    private TestNeuralNetworks() {
+    }
+
+}
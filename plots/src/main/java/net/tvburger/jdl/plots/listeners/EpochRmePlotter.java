@@ -1,5 +1,6 @@
 package net.tvburger.jdl.plots.listeners;
 
+import net.tvburger.jdl.common.numbers.CompensatedFloatSum;
 import net.tvburger.jdl.model.DataSet;
 import net.tvburger.jdl.model.training.Optimizer;
 import net.tvburger.jdl.model.training.TrainableFunction;
@@ -51,18 +52,19 @@ public class EpochRmePlotter implements DataRenderer {
     }
 
     private <N extends Number> float calculateRme(TrainableFunction<N> model, DataSet<N> samples) {
-        float mse = 0.0f;
+        CompensatedFloatSum rmes = new CompensatedFloatSum();
+        CompensatedFloatSum sumSquaredErrors = new CompensatedFloatSum();
         for (DataSet.Sample<N> sample : samples) {
             N[] estimate = model.estimate(sample.features());
-            float sumSquaredErrors = 0.0f;
+            sumSquaredErrors.reset();
             for (int i = 0; i < estimate.length; i++) {
                 float error = estimate[i].floatValue() - sample.targetOutputs()[i].floatValue();
-                sumSquaredErrors += error * error;
+                sumSquaredErrors.addProduct(error, error);
             }
-            float meanSquaredError = sumSquaredErrors / estimate.length;
-            mse += (float) Math.sqrt(meanSquaredError) / samples.size();
+            float meanSquaredError = sumSquaredErrors.floatValue() / estimate.length;
+            rmes.add((float) Math.sqrt(meanSquaredError));
         }
-        return mse;
+        return rmes.floatValue() / samples.size();
     }
 
     @Override